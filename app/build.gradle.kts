@@ -54,6 +54,20 @@ android {
         buildConfig = true
         viewBinding = true // Enabled View Binding
     }
+    testOptions {
+        // Unit tests and benchmarks touch Android framework classes only incidentally (e.g. Log).
+        unitTests.isReturnDefaultValues = true
+        unitTests.all {
+            // ./gradlew :app:testDebugUnitTest -Pbirddex.runBenchmarks=true [-Pbirddex.updateBenchmarkBaseline=true]
+            it.systemProperty("birddex.runBenchmarks", project.findProperty("birddex.runBenchmarks") ?: "false")
+            it.systemProperty("birddex.updateBenchmarkBaseline", project.findProperty("birddex.updateBenchmarkBaseline") ?: "false")
+            it.systemProperty("birddex.benchmarkThreshold", project.findProperty("birddex.benchmarkThreshold") ?: "0.15")
+            it.systemProperty("birddex.benchmarkBaseline", file("benchmarks/baseline.properties").absolutePath)
+            it.systemProperty("birddex.benchmarkReport", layout.buildDirectory.file("reports/benchmarks/hot-paths.txt").get().asFile.absolutePath)
+            // Benchmark numbers depend on the inputs, not just the code; never serve them from cache.
+            it.outputs.upToDateWhen { !project.hasProperty("birddex.runBenchmarks") }
+        }
+    }
 }
 
 
@@ -104,6 +118,8 @@ dependencies {
     implementation(libs.guava)
 
     testImplementation(libs.junit)
+    // android.jar only has org.json stubs; the cache codec tests need the real parser.
+    testImplementation("org.json:json:20240303")
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
     implementation("androidx.exifinterface:exifinterface:1.3.7")
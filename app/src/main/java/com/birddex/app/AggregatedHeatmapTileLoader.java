@@ -0,0 +1,290 @@
+package com.birddex.app;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.LatLngBounds;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.maps.android.heatmaps.WeightedLatLng;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AggregatedHeatmapTileLoader: Reads the pre-aggregated heatmap tile pyramid that the backend keeps
+ * in heatmapTiles/{z}_{x}_{y} (see the "Heatmap Tile Pyramid" helpers in functions/modules/_shared.js).
+ *
+ * Zoomed-out map views ask for the handful of Web Mercator tiles covering the viewport at the
+ * matching pyramid zoom instead of downloading every raw sighting. Each tile doc holds one map of
+ * bins per layer; a bin becomes one weighted point placed at its weighted centroid.
+ */
+public final class AggregatedHeatmapTileLoader {
+
+    public static final String COLLECTION = "heatmapTiles";
+    // Must match HEATMAP_TILE_CONFIG.MIN_ZOOM / MAX_ZOOM on the backend.
+    public static final int MIN_TILE_ZOOM = 4;
+    public static final int MAX_TILE_ZOOM = 9;
+
+    public static final String LAYER_EBIRD = "ebird";
+    public static final String LAYER_USER_UNVERIFIED = "userUnverified";
+    public static final String LAYER_USER_MIXED = "userMixed";
+    public static final String LAYER_USER_VERIFIED = "userVerified";
+
+    private static final int MAX_TILES_PER_VIEW = 64;
+    // Firestore allows up to 30 values in an "in" filter.
+    private static final int MAX_IDS_PER_QUERY = 30;
+    private static final long TILE_CACHE_TTL_MS = 5L * 60 * 1000;
+    private static final int MAX_CACHED_TILES = 256;
+    private static final double MAX_MERCATOR_LAT = 85.05112878d;
+
+    private static final ExecutorService PARSE_EXECUTOR = Executors.newSingleThreadExecutor();
+
+    private final FirebaseFirestore db;
+    private final Map<String, CachedTile> tileCache = new LinkedHashMap<String, CachedTile>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedTile> eldest) {
+            return size() > MAX_CACHED_TILES;
+        }
+    };
+
+    public AggregatedHeatmapTileLoader(@NonNull FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    private static final class TilePoint {
+        final double lat;
+        final double lng;
+        final double weight;
+        final int count;
+
+        TilePoint(double lat, double lng, double weight, int count) {
+            this.lat = lat;
+            this.lng = lng;
+            this.weight = weight;
+            this.count = count;
+        }
+    }
+
+    private static final class CachedTile {
+        final Map<String, List<TilePoint>> pointsByLayer;
+        final long loadedAt;
+
+        CachedTile(@NonNull Map<String, List<TilePoint>> pointsByLayer, long loadedAt) {
+            this.pointsByLayer = pointsByLayer;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    /**
+     * Heat points for every layer in the loaded tiles, plus per-layer hotspot / sighting counts
+     * for the part that is actually inside the viewport.
+     */
+    public static final class Result {
+        private final Map<String, List<WeightedLatLng>> pointsByLayer = new HashMap<>();
+        private final Map<String, Integer> visibleCountsByLayer = new HashMap<>();
+        public final int tileZoom;
+        public final int tileCount;
+
+        Result(int tileZoom, int tileCount) {
+            this.tileZoom = tileZoom;
+            this.tileCount = tileCount;
+        }
+
+        @NonNull
+        public List<WeightedLatLng> getPoints(@NonNull String layer) {
+            List<WeightedLatLng> points = pointsByLayer.get(layer);
+            return points != null ? points : Collections.emptyList();
+        }
+
+        public int getVisibleCount(@NonNull String layer) {
+            Integer count = visibleCountsByLayer.get(layer);
+            return count != null ? count : 0;
+        }
+    }
+
+    /**
+     * True when the camera is zoomed out far enough for the tile pyramid to be used.
+     */
+    public static boolean supportsCameraZoom(float cameraZoom) {
+        return cameraZoom < MAX_TILE_ZOOM + 1;
+    }
+
+    public static int tileZoomFor(float cameraZoom) {
+        return Math.max(MIN_TILE_ZOOM, Math.min(MAX_TILE_ZOOM, (int) Math.floor(cameraZoom)));
+    }
+
+    /**
+     * Tile ids ("z_x_y") covering the bounds at the given pyramid zoom, capped at
+     * {@link #MAX_TILES_PER_VIEW} around the center.
+     */
+    @NonNull
+    public static List<String> tileIdsFor(@NonNull LatLngBounds bounds, int zoom) {
+        int scale = 1 << zoom;
+        int minX = tileX(bounds.southwest.longitude, scale);
+        int maxX = tileX(bounds.northeast.longitude, scale);
+        int minY = tileY(bounds.northeast.latitude, scale);
+        int maxY = tileY(bounds.southwest.latitude, scale);
+        if (minX > maxX) {
+            // Viewport crosses the antimeridian; not a real case for Georgia.
+            minX = 0;
+            maxX = scale - 1;
+        }
+
+        List<String> ids = new ArrayList<>();
+        int centerX = (minX + maxX) / 2;
+        int centerY = (minY + maxY) / 2;
+        List<int[]> tiles = new ArrayList<>();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                tiles.add(new int[]{x, y});
+            }
+        }
+        Collections.sort(tiles, (a, b) -> Integer.compare(
+                Math.abs(a[0] - centerX) + Math.abs(a[1] - centerY),
+                Math.abs(b[0] - centerX) + Math.abs(b[1] - centerY)));
+        for (int i = 0; i < tiles.size() && i < MAX_TILES_PER_VIEW; i++) {
+            ids.add(zoom + "_" + tiles.get(i)[0] + "_" + tiles.get(i)[1]);
+        }
+        return ids;
+    }
+
+    /**
+     * Loads the tiles covering the viewport, reusing cached tiles younger than
+     * {@link #TILE_CACHE_TTL_MS}. Missing tile docs simply mean "nothing there".
+     * Must be called on the main thread.
+     */
+    @NonNull
+    public Task<Result> load(@NonNull LatLngBounds bounds, float cameraZoom) {
+        int zoom = tileZoomFor(cameraZoom);
+        List<String> tileIds = tileIdsFor(bounds, zoom);
+        long now = System.currentTimeMillis();
+
+        List<String> missing = new ArrayList<>();
+        synchronized (tileCache) {
+            for (String tileId : tileIds) {
+                CachedTile cached = tileCache.get(tileId);
+                if (cached == null || now - cached.loadedAt > TILE_CACHE_TTL_MS) missing.add(tileId);
+            }
+        }
+
+        List<Task<QuerySnapshot>> reads = new ArrayList<>();
+        for (int start = 0; start < missing.size(); start += MAX_IDS_PER_QUERY) {
+            List<String> chunk = missing.subList(start, Math.min(missing.size(), start + MAX_IDS_PER_QUERY));
+            reads.add(db.collection(COLLECTION)
+                    .whereIn(FieldPath.documentId(), new ArrayList<>(chunk))
+                    .get());
+        }
+
+        return Tasks.whenAllSuccess(reads).continueWith(PARSE_EXECUTOR, task -> {
+            if (!task.isSuccessful()) {
+                Exception e = task.getException();
+                throw e != null ? e : new IllegalStateException("Heatmap tile read failed.");
+            }
+
+            Map<String, CachedTile> fetched = new HashMap<>();
+            for (String tileId : missing) {
+                fetched.put(tileId, new CachedTile(Collections.emptyMap(), now));
+            }
+            for (Object snapshot : task.getResult()) {
+                for (DocumentSnapshot doc : ((QuerySnapshot) snapshot).getDocuments()) {
+                    fetched.put(doc.getId(), new CachedTile(parseTile(doc), now));
+                }
+            }
+
+            Result result = new Result(zoom, tileIds.size());
+            synchronized (tileCache) {
+                tileCache.putAll(fetched);
+                for (String tileId : tileIds) {
+                    CachedTile tile = tileCache.get(tileId);
+                    if (tile != null) appendTile(result, tile, bounds);
+                }
+            }
+            return result;
+        });
+    }
+
+    public void clearCache() {
+        synchronized (tileCache) {
+            tileCache.clear();
+        }
+    }
+
+    private static void appendTile(@NonNull Result result, @NonNull CachedTile tile, @NonNull LatLngBounds bounds) {
+        for (Map.Entry<String, List<TilePoint>> entry : tile.pointsByLayer.entrySet()) {
+            List<WeightedLatLng> points = result.pointsByLayer.get(entry.getKey());
+            if (points == null) {
+                points = new ArrayList<>();
+                result.pointsByLayer.put(entry.getKey(), points);
+            }
+            int visibleCount = 0;
+            for (TilePoint point : entry.getValue()) {
+                LatLng latLng = new LatLng(point.lat, point.lng);
+                points.add(new WeightedLatLng(latLng, point.weight));
+                if (bounds.contains(latLng)) visibleCount += point.count;
+            }
+            Integer previous = result.visibleCountsByLayer.get(entry.getKey());
+            result.visibleCountsByLayer.put(entry.getKey(), (previous != null ? previous : 0) + visibleCount);
+        }
+    }
+
+    /**
+     * Turns one tile doc into points per layer. User layers are weighted like the raw
+     * hotspot path (1.8 per sighting) so both zoom ranges look alike.
+     */
+    @NonNull
+    @SuppressWarnings("unchecked")
+    private static Map<String, List<TilePoint>> parseTile(@NonNull DocumentSnapshot doc) {
+        Map<String, List<TilePoint>> pointsByLayer = new HashMap<>();
+        Object layersObj = doc.get("layers");
+        if (!(layersObj instanceof Map)) return pointsByLayer;
+
+        for (Map.Entry<String, Object> layerEntry : ((Map<String, Object>) layersObj).entrySet()) {
+            if (!(layerEntry.getValue() instanceof Map)) continue;
+            double intensity = LAYER_EBIRD.equals(layerEntry.getKey()) ? 1.0d : 1.8d;
+
+            List<TilePoint> points = new ArrayList<>();
+            for (Object binObj : ((Map<String, Object>) layerEntry.getValue()).values()) {
+                if (!(binObj instanceof Map)) continue;
+                Map<String, Object> bin = (Map<String, Object>) binObj;
+                double weight = asDouble(bin.get("w"));
+                int count = (int) Math.round(asDouble(bin.get("n")));
+                // Bins drained by decrements keep tiny float residue; treat them as empty.
+                if (!(weight >= 0.5d) || count <= 0) continue;
+
+                double lat = asDouble(bin.get("sLat")) / weight;
+                double lng = asDouble(bin.get("sLng")) / weight;
+                if (Double.isNaN(lat) || Double.isNaN(lng)) continue;
+                points.add(new TilePoint(lat, lng, Math.max(intensity, weight * intensity), count));
+            }
+            if (!points.isEmpty()) pointsByLayer.put(layerEntry.getKey(), points);
+        }
+        return pointsByLayer;
+    }
+
+    private static double asDouble(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : Double.NaN;
+    }
+
+    private static int tileX(double lng, int scale) {
+        int x = (int) Math.floor((lng + 180d) / 360d * scale);
+        return Math.max(0, Math.min(scale - 1, x));
+    }
+
+    private static int tileY(double lat, int scale) {
+        double clamped = Math.max(-MAX_MERCATOR_LAT, Math.min(MAX_MERCATOR_LAT, lat));
+        double latRad = Math.toRadians(clamped);
+        double y = (1d - Math.log(Math.tan(latRad) + 1d / Math.cos(latRad)) / Math.PI) / 2d * scale;
+        return Math.max(0, Math.min(scale - 1, (int) Math.floor(y)));
+    }
+}
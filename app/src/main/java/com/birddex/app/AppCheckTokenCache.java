@@ -0,0 +1,99 @@
+package com.birddex.app;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.appcheck.AppCheckToken;
+import com.google.firebase.appcheck.FirebaseAppCheck;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AppCheckTokenCache: Keeps the latest App Check token for HTTP requests made outside the
+ * Firebase SDKs (Glide loads from Firebase Storage).
+ *
+ * Asking FirebaseAppCheck for a token on every image request meant a blocking Task round trip per
+ * image. The token is now cached with its expiry, refreshed in the background once it is within
+ * {@link #REFRESH_AHEAD_MS} of expiring, and also updated whenever the SDK refreshes it on its own.
+ * Only the very first request (or one after the token fully expired) waits for a fetch, and app
+ * start already asks for that one ({@link #warmUp()}).
+ */
+final class AppCheckTokenCache {
+
+    private static final String TAG = "AppCheckTokenCache";
+    private static final long REFRESH_AHEAD_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final long FETCH_TIMEOUT_SECONDS = 5L;
+
+    private static final AtomicBoolean listenerInstalled = new AtomicBoolean(false);
+    private static final AtomicBoolean refreshInFlight = new AtomicBoolean(false);
+
+    private static volatile String token;
+    private static volatile long expiresAtMs;
+
+    private AppCheckTokenCache() {
+    }
+
+    /**
+     * @return a valid token, or null if none could be fetched within the timeout
+     */
+    @Nullable
+    @WorkerThread
+    static String currentToken() {
+        installListener();
+
+        String cached = token;
+        long now = System.currentTimeMillis();
+        if (cached != null && now < expiresAtMs) {
+            if (now >= expiresAtMs - REFRESH_AHEAD_MS) refreshInBackground();
+            return cached;
+        }
+
+        try {
+            AppCheckToken result = Tasks.await(FirebaseAppCheck.getInstance().getAppCheckToken(false),
+                    FETCH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            store(result);
+            return result != null ? result.getToken() : null;
+        } catch (Exception e) {
+            Log.w(TAG, "App Check token retrieval failed: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fetches the first token ahead of time (app start), so the first Storage image does not wait
+     * for it. Does not block.
+     */
+    static void warmUp() {
+        installListener();
+        if (token != null && System.currentTimeMillis() < expiresAtMs) return;
+        FirebaseAppCheck.getInstance().getAppCheckToken(false)
+                .addOnSuccessListener(AppCheckTokenCache::store)
+                .addOnFailureListener(e -> Log.w(TAG, "App Check token warm-up failed: " + e.getMessage()));
+    }
+
+    private static void refreshInBackground() {
+        if (!refreshInFlight.compareAndSet(false, true)) return;
+        FirebaseAppCheck.getInstance().getAppCheckToken(true)
+                .addOnSuccessListener(AppCheckTokenCache::store)
+                .addOnFailureListener(e -> Log.w(TAG, "App Check token refresh failed: " + e.getMessage()))
+                .addOnCompleteListener(task -> refreshInFlight.set(false));
+    }
+
+    private static void installListener() {
+        if (listenerInstalled.compareAndSet(false, true)) {
+            FirebaseAppCheck.getInstance().addAppCheckListener(AppCheckTokenCache::store);
+        }
+    }
+
+    private static synchronized void store(@Nullable AppCheckToken result) {
+        if (result == null || result.getToken() == null || result.getToken().isEmpty()) return;
+        // Never replace a token with one that expires sooner (an older listener callback).
+        if (token != null && result.getExpireTimeMillis() < expiresAtMs) return;
+        token = result.getToken();
+        expiresAtMs = result.getExpireTimeMillis();
+    }
+}
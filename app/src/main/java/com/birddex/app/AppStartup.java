@@ -0,0 +1,108 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskExecutors;
+import com.google.android.gms.tasks.Tasks;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * AppStartup: Runs the app's start-up initializers as a small dependency graph.
+ *
+ * Each initializer is declared with a name, the initializers it needs, and whether it must run on
+ * the main thread. It starts as soon as those dependencies have finished, on a small background
+ * pool unless it asked for the main thread, so independent work (Firebase clients, disk caches,
+ * App Check token) runs in parallel instead of in series inside Application.onCreate.
+ * Dependencies must be added before the initializers that use them, which also rules out cycles.
+ * Initializers can also be added after Application.onCreate, e.g. once the first screen exists;
+ * they start as soon as their dependencies have finished.
+ *
+ * Screens can wait for one piece ({@link #whenReady(String)}); the splash only waits for auth.
+ * A failed initializer is logged and skips its dependents. Those then initialize lazily the way
+ * they did before this existed.
+ */
+final class AppStartup {
+
+    interface Initializer {
+        void run(@NonNull Context context) throws Exception;
+    }
+
+    private static final String TAG = "AppStartup";
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(2, Math.min(3, Runtime.getRuntime().availableProcessors() - 1)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "app-startup");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final Context context;
+    private final Map<String, Task<Void>> tasks = new LinkedHashMap<>();
+
+    AppStartup(@NonNull Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    /**
+     * Schedules {@code initializer} to run once every initializer in {@code dependsOn} succeeded.
+     */
+    @NonNull
+    synchronized AppStartup add(@NonNull String name, boolean mainThread, @NonNull Initializer initializer,
+                                @NonNull String... dependsOn) {
+        if (tasks.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate startup initializer: " + name);
+        }
+        List<Task<Void>> dependencies = new ArrayList<>(dependsOn.length);
+        for (String dependency : dependsOn) {
+            Task<Void> task = tasks.get(dependency);
+            if (task == null) {
+                throw new IllegalArgumentException(name + " depends on " + dependency + ", which must be added first");
+            }
+            dependencies.add(task);
+        }
+
+        Executor executor = mainThread ? TaskExecutors.MAIN_THREAD : EXECUTOR;
+        Task<Void> task = Tasks.whenAll(dependencies).continueWithTask(executor, previous -> {
+            if (!previous.isSuccessful()) {
+                Log.w(TAG, "Skipping " + name + ": a dependency failed");
+                return Tasks.forException(previous.getException() != null
+                        ? previous.getException()
+                        : new IllegalStateException("Dependency of " + name + " failed"));
+            }
+            StartupTracer.beginPhase(name);
+            try {
+                initializer.run(context);
+                return Tasks.forResult(null);
+            } catch (Exception e) {
+                Log.e(TAG, "Startup initializer " + name + " failed", e);
+                return Tasks.forException(e);
+            } finally {
+                StartupTracer.endPhase(name);
+            }
+        });
+        tasks.put(name, task);
+        return this;
+    }
+
+    /**
+     * Completes when the named initializer has finished (successfully or not).
+     */
+    @NonNull
+    synchronized Task<Void> whenReady(@NonNull String name) {
+        Task<Void> task = tasks.get(name);
+        if (task == null) return Tasks.forResult(null);
+        return task.continueWith(TaskExecutors.MAIN_THREAD, ignored -> null);
+    }
+}
@@ -0,0 +1,291 @@
+package com.birddex.app;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BirdCacheCodec: Binary payload formats for the records BirdCacheManager keeps in
+ * {@link BirdCacheStore}.
+ *
+ * Nearby birds use a fixed per-bird layout. The eBird taxonomy/detail objects are free-form JSON, so
+ * they use a small tagged encoding that round-trips JSONObject/JSONArray without going through
+ * JSON text.
+ */
+final class BirdCacheCodec {
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_FALSE = 1;
+    private static final byte TAG_TRUE = 2;
+    private static final byte TAG_LONG = 3;
+    private static final byte TAG_DOUBLE = 4;
+    private static final byte TAG_STRING = 5;
+    private static final byte TAG_OBJECT = 6;
+    private static final byte TAG_ARRAY = 7;
+
+    private BirdCacheCodec() {
+    }
+
+    static final class NearbySnapshot {
+        @NonNull final List<Bird> birds;
+        @Nullable final Double centerLat;
+        @Nullable final Double centerLng;
+
+        NearbySnapshot(@NonNull List<Bird> birds, @Nullable Double centerLat, @Nullable Double centerLng) {
+            this.birds = birds;
+            this.centerLat = centerLat;
+            this.centerLng = centerLng;
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Nearby birds
+    // ---------------------------------------------------------------------
+
+    @NonNull
+    static byte[] encodeNearby(@NonNull List<Bird> birds, @Nullable Double centerLat, @Nullable Double centerLng) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + birds.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeNullableDouble(out, centerLat != null && centerLng != null ? centerLat : null);
+        writeNullableDouble(out, centerLat != null && centerLng != null ? centerLng : null);
+        out.writeInt(birds.size());
+        for (Bird bird : birds) {
+            writeNullableString(out, bird.getId());
+            writeNullableString(out, bird.getCommonName());
+            writeNullableString(out, bird.getScientificName());
+            writeNullableDouble(out, bird.getLastSeenLatitudeGeorgia());
+            writeNullableDouble(out, bird.getLastSeenLongitudeGeorgia());
+            Long timestamp = bird.getLastSeenTimestampGeorgia();
+            out.writeBoolean(timestamp != null);
+            if (timestamp != null) out.writeLong(timestamp);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @NonNull
+    static NearbySnapshot decodeNearby(@NonNull ByteBuffer in) {
+        Double centerLat = readNullableDouble(in);
+        Double centerLng = readNullableDouble(in);
+        int count = in.getInt();
+        List<Bird> birds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Bird bird = new Bird();
+            // Matches the old JSON cache, which read missing strings back as "".
+            bird.setId(nonNull(readNullableString(in)));
+            bird.setCommonName(nonNull(readNullableString(in)));
+            bird.setScientificName(nonNull(readNullableString(in)));
+            Double lat = readNullableDouble(in);
+            Double lng = readNullableDouble(in);
+            if (lat != null) bird.setLastSeenLatitudeGeorgia(lat);
+            if (lng != null) bird.setLastSeenLongitudeGeorgia(lng);
+            if (in.get() != 0) bird.setLastSeenTimestampGeorgia(in.getLong());
+            birds.add(bird);
+        }
+        return new NearbySnapshot(birds, centerLat, centerLng);
+    }
+
+    // ---------------------------------------------------------------------
+    // JSON values
+    // ---------------------------------------------------------------------
+
+    @NonNull
+    static byte[] encodeJsonObject(@NonNull JSONObject object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeValue(out, object);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @NonNull
+    static byte[] encodeJsonList(@NonNull List<JSONObject> objects) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + objects.size() * 160);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(objects.size());
+        for (JSONObject object : objects) {
+            writeValue(out, object);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @NonNull
+    static JSONObject decodeJsonObject(@NonNull ByteBuffer in) throws JSONException {
+        Object value = readValue(in);
+        if (!(value instanceof JSONObject)) throw new JSONException("Cached record is not an object");
+        return (JSONObject) value;
+    }
+
+    @NonNull
+    static List<JSONObject> decodeJsonList(@NonNull ByteBuffer in) throws JSONException {
+        int count = in.getInt();
+        List<JSONObject> objects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object value = readValue(in);
+            if (value instanceof JSONObject) objects.add((JSONObject) value);
+        }
+        return objects;
+    }
+
+    private static void writeValue(@NonNull DataOutputStream out, @Nullable Object value) throws IOException {
+        if (value == null || value == JSONObject.NULL) {
+            out.writeByte(TAG_NULL);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_LONG);
+            out.writeLong(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        } else if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            out.writeByte(TAG_OBJECT);
+            out.writeInt(object.length());
+            Iterator<String> keys = object.keys();
+            while (keys.hasNext()) {
+                String key = keys.next();
+                writeString(out, key);
+                writeValue(out, object.opt(key));
+            }
+        } else if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            out.writeByte(TAG_ARRAY);
+            out.writeInt(array.length());
+            for (int i = 0; i < array.length(); i++) {
+                writeValue(out, array.opt(i));
+            }
+        } else {
+            out.writeByte(TAG_STRING);
+            writeString(out, String.valueOf(value));
+        }
+    }
+
+    @NonNull
+    private static Object readValue(@NonNull ByteBuffer in) throws JSONException {
+        byte tag = in.get();
+        switch (tag) {
+            case TAG_NULL:
+                return JSONObject.NULL;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_LONG: {
+                long value = in.getLong();
+                // JSONObject parsing yields Integer for small values; keep getInt()/equals() behaving the same.
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) return (int) value;
+                return value;
+            }
+            case TAG_DOUBLE:
+                return in.getDouble();
+            case TAG_STRING:
+                return readString(in);
+            case TAG_OBJECT: {
+                int count = in.getInt();
+                JSONObject object = new JSONObject();
+                for (int i = 0; i < count; i++) {
+                    String key = readString(in);
+                    object.put(key, readValue(in));
+                }
+                return object;
+            }
+            case TAG_ARRAY: {
+                int count = in.getInt();
+                JSONArray array = new JSONArray();
+                for (int i = 0; i < count; i++) {
+                    array.put(readValue(in));
+                }
+                return array;
+            }
+            default:
+                throw new JSONException("Unknown cached value tag " + tag);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // String -> long maps (bird details access times)
+    // ---------------------------------------------------------------------
+
+    @NonNull
+    static byte[] encodeLongMap(@NonNull Map<String, Long> values) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + values.size() * 24);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(values.size());
+        for (Map.Entry<String, Long> entry : values.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeLong(entry.getValue());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    @NonNull
+    static Map<String, Long> decodeLongMap(@NonNull ByteBuffer in) {
+        int count = in.getInt();
+        Map<String, Long> values = new HashMap<>(Math.max(16, count * 2));
+        for (int i = 0; i < count; i++) {
+            String key = readString(in);
+            values.put(key, in.getLong());
+        }
+        return values;
+    }
+
+    // ---------------------------------------------------------------------
+    // Primitives
+    // ---------------------------------------------------------------------
+
+    private static void writeString(@NonNull DataOutputStream out, @NonNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @NonNull
+    private static String readString(@NonNull ByteBuffer in) {
+        int length = in.getInt();
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeNullableString(@NonNull DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) writeString(out, value);
+    }
+
+    @Nullable
+    private static String readNullableString(@NonNull ByteBuffer in) {
+        return in.get() != 0 ? readString(in) : null;
+    }
+
+    private static void writeNullableDouble(@NonNull DataOutputStream out, @Nullable Double value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeDouble(value);
+    }
+
+    @Nullable
+    private static Double readNullableDouble(@NonNull ByteBuffer in) {
+        return in.get() != 0 ? in.getDouble() : null;
+    }
+
+    @NonNull
+    private static String nonNull(@Nullable String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -9,9 +9,10 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.BufferUnderflowException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +26,7 @@ public class BirdCacheManager {
     private static final String TAG = "BirdCacheManager";
     private static final String PREF_NAME = "BirdDexCache";
 
+    // Legacy SharedPreferences keys; only read once to migrate into BirdCacheStore.
     private static final String KEY_NEARBY_BIRDS = "nearby_birds_json";
     private static final String KEY_NEARBY_TIMESTAMP = "nearby_birds_timestamp";
     private static final String KEY_NEARBY_CENTER_LAT = "nearby_center_lat";
@@ -32,16 +34,25 @@ public class BirdCacheManager {
 
     private static final String KEY_CORE_BIRDS = "core_georgia_birds_json";
     private static final String KEY_CORE_BIRDS_TIMESTAMP = "core_georgia_birds_timestamp";
-    private static final String KEY_GEORGIA_SYNC_CHECK_TIMESTAMP = "georgia_sync_check_timestamp";
-    private static final String KEY_GEORGIA_DATA_REFRESH_VERSION = "georgia_data_refresh_version";
 
     private static final String KEY_BIRD_DETAILS_PREFIX = "bird_details_json_";
     private static final String KEY_BIRD_DETAILS_TIMESTAMP_PREFIX = "bird_details_timestamp_";
 
+    // Small scalar flags stay in SharedPreferences.
+    private static final String KEY_GEORGIA_SYNC_CHECK_TIMESTAMP = "georgia_sync_check_timestamp";
+    private static final String KEY_GEORGIA_DATA_REFRESH_VERSION = "georgia_data_refresh_version";
+
+    // BirdCacheStore record keys.
+    private static final String RECORD_NEARBY = "nearby";
+    private static final String RECORD_CORE_BIRDS = "core_georgia_birds";
+    private static final String RECORD_BIRD_DETAILS_PREFIX = "bird_details/";
+
     public static final long NEARBY_CACHE_TTL_MS = 10L * 60L * 1000L;
     public static final long CORE_BIRD_LIST_CACHE_TTL_MS = 24L * 60L * 60L * 1000L;
     public static final long BIRD_DETAILS_CACHE_TTL_MS = 3L * 24L * 60L * 60L * 1000L;
 
+    // Shared by every instance (screens, EbirdApi and the startup initializer each create one),
+    // so everything that touches these holds the BirdCacheManager.class lock.
     private static List<Bird> inMemoryNearbyBirds = new ArrayList<>();
     private static long inMemoryNearbyTimestamp = 0L;
     private static Double inMemoryNearbyCenterLat = null;
@@ -50,26 +61,31 @@ public class BirdCacheManager {
     private static List<JSONObject> inMemoryCoreGeorgiaBirds = new ArrayList<>();
     private static long inMemoryCoreGeorgiaBirdsTimestamp = 0L;
 
-    private static final Map<String, JSONObject> inMemoryBirdDetails = Collections.synchronizedMap(new HashMap<>());
-    private static final Map<String, Long> inMemoryBirdDetailsTimestamps = Collections.synchronizedMap(new HashMap<>());
+
+    private static boolean legacyPrefsMigrated = false;
 
     private final SharedPreferences prefs;
+    private final BirdCacheStore store;
+    private final BirdDetailsCache birdDetailsCache;
 
     /**
      * Constructor that stores incoming dependencies/values so this object starts in a usable
      * state.
-     * This method also reads or writes local device preferences so some state survives app
-     * restarts.
+     * Bird lists and details live in the binary BirdCacheStore file; only the small sync flags
+     * stay in SharedPreferences. The first instance per process moves any old JSON blobs over.
      */
     public BirdCacheManager(Context context) {
         this.prefs = context.getApplicationContext().getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.store = BirdCacheStore.getInstance(context);
+        migrateLegacyPrefs(prefs, store);
+        this.birdDetailsCache = BirdDetailsCache.getInstance(store, BIRD_DETAILS_CACHE_TTL_MS);
     }
 
     /**
      * Builds data from the current screen/object state and writes it out to storage, Firebase, or
      * another service.
      */
-    public synchronized void saveNearbyBirds(List<Bird> birds) {
+    public void saveNearbyBirds(List<Bird> birds) {
         saveNearbyBirds(birds, null, null);
     }
 
@@ -77,199 +93,179 @@ public class BirdCacheManager {
      * Builds data from the current screen/object state and writes it out to storage, Firebase, or
      * another service.
      */
-    public synchronized void saveNearbyBirds(List<Bird> birds, Double centerLat, Double centerLng) {
-        JSONArray array = new JSONArray();
-        List<Bird> safeCopy = new ArrayList<>();
-
-        if (birds != null) {
-            for (Bird bird : birds) {
-                if (bird == null) continue;
-                safeCopy.add(bird);
-                try {
-                    JSONObject json = new JSONObject();
-                    json.put("id", bird.getId());
-                    json.put("commonName", bird.getCommonName());
-                    json.put("scientificName", bird.getScientificName());
-                    json.put("lastSeenLatitudeGeorgia", bird.getLastSeenLatitudeGeorgia());
-                    json.put("lastSeenLongitudeGeorgia", bird.getLastSeenLongitudeGeorgia());
-                    json.put("lastSeenTimestampGeorgia", bird.getLastSeenTimestampGeorgia());
-                    array.put(json);
-                } catch (JSONException e) {
-                    Log.e(TAG, "Error serializing bird for cache", e);
+    public void saveNearbyBirds(List<Bird> birds, Double centerLat, Double centerLng) {
+        synchronized (BirdCacheManager.class) {
+            List<Bird> safeCopy = new ArrayList<>();
+            if (birds != null) {
+                for (Bird bird : birds) {
+                    if (bird != null) safeCopy.add(bird);
                 }
             }
-        }
-
-        long now = System.currentTimeMillis();
-        SharedPreferences.Editor editor = prefs.edit()
-                .putString(KEY_NEARBY_BIRDS, array.toString())
-                .putLong(KEY_NEARBY_TIMESTAMP, now);
-
-        if (centerLat != null && centerLng != null) {
-            editor.putString(KEY_NEARBY_CENTER_LAT, String.valueOf(centerLat));
-            editor.putString(KEY_NEARBY_CENTER_LNG, String.valueOf(centerLng));
-            inMemoryNearbyCenterLat = centerLat;
-            inMemoryNearbyCenterLng = centerLng;
-        } else {
-            editor.remove(KEY_NEARBY_CENTER_LAT);
-            editor.remove(KEY_NEARBY_CENTER_LNG);
-            inMemoryNearbyCenterLat = null;
-            inMemoryNearbyCenterLng = null;
-        }
 
-        editor.apply();
+            long now = System.currentTimeMillis();
+            try {
+                store.put(RECORD_NEARBY, now, BirdCacheCodec.encodeNearby(safeCopy, centerLat, centerLng));
+            } catch (IOException e) {
+                Log.e(TAG, "Error serializing nearby birds for cache", e);
+            }
 
-        inMemoryNearbyBirds = safeCopy;
-        inMemoryNearbyTimestamp = now;
+            boolean hasCenter = centerLat != null && centerLng != null;
+            inMemoryNearbyCenterLat = hasCenter ? centerLat : null;
+            inMemoryNearbyCenterLng = hasCenter ? centerLng : null;
+            inMemoryNearbyBirds = safeCopy;
+            inMemoryNearbyTimestamp = now;
+        }
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized List<Bird> getCachedNearbyBirds() {
-        if (inMemoryNearbyTimestamp > 0L && !inMemoryNearbyBirds.isEmpty()) {
-            return new ArrayList<>(inMemoryNearbyBirds);
-        }
+    public List<Bird> getCachedNearbyBirds() {
+        synchronized (BirdCacheManager.class) {
+            if (inMemoryNearbyTimestamp > 0L && !inMemoryNearbyBirds.isEmpty()) {
+                return new ArrayList<>(inMemoryNearbyBirds);
+            }
 
-        String json = prefs.getString(KEY_NEARBY_BIRDS, null);
-        if (json == null) return new ArrayList<>();
+            ByteBuffer record = store.get(RECORD_NEARBY);
+            if (record == null) return new ArrayList<>();
 
-        List<Bird> birds = new ArrayList<>();
-        try {
-            JSONArray array = new JSONArray(json);
-            for (int i = 0; i < array.length(); i++) {
-                JSONObject obj = array.getJSONObject(i);
-                Bird b = new Bird();
-                b.setId(obj.optString("id"));
-                b.setCommonName(obj.optString("commonName"));
-                b.setScientificName(obj.optString("scientificName"));
-                if (!obj.isNull("lastSeenLatitudeGeorgia")) b.setLastSeenLatitudeGeorgia(obj.optDouble("lastSeenLatitudeGeorgia"));
-                if (!obj.isNull("lastSeenLongitudeGeorgia")) b.setLastSeenLongitudeGeorgia(obj.optDouble("lastSeenLongitudeGeorgia"));
-                if (!obj.isNull("lastSeenTimestampGeorgia")) b.setLastSeenTimestampGeorgia(obj.optLong("lastSeenTimestampGeorgia"));
-                birds.add(b);
+            BirdCacheCodec.NearbySnapshot snapshot;
+            try {
+                snapshot = BirdCacheCodec.decodeNearby(record);
+            } catch (BufferUnderflowException e) {
+                Log.e(TAG, "Error parsing cached birds", e);
+                store.remove(RECORD_NEARBY);
+                return new ArrayList<>();
             }
-        } catch (JSONException e) {
-            Log.e(TAG, "Error parsing cached birds", e);
-            return new ArrayList<>();
-        }
 
-        inMemoryNearbyBirds = new ArrayList<>(birds);
-        inMemoryNearbyTimestamp = prefs.getLong(KEY_NEARBY_TIMESTAMP, 0L);
-        inMemoryNearbyCenterLat = parseNullableDouble(prefs.getString(KEY_NEARBY_CENTER_LAT, null));
-        inMemoryNearbyCenterLng = parseNullableDouble(prefs.getString(KEY_NEARBY_CENTER_LNG, null));
-        return birds;
+            inMemoryNearbyBirds = new ArrayList<>(snapshot.birds);
+            inMemoryNearbyTimestamp = store.getTimestamp(RECORD_NEARBY);
+            inMemoryNearbyCenterLat = snapshot.centerLat;
+            inMemoryNearbyCenterLng = snapshot.centerLng;
+            return snapshot.birds;
+        }
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized long getCacheAge() {
-        long ts = inMemoryNearbyTimestamp > 0L ? inMemoryNearbyTimestamp : prefs.getLong(KEY_NEARBY_TIMESTAMP, 0L);
-        return ts <= 0L ? Long.MAX_VALUE : (System.currentTimeMillis() - ts);
+    public long getCacheAge() {
+        synchronized (BirdCacheManager.class) {
+            long ts = inMemoryNearbyTimestamp > 0L ? inMemoryNearbyTimestamp : store.getTimestamp(RECORD_NEARBY);
+            return ts <= 0L ? Long.MAX_VALUE : (System.currentTimeMillis() - ts);
+        }
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized boolean hasFreshNearbyBirds(long maxAgeMs) {
-        return !getCachedNearbyBirds().isEmpty() && getCacheAge() <= maxAgeMs;
+    public boolean hasFreshNearbyBirds(long maxAgeMs) {
+        synchronized (BirdCacheManager.class) {
+            return !getCachedNearbyBirds().isEmpty() && getCacheAge() <= maxAgeMs;
+        }
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized boolean hasFreshNearbyBirdsForLocation(double latitude, double longitude, long maxAgeMs, float maxDistanceMeters) {
-        if (!hasFreshNearbyBirds(maxAgeMs)) return false;
+    public boolean hasFreshNearbyBirdsForLocation(double latitude, double longitude, long maxAgeMs, float maxDistanceMeters) {
+        synchronized (BirdCacheManager.class) {
+            if (!hasFreshNearbyBirds(maxAgeMs)) return false;
 
-        Double cachedLat = inMemoryNearbyCenterLat != null ? inMemoryNearbyCenterLat : parseNullableDouble(prefs.getString(KEY_NEARBY_CENTER_LAT, null));
-        Double cachedLng = inMemoryNearbyCenterLng != null ? inMemoryNearbyCenterLng : parseNullableDouble(prefs.getString(KEY_NEARBY_CENTER_LNG, null));
+            // hasFreshNearbyBirds() loaded the record, so the in-memory center is current.
+            Double cachedLat = inMemoryNearbyCenterLat;
+            Double cachedLng = inMemoryNearbyCenterLng;
 
-        if (cachedLat == null || cachedLng == null) return false;
+            if (cachedLat == null || cachedLng == null) return false;
 
-        float[] result = new float[1];
-        Location.distanceBetween(latitude, longitude, cachedLat, cachedLng, result);
-        return result[0] <= maxDistanceMeters;
+            float[] result = new float[1];
+            Location.distanceBetween(latitude, longitude, cachedLat, cachedLng, result);
+            return result[0] <= maxDistanceMeters;
+        }
     }
 
     /**
      * Builds data from the current screen/object state and writes it out to storage, Firebase, or
      * another service.
      */
-    public synchronized void saveCoreGeorgiaBirds(List<JSONObject> birds) {
-        JSONArray array = new JSONArray();
-        List<JSONObject> safeCopy = new ArrayList<>();
-
-        if (birds != null) {
-            for (JSONObject bird : birds) {
-                if (bird == null) continue;
-                array.put(bird);
-                safeCopy.add(bird);
+    public void saveCoreGeorgiaBirds(List<JSONObject> birds) {
+        synchronized (BirdCacheManager.class) {
+            List<JSONObject> safeCopy = new ArrayList<>();
+            if (birds != null) {
+                for (JSONObject bird : birds) {
+                    if (bird != null) safeCopy.add(bird);
+                }
             }
-        }
 
-        long now = System.currentTimeMillis();
-        prefs.edit()
-                .putString(KEY_CORE_BIRDS, array.toString())
-                .putLong(KEY_CORE_BIRDS_TIMESTAMP, now)
-                .apply();
+            long now = System.currentTimeMillis();
+            try {
+                store.put(RECORD_CORE_BIRDS, now, BirdCacheCodec.encodeJsonList(safeCopy));
+            } catch (IOException e) {
+                Log.e(TAG, "Error serializing Georgia birds for cache", e);
+            }
 
-        inMemoryCoreGeorgiaBirds = safeCopy;
-        inMemoryCoreGeorgiaBirdsTimestamp = now;
+            inMemoryCoreGeorgiaBirds = safeCopy;
+            inMemoryCoreGeorgiaBirdsTimestamp = now;
+        }
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized List<JSONObject> getCachedCoreGeorgiaBirds() {
-        if (inMemoryCoreGeorgiaBirdsTimestamp > 0L && !inMemoryCoreGeorgiaBirds.isEmpty()) {
-            return new ArrayList<>(inMemoryCoreGeorgiaBirds);
-        }
+    public List<JSONObject> getCachedCoreGeorgiaBirds() {
+        synchronized (BirdCacheManager.class) {
+            if (inMemoryCoreGeorgiaBirdsTimestamp > 0L && !inMemoryCoreGeorgiaBirds.isEmpty()) {
+                return new ArrayList<>(inMemoryCoreGeorgiaBirds);
+            }
 
-        String json = prefs.getString(KEY_CORE_BIRDS, null);
-        if (json == null) return new ArrayList<>();
+            ByteBuffer record = store.get(RECORD_CORE_BIRDS);
+            if (record == null) return new ArrayList<>();
 
-        List<JSONObject> birds = new ArrayList<>();
-        try {
-            JSONArray array = new JSONArray(json);
-            for (int i = 0; i < array.length(); i++) {
-                birds.add(array.getJSONObject(i));
+            List<JSONObject> birds;
+            try {
+                birds = BirdCacheCodec.decodeJsonList(record);
+            } catch (JSONException | BufferUnderflowException e) {
+                Log.e(TAG, "Error parsing cached Georgia birds", e);
+                store.remove(RECORD_CORE_BIRDS);
+                return new ArrayList<>();
             }
-        } catch (JSONException e) {
-            Log.e(TAG, "Error parsing cached Georgia birds", e);
-            return new ArrayList<>();
-        }
 
-        inMemoryCoreGeorgiaBirds = new ArrayList<>(birds);
-        inMemoryCoreGeorgiaBirdsTimestamp = prefs.getLong(KEY_CORE_BIRDS_TIMESTAMP, 0L);
-        return birds;
+            inMemoryCoreGeorgiaBirds = new ArrayList<>(birds);
+            inMemoryCoreGeorgiaBirdsTimestamp = store.getTimestamp(RECORD_CORE_BIRDS);
+            return birds;
+        }
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized long getCoreGeorgiaBirdCacheAge() {
-        long ts = inMemoryCoreGeorgiaBirdsTimestamp > 0L ? inMemoryCoreGeorgiaBirdsTimestamp : prefs.getLong(KEY_CORE_BIRDS_TIMESTAMP, 0L);
-        return ts <= 0L ? Long.MAX_VALUE : (System.currentTimeMillis() - ts);
+    public long getCoreGeorgiaBirdCacheAge() {
+        synchronized (BirdCacheManager.class) {
+            long ts = inMemoryCoreGeorgiaBirdsTimestamp > 0L ? inMemoryCoreGeorgiaBirdsTimestamp : store.getTimestamp(RECORD_CORE_BIRDS);
+            return ts <= 0L ? Long.MAX_VALUE : (System.currentTimeMillis() - ts);
+        }
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized boolean hasFreshCoreGeorgiaBirdList(long maxAgeMs) {
-        return !getCachedCoreGeorgiaBirds().isEmpty() && getCoreGeorgiaBirdCacheAge() <= maxAgeMs;
+    public boolean hasFreshCoreGeorgiaBirdList(long maxAgeMs) {
+        synchronized (BirdCacheManager.class) {
+            return !getCachedCoreGeorgiaBirds().isEmpty() && getCoreGeorgiaBirdCacheAge() <= maxAgeMs;
+        }
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized long getLastGeorgiaSyncCheckTimestamp() {
+    public long getLastGeorgiaSyncCheckTimestamp() {
         return prefs.getLong(KEY_GEORGIA_SYNC_CHECK_TIMESTAMP, 0L);
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized long getGeorgiaSyncCheckAge() {
+    public long getGeorgiaSyncCheckAge() {
         long ts = getLastGeorgiaSyncCheckTimestamp();
         return ts <= 0L ? Long.MAX_VALUE : (System.currentTimeMillis() - ts);
     }
@@ -278,14 +274,14 @@ public class BirdCacheManager {
      * Builds data from the current screen/object state and writes it out to storage, Firebase, or
      * another service.
      */
-    public synchronized void markGeorgiaSyncCheckNow() {
+    public void markGeorgiaSyncCheckNow() {
         prefs.edit().putLong(KEY_GEORGIA_SYNC_CHECK_TIMESTAMP, System.currentTimeMillis()).apply();
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized int getGeorgiaDataRefreshVersion() {
+    public int getGeorgiaDataRefreshVersion() {
         return prefs.getInt(KEY_GEORGIA_DATA_REFRESH_VERSION, 0);
     }
 
@@ -293,78 +289,196 @@ public class BirdCacheManager {
      * Builds data from the current screen/object state and writes it out to storage, Firebase, or
      * another service.
      */
-    public synchronized void setGeorgiaDataRefreshVersion(int version) {
+    public void setGeorgiaDataRefreshVersion(int version) {
         prefs.edit().putInt(KEY_GEORGIA_DATA_REFRESH_VERSION, version).apply();
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized boolean shouldCheckGeorgiaBirdSync(boolean forceRefresh, long maxCheckAgeMs, int expectedRefreshVersion) {
-        if (forceRefresh) return true;
-        if (!hasFreshCoreGeorgiaBirdList(CORE_BIRD_LIST_CACHE_TTL_MS)) return true;
-        if (getGeorgiaSyncCheckAge() > maxCheckAgeMs) return true;
-        return getGeorgiaDataRefreshVersion() != expectedRefreshVersion;
+    public boolean shouldCheckGeorgiaBirdSync(boolean forceRefresh, long maxCheckAgeMs, int expectedRefreshVersion) {
+        synchronized (BirdCacheManager.class) {
+            if (forceRefresh) return true;
+            if (!hasFreshCoreGeorgiaBirdList(CORE_BIRD_LIST_CACHE_TTL_MS)) return true;
+            if (getGeorgiaSyncCheckAge() > maxCheckAgeMs) return true;
+            return getGeorgiaDataRefreshVersion() != expectedRefreshVersion;
+        }
     }
 
     /**
      * Builds data from the current screen/object state and writes it out to storage, Firebase, or
      * another service.
      */
-    public synchronized void saveBirdDetails(String birdId, JSONObject details) {
+    public void saveBirdDetails(String birdId, JSONObject details) {
         if (birdId == null || birdId.trim().isEmpty() || details == null) return;
-
-        long now = System.currentTimeMillis();
-        prefs.edit()
-                .putString(KEY_BIRD_DETAILS_PREFIX + birdId, details.toString())
-                .putLong(KEY_BIRD_DETAILS_TIMESTAMP_PREFIX + birdId, now)
-                .apply();
-
-        inMemoryBirdDetails.put(birdId, details);
-        inMemoryBirdDetailsTimestamps.put(birdId, now);
+        birdDetailsCache.put(birdId, details);
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized JSONObject getCachedBirdDetails(String birdId) {
+    public JSONObject getCachedBirdDetails(String birdId) {
         if (birdId == null || birdId.trim().isEmpty()) return null;
-
-        JSONObject inMemory = inMemoryBirdDetails.get(birdId);
-        if (inMemory != null) return inMemory;
-
-        String raw = prefs.getString(KEY_BIRD_DETAILS_PREFIX + birdId, null);
-        if (raw == null) return null;
-
-        try {
-            JSONObject jsonObject = new JSONObject(raw);
-            inMemoryBirdDetails.put(birdId, jsonObject);
-            inMemoryBirdDetailsTimestamps.put(birdId, prefs.getLong(KEY_BIRD_DETAILS_TIMESTAMP_PREFIX + birdId, 0L));
-            return jsonObject;
-        } catch (JSONException e) {
-            Log.e(TAG, "Error parsing cached bird details for " + birdId, e);
-            return null;
-        }
+        return birdDetailsCache.get(birdId);
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized long getBirdDetailsCacheAge(String birdId) {
+    public long getBirdDetailsCacheAge(String birdId) {
         if (birdId == null || birdId.trim().isEmpty()) return Long.MAX_VALUE;
-        Long inMemoryTs = inMemoryBirdDetailsTimestamps.get(birdId);
-        long ts = inMemoryTs != null ? inMemoryTs : prefs.getLong(KEY_BIRD_DETAILS_TIMESTAMP_PREFIX + birdId, 0L);
+        long ts = birdDetailsCache.getSavedAt(birdId);
         return ts <= 0L ? Long.MAX_VALUE : (System.currentTimeMillis() - ts);
     }
 
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
-    public synchronized boolean hasFreshBirdDetails(String birdId, long maxAgeMs) {
-        return getCachedBirdDetails(birdId) != null && getBirdDetailsCacheAge(birdId) <= maxAgeMs;
+    public boolean hasFreshBirdDetails(String birdId, long maxAgeMs) {
+        // Age first: it only reads the record index, so stale species are never decoded here.
+        return getBirdDetailsCacheAge(birdId) <= maxAgeMs && getCachedBirdDetails(birdId) != null;
+    }
+
+    /**
+     * Returns hit/miss/eviction counters and current tier sizes for the bird details cache, for
+     * debugging memory use.
+     */
+    public BirdDetailsCacheStats getBirdDetailsCacheStats() {
+        return birdDetailsCache.getStats();
+    }
+
+    /**
+     * Snapshot of the bird details cache counters. Byte sizes are encoded record sizes.
+     */
+    public static final class BirdDetailsCacheStats {
+        public final long memoryBytes;
+        public final long memoryBudgetBytes;
+        public final int memoryEntries;
+        public final long diskBytes;
+        public final long diskBudgetBytes;
+        public final int diskEntries;
+        public final long memoryHits;
+        public final long diskHits;
+        public final long misses;
+        public final long memoryEvictions;
+        public final long staleMemoryDrops;
+        public final long diskEvictions;
+        public final long expiredDiskEvictions;
+        public final long diskBytesEvicted;
+
+        BirdDetailsCacheStats(long memoryBytes, long memoryBudgetBytes, int memoryEntries,
+                              long diskBytes, long diskBudgetBytes, int diskEntries,
+                              long memoryHits, long diskHits, long misses,
+                              long memoryEvictions, long staleMemoryDrops,
+                              long diskEvictions, long expiredDiskEvictions, long diskBytesEvicted) {
+            this.memoryBytes = memoryBytes;
+            this.memoryBudgetBytes = memoryBudgetBytes;
+            this.memoryEntries = memoryEntries;
+            this.diskBytes = diskBytes;
+            this.diskBudgetBytes = diskBudgetBytes;
+            this.diskEntries = diskEntries;
+            this.memoryHits = memoryHits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.memoryEvictions = memoryEvictions;
+            this.staleMemoryDrops = staleMemoryDrops;
+            this.diskEvictions = diskEvictions;
+            this.expiredDiskEvictions = expiredDiskEvictions;
+            this.diskBytesEvicted = diskBytesEvicted;
+        }
+
+        @Override
+        public String toString() {
+            return "BirdDetailsCacheStats{memory=" + memoryEntries + " entries/" + memoryBytes + "/" + memoryBudgetBytes + "B"
+                    + ", disk=" + diskEntries + " entries/" + diskBytes + "/" + diskBudgetBytes + "B"
+                    + ", hits=" + memoryHits + " mem + " + diskHits + " disk, misses=" + misses
+                    + ", memoryEvictions=" + memoryEvictions + ", staleMemoryDrops=" + staleMemoryDrops
+                    + ", diskEvictions=" + diskEvictions + " (" + expiredDiskEvictions + " expired, "
+                    + diskBytesEvicted + "B)}";
+        }
+    }
+
+    /**
+     * One-time move of the old JSON blobs out of SharedPreferences. Dropping them keeps the
+     * BirdDexCache XML tiny, so later getSharedPreferences() loads stay cheap.
+     */
+    private static synchronized void migrateLegacyPrefs(SharedPreferences prefs, BirdCacheStore store) {
+        if (legacyPrefsMigrated) return;
+        legacyPrefsMigrated = true;
+
+        Map<String, ?> all = prefs.getAll();
+        List<String> legacyKeys = new ArrayList<>();
+        for (String key : all.keySet()) {
+            if (key.equals(KEY_NEARBY_BIRDS) || key.equals(KEY_NEARBY_TIMESTAMP)
+                    || key.equals(KEY_NEARBY_CENTER_LAT) || key.equals(KEY_NEARBY_CENTER_LNG)
+                    || key.equals(KEY_CORE_BIRDS) || key.equals(KEY_CORE_BIRDS_TIMESTAMP)
+                    || key.startsWith(KEY_BIRD_DETAILS_PREFIX) || key.startsWith(KEY_BIRD_DETAILS_TIMESTAMP_PREFIX)) {
+                legacyKeys.add(key);
+            }
+        }
+        if (legacyKeys.isEmpty()) return;
+
+        try {
+            Object nearbyJson = all.get(KEY_NEARBY_BIRDS);
+            if (nearbyJson instanceof String && !store.contains(RECORD_NEARBY)) {
+                List<Bird> birds = new ArrayList<>();
+                JSONArray array = new JSONArray((String) nearbyJson);
+                for (int i = 0; i < array.length(); i++) {
+                    JSONObject obj = array.getJSONObject(i);
+                    Bird b = new Bird();
+                    b.setId(obj.optString("id"));
+                    b.setCommonName(obj.optString("commonName"));
+                    b.setScientificName(obj.optString("scientificName"));
+                    if (!obj.isNull("lastSeenLatitudeGeorgia")) b.setLastSeenLatitudeGeorgia(obj.optDouble("lastSeenLatitudeGeorgia"));
+                    if (!obj.isNull("lastSeenLongitudeGeorgia")) b.setLastSeenLongitudeGeorgia(obj.optDouble("lastSeenLongitudeGeorgia"));
+                    if (!obj.isNull("lastSeenTimestampGeorgia")) b.setLastSeenTimestampGeorgia(obj.optLong("lastSeenTimestampGeorgia"));
+                    birds.add(b);
+                }
+                store.put(RECORD_NEARBY, longPref(all, KEY_NEARBY_TIMESTAMP), BirdCacheCodec.encodeNearby(birds,
+                        parseNullableDouble(all.get(KEY_NEARBY_CENTER_LAT)),
+                        parseNullableDouble(all.get(KEY_NEARBY_CENTER_LNG))));
+            }
+
+            Object coreJson = all.get(KEY_CORE_BIRDS);
+            if (coreJson instanceof String && !store.contains(RECORD_CORE_BIRDS)) {
+                List<JSONObject> birds = new ArrayList<>();
+                JSONArray array = new JSONArray((String) coreJson);
+                for (int i = 0; i < array.length(); i++) {
+                    birds.add(array.getJSONObject(i));
+                }
+                store.put(RECORD_CORE_BIRDS, longPref(all, KEY_CORE_BIRDS_TIMESTAMP), BirdCacheCodec.encodeJsonList(birds));
+            }
+
+            for (String key : legacyKeys) {
+                if (!key.startsWith(KEY_BIRD_DETAILS_PREFIX)) continue;
+                String birdId = key.substring(KEY_BIRD_DETAILS_PREFIX.length());
+                Object raw = all.get(key);
+                if (!(raw instanceof String) || store.contains(RECORD_BIRD_DETAILS_PREFIX + birdId)) continue;
+                store.put(RECORD_BIRD_DETAILS_PREFIX + birdId, longPref(all, KEY_BIRD_DETAILS_TIMESTAMP_PREFIX + birdId),
+                        BirdCacheCodec.encodeJsonObject(new JSONObject((String) raw)));
+            }
+        } catch (JSONException | IOException e) {
+            // Worst case the lists are fetched again; the old blobs are dropped either way.
+            Log.e(TAG, "Error migrating legacy bird cache", e);
+        }
+
+        SharedPreferences.Editor editor = prefs.edit();
+        for (String key : legacyKeys) {
+            editor.remove(key);
+        }
+        editor.apply();
+    }
+
+    private static long longPref(Map<String, ?> all, String key) {
+        Object value = all.get(key);
+        return value instanceof Long ? (Long) value : 0L;
+    }
+
+    private static Double parseNullableDouble(Object value) {
+        return value instanceof String ? parseNullableDouble((String) value) : null;
     }
 
-    private Double parseNullableDouble(String raw) {
+    private static Double parseNullableDouble(String raw) {
         if (raw == null || raw.trim().isEmpty()) return null;
         try {
             return Double.parseDouble(raw);
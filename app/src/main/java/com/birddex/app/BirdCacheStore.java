@@ -0,0 +1,381 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * BirdCacheStore: Append-only, memory-mapped key/value file behind {@link BirdCacheManager}.
+ *
+ * Every write appends one record (key, timestamp, opaque payload) to the end of the file and
+ * points an in-memory offset index at it; older records for the same key become dead space.
+ * Reads slice the payload straight out of a read-only mapping of the file, so nothing is decoded
+ * until a caller asks for that particular key. When dead space outweighs live data the file is
+ * rewritten with only the live records.
+ *
+ * Record layout (big-endian):
+ * <pre>
+ *   int   RECORD_MAGIC
+ *   byte  kind          (KIND_PUT | KIND_DELETE)
+ *   short keyLength     + key bytes (UTF-8)
+ *   long  timestamp     (ms, whatever the caller considers "saved at")
+ *   int   payloadLength
+ *   int   payloadCrc32
+ *   byte[payloadLength]
+ * </pre>
+ * A torn record at the tail (process killed mid-append) fails its magic/CRC check and is cut off on
+ * the next open.
+ */
+final class BirdCacheStore {
+
+    private static final String TAG = "BirdCacheStore";
+    private static final String FILE_NAME = "birddex_cache.bin";
+
+    private static final int FILE_MAGIC = 0x42445843; // "BDXC"
+    private static final int FILE_VERSION = 1;
+    private static final int FILE_HEADER_BYTES = 8;
+
+    private static final int RECORD_MAGIC = 0x5245434F; // "RECO"
+    private static final byte KIND_PUT = 1;
+    private static final byte KIND_DELETE = 2;
+    // magic + kind + keyLength + timestamp + payloadLength + crc
+    private static final int RECORD_FIXED_BYTES = 4 + 1 + 2 + 8 + 4 + 4;
+
+    private static final long MIN_COMPACT_FILE_BYTES = 256L * 1024L;
+
+    private static final class IndexEntry {
+        final long payloadOffset;
+        final int payloadLength;
+        final int recordLength;
+        final long timestamp;
+
+        IndexEntry(long payloadOffset, int payloadLength, int recordLength, long timestamp) {
+            this.payloadOffset = payloadOffset;
+            this.payloadLength = payloadLength;
+            this.recordLength = recordLength;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private static BirdCacheStore instance;
+
+    private final File file;
+    private final Map<String, IndexEntry> index = new HashMap<>();
+    @Nullable private RandomAccessFile raf;
+    @Nullable private FileChannel channel;
+    @Nullable private MappedByteBuffer mapped;
+    private long fileLength;
+    private long liveBytes;
+
+    @NonNull
+    static synchronized BirdCacheStore getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new BirdCacheStore(new File(context.getApplicationContext().getFilesDir(), FILE_NAME));
+        }
+        return instance;
+    }
+
+    BirdCacheStore(@NonNull File file) {
+        this.file = file;
+        try {
+            open();
+        } catch (IOException e) {
+            Log.e(TAG, "Cache file unusable, starting empty", e);
+            resetFile();
+        }
+    }
+
+    synchronized boolean contains(@NonNull String key) {
+        return index.containsKey(key);
+    }
+
+    /**
+     * @return the timestamp stored with the key, or 0 when the key is absent. Does not read the
+     *         payload.
+     */
+    synchronized long getTimestamp(@NonNull String key) {
+        IndexEntry entry = index.get(key);
+        return entry == null ? 0L : entry.timestamp;
+    }
+
+    /**
+     * @return the stored payload size in bytes, or 0 when the key is absent.
+     */
+    synchronized int getPayloadLength(@NonNull String key) {
+        IndexEntry entry = index.get(key);
+        return entry == null ? 0 : entry.payloadLength;
+    }
+
+    /**
+     * @return a read-only view of the payload, valid until the next write to this store, or null.
+     */
+    @Nullable
+    synchronized ByteBuffer get(@NonNull String key) {
+        IndexEntry entry = index.get(key);
+        if (entry == null) return null;
+        try {
+            MappedByteBuffer map = mappingCovering(entry.payloadOffset + entry.payloadLength);
+            ByteBuffer slice = map.duplicate();
+            slice.position((int) entry.payloadOffset);
+            slice.limit((int) (entry.payloadOffset + entry.payloadLength));
+            return slice.slice().asReadOnlyBuffer();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to map cache record " + key, e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the keys that start with the prefix. Does not read any payloads.
+     */
+    @NonNull
+    synchronized List<String> keysWithPrefix(@NonNull String prefix) {
+        List<String> keys = new ArrayList<>();
+        for (String key : index.keySet()) {
+            if (key.startsWith(prefix)) keys.add(key);
+        }
+        return keys;
+    }
+
+    synchronized void put(@NonNull String key, long timestamp, @NonNull byte[] payload) {
+        append(KIND_PUT, key, timestamp, payload);
+    }
+
+    synchronized void remove(@NonNull String key) {
+        if (!index.containsKey(key)) return;
+        append(KIND_DELETE, key, 0L, new byte[0]);
+    }
+
+    // ---------------------------------------------------------------------
+    // File handling
+    // ---------------------------------------------------------------------
+
+    private void open() throws IOException {
+        raf = new RandomAccessFile(file, "rw");
+        channel = raf.getChannel();
+        fileLength = channel.size();
+
+        if (fileLength < FILE_HEADER_BYTES) {
+            writeHeader();
+            return;
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES);
+        channel.read(header, 0);
+        header.flip();
+        if (header.getInt() != FILE_MAGIC || header.getInt() != FILE_VERSION) {
+            throw new IOException("Unknown cache file format");
+        }
+
+        long validEnd = scanRecords();
+        if (validEnd < fileLength) {
+            Log.w(TAG, "Dropping " + (fileLength - validEnd) + " bytes of torn cache records");
+            channel.truncate(validEnd);
+            fileLength = validEnd;
+        }
+        compactIfWasteful();
+    }
+
+    /**
+     * Rebuilds the index from the records; later records win. Returns the end of the last intact
+     * record.
+     */
+    private long scanRecords() throws IOException {
+        MappedByteBuffer map = mappingCovering(fileLength);
+        CRC32 crc = new CRC32();
+        int position = FILE_HEADER_BYTES;
+        int end = (int) fileLength;
+
+        while (end - position >= RECORD_FIXED_BYTES) {
+            int start = position;
+            if (map.getInt(position) != RECORD_MAGIC) break;
+            byte kind = map.get(position + 4);
+            int keyLength = map.getShort(position + 5) & 0xFFFF;
+            int keyStart = position + 7;
+            if (end - keyStart < keyLength + 16) break;
+            long timestamp = map.getLong(keyStart + keyLength);
+            int payloadLength = map.getInt(keyStart + keyLength + 8);
+            int payloadCrc = map.getInt(keyStart + keyLength + 12);
+            int payloadStart = keyStart + keyLength + 16;
+            if (payloadLength < 0 || end - payloadStart < payloadLength) break;
+
+            byte[] keyBytes = new byte[keyLength];
+            ByteBuffer keyView = map.duplicate();
+            keyView.position(keyStart);
+            keyView.get(keyBytes);
+
+            ByteBuffer payloadView = map.duplicate();
+            payloadView.position(payloadStart);
+            payloadView.limit(payloadStart + payloadLength);
+            crc.reset();
+            crc.update(payloadView);
+            if ((int) crc.getValue() != payloadCrc) break;
+
+            position = payloadStart + payloadLength;
+            applyToIndex(kind, new String(keyBytes, StandardCharsets.UTF_8),
+                    new IndexEntry(payloadStart, payloadLength, position - start, timestamp));
+        }
+        return position;
+    }
+
+    private void append(byte kind, @NonNull String key, long timestamp, @NonNull byte[] payload) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > 0xFFFF) throw new IllegalArgumentException("Cache key too long");
+        if (channel == null) return;
+
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+
+        int recordLength = RECORD_FIXED_BYTES + keyBytes.length + payload.length;
+        ByteBuffer record = ByteBuffer.allocate(recordLength);
+        record.putInt(RECORD_MAGIC)
+                .put(kind)
+                .putShort((short) keyBytes.length)
+                .put(keyBytes)
+                .putLong(timestamp)
+                .putInt(payload.length)
+                .putInt((int) crc.getValue())
+                .put(payload);
+        record.flip();
+
+        long start = fileLength;
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record, start + record.position());
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to append cache record " + key, e);
+            try {
+                channel.truncate(start);
+            } catch (IOException ignored) {
+            }
+            return;
+        }
+        fileLength = start + recordLength;
+        long payloadOffset = fileLength - payload.length;
+        applyToIndex(kind, key, new IndexEntry(payloadOffset, payload.length, recordLength, timestamp));
+        compactIfWasteful();
+    }
+
+    private void applyToIndex(byte kind, @NonNull String key, @NonNull IndexEntry entry) {
+        IndexEntry previous = kind == KIND_PUT ? index.put(key, entry) : index.remove(key);
+        if (previous != null) liveBytes -= previous.recordLength;
+        if (kind == KIND_PUT) liveBytes += entry.recordLength;
+    }
+
+    /**
+     * Rewrites the file with only live records once more than half of it is dead space.
+     */
+    private void compactIfWasteful() {
+        long deadBytes = fileLength - FILE_HEADER_BYTES - liveBytes;
+        if (fileLength < MIN_COMPACT_FILE_BYTES || deadBytes <= liveBytes) return;
+
+        File temp = new File(file.getPath() + ".compact");
+        try (RandomAccessFile out = new RandomAccessFile(temp, "rw")) {
+            FileChannel outChannel = out.getChannel();
+            outChannel.truncate(0);
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(FILE_MAGIC).putInt(FILE_VERSION);
+            header.flip();
+            outChannel.write(header, 0);
+
+            MappedByteBuffer map = mappingCovering(fileLength);
+            long position = FILE_HEADER_BYTES;
+            for (IndexEntry entry : index.values()) {
+                int recordStart = (int) (entry.payloadOffset + entry.payloadLength - entry.recordLength);
+                ByteBuffer record = map.duplicate();
+                record.position(recordStart);
+                record.limit(recordStart + entry.recordLength);
+                while (record.hasRemaining()) {
+                    outChannel.write(record, position + (record.position() - recordStart));
+                }
+                position += entry.recordLength;
+            }
+            outChannel.force(false);
+        } catch (IOException e) {
+            Log.e(TAG, "Cache compaction failed", e);
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+            return;
+        }
+
+        closeQuietly();
+        if (!temp.renameTo(file)) {
+            Log.e(TAG, "Could not replace cache file after compaction");
+            //noinspection ResultOfMethodCallIgnored
+            temp.delete();
+        }
+        // Re-index whichever file is in place now; offsets all moved.
+        try {
+            index.clear();
+            liveBytes = 0L;
+            raf = new RandomAccessFile(file, "rw");
+            channel = raf.getChannel();
+            fileLength = channel.size();
+            scanRecords();
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to reopen cache file after compaction", e);
+            resetFile();
+        }
+    }
+
+    @NonNull
+    private MappedByteBuffer mappingCovering(long end) throws IOException {
+        if (channel == null) throw new IOException("Cache file closed");
+        if (mapped == null || mapped.capacity() < end) {
+            // Map everything written so far; records are only ever appended past it.
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.max(end, fileLength));
+        }
+        return mapped;
+    }
+
+    private void writeHeader() throws IOException {
+        if (channel == null) throw new IOException("Cache file closed");
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(FILE_MAGIC).putInt(FILE_VERSION);
+        header.flip();
+        channel.write(header, 0);
+        fileLength = FILE_HEADER_BYTES;
+        mapped = null;
+    }
+
+    private void resetFile() {
+        closeQuietly();
+        index.clear();
+        liveBytes = 0L;
+        //noinspection ResultOfMethodCallIgnored
+        file.delete();
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            channel = raf.getChannel();
+            writeHeader();
+        } catch (IOException e) {
+            Log.e(TAG, "Cache file could not be created; caching disabled", e);
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        mapped = null;
+        try {
+            if (raf != null) raf.close();
+        } catch (IOException ignored) {
+        }
+        raf = null;
+        channel = null;
+    }
+}
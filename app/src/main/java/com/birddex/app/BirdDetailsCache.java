@@ -0,0 +1,262 @@
+package com.birddex.app;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BirdDetailsCache: Bounded two-tier cache for per-species eBird details.
+ *
+ * Tier 1 is an in-memory LRU limited by encoded byte size. Entries older than the TTL are handed
+ * out once more but not kept in memory, so stale JSON does not pile up on the heap. Tier 2 is
+ * the "bird_details/" records in {@link BirdCacheStore}, kept under {@link #DISK_BUDGET_BYTES}.
+ * When the disk tier is over budget, expired entries go first, then the least recently accessed.
+ * Stale disk entries are otherwise kept, since EbirdApi falls back to them when offline. Access
+ * times are tracked per species and persisted in a single record.
+ */
+final class BirdDetailsCache {
+
+    private static final String TAG = "BirdDetailsCache";
+
+    private static final String RECORD_PREFIX = "bird_details/";
+    private static final String RECORD_ACCESS_TIMES = "bird_details_access";
+
+    static final int MEMORY_BUDGET_BYTES = 256 * 1024;
+    static final long DISK_BUDGET_BYTES = 2L * 1024L * 1024L;
+    // Access times only matter for eviction order; do not rewrite them on every read.
+    private static final long ACCESS_PERSIST_INTERVAL_MS = 60_000L;
+
+    private static final class Entry {
+        final JSONObject details;
+        final long savedAt;
+        final int sizeBytes;
+
+        Entry(@NonNull JSONObject details, long savedAt, int sizeBytes) {
+            this.details = details;
+            this.savedAt = savedAt;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+
+    private static BirdDetailsCache instance;
+
+    private final BirdCacheStore store;
+    private final long ttlMs;
+    private final LruCache<String, Entry> memory;
+    private final Map<String, Long> accessTimes;
+    private long accessTimesPersistedAt;
+
+    private long memoryHits;
+    private long diskHits;
+    private long misses;
+    private long memoryEvictions;
+    private long staleMemoryDrops;
+    private long diskEvictions;
+    private long expiredDiskEvictions;
+    private long diskBytesEvicted;
+
+    @NonNull
+    static synchronized BirdDetailsCache getInstance(@NonNull BirdCacheStore store, long ttlMs) {
+        if (instance == null) {
+            instance = new BirdDetailsCache(store, ttlMs);
+        }
+        return instance;
+    }
+
+    private BirdDetailsCache(@NonNull BirdCacheStore store, long ttlMs) {
+        this.store = store;
+        this.ttlMs = ttlMs;
+        this.memory = new LruCache<String, Entry>(MEMORY_BUDGET_BYTES) {
+            @Override
+            protected int sizeOf(@NonNull String key, @NonNull Entry value) {
+                return Math.max(1, value.sizeBytes);
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, @NonNull String key, @NonNull Entry oldValue, @Nullable Entry newValue) {
+                if (evicted) memoryEvictions++;
+            }
+        };
+        this.accessTimes = loadAccessTimes();
+        trimDisk(System.currentTimeMillis());
+    }
+
+    synchronized void put(@NonNull String birdId, @NonNull JSONObject details) {
+        long now = System.currentTimeMillis();
+        byte[] payload;
+        try {
+            payload = BirdCacheCodec.encodeJsonObject(details);
+        } catch (IOException e) {
+            Log.e(TAG, "Error serializing bird details for " + birdId, e);
+            return;
+        }
+        store.put(RECORD_PREFIX + birdId, now, payload);
+        memory.put(birdId, new Entry(details, now, payload.length));
+        trimDisk(now);
+        touch(birdId, now);
+    }
+
+    @Nullable
+    synchronized JSONObject get(@NonNull String birdId) {
+        long now = System.currentTimeMillis();
+        Entry entry = memory.get(birdId);
+        if (entry != null) {
+            memoryHits++;
+        } else {
+            entry = readFromDisk(birdId);
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            diskHits++;
+            memory.put(birdId, entry);
+        }
+
+        if (now - entry.savedAt > ttlMs) {
+            // Still useful as an offline fallback, but not worth heap space until refreshed.
+            memory.remove(birdId);
+            staleMemoryDrops++;
+        }
+        touch(birdId, now);
+        return entry.details;
+    }
+
+    /**
+     * @return when the details were saved, or 0 if they are not cached. Never decodes the record.
+     */
+    synchronized long getSavedAt(@NonNull String birdId) {
+        Entry entry = memory.get(birdId);
+        return entry != null ? entry.savedAt : store.getTimestamp(RECORD_PREFIX + birdId);
+    }
+
+    @NonNull
+    synchronized BirdCacheManager.BirdDetailsCacheStats getStats() {
+        List<String> keys = store.keysWithPrefix(RECORD_PREFIX);
+        long diskBytes = 0L;
+        for (String key : keys) {
+            diskBytes += store.getPayloadLength(key);
+        }
+        return new BirdCacheManager.BirdDetailsCacheStats(
+                memory.size(), MEMORY_BUDGET_BYTES, memory.snapshot().size(),
+                diskBytes, DISK_BUDGET_BYTES, keys.size(),
+                memoryHits, diskHits, misses,
+                memoryEvictions, staleMemoryDrops,
+                diskEvictions, expiredDiskEvictions, diskBytesEvicted);
+    }
+
+    @Nullable
+    private Entry readFromDisk(@NonNull String birdId) {
+        String recordKey = RECORD_PREFIX + birdId;
+        ByteBuffer record = store.get(recordKey);
+        if (record == null) return null;
+
+        int sizeBytes = record.remaining();
+        try {
+            return new Entry(BirdCacheCodec.decodeJsonObject(record), store.getTimestamp(recordKey), sizeBytes);
+        } catch (JSONException | BufferUnderflowException e) {
+            Log.e(TAG, "Error parsing cached bird details for " + birdId, e);
+            store.remove(recordKey);
+            return null;
+        }
+    }
+
+    private void touch(@NonNull String birdId, long now) {
+        accessTimes.put(birdId, now);
+        if (now - accessTimesPersistedAt >= ACCESS_PERSIST_INTERVAL_MS) {
+            persistAccessTimes(now);
+        }
+    }
+
+    /**
+     * Evicts disk entries until the tier fits {@link #DISK_BUDGET_BYTES}: expired entries first,
+     * then fresh ones, least recently accessed first within each group.
+     */
+    private void trimDisk(long now) {
+        List<String> keys = store.keysWithPrefix(RECORD_PREFIX);
+        long totalBytes = 0L;
+        for (String key : keys) {
+            totalBytes += store.getPayloadLength(key);
+        }
+
+        boolean changed = false;
+        if (totalBytes > DISK_BUDGET_BYTES) {
+            List<String> expired = new ArrayList<>();
+            List<String> fresh = new ArrayList<>();
+            for (String key : keys) {
+                boolean isExpired = now - store.getTimestamp(key) > ttlMs;
+                (isExpired ? expired : fresh).add(key);
+            }
+            totalBytes = evictOldestAccessed(expired, totalBytes, true);
+            totalBytes = evictOldestAccessed(fresh, totalBytes, false);
+            Log.d(TAG, "Trimmed bird details disk tier to " + totalBytes + " bytes (" + diskEvictions
+                    + " evicted so far, " + expiredDiskEvictions + " expired)");
+            changed = true;
+        }
+
+        // Forget access times for records that no longer exist.
+        if (accessTimes.size() > keys.size()) {
+            changed |= accessTimes.keySet().removeIf(birdId -> !store.contains(RECORD_PREFIX + birdId));
+        }
+        if (changed) persistAccessTimes(now);
+    }
+
+    private long evictOldestAccessed(@NonNull List<String> recordKeys, long totalBytes, boolean expired) {
+        if (totalBytes <= DISK_BUDGET_BYTES || recordKeys.isEmpty()) return totalBytes;
+
+        Collections.sort(recordKeys, (a, b) -> Long.compare(lastAccess(a), lastAccess(b)));
+        for (String recordKey : recordKeys) {
+            if (totalBytes <= DISK_BUDGET_BYTES) break;
+            String birdId = recordKey.substring(RECORD_PREFIX.length());
+            int bytes = store.getPayloadLength(recordKey);
+            store.remove(recordKey);
+            memory.remove(birdId);
+            accessTimes.remove(birdId);
+            totalBytes -= bytes;
+            diskBytesEvicted += bytes;
+            diskEvictions++;
+            if (expired) expiredDiskEvictions++;
+        }
+        return totalBytes;
+    }
+
+    private long lastAccess(@NonNull String recordKey) {
+        Long accessed = accessTimes.get(recordKey.substring(RECORD_PREFIX.length()));
+        // Records written before access tracking fall back to their save time.
+        return accessed != null ? accessed : store.getTimestamp(recordKey);
+    }
+
+    @NonNull
+    private Map<String, Long> loadAccessTimes() {
+        ByteBuffer record = store.get(RECORD_ACCESS_TIMES);
+        if (record == null) return new HashMap<>();
+        try {
+            return BirdCacheCodec.decodeLongMap(record);
+        } catch (BufferUnderflowException e) {
+            Log.w(TAG, "Discarding unreadable bird details access times", e);
+            return new HashMap<>();
+        }
+    }
+
+    private void persistAccessTimes(long now) {
+        try {
+            store.put(RECORD_ACCESS_TIMES, now, BirdCacheCodec.encodeLongMap(accessTimes));
+            accessTimesPersistedAt = now;
+        } catch (IOException e) {
+            Log.e(TAG, "Error saving bird details access times", e);
+        }
+    }
+}
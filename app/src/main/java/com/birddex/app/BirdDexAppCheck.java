@@ -2,6 +2,7 @@ package com.birddex.app;
 
 import android.app.Activity;
 import android.app.Application;
+import android.content.Context;
 import android.content.Intent;
 import android.os.Bundle;
 import android.util.Log;
@@ -18,7 +19,10 @@ import com.google.firebase.appcheck.debug.DebugAppCheckProviderFactory;
 import com.google.firebase.appcheck.playintegrity.PlayIntegrityAppCheckProviderFactory;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.functions.FirebaseFunctions;
 
 /**
  * BirdDexAppCheck: Support/helper/model class used by other BirdDex screens so logic can stay reusable and organized.
@@ -32,6 +36,11 @@ public class BirdDexAppCheck extends Application {
     private FirebaseManager firebaseManager;
     private SessionManager sessionManager;
     private Activity currentActivity;
+    private AppStartup startup;
+    private boolean launchWorkStarted;
+
+    // Startup initializer names other screens wait on.
+    static final String STARTUP_AUTH = "auth";
 
     /**
      * Android calls this when the Activity is first created. This is where the screen usually
@@ -42,11 +51,14 @@ public class BirdDexAppCheck extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
+        StartupTracer.beginPhase("application_oncreate");
         // Force Light Mode globally
         AppCompatDelegate.setDefaultNightMode(AppCompatDelegate.MODE_NIGHT_NO);
 
+        // Firebase and the App Check provider stay synchronous: every Firebase call made after this
+        // point (including the splash's) must already carry App Check.
         FirebaseApp.initializeApp(this);
-        
+
         FirebaseAppCheck firebaseAppCheck = FirebaseAppCheck.getInstance();
 
         if (BuildConfig.DEBUG) {
@@ -63,13 +75,14 @@ public class BirdDexAppCheck extends Application {
                     PlayIntegrityAppCheckProviderFactory.getInstance());
         }
 
-        // Set up or query the Firebase layer that supplies/stores this feature's data.
-        firebaseManager = new FirebaseManager(this);
-        sessionManager = new SessionManager(this);
+        startup = buildStartup();
 
         registerActivityLifecycleCallbacks(new ActivityLifecycleCallbacks() {
             @Override
-            public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {}
+            public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+                startLaunchWork();
+                StartupTracer.traceFirstFrame(activity);
+            }
 
             /**
              * Runs after {@code onCreate} when the content view exists so system-bar insets apply
@@ -106,6 +119,8 @@ public class BirdDexAppCheck extends Application {
                 if (!(activity instanceof LoginActivity || activity instanceof WelcomeActivity || 
                       activity instanceof SignUpActivity || activity instanceof SplashActivity)) {
                     startSessionListener();
+                    // Keeps the shared saved-post set live while an in-app screen is visible.
+                    SavedPostStore.get().acquire(activity);
                 }
             }
 
@@ -126,6 +141,7 @@ public class BirdDexAppCheck extends Application {
                 if (!(activity instanceof LoginActivity || activity instanceof WelcomeActivity || 
                       activity instanceof SignUpActivity || activity instanceof SplashActivity)) {
                     stopSessionListener();
+                    SavedPostStore.get().release();
                 }
             }
 
@@ -135,6 +151,80 @@ public class BirdDexAppCheck extends Application {
             @Override
             public void onActivityDestroyed(@NonNull Activity activity) {}
         });
+        StartupTracer.endPhase("application_oncreate");
+    }
+
+    /**
+     * Everything else that used to run here in series now runs off the main thread, in parallel
+     * where it can. This part only builds clients, so it is cheap enough for every process start,
+     * including one woken for a push message:
+     * - Firebase clients (Auth, Firestore, Functions);
+     * - the managers the session listener needs, built from those clients.
+     * The reads and network calls wait for a screen; see {@link #startLaunchWork()}.
+     */
+    @NonNull
+    private AppStartup buildStartup() {
+        return new AppStartup(this)
+                .add(STARTUP_AUTH, false, context -> FirebaseAuth.getInstance())
+                .add("firestore", false, context -> FirebaseFirestore.getInstance())
+                .add("functions", false, context -> FirebaseFunctions.getInstance())
+                .add("firebase_manager", false, context -> getFirebaseManager(),
+                        STARTUP_AUTH, "firestore", "functions")
+                .add("session_manager", false, context -> getSessionManager());
+    }
+
+    /**
+     * Start-up work that only pays off when someone is looking at the app, started with the first
+     * activity of the process (normally the splash, but also a notification tap or a restored
+     * task) rather than in onCreate, so background wakes do not fetch tokens or call the model:
+     * - Firestore's local cache is opened with a cache-only read so the first forum query does
+     *   not pay for it;
+     * - the bird list caches and image metadata are read from disk for HomeActivity/Nearby;
+     * - the first App Check token is fetched for image loads, and the model API is warmed.
+     */
+    private void startLaunchWork() {
+        if (launchWorkStarted) return;
+        launchWorkStarted = true;
+        startup.add("firestore_cache", false, context -> FirebaseFirestore.getInstance()
+                        .collection("forumThreads").limit(1).get(Source.CACHE), "firestore")
+                .add("bird_cache", false, context -> {
+                    // The first instance runs the one-time migration and loads the cache file;
+                    // reading the lists fills the in-memory copies HomeActivity and Nearby use.
+                    BirdCacheManager cacheManager = new BirdCacheManager(context);
+                    cacheManager.getCachedCoreGeorgiaBirds();
+                    cacheManager.getCachedNearbyBirds();
+                })
+                // Reads the on-disk bird image metadata so lists can paint known birds before any
+                // Firestore lookup.
+                .add("image_metadata", false, BirdImageLoader::warmUp)
+                .add("app_check_token", false, context -> AppCheckTokenCache.warmUp())
+                // Warm up the BirdDex model API at launch to hide its cold start.
+                .add("api_warmup", false, context -> BirdDexApiWarmupHelper.maybeWarmup(context, "app_launch"),
+                        "functions");
+    }
+
+    /**
+     * The start-up graph, for screens that need to wait on one of its initializers.
+     */
+    @NonNull
+    static AppStartup startup(@NonNull Context context) {
+        return ((BirdDexAppCheck) context.getApplicationContext()).startup;
+    }
+
+    /**
+     * Built by the start-up graph in the background; an activity starting before that finished
+     * builds it here instead.
+     */
+    @NonNull
+    private synchronized FirebaseManager getFirebaseManager() {
+        if (firebaseManager == null) firebaseManager = new FirebaseManager(this);
+        return firebaseManager;
+    }
+
+    @NonNull
+    private synchronized SessionManager getSessionManager() {
+        if (sessionManager == null) sessionManager = new SessionManager(this);
+        return sessionManager;
     }
 
     /**
@@ -163,7 +253,7 @@ public class BirdDexAppCheck extends Application {
     private void startSessionListener() {
         FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
         if (user != null && sessionListener == null) {
-            sessionListener = firebaseManager.listenToSessionId(user.getUid(), (snapshot, e) -> {
+            sessionListener = getFirebaseManager().listenToSessionId(user.getUid(), (snapshot, e) -> {
                 if (e != null) {
                     Log.e(TAG, "Session listener failed", e);
                     return;
@@ -171,7 +261,7 @@ public class BirdDexAppCheck extends Application {
 
                 if (snapshot != null && snapshot.exists()) {
                     String remoteSessionId = snapshot.getString("currentSessionId");
-                    String localSessionId = sessionManager.getSessionId(user.getUid());
+                    String localSessionId = getSessionManager().getSessionId(user.getUid());
 
                     if (remoteSessionId == null || remoteSessionId.trim().isEmpty()) return;
                     if (localSessionId == null || localSessionId.trim().isEmpty()) return;
@@ -224,7 +314,7 @@ public class BirdDexAppCheck extends Application {
      */
     private void logoutAndRedirect(String uid) {
         FirebaseAuth.getInstance().signOut();
-        sessionManager.clearSession(uid);
+        getSessionManager().clearSession(uid);
         
         Intent intent = new Intent(this, LoginActivity.class);
         intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
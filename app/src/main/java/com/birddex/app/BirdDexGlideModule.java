@@ -1,27 +1,24 @@
 package com.birddex.app;
 
+import android.app.ActivityManager;
 import android.content.Context;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.GlideBuilder;
 import com.bumptech.glide.Registry;
 import com.bumptech.glide.annotation.GlideModule;
 import com.bumptech.glide.integration.okhttp3.OkHttpUrlLoader;
+import com.bumptech.glide.load.engine.bitmap_recycle.LruBitmapPool;
+import com.bumptech.glide.load.engine.cache.InternalCacheDiskCacheFactory;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.load.engine.cache.MemorySizeCalculator;
 import com.bumptech.glide.load.model.GlideUrl;
 import com.bumptech.glide.module.AppGlideModule;
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
-import com.google.firebase.appcheck.AppCheckToken;
-import com.google.firebase.appcheck.FirebaseAppCheck;
 
 import java.io.InputStream;
-import java.util.concurrent.TimeUnit;
-
-import okhttp3.OkHttpClient;
-import okhttp3.Request;
-import okhttp3.Response;
 
 @GlideModule
 /**
@@ -31,59 +28,47 @@ import okhttp3.Response;
  * when you are debugging or presenting the app. Only comments were added; runtime logic was not changed.
  */
 public class BirdDexGlideModule extends AppGlideModule {
+    private static final String TAG = "BirdDexGlideModule";
+    private static final long DISK_CACHE_BYTES = 250L * 1024L * 1024L;
+    private static final long LOW_RAM_DISK_CACHE_BYTES = 100L * 1024L * 1024L;
+    // Devices whose per-app heap is at least this large get a bigger memory cache/bitmap pool.
+    private static final int LARGE_HEAP_MEMORY_CLASS_MB = 256;
+
     /**
-     * Main logic block for this part of the feature.
-     * Image loading happens here, which is why placeholder/error behavior for profile
-     * photos/cards/posts usually traces back to this code path.
+     * Sizes Glide's caches by device class instead of relying on the library defaults.
+     * Low-RAM devices keep about one screen of bitmaps in memory; devices with a large heap keep
+     * enough for fast back-and-forth scrolling through the forum and collection grids.
      */
     @Override
-    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
-        OkHttpClient client = new OkHttpClient.Builder()
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(30, TimeUnit.SECONDS)
-                .addInterceptor(chain -> {
-                    Request original = chain.request();
-                    String host = original.url().host();
-                    
-                    // Build new request with standard headers to avoid 403 Forbidden from strict hosts
-                    // We use a very common desktop User-Agent as some sites block mobile/generic agents
-                    Request.Builder builder = original.newBuilder()
-                            .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/122.0.0.0 Safari/537.36")
-                            .header("Accept", "image/webp,image/apng,image/svg+xml,image/*,*/*;q=0.8")
-                            .header("Accept-Language", "en-US,en;q=0.9")
-                            .header("Connection", "keep-alive");
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        ActivityManager activityManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        boolean lowRam = activityManager != null && activityManager.isLowRamDevice();
+        boolean largeHeap = activityManager != null && activityManager.getMemoryClass() >= LARGE_HEAP_MEMORY_CLASS_MB;
 
-                    // Removed the "Referer" header by default as it can cause 403 Forbidden 
-                    // on many sites (like Wikipedia or Flickr) that have strict hotlinking policies
-                    // or expect a Referer from their own domain.
+        float memoryCacheScreens = lowRam ? 1f : (largeHeap ? 3f : 2f);
+        float bitmapPoolScreens = lowRam ? 1f : (largeHeap ? 4f : 3f);
+        MemorySizeCalculator calculator = new MemorySizeCalculator.Builder(context)
+                .setMemoryCacheScreens(memoryCacheScreens)
+                .setBitmapPoolScreens(bitmapPoolScreens)
+                .build();
 
-                    // Add Firebase App Check token for Firebase Storage requests if enforcement is enabled.
-                    if (host != null && host.contains("firebasestorage.googleapis.com")) {
-                        try {
-                            Task<AppCheckToken> task = FirebaseAppCheck.getInstance().getAppCheckToken(false);
-                            // Interceptors run on Glide's background threads, so Tasks.await is safe here.
-                            AppCheckToken tokenResult = Tasks.await(task, 5, TimeUnit.SECONDS);
-                            if (tokenResult != null && tokenResult.getToken() != null) {
-                                builder.header("X-Firebase-AppCheck", tokenResult.getToken());
-                            }
-                        } catch (Exception e) {
-                            Log.w("BirdDexGlideModule", "App Check token retrieval failed: " + e.getMessage());
-                        }
-                    }
+        builder.setMemoryCache(new LruResourceCache(calculator.getMemoryCacheSize()));
+        builder.setBitmapPool(new LruBitmapPool(calculator.getBitmapPoolSize()));
+        builder.setDiskCache(new InternalCacheDiskCacheFactory(context,
+                lowRam ? LOW_RAM_DISK_CACHE_BYTES : DISK_CACHE_BYTES));
+        if (!BuildConfig.DEBUG) builder.setLogLevel(Log.ERROR);
 
-                    // Proceed with the request
-                    Response response = chain.proceed(builder.build());
-                    
-                    // Log 403 errors to identify which image hosts are causing issues
-                    if (response.code() == 403) {
-                        Log.e("BirdDexGlideModule", "403 Forbidden for URL: " + original.url() + " (Host: " + host + ")");
-                    }
-                    
-                    return response;
-                })
-                .build();
+        Log.d(TAG, "Glide memory cache=" + calculator.getMemoryCacheSize()
+                + " bitmapPool=" + calculator.getBitmapPoolSize() + " lowRam=" + lowRam);
+    }
 
-        registry.replace(GlideUrl.class, InputStream.class, new OkHttpUrlLoader.Factory(client));
+    /**
+     * Routes Glide's network loads through the app's shared OkHttp client (HTTP cache, pooled
+     * HTTP/2 connections, cached App Check header for Firebase Storage).
+     */
+    @Override
+    public void registerComponents(@NonNull Context context, @NonNull Glide glide, @NonNull Registry registry) {
+        registry.replace(GlideUrl.class, InputStream.class, new OkHttpUrlLoader.Factory(BirdDexHttp.imageClient(context)));
     }
 
     /**
@@ -0,0 +1,96 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * BirdDexHttp: The one OkHttpClient the app uses for image downloads.
+ *
+ * A single client means a single connection pool, so image hosts (Firebase Storage, Wikimedia,
+ * ...) reuse warm HTTP/2 connections instead of handshaking per request, and a small HTTP cache
+ * lets OkHttp revalidate images with conditional requests when Glide's own disk cache misses.
+ */
+final class BirdDexHttp {
+
+    private static final String TAG = "BirdDexHttp";
+    private static final String HTTP_CACHE_DIR = "http_image_cache";
+    private static final long HTTP_CACHE_BYTES = 32L * 1024L * 1024L;
+    // Glide runs up to ~4 source fetches plus a few thumbnail/preload fetches at once.
+    private static final int MAX_IDLE_CONNECTIONS = 8;
+    private static final long KEEP_ALIVE_MINUTES = 5L;
+
+    private static volatile OkHttpClient imageClient;
+
+    private BirdDexHttp() {
+    }
+
+    @NonNull
+    static OkHttpClient imageClient(@NonNull Context context) {
+        OkHttpClient client = imageClient;
+        if (client != null) return client;
+        synchronized (BirdDexHttp.class) {
+            if (imageClient == null) {
+                imageClient = buildImageClient(context.getApplicationContext());
+            }
+            return imageClient;
+        }
+    }
+
+    @NonNull
+    private static OkHttpClient buildImageClient(@NonNull Context context) {
+        return new OkHttpClient.Builder()
+                .cache(new Cache(new File(context.getCacheDir(), HTTP_CACHE_DIR), HTTP_CACHE_BYTES))
+                .connectionPool(new ConnectionPool(MAX_IDLE_CONNECTIONS, KEEP_ALIVE_MINUTES, TimeUnit.MINUTES))
+                .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .retryOnConnectionFailure(true)
+                .connectTimeout(30, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .addInterceptor(chain -> {
+                    Request original = chain.request();
+                    String host = original.url().host();
+
+                    // Build new request with standard headers to avoid 403 Forbidden from strict hosts
+                    // We use a very common desktop User-Agent as some sites block mobile/generic agents
+                    Request.Builder builder = original.newBuilder()
+                            .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/122.0.0.0 Safari/537.36")
+                            .header("Accept", "image/webp,image/apng,image/svg+xml,image/*,*/*;q=0.8")
+                            .header("Accept-Language", "en-US,en;q=0.9");
+
+                    // Removed the "Referer" header by default as it can cause 403 Forbidden
+                    // on many sites (like Wikipedia or Flickr) that have strict hotlinking policies
+                    // or expect a Referer from their own domain.
+
+                    // Add Firebase App Check token for Firebase Storage requests if enforcement is enabled.
+                    // The token is cached; this only blocks when there is no valid one yet.
+                    if (host != null && host.contains("firebasestorage.googleapis.com")) {
+                        String appCheckToken = AppCheckTokenCache.currentToken();
+                        if (appCheckToken != null) {
+                            builder.header("X-Firebase-AppCheck", appCheckToken);
+                        }
+                    }
+
+                    Response response = chain.proceed(builder.build());
+
+                    // Log 403 errors to identify which image hosts are causing issues
+                    if (response.code() == 403) {
+                        Log.e(TAG, "403 Forbidden for URL: " + original.url() + " (Host: " + host + ")");
+                    }
+
+                    return response;
+                })
+                .build();
+    }
+}
@@ -17,19 +17,19 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
 import com.bumptech.glide.load.DataSource;
 import com.bumptech.glide.load.engine.GlideException;
 import com.bumptech.glide.request.RequestListener;
 import com.bumptech.glide.request.target.Target;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.functions.FirebaseFunctions;
 
+import java.io.File;
 import java.util.HashMap;
-import com.google.firebase.firestore.Source;
-
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * BirdImageLoader resolves BirdDex bird images from Firestore image collections and loads them
@@ -38,25 +38,35 @@ import java.util.List;
 public final class BirdImageLoader {
 
     private static final String TAG = "BirdImageLoader";
-    private static final FirebaseFirestore db = FirebaseFirestore.getInstance();
 
     // Simple in-memory cache so repeated birds do not keep hitting Firestore.
     private static final LruCache<String, String> imageUrlCache = new LruCache<>(500);
     private static final LruCache<String, ImageMetadata> imageMetadataCache = new LruCache<>(500);
     private static final Object cacheLock = new Object();
+    // Stale disk entries already re-resolved in this process.
+    private static final Set<String> revalidatedKeys = new HashSet<>();
 
     private BirdImageLoader() {
     }
 
+    /**
+     * Loads the disk metadata cache in the background so the first lists after a cold start can
+     * paint known birds without touching Firestore.
+     */
+    public static void warmUp(@NonNull Context context) {
+        BirdImageMetadataStore.warmUp(context);
+    }
+
     /**
      * Loads a bird image into the provided ImageView by trying the species code/document id first,
      * then falling back to common/scientific name lookups.
      *
      * Cache flow:
      * 1. In-memory resolved URL cache
-     * 2. Firestore local cache
-     * 3. Firestore server
-     * 4. Glide memory/disk cache for the actual image file
+     * 2. Disk metadata cache (stale hits are painted, then revalidated; recent misses short-circuit)
+     * 3. Firestore local cache
+     * 4. Firestore server
+     * 5. Glide memory/disk cache for the actual image file
      */
     public static void loadBirdImageIntoWithFetch(@NonNull Context context,
                                                   @NonNull ImageView imageView,
@@ -117,6 +127,13 @@ public final class BirdImageLoader {
         ImageMetadata cachedMetadata = getCachedMetadata(birdId, commonName, scientificName);
         if (cachedMetadata != null && !isBlank(cachedMetadata.imageUrl)) {
             loadResolvedUrl(imageView, requestKey, cachedMetadata.imageUrl, null, metadataLoadCallback, cachedMetadata);
+            revalidateIfStale(birdId, commonName, scientificName);
+            return;
+        }
+
+        if (isKnownMissing(birdId, commonName, scientificName)) {
+            imageView.setVisibility(View.GONE);
+            notifyMetadataNotFound(metadataLoadCallback);
             return;
         }
 
@@ -150,12 +167,23 @@ public final class BirdImageLoader {
         ImageMetadata cachedMetadata = getCachedMetadata(birdId, commonName, scientificName);
         if (cachedMetadata != null && !isBlank(cachedMetadata.imageUrl)) {
             loadResolvedUrl(imageView, requestKey, cachedMetadata.imageUrl, loadCallback, null, cachedMetadata);
+            revalidateIfStale(birdId, commonName, scientificName);
+            return;
+        }
+
+        if (isKnownMissing(birdId, commonName, scientificName)) {
+            imageView.setVisibility(View.GONE);
+            notifyNotFound(loadCallback);
             return;
         }
 
         loadBirdImageIntoInternal(imageView, requestKey, birdId, commonName, scientificName, loadCallback, null);
     }
 
+    /**
+     * Hands the lookup to {@link BirdImageMetadataResolver}, which batches it with every other bird
+     * bound in the same frame, then loads the resolved URL if the view still shows this bird.
+     */
     private static void loadBirdImageIntoInternal(@NonNull ImageView imageView,
                                                   @NonNull String requestKey,
                                                   @Nullable String birdId,
@@ -163,193 +191,77 @@ public final class BirdImageLoader {
                                                   @Nullable String scientificName,
                                                   @Nullable LoadCallback loadCallback,
                                                   @Nullable MetadataLoadCallback metadataLoadCallback) {
-        tryFromCollection(imageView, requestKey, "nuthatch_images", birdId, commonName, scientificName, loadCallback, metadataLoadCallback, () ->
-                tryFromCollection(imageView, requestKey, "inaturalist_images", birdId, commonName, scientificName, loadCallback, metadataLoadCallback, () ->
-                        tryFromCollection(imageView, requestKey, "images_fecthed_Identifications", birdId, commonName, scientificName, loadCallback, metadataLoadCallback, () -> {
-                            if (!isStillBound(imageView, requestKey)) return;
-                            imageView.setImageDrawable(null);
-                            imageView.setVisibility(View.GONE);
-                            notifyNotFound(loadCallback);
-                            notifyMetadataNotFound(metadataLoadCallback);
-                        })
-                )
-        );
-    }
-
-    private static void tryFromCollection(@NonNull ImageView imageView,
-                                          @NonNull String requestKey,
-                                          @NonNull String collectionName,
-                                          @Nullable String birdId,
-                                          @Nullable String commonName,
-                                          @Nullable String scientificName,
-                                          @Nullable LoadCallback loadCallback,
-                                          @Nullable MetadataLoadCallback metadataLoadCallback,
-                                          @NonNull Runnable onNotFound) {
-        if (!isStillBound(imageView, requestKey)) return;
-
-        if (!isBlank(birdId)) {
-            getDocumentCacheThenServer(collectionName, birdId,
-                    doc -> {
-                        if (!isStillBound(imageView, requestKey)) return;
-                        if (doc != null && doc.exists()) {
-                            processImageDoc(imageView, requestKey, collectionName, birdId, commonName, scientificName, doc, loadCallback, metadataLoadCallback);
-                        } else {
-                            queryFallbacks(imageView, requestKey, collectionName, birdId, commonName, scientificName, loadCallback, metadataLoadCallback, onNotFound);
-                        }
-                    },
-                    e -> {
-                        Log.e(TAG, "Failed direct image lookup in " + collectionName + " for birdId=" + birdId, e);
-                        if (!isStillBound(imageView, requestKey)) return;
-                        queryFallbacks(imageView, requestKey, collectionName, birdId, commonName, scientificName, loadCallback, metadataLoadCallback, onNotFound);
-                    }
-            );
-        } else {
-            queryFallbacks(imageView, requestKey, collectionName, birdId, commonName, scientificName, loadCallback, metadataLoadCallback, onNotFound);
-        }
-    }
-
-    private static void queryFallbacks(@NonNull ImageView imageView,
-                                       @NonNull String requestKey,
-                                       @NonNull String collectionName,
-                                       @Nullable String birdId,
-                                       @Nullable String commonName,
-                                       @Nullable String scientificName,
-                                       @Nullable LoadCallback loadCallback,
-                                       @Nullable MetadataLoadCallback metadataLoadCallback,
-                                       @NonNull Runnable onNotFound) {
-        if (!isStillBound(imageView, requestKey)) return;
-
-        queryByField(imageView, requestKey, collectionName, "speciesCode", birdId, birdId, commonName, scientificName, loadCallback, metadataLoadCallback, () ->
-                queryByField(imageView, requestKey, collectionName, "commonName", commonName, birdId, commonName, scientificName, loadCallback, metadataLoadCallback, () ->
-                        queryByField(imageView, requestKey, collectionName, "scientificName", scientificName, birdId, commonName, scientificName, loadCallback, metadataLoadCallback, onNotFound)
-                )
-        );
-    }
-
-    private static void queryByField(@NonNull ImageView imageView,
-                                     @NonNull String requestKey,
-                                     @NonNull String collectionName,
-                                     @NonNull String fieldName,
-                                     @Nullable String value,
-                                     @Nullable String birdId,
-                                     @Nullable String commonName,
-                                     @Nullable String scientificName,
-                                     @Nullable LoadCallback loadCallback,
-                                     @Nullable MetadataLoadCallback metadataLoadCallback,
-                                     @NonNull Runnable onNotFound) {
-        if (!isStillBound(imageView, requestKey)) return;
-
-        if (isBlank(value)) {
-            onNotFound.run();
-            return;
-        }
+        BirdImageMetadataResolver.resolve(birdId, commonName, scientificName, (metadata, collectionName, definitive) -> {
+            if (metadata == null) {
+                if (definitive) recordMissing(birdId, commonName, scientificName);
+            } else {
+                cacheResolvedData(birdId, commonName, scientificName, metadata, collectionName);
+            }
 
-        getSingleQueryResultCacheThenServer(collectionName, fieldName, value,
-                querySnapshot -> {
-                    if (!isStillBound(imageView, requestKey)) return;
-                    handleQueryResult(imageView, requestKey, collectionName, birdId, commonName, scientificName, querySnapshot, loadCallback, metadataLoadCallback, onNotFound);
-                },
-                e -> {
-                    Log.e(TAG, "Failed image query in " + collectionName + " where " + fieldName + "=" + value, e);
-                    if (!isStillBound(imageView, requestKey)) return;
-                    onNotFound.run();
-                }
-        );
+            if (!isStillBound(imageView, requestKey)) return;
+            if (metadata == null) {
+                imageView.setImageDrawable(null);
+                imageView.setVisibility(View.GONE);
+                notifyNotFound(loadCallback);
+                notifyMetadataNotFound(metadataLoadCallback);
+                return;
+            }
+            loadResolvedUrl(imageView, requestKey, metadata.imageUrl, loadCallback, metadataLoadCallback, metadata);
+        });
     }
 
-    private static void getDocumentCacheThenServer(@NonNull String collectionName,
-                                                   @NonNull String docId,
-                                                   @NonNull DocumentHandler onSuccess,
-                                                   @NonNull FailureHandler onFailure) {
-        db.collection(collectionName).document(docId).get(Source.CACHE)
-                .addOnSuccessListener(cacheDoc -> {
-                    if (cacheDoc.exists()) {
-                        onSuccess.handle(cacheDoc);
-                    } else {
-                        db.collection(collectionName).document(docId).get(Source.SERVER)
-                                .addOnSuccessListener(onSuccess::handle)
-                                .addOnFailureListener(onFailure::handle);
-                    }
-                })
-                .addOnFailureListener(cacheError ->
-                        db.collection(collectionName).document(docId).get(Source.SERVER)
-                                .addOnSuccessListener(onSuccess::handle)
-                                .addOnFailureListener(onFailure::handle)
-                );
-    }
-
-    private static void getSingleQueryResultCacheThenServer(@NonNull String collectionName,
-                                                            @NonNull String fieldName,
-                                                            @NonNull String value,
-                                                            @NonNull QueryHandler onSuccess,
-                                                            @NonNull FailureHandler onFailure) {
-        db.collection(collectionName)
-                .whereEqualTo(fieldName, value)
-                .limit(1)
-                .get(Source.CACHE)
-                .addOnSuccessListener(cacheSnapshot -> {
-                    if (cacheSnapshot != null && !cacheSnapshot.isEmpty()) {
-                        onSuccess.handle(cacheSnapshot);
-                    } else {
-                        db.collection(collectionName)
-                                .whereEqualTo(fieldName, value)
-                                .limit(1)
-                                .get(Source.SERVER)
-                                .addOnSuccessListener(onSuccess::handle)
-                                .addOnFailureListener(onFailure::handle);
-                    }
-                })
-                .addOnFailureListener(cacheError ->
-                        db.collection(collectionName)
-                                .whereEqualTo(fieldName, value)
-                                .limit(1)
-                                .get(Source.SERVER)
-                                .addOnSuccessListener(onSuccess::handle)
-                                .addOnFailureListener(onFailure::handle)
-                );
-    }
-
-    private static void handleQueryResult(@NonNull ImageView imageView,
-                                          @NonNull String requestKey,
-                                          @NonNull String collectionName,
-                                          @Nullable String birdId,
+    /**
+     * A disk entry past {@link BirdImageMetadataStore#METADATA_TTL_MS} has already been painted;
+     * re-resolve it in the background (once per process) so the next bind sees current metadata.
+     */
+    private static void revalidateIfStale(@Nullable String birdId,
                                           @Nullable String commonName,
-                                          @Nullable String scientificName,
-                                          @Nullable QuerySnapshot querySnapshot,
-                                          @Nullable LoadCallback loadCallback,
-                                          @Nullable MetadataLoadCallback metadataLoadCallback,
-                                          @NonNull Runnable onNotFound) {
-        if (!isStillBound(imageView, requestKey)) return;
-
-        if (querySnapshot != null && !querySnapshot.isEmpty()) {
-            processImageDoc(imageView, requestKey, collectionName, birdId, commonName, scientificName, querySnapshot.getDocuments().get(0), loadCallback, metadataLoadCallback);
-        } else {
-            onNotFound.run();
+                                          @Nullable String scientificName) {
+        String primaryKey = firstNonNull(buildIdCacheKey(birdId), buildCommonNameCacheKey(commonName), buildScientificNameCacheKey(scientificName));
+        BirdImageMetadataStore.Entry entry = BirdImageMetadataStore.get(primaryKey);
+        if (entry == null || entry.isNegative() || !entry.isStale(System.currentTimeMillis())) return;
+        synchronized (cacheLock) {
+            if (!revalidatedKeys.add(primaryKey)) return;
         }
+
+        BirdImageMetadataResolver.resolve(birdId, commonName, scientificName, (metadata, collectionName, definitive) -> {
+            if (metadata != null) {
+                cacheResolvedData(birdId, commonName, scientificName, metadata, collectionName);
+            } else if (definitive) {
+                recordMissing(birdId, commonName, scientificName);
+            }
+        });
     }
 
-    private static void processImageDoc(@NonNull ImageView imageView,
-                                        @NonNull String requestKey,
-                                        @NonNull String collectionName,
-                                        @Nullable String birdId,
-                                        @Nullable String commonName,
-                                        @Nullable String scientificName,
-                                        @NonNull DocumentSnapshot imageDoc,
-                                        @Nullable LoadCallback loadCallback,
-                                        @Nullable MetadataLoadCallback metadataLoadCallback) {
-        if (!isStillBound(imageView, requestKey)) return;
+    /**
+     * Request that warms the cache for a bird about to scroll into view, for {@link FeedPrefetcher}.
+     *
+     * The bound row sizes its load to the ImageView, so this downloads the source into Glide's disk
+     * cache rather than decoding at a guessed size. When the URL is not known yet it starts the
+     * (batched, de-duplicated) metadata lookup instead and returns null; the row's own bind then
+     * finds the metadata cached.
+     */
+    @Nullable
+    static RequestBuilder<File> preloadRequest(@NonNull Context context,
+                                               @Nullable String birdId,
+                                               @Nullable String commonName,
+                                               @Nullable String scientificName) {
+        if (isBlank(birdId) && isBlank(commonName) && isBlank(scientificName)) return null;
 
-        String imageUrl = extractImageUrl(imageDoc);
-        if (isBlank(imageUrl)) {
-            imageView.setImageDrawable(null);
-            imageView.setVisibility(View.GONE);
-            notifyNotFound(loadCallback);
-            return;
+        ImageMetadata cachedMetadata = getCachedMetadata(birdId, commonName, scientificName);
+        if (cachedMetadata != null && !isBlank(cachedMetadata.imageUrl)) {
+            return Glide.with(context).downloadOnly().load(cachedMetadata.imageUrl);
         }
+        if (isKnownMissing(birdId, commonName, scientificName)) return null;
 
-        ImageMetadata metadata = extractImageMetadata(imageDoc, collectionName, imageUrl);
-        cacheResolvedData(birdId, commonName, scientificName, metadata);
-        loadResolvedUrl(imageView, requestKey, imageUrl, loadCallback, metadataLoadCallback, metadata);
+        BirdImageMetadataResolver.resolve(birdId, commonName, scientificName, (metadata, collectionName, definitive) -> {
+            if (metadata != null) {
+                cacheResolvedData(birdId, commonName, scientificName, metadata, collectionName);
+            } else if (definitive) {
+                recordMissing(birdId, commonName, scientificName);
+            }
+        });
+        return null;
     }
 
     private static void loadResolvedUrl(@NonNull ImageView imageView,
@@ -392,7 +304,7 @@ public final class BirdImageLoader {
     }
 
     @Nullable
-    private static String extractImageUrl(@NonNull DocumentSnapshot imageDoc) {
+    static String extractImageUrl(@NonNull DocumentSnapshot imageDoc) {
         String singleUrl = imageDoc.getString("imageUrl");
         if (!isBlank(singleUrl)) {
             return singleUrl;
@@ -502,6 +414,8 @@ public final class BirdImageLoader {
                 if (byId != null && !isBlank(byId.imageUrl)) return byId;
                 String byIdUrl = imageUrlCache.get(idKey);
                 if (!isBlank(byIdUrl)) return new ImageMetadata(byIdUrl, null, null, null, true, null, null, null, false);
+                ImageMetadata stored = promoteFromStore(idKey);
+                if (stored != null) return stored;
             }
 
             String commonKey = buildCommonNameCacheKey(commonName);
@@ -510,6 +424,8 @@ public final class BirdImageLoader {
                 if (byCommon != null && !isBlank(byCommon.imageUrl)) return byCommon;
                 String byCommonUrl = imageUrlCache.get(commonKey);
                 if (!isBlank(byCommonUrl)) return new ImageMetadata(byCommonUrl, null, null, null, true, null, null, null, false);
+                ImageMetadata stored = promoteFromStore(commonKey);
+                if (stored != null) return stored;
             }
 
             String scientificKey = buildScientificNameCacheKey(scientificName);
@@ -518,15 +434,80 @@ public final class BirdImageLoader {
                 if (byScientific != null && !isBlank(byScientific.imageUrl)) return byScientific;
                 String byScientificUrl = imageUrlCache.get(scientificKey);
                 if (!isBlank(byScientificUrl)) return new ImageMetadata(byScientificUrl, null, null, null, true, null, null, null, false);
+                ImageMetadata stored = promoteFromStore(scientificKey);
+                if (stored != null) return stored;
             }
         }
         return null;
     }
 
+    /**
+     * Copies a disk-cached hit into the in-memory caches. Caller holds {@link #cacheLock}.
+     */
+    @Nullable
+    private static ImageMetadata promoteFromStore(@NonNull String key) {
+        BirdImageMetadataStore.Entry entry = BirdImageMetadataStore.get(key);
+        if (entry == null || entry.metadata == null || isBlank(entry.metadata.imageUrl)) return null;
+        imageUrlCache.put(key, entry.metadata.imageUrl);
+        imageMetadataCache.put(key, entry.metadata);
+        return entry.metadata;
+    }
+
+    /**
+     * True when every key this request would search by is a fresh negative entry, i.e. the last
+     * lookup already walked all collections and found nothing.
+     */
+    private static boolean isKnownMissing(@Nullable String birdId,
+                                          @Nullable String commonName,
+                                          @Nullable String scientificName) {
+        long now = System.currentTimeMillis();
+        boolean anyKey = false;
+        for (String key : new String[]{buildIdCacheKey(birdId), buildCommonNameCacheKey(commonName), buildScientificNameCacheKey(scientificName)}) {
+            if (key == null) continue;
+            anyKey = true;
+            BirdImageMetadataStore.Entry entry = BirdImageMetadataStore.get(key);
+            if (entry == null || !entry.isNegative() || entry.isStale(now)) return false;
+        }
+        return anyKey;
+    }
+
+    /**
+     * Caches a "no image anywhere" result in memory and on disk for
+     * {@link BirdImageMetadataStore#NEGATIVE_TTL_MS}. Only call this for a resolver result with
+     * {@code definitive} set: every value of the bird was checked by a query that could not have
+     * been cut short (an uncapped batch or a single-value query) and came back empty.
+     */
+    private static void recordMissing(@Nullable String birdId,
+                                      @Nullable String commonName,
+                                      @Nullable String scientificName) {
+        String idKey = buildIdCacheKey(birdId);
+        String commonKey = buildCommonNameCacheKey(commonName);
+        String scientificKey = buildScientificNameCacheKey(scientificName);
+        synchronized (cacheLock) {
+            for (String key : new String[]{idKey, commonKey, scientificKey}) {
+                if (key == null) continue;
+                imageUrlCache.remove(key);
+                imageMetadataCache.remove(key);
+            }
+        }
+        BirdImageMetadataStore.putMissing(BirdImageMetadataStore.keysOf(idKey, commonKey, scientificKey));
+    }
+
     private static void cacheResolvedData(@Nullable String birdId,
                                           @Nullable String commonName,
                                           @Nullable String scientificName,
                                           @NonNull ImageMetadata metadata) {
+        cacheResolvedData(birdId, commonName, scientificName, metadata, null);
+    }
+
+    private static void cacheResolvedData(@Nullable String birdId,
+                                          @Nullable String commonName,
+                                          @Nullable String scientificName,
+                                          @NonNull ImageMetadata metadata,
+                                          @Nullable String collectionName) {
+        BirdImageMetadataStore.putResolved(BirdImageMetadataStore.keysOf(
+                buildIdCacheKey(birdId), buildCommonNameCacheKey(commonName), buildScientificNameCacheKey(scientificName)),
+                metadata, collectionName);
         synchronized (cacheLock) {
             String idKey = buildIdCacheKey(birdId);
             if (idKey != null) {
@@ -549,7 +530,7 @@ public final class BirdImageLoader {
     }
 
     @NonNull
-    private static ImageMetadata extractImageMetadata(@NonNull DocumentSnapshot imageDoc,
+    static ImageMetadata extractImageMetadata(@NonNull DocumentSnapshot imageDoc,
                                                       @NonNull String collectionName,
                                                       @NonNull String imageUrl) {
         String source = cleanMetadataString(imageDoc.getString("source"));
@@ -786,6 +767,12 @@ public final class BirdImageLoader {
         return value == null || value.trim().isEmpty();
     }
 
+    @Nullable
+    private static String firstNonNull(@Nullable String a, @Nullable String b, @Nullable String c) {
+        if (a != null) return a;
+        return b != null ? b : c;
+    }
+
     @NonNull
     private static String firstNonBlank(@Nullable String a,
                                         @Nullable String b,
@@ -863,16 +850,4 @@ public final class BirdImageLoader {
             this.modified = modified;
         }
     }
-
-    private interface DocumentHandler {
-        void handle(@NonNull DocumentSnapshot documentSnapshot);
-    }
-
-    private interface QueryHandler {
-        void handle(@Nullable QuerySnapshot querySnapshot);
-    }
-
-    private interface FailureHandler {
-        void handle(@NonNull Exception e);
-    }
 }
@@ -0,0 +1,406 @@
+package com.birddex.app;
+
+import android.util.Log;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BirdImageMetadataResolver: Batches the Firestore lookups behind {@link BirdImageLoader}.
+ *
+ * Every bird requested during one frame is collected and resolved together. For each image
+ * collection, in priority order, the still-unresolved birds are looked up with chunked
+ * {@code whereIn} queries on the document id, speciesCode, commonName and scientificName, first
+ * against the local Firestore cache and then against the server. Birds found in a collection are
+ * fanned back to their callbacks right away; the rest move on to the next collection. A full grid
+ * of cards therefore costs a few round trips instead of one serial waterfall per card.
+ *
+ * Field queries are capped at {@link #MAX_DOCS_PER_FIELD_QUERY} docs, and a few species with many
+ * docs can fill that cap. Values from a chunk that hit it and matched nothing are looked up again
+ * one at a time ({@code whereEqualTo(field, value).limit(1)}, like the old per-bird lookup), so a
+ * bird is only reported missing once every one of its values got a complete answer.
+ *
+ * Main-thread only; Firestore delivers its listeners on the main thread as well.
+ */
+final class BirdImageMetadataResolver {
+
+    private static final String TAG = "BirdImageResolver";
+
+    // Checked in this order; the first collection with a usable image wins.
+    private static final String[] COLLECTIONS = {
+            "nuthatch_images",
+            "inaturalist_images",
+            "images_fecthed_Identifications"
+    };
+
+    // Match priority inside one collection. FIELD_DOCUMENT_ID is a marker for FieldPath.documentId().
+    static final String FIELD_DOCUMENT_ID = "__id__";
+    static final String[] FIELDS = {FIELD_DOCUMENT_ID, "speciesCode", "commonName", "scientificName"};
+
+    // Firestore allows up to 30 values in an "in" filter.
+    static final int MAX_VALUES_PER_QUERY = 30;
+    // Field queries can match several docs per value; cap the read cost of one chunk.
+    private static final int MAX_DOCS_PER_FIELD_QUERY = MAX_VALUES_PER_QUERY * 2;
+
+    interface Callback {
+        /**
+         * @param metadata       null when no collection has a usable image for the bird
+         * @param collectionName the collection the image came from, null when not found
+         * @param definitive     false when a server read failed, so a null result is not a real miss;
+         *                       a true miss means every value was checked by an uncapped query
+         */
+        void onResolved(@Nullable BirdImageLoader.ImageMetadata metadata, @Nullable String collectionName, boolean definitive);
+    }
+
+    static final class Lookup {
+        final String key;
+        @Nullable final String birdId;
+        @Nullable final String commonName;
+        @Nullable final String scientificName;
+        final List<Callback> callbacks = new ArrayList<>(1);
+        @Nullable BirdImageLoader.ImageMetadata result;
+        @Nullable String resultCollection;
+        boolean hadFailure;
+
+        Lookup(@NonNull String key, @Nullable String birdId, @Nullable String commonName, @Nullable String scientificName) {
+            this.key = key;
+            this.birdId = birdId;
+            this.commonName = commonName;
+            this.scientificName = scientificName;
+        }
+
+        @Nullable
+        String valueFor(@NonNull String field) {
+            switch (field) {
+                case FIELD_DOCUMENT_ID:
+                    // Document ids cannot contain '/', and whereIn would throw on one.
+                    return isBlank(birdId) || birdId.indexOf('/') >= 0 ? null : birdId;
+                case "speciesCode":
+                    return isBlank(birdId) ? null : birdId;
+                case "commonName":
+                    return isBlank(commonName) ? null : commonName;
+                case "scientificName":
+                    return isBlank(scientificName) ? null : scientificName;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    // Waiting for the next frame callback.
+    private static final Map<String, Lookup> pending = new LinkedHashMap<>();
+    // Part of a batch that is already querying; late callers for the same bird just attach.
+    private static final Map<String, Lookup> inFlight = new HashMap<>();
+    private static boolean flushScheduled = false;
+
+    private static final Choreographer.FrameCallback FLUSH = frameTimeNanos -> flush();
+
+    private BirdImageMetadataResolver() {
+    }
+
+    /**
+     * Queues a lookup for the next batch.
+     */
+    static void resolve(@Nullable String birdId,
+                        @Nullable String commonName,
+                        @Nullable String scientificName,
+                        @NonNull Callback callback) {
+        String key = buildKey(birdId, commonName, scientificName);
+
+        Lookup lookup = inFlight.get(key);
+        if (lookup == null) lookup = pending.get(key);
+        if (lookup == null) {
+            lookup = new Lookup(key, birdId, commonName, scientificName);
+            pending.put(key, lookup);
+        }
+        lookup.callbacks.add(callback);
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Choreographer.getInstance().postFrameCallback(FLUSH);
+        }
+    }
+
+    private static void flush() {
+        flushScheduled = false;
+        if (pending.isEmpty()) return;
+
+        List<Lookup> batch = new ArrayList<>(pending.values());
+        pending.clear();
+        for (Lookup lookup : batch) {
+            inFlight.put(lookup.key, lookup);
+        }
+        resolveInCollection(0, batch);
+    }
+
+    /**
+     * Cache pass, then server pass for whatever the cache did not have, then the next collection.
+     */
+    private static void resolveInCollection(int collectionIndex, @NonNull List<Lookup> unresolved) {
+        if (unresolved.isEmpty()) return;
+        if (collectionIndex >= COLLECTIONS.length) {
+            for (Lookup lookup : unresolved) {
+                complete(lookup);
+            }
+            return;
+        }
+
+        String collectionName = COLLECTIONS[collectionIndex];
+        queryPass(collectionName, unresolved, Source.CACHE, () -> {
+            List<Lookup> cacheMisses = completeResolved(unresolved);
+            queryPass(collectionName, cacheMisses, Source.SERVER, () ->
+                    resolveInCollection(collectionIndex + 1, completeResolved(cacheMisses)));
+        });
+    }
+
+    private static void queryPass(@NonNull String collectionName,
+                                  @NonNull List<Lookup> lookups,
+                                  @NonNull Source source,
+                                  @NonNull Runnable onDone) {
+        if (lookups.isEmpty()) {
+            onDone.run();
+            return;
+        }
+
+        CollectionReference collection = FirebaseFirestore.getInstance().collection(collectionName);
+        List<Task<QuerySnapshot>> reads = new ArrayList<>();
+        List<Integer> readFieldIndexes = new ArrayList<>();
+        List<List<String>> readChunks = new ArrayList<>();
+
+        for (int f = 0; f < FIELDS.length; f++) {
+            String field = FIELDS[f];
+            for (List<String> chunk : valueChunks(lookups, field)) {
+                Task<QuerySnapshot> read = FIELD_DOCUMENT_ID.equals(field)
+                        ? collection.whereIn(FieldPath.documentId(), chunk).get(source)
+                        : collection.whereIn(field, chunk).limit(MAX_DOCS_PER_FIELD_QUERY).get(source);
+                reads.add(read);
+                readFieldIndexes.add(f);
+                readChunks.add(chunk);
+            }
+        }
+
+        if (reads.isEmpty()) {
+            onDone.run();
+            return;
+        }
+
+        Tasks.whenAllComplete(reads).addOnCompleteListener(done -> {
+            // hits[fieldIndex]: queried value -> first usable image for it.
+            List<Map<String, BirdImageLoader.ImageMetadata>> hits = new ArrayList<>(FIELDS.length);
+            // truncated[fieldIndex]: values whose chunk filled the doc cap, so "no hit" proves nothing.
+            List<Set<String>> truncated = new ArrayList<>(FIELDS.length);
+            for (int f = 0; f < FIELDS.length; f++) {
+                hits.add(new HashMap<>());
+                truncated.add(new HashSet<>());
+            }
+
+            boolean serverFailure = false;
+            for (int i = 0; i < reads.size(); i++) {
+                Task<QuerySnapshot> read = reads.get(i);
+                int fieldIndex = readFieldIndexes.get(i);
+                if (!read.isSuccessful() || read.getResult() == null) {
+                    // A cache miss on an empty local cache also lands here; the server pass covers it.
+                    if (source == Source.SERVER) {
+                        serverFailure = true;
+                        Log.e(TAG, "Failed batched image lookup in " + collectionName + " by " + FIELDS[fieldIndex], read.getException());
+                    }
+                    continue;
+                }
+                collectHits(read.getResult(), collectionName, fieldIndex, hits.get(fieldIndex));
+                if (!FIELD_DOCUMENT_ID.equals(FIELDS[fieldIndex]) && read.getResult().size() >= MAX_DOCS_PER_FIELD_QUERY) {
+                    truncated.get(fieldIndex).addAll(readChunks.get(i));
+                }
+            }
+
+            boolean batchFailed = serverFailure;
+            requeryTruncated(collection, collectionName, lookups, source, hits, truncated, followUpFailed -> {
+                for (Lookup lookup : lookups) {
+                    if (batchFailed || followUpFailed) lookup.hadFailure = true;
+                    if (lookup.result == null) lookup.result = bestHit(lookup, hits);
+                    if (lookup.result != null && lookup.resultCollection == null) {
+                        lookup.resultCollection = collectionName;
+                    }
+                }
+                onDone.run();
+            });
+        });
+    }
+
+    private interface FollowUpDone {
+        void run(boolean serverFailure);
+    }
+
+    /**
+     * Looks up, one value per query, every value a lookup still needs whose batched chunk was
+     * truncated: values of a field ranked above the lookup's best hit so far, so match priority
+     * is the same as if the batch had not been capped. Results are merged into {@code hits}.
+     */
+    private static void requeryTruncated(@NonNull CollectionReference collection,
+                                         @NonNull String collectionName,
+                                         @NonNull List<Lookup> lookups,
+                                         @NonNull Source source,
+                                         @NonNull List<Map<String, BirdImageLoader.ImageMetadata>> hits,
+                                         @NonNull List<Set<String>> truncated,
+                                         @NonNull FollowUpDone onDone) {
+        List<Task<QuerySnapshot>> reads = new ArrayList<>();
+        List<Integer> readFieldIndexes = new ArrayList<>();
+        List<Set<String>> requery = valuesToRequery(lookups, hits, truncated);
+        for (int f = 0; f < FIELDS.length; f++) {
+            for (String value : requery.get(f)) {
+                reads.add(collection.whereEqualTo(FIELDS[f], value).limit(1).get(source));
+                readFieldIndexes.add(f);
+            }
+        }
+
+        if (reads.isEmpty()) {
+            onDone.run(false);
+            return;
+        }
+
+        Tasks.whenAllComplete(reads).addOnCompleteListener(done -> {
+            boolean serverFailure = false;
+            for (int i = 0; i < reads.size(); i++) {
+                Task<QuerySnapshot> read = reads.get(i);
+                int fieldIndex = readFieldIndexes.get(i);
+                if (!read.isSuccessful() || read.getResult() == null) {
+                    if (source == Source.SERVER) {
+                        serverFailure = true;
+                        Log.e(TAG, "Failed image lookup in " + collectionName + " by " + FIELDS[fieldIndex], read.getException());
+                    }
+                    continue;
+                }
+                collectHits(read.getResult(), collectionName, fieldIndex, hits.get(fieldIndex));
+            }
+            onDone.run(serverFailure);
+        });
+    }
+
+    /**
+     * The distinct values the lookups have for {@code field}, in request order, split into
+     * {@code whereIn} chunks of at most {@link #MAX_VALUES_PER_QUERY}.
+     */
+    @NonNull
+    static List<List<String>> valueChunks(@NonNull List<Lookup> lookups, @NonNull String field) {
+        Set<String> values = new LinkedHashSet<>();
+        for (Lookup lookup : lookups) {
+            String value = lookup.valueFor(field);
+            if (value != null) values.add(value);
+        }
+        List<String> valueList = new ArrayList<>(values);
+        List<List<String>> chunks = new ArrayList<>();
+        for (int start = 0; start < valueList.size(); start += MAX_VALUES_PER_QUERY) {
+            chunks.add(new ArrayList<>(valueList.subList(start, Math.min(valueList.size(), start + MAX_VALUES_PER_QUERY))));
+        }
+        return chunks;
+    }
+
+    /**
+     * Per field index, the truncated values to look up again: for each lookup, the values of the
+     * fields ranked above its best hit so far, each value once.
+     */
+    @NonNull
+    static List<Set<String>> valuesToRequery(@NonNull List<Lookup> lookups,
+                                             @NonNull List<? extends Map<String, ?>> hits,
+                                             @NonNull List<Set<String>> truncated) {
+        List<Set<String>> requery = new ArrayList<>(FIELDS.length);
+        for (int f = 0; f < FIELDS.length; f++) {
+            requery.add(new LinkedHashSet<>());
+        }
+        for (Lookup lookup : lookups) {
+            for (int f = 0; f < FIELDS.length; f++) {
+                String value = lookup.valueFor(FIELDS[f]);
+                if (value == null) continue;
+                if (hits.get(f).containsKey(value)) break;
+                if (truncated.get(f).contains(value)) requery.get(f).add(value);
+            }
+        }
+        return requery;
+    }
+
+    /**
+     * The hit for the lookup's highest-priority field, or null when no field matched.
+     */
+    @Nullable
+    static <T> T bestHit(@NonNull Lookup lookup, @NonNull List<? extends Map<String, T>> hits) {
+        for (int f = 0; f < FIELDS.length; f++) {
+            String value = lookup.valueFor(FIELDS[f]);
+            if (value == null) continue;
+            T hit = hits.get(f).get(value);
+            if (hit != null) return hit;
+        }
+        return null;
+    }
+
+    private static void collectHits(@NonNull QuerySnapshot result,
+                                    @NonNull String collectionName,
+                                    int fieldIndex,
+                                    @NonNull Map<String, BirdImageLoader.ImageMetadata> fieldHits) {
+        for (DocumentSnapshot doc : result.getDocuments()) {
+            String matchedValue = matchedValue(doc, FIELDS[fieldIndex]);
+            if (matchedValue == null || fieldHits.containsKey(matchedValue)) continue;
+            String imageUrl = BirdImageLoader.extractImageUrl(doc);
+            if (isBlank(imageUrl)) continue;
+            fieldHits.put(matchedValue, BirdImageLoader.extractImageMetadata(doc, collectionName, imageUrl));
+        }
+    }
+
+    @Nullable
+    private static String matchedValue(@NonNull DocumentSnapshot doc, @NonNull String field) {
+        if (FIELD_DOCUMENT_ID.equals(field)) return doc.getId();
+        Object value = doc.get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    /**
+     * Delivers every lookup that found an image and returns the ones that are still unresolved.
+     */
+    @NonNull
+    private static List<Lookup> completeResolved(@NonNull List<Lookup> lookups) {
+        List<Lookup> unresolved = new ArrayList<>();
+        for (Lookup lookup : lookups) {
+            if (lookup.result != null) {
+                complete(lookup);
+            } else {
+                unresolved.add(lookup);
+            }
+        }
+        return unresolved;
+    }
+
+    private static void complete(@NonNull Lookup lookup) {
+        inFlight.remove(lookup.key);
+        for (Callback callback : lookup.callbacks) {
+            callback.onResolved(lookup.result, lookup.resultCollection, lookup.result != null || !lookup.hadFailure);
+        }
+    }
+
+    @NonNull
+    private static String buildKey(@Nullable String birdId, @Nullable String commonName, @Nullable String scientificName) {
+        return (birdId == null ? "" : birdId) + '\u0000'
+                + (commonName == null ? "" : commonName) + '\u0000'
+                + (scientificName == null ? "" : scientificName);
+    }
+
+    private static boolean isBlank(@Nullable String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,293 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BirdImageMetadataStore: Disk-backed second level behind BirdImageLoader's in-memory caches.
+ *
+ * Resolved image metadata (url, attribution, license, source collection, resolvedAt) and
+ * "no image anywhere" results are kept in one JSON file in the cache dir, loaded once at app
+ * start by {@link #warmUp(Context)}. Positive entries older than {@link #METADATA_TTL_MS} are still
+ * served but flagged stale so the loader can revalidate them in the background; negative entries
+ * simply stop counting after the shorter {@link #NEGATIVE_TTL_MS}.
+ */
+final class BirdImageMetadataStore {
+
+    private static final String TAG = "BirdImageMetadataStore";
+    private static final String FILE_NAME = "bird_image_metadata_v1.json";
+    private static final int FORMAT_VERSION = 1;
+
+    static final long METADATA_TTL_MS = 7L * 24L * 60L * 60L * 1000L;
+    static final long NEGATIVE_TTL_MS = 6L * 60L * 60L * 1000L;
+
+    private static final int MAX_ENTRIES = 3000;
+    // Coalesces the writes of a scrolling list into one file rewrite.
+    private static final long WRITE_DELAY_MS = 2000L;
+
+    static final class Entry {
+        // Null for a negative (not found) entry.
+        @Nullable final BirdImageLoader.ImageMetadata metadata;
+        @Nullable final String collection;
+        final long resolvedAt;
+
+        Entry(@Nullable BirdImageLoader.ImageMetadata metadata, @Nullable String collection, long resolvedAt) {
+            this.metadata = metadata;
+            this.collection = collection;
+            this.resolvedAt = resolvedAt;
+        }
+
+        boolean isNegative() {
+            return metadata == null;
+        }
+
+        boolean isStale(long now) {
+            return now - resolvedAt > (isNegative() ? NEGATIVE_TTL_MS : METADATA_TTL_MS);
+        }
+    }
+
+    private static final Object lock = new Object();
+    private static final Map<String, Entry> entries = new HashMap<>();
+    private static final ScheduledExecutorService IO_EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "bird-image-metadata-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Nullable private static AtomicFile file;
+    @Nullable private static ScheduledFuture<?> pendingWrite;
+
+    private BirdImageMetadataStore() {
+    }
+
+    /**
+     * Loads the file on a background thread. Lookups made before it finishes just miss.
+     */
+    static void warmUp(@NonNull Context context) {
+        synchronized (lock) {
+            if (file != null) return;
+            file = new AtomicFile(new File(context.getApplicationContext().getCacheDir(), FILE_NAME));
+        }
+        IO_EXECUTOR.execute(BirdImageMetadataStore::readFromDisk);
+    }
+
+    @Nullable
+    static Entry get(@Nullable String key) {
+        if (key == null) return null;
+        synchronized (lock) {
+            return entries.get(key);
+        }
+    }
+
+    static void putResolved(@NonNull List<String> keys,
+                            @NonNull BirdImageLoader.ImageMetadata metadata,
+                            @Nullable String collection) {
+        put(keys, new Entry(metadata, collection, System.currentTimeMillis()));
+    }
+
+    static void putMissing(@NonNull List<String> keys) {
+        put(keys, new Entry(null, null, System.currentTimeMillis()));
+    }
+
+    private static void put(@NonNull List<String> keys, @NonNull Entry entry) {
+        if (keys.isEmpty()) return;
+        synchronized (lock) {
+            for (String key : keys) {
+                entries.put(key, entry);
+            }
+            scheduleWriteLocked();
+        }
+    }
+
+    private static void scheduleWriteLocked() {
+        if (file == null || pendingWrite != null) return;
+        pendingWrite = IO_EXECUTOR.schedule(BirdImageMetadataStore::writeToDisk, WRITE_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // ---------------------------------------------------------------------
+    // Disk format: {"v":1,"entries":[{"k":..,"t":..,"c":..,"m":{..}}]}; no "m" means negative.
+    // ---------------------------------------------------------------------
+
+    private static void readFromDisk() {
+        AtomicFile source;
+        synchronized (lock) {
+            source = file;
+        }
+        if (source == null || !source.getBaseFile().exists()) return;
+
+        Map<String, Entry> loaded = new HashMap<>();
+        long now = System.currentTimeMillis();
+        try (FileInputStream in = source.openRead()) {
+            byte[] bytes = readFully(in);
+            JSONObject root = new JSONObject(new String(bytes, StandardCharsets.UTF_8));
+            // Unknown format: start empty; the next write replaces the file.
+            if (root.optInt("v", 0) != FORMAT_VERSION) return;
+            JSONArray array = root.optJSONArray("entries");
+            if (array == null) return;
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject obj = array.optJSONObject(i);
+                if (obj == null) continue;
+                String key = obj.optString("k", null);
+                long resolvedAt = obj.optLong("t", 0L);
+                if (key == null || resolvedAt <= 0L) continue;
+
+                JSONObject meta = obj.optJSONObject("m");
+                Entry entry = new Entry(meta == null ? null : metadataFromJson(meta), optString(obj, "c"), resolvedAt);
+                if (meta != null && entry.metadata == null) continue;
+                // Expired misses are worthless; expired hits still paint instantly and get revalidated.
+                if (entry.isNegative() && entry.isStale(now)) continue;
+                loaded.put(key, entry);
+            }
+        } catch (IOException | JSONException e) {
+            Log.w(TAG, "Discarding unreadable image metadata cache", e);
+            source.delete();
+            return;
+        }
+
+        synchronized (lock) {
+            // Anything resolved while we were reading is newer than the disk copy.
+            for (Map.Entry<String, Entry> item : loaded.entrySet()) {
+                if (!entries.containsKey(item.getKey())) entries.put(item.getKey(), item.getValue());
+            }
+        }
+    }
+
+    private static void writeToDisk() {
+        AtomicFile target;
+        List<Map.Entry<String, Entry>> snapshot;
+        synchronized (lock) {
+            pendingWrite = null;
+            target = file;
+            if (target == null) return;
+            pruneLocked();
+            snapshot = new ArrayList<>(new HashMap<>(entries).entrySet());
+        }
+
+        JSONArray array = new JSONArray();
+        try {
+            for (Map.Entry<String, Entry> item : snapshot) {
+                Entry entry = item.getValue();
+                JSONObject obj = new JSONObject();
+                obj.put("k", item.getKey());
+                obj.put("t", entry.resolvedAt);
+                if (entry.collection != null) obj.put("c", entry.collection);
+                if (entry.metadata != null) obj.put("m", metadataToJson(entry.metadata));
+                array.put(obj);
+            }
+        } catch (JSONException e) {
+            Log.e(TAG, "Error serializing image metadata cache", e);
+            return;
+        }
+
+        FileOutputStream out = null;
+        try {
+            JSONObject root = new JSONObject();
+            root.put("v", FORMAT_VERSION);
+            root.put("entries", array);
+            out = target.startWrite();
+            out.write(root.toString().getBytes(StandardCharsets.UTF_8));
+            target.finishWrite(out);
+        } catch (IOException | JSONException e) {
+            Log.e(TAG, "Error writing image metadata cache", e);
+            if (out != null) target.failWrite(out);
+        }
+    }
+
+    /**
+     * Drops expired misses and, past {@link #MAX_ENTRIES}, the oldest resolutions.
+     */
+    private static void pruneLocked() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isNegative() && entry.isStale(now));
+        if (entries.size() <= MAX_ENTRIES) return;
+
+        List<Map.Entry<String, Entry>> byAge = new ArrayList<>(entries.entrySet());
+        Collections.sort(byAge, (a, b) -> Long.compare(a.getValue().resolvedAt, b.getValue().resolvedAt));
+        for (int i = 0; i < byAge.size() - MAX_ENTRIES; i++) {
+            entries.remove(byAge.get(i).getKey());
+        }
+    }
+
+    @NonNull
+    private static JSONObject metadataToJson(@NonNull BirdImageLoader.ImageMetadata metadata) throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("imageUrl", metadata.imageUrl);
+        json.putOpt("source", metadata.source);
+        json.putOpt("license", metadata.license);
+        json.putOpt("attribution", metadata.attribution);
+        json.put("licenseVerified", metadata.licenseVerified);
+        json.putOpt("sourcePageUrl", metadata.sourcePageUrl);
+        json.putOpt("licenseUrl", metadata.licenseUrl);
+        json.putOpt("title", metadata.title);
+        json.put("modified", metadata.modified);
+        return json;
+    }
+
+    @Nullable
+    private static BirdImageLoader.ImageMetadata metadataFromJson(@NonNull JSONObject json) {
+        String imageUrl = optString(json, "imageUrl");
+        if (imageUrl == null) return null;
+        return new BirdImageLoader.ImageMetadata(
+                imageUrl,
+                optString(json, "source"),
+                optString(json, "license"),
+                optString(json, "attribution"),
+                json.optBoolean("licenseVerified", true),
+                optString(json, "sourcePageUrl"),
+                optString(json, "licenseUrl"),
+                optString(json, "title"),
+                json.optBoolean("modified", false)
+        );
+    }
+
+    @Nullable
+    private static String optString(@NonNull JSONObject json, @NonNull String name) {
+        if (json.isNull(name)) return null;
+        String value = json.optString(name, "").trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    @NonNull
+    private static byte[] readFully(@NonNull FileInputStream in) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            buffer.write(chunk, 0, read);
+        }
+        return buffer.toByteArray();
+    }
+
+    @NonNull
+    static List<String> keysOf(@Nullable String... keys) {
+        List<String> out = new ArrayList<>(keys.length);
+        for (String key : keys) {
+            if (key != null) out.add(key);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,379 @@
+package com.birddex.app;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONObject;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * BirdSearchIndex: In-memory name index for bird search boxes.
+ *
+ * Each entry keeps its common and scientific names normalized once (lowercase, accents folded,
+ * punctuation collapsed to single spaces), plus trigram postings for them. A query then only
+ * looks at entries sharing trigrams with it instead of lowercasing every name on every keystroke.
+ * Results are ranked: exact name, then name prefix, then word prefix, then substring, then
+ * typo matches ("cardnal" still finds Northern Cardinal). Any name containing the query still
+ * matches, as with the old "contains" filter; queries of three characters or fewer are too short
+ * for the postings to narrow much, so they scan the pre-normalized names instead.
+ *
+ * Entries are keyed (bird id, species key, ...) and can be added, replaced or removed one at a
+ * time. All methods are synchronized; the expected size is a few thousand species at most.
+ */
+final class BirdSearchIndex<T> {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private static final int SCORE_EXACT = 1000;
+    private static final int SCORE_NAME_PREFIX = 800;
+    private static final int SCORE_WORD_PREFIX = 600;
+    private static final int SCORE_CONTAINS = 400;
+    private static final int SCORE_FUZZY = 200;
+    // Common names rank slightly above scientific names for the same kind of match.
+    private static final int COMMON_NAME_BONUS = 10;
+
+    private static BirdSearchIndex<Bird> speciesIndex;
+
+    private static final class Entry<T> {
+        final String key;
+        final int order;
+        T item;
+        String[] names;
+
+        Entry(@NonNull String key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+    }
+
+    private static final class Match<T> {
+        final Entry<T> entry;
+        final int score;
+        final int nameLength;
+
+        Match(@NonNull Entry<T> entry, int score, int nameLength) {
+            this.entry = entry;
+            this.score = score;
+            this.nameLength = nameLength;
+        }
+    }
+
+    // Insertion order is the order of results for an empty query.
+    private final LinkedHashMap<String, Entry<T>> entries = new LinkedHashMap<>();
+    private final Map<String, Set<Entry<T>>> postings = new HashMap<>();
+    private int nextOrder;
+
+    /**
+     * Process-wide species index keyed by bird id. The first call seeds it from the cached core
+     * Georgia bird list so it is ready before any Firestore load; screens add to it as they load
+     * more birds.
+     */
+    @NonNull
+    static synchronized BirdSearchIndex<Bird> species(@NonNull Context context) {
+        if (speciesIndex == null) {
+            speciesIndex = new BirdSearchIndex<>();
+            List<JSONObject> cached = new BirdCacheManager(context.getApplicationContext()).getCachedCoreGeorgiaBirds();
+            for (JSONObject json : cached) {
+                String id = json.optString("id");
+                if (id.trim().isEmpty()) continue;
+                Bird bird = new Bird();
+                bird.setId(id);
+                bird.setCommonName(json.optString("commonName"));
+                bird.setScientificName(json.optString("scientificName"));
+                putBird(speciesIndex, bird);
+            }
+        }
+        return speciesIndex;
+    }
+
+    /**
+     * Adds or replaces a bird, keyed by its id.
+     */
+    static void putBird(@NonNull BirdSearchIndex<Bird> index, @Nullable Bird bird) {
+        if (bird == null || bird.getId() == null || bird.getId().trim().isEmpty()) return;
+        index.put(bird.getId().trim(), bird, bird.getCommonName(), bird.getScientificName());
+    }
+
+    /**
+     * Adds or replaces an entry. Postings are only rebuilt when the names changed, so re-adding
+     * an unchanged list is cheap.
+     */
+    synchronized void put(@NonNull String key, @NonNull T item, @Nullable String commonName, @Nullable String scientificName) {
+        String[] names = {normalize(commonName), normalize(scientificName)};
+        Entry<T> entry = entries.get(key);
+        if (entry == null) {
+            entry = new Entry<>(key, nextOrder++);
+            entries.put(key, entry);
+        } else if (sameNames(entry.names, names)) {
+            entry.item = item;
+            return;
+        } else {
+            unindex(entry);
+        }
+        entry.item = item;
+        entry.names = names;
+        index(entry);
+    }
+
+    synchronized void remove(@NonNull String key) {
+        Entry<T> entry = entries.remove(key);
+        if (entry != null) unindex(entry);
+    }
+
+    /**
+     * Drops every entry whose key is not in {@code keys}.
+     */
+    synchronized void retainKeys(@NonNull Collection<String> keys) {
+        Set<String> keep = keys instanceof Set ? (Set<String>) keys : new HashSet<>(keys);
+        Iterator<Map.Entry<String, Entry<T>>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry<T> entry = it.next().getValue();
+            if (!keep.contains(entry.key)) {
+                unindex(entry);
+                it.remove();
+            }
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return matching items, best match first; every item in insertion order for a blank query
+     */
+    @NonNull
+    synchronized List<T> search(@Nullable String query) {
+        String q = normalize(query);
+        if (q.isEmpty()) {
+            List<T> all = new ArrayList<>(entries.size());
+            for (Entry<T> entry : entries.values()) all.add(entry.item);
+            return all;
+        }
+
+        Collection<Entry<T>> candidates = q.length() <= 3 ? entries.values() : trigramCandidates(q);
+        List<Match<T>> matches = new ArrayList<>();
+        for (Entry<T> entry : candidates) {
+            Match<T> match = score(entry, q);
+            if (match != null) matches.add(match);
+        }
+
+        Collections.sort(matches, (a, b) -> {
+            if (a.score != b.score) return Integer.compare(b.score, a.score);
+            if (a.nameLength != b.nameLength) return Integer.compare(a.nameLength, b.nameLength);
+            return Integer.compare(a.entry.order, b.entry.order);
+        });
+
+        List<T> results = new ArrayList<>(matches.size());
+        for (Match<T> match : matches) results.add(match.entry.item);
+        return results;
+    }
+
+    /**
+     * Entries that can score: every entry containing all of the query's inner trigrams (a
+     * necessary condition for a substring match, wherever in a word it starts), plus entries
+     * sharing at least a third of its padded trigrams (typo candidates; a one-letter typo in a
+     * 7+ letter word still shares more than half).
+     */
+    @NonNull
+    private Collection<Entry<T>> trigramCandidates(@NonNull String q) {
+        Set<Entry<T>> candidates = new HashSet<>();
+
+        Set<String> innerGrams = innerTrigrams(q);
+        for (Map.Entry<Entry<T>, Integer> e : sharedCounts(innerGrams).entrySet()) {
+            if (e.getValue() == innerGrams.size()) candidates.add(e.getKey());
+        }
+
+        Set<String> paddedGrams = trigrams(q);
+        int minShared = Math.max(1, (paddedGrams.size() + 2) / 3);
+        for (Map.Entry<Entry<T>, Integer> e : sharedCounts(paddedGrams).entrySet()) {
+            if (e.getValue() >= minShared) candidates.add(e.getKey());
+        }
+        return candidates;
+    }
+
+    @NonNull
+    private Map<Entry<T>, Integer> sharedCounts(@NonNull Set<String> grams) {
+        Map<Entry<T>, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<Entry<T>> posting = postings.get(gram);
+            if (posting == null) continue;
+            for (Entry<T> entry : posting) {
+                Integer count = shared.get(entry);
+                shared.put(entry, count == null ? 1 : count + 1);
+            }
+        }
+        return shared;
+    }
+
+    @Nullable
+    private static <T> Match<T> score(@NonNull Entry<T> entry, @NonNull String q) {
+        int best = 0;
+        int bestLength = Integer.MAX_VALUE;
+        for (int i = 0; i < entry.names.length; i++) {
+            String name = entry.names[i];
+            if (name.isEmpty()) continue;
+            int score = scoreName(name, q);
+            if (score == 0) continue;
+            if (i == 0) score += COMMON_NAME_BONUS;
+            if (score > best) {
+                best = score;
+                bestLength = name.length();
+            }
+        }
+        return best > 0 ? new Match<>(entry, best, bestLength) : null;
+    }
+
+    private static int scoreName(@NonNull String name, @NonNull String q) {
+        if (name.equals(q)) return SCORE_EXACT;
+        if (name.startsWith(q)) return SCORE_NAME_PREFIX;
+        int index = name.indexOf(q);
+        if (index >= 0) {
+            return index > 0 && name.charAt(index - 1) == ' ' ? SCORE_WORD_PREFIX : SCORE_CONTAINS;
+        }
+        if (q.length() < 4) return 0;
+
+        // Typo tolerance: compare the query with the start of every word, allowing one edit for
+        // short queries and two from seven letters on.
+        int maxEdits = q.length() >= 7 ? 2 : 1;
+        int bestDistance = maxEdits + 1;
+        for (int start = 0; start < name.length(); start++) {
+            if (start > 0 && name.charAt(start - 1) != ' ') continue;
+            bestDistance = Math.min(bestDistance, prefixEditDistance(q, name, start, maxEdits));
+            if (bestDistance == 1) break;
+        }
+        return bestDistance <= maxEdits ? SCORE_FUZZY - 50 * bestDistance : 0;
+    }
+
+    /**
+     * Smallest edit distance (insert/delete/substitute/adjacent swap) between {@code q} and any
+     * prefix of {@code text.substring(start)}, or {@code maxEdits + 1} if it is larger.
+     */
+    private static int prefixEditDistance(@NonNull String q, @NonNull String text, int start, int maxEdits) {
+        int n = q.length();
+        int m = Math.min(text.length() - start, n + maxEdits);
+        if (m <= 0) return maxEdits + 1;
+
+        int[] twoBack = new int[m + 1];
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int j = 0; j <= m; j++) previous[j] = j;
+
+        for (int i = 1; i <= n; i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            char qc = q.charAt(i - 1);
+            for (int j = 1; j <= m; j++) {
+                char tc = text.charAt(start + j - 1);
+                int cost = qc == tc ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && qc == text.charAt(start + j - 2) && q.charAt(i - 2) == tc) {
+                    value = Math.min(value, twoBack[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > maxEdits) return maxEdits + 1;
+            int[] recycled = twoBack;
+            twoBack = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        int best = maxEdits + 1;
+        for (int j = 0; j <= m; j++) best = Math.min(best, previous[j]);
+        return best;
+    }
+
+    private void index(@NonNull Entry<T> entry) {
+        for (String gram : trigramsOf(entry.names)) {
+            Set<Entry<T>> posting = postings.get(gram);
+            if (posting == null) {
+                posting = new HashSet<>();
+                postings.put(gram, posting);
+            }
+            posting.add(entry);
+        }
+    }
+
+    private void unindex(@NonNull Entry<T> entry) {
+        if (entry.names == null) return;
+        for (String gram : trigramsOf(entry.names)) {
+            Set<Entry<T>> posting = postings.get(gram);
+            if (posting == null) continue;
+            posting.remove(entry);
+            if (posting.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    @NonNull
+    private static Set<String> trigramsOf(@NonNull String[] names) {
+        Set<String> grams = new HashSet<>();
+        for (String name : names) {
+            if (!name.isEmpty()) grams.addAll(trigrams(name));
+        }
+        return grams;
+    }
+
+    /**
+     * Trigrams of the text padded with two leading and one trailing space, so word starts get
+     * their own grams ("  c", " ca") and short prefixes still hit the postings.
+     */
+    @NonNull
+    private static Set<String> trigrams(@NonNull String text) {
+        return gramsOf("  " + text.replace(" ", "  ") + " ");
+    }
+
+    /**
+     * Trigrams from inside the text only (no outer padding), spaced the way names are indexed.
+     * Any name containing the text contains all of these, not just names where it starts a word.
+     */
+    @NonNull
+    private static Set<String> innerTrigrams(@NonNull String text) {
+        return gramsOf(text.replace(" ", "  "));
+    }
+
+    @NonNull
+    private static Set<String> gramsOf(@NonNull String spaced) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= spaced.length(); i++) {
+            grams.add(spaced.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static boolean sameNames(@Nullable String[] a, @NonNull String[] b) {
+        if (a == null || a.length != b.length) return false;
+        for (int i = 0; i < a.length; i++) {
+            if (!a[i].equals(b[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Lowercase, accents folded ("Grèbe" -> "grebe"), anything that is not
+     * a letter or digit collapsed to one space ("Black-and-white" -> "black and white").
+     */
+    @NonNull
+    static String normalize(@Nullable String value) {
+        if (value == null || value.isEmpty()) return "";
+        String folded = DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,535 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.exifinterface.media.ExifInterface;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * BurstFrameAnalyzer: Fused per-frame metric pass used by {@link CaptureGuardHelper#analyzeBurst}.
+ *
+ * Every burst frame is reduced to a 256x256 luma buffer and scored in two sweeps:
+ * 1. ARGB -> luma conversion, fused with the glare and border sums.
+ * 2. One row-major neighbourhood sweep for sharpness, aliasing, pixel-grid and color fringing.
+ *
+ * Luma / ARGB buffers are pooled across frames and bursts, scores live in primitive arrays,
+ * and the frames of a burst are decoded + scored in parallel on a small executor, either all
+ * at once from saved files ({@link #analyze}) or one by one while the burst is still being
+ * captured ({@link StreamingBurst}).
+ */
+final class BurstFrameAnalyzer {
+
+    private static final String TAG = "BurstFrameAnalyzer";
+
+    static final int FRAME_SIZE = 256;
+    static final int FRAME_PIXELS = FRAME_SIZE * FRAME_SIZE;
+
+    // A burst is 3-5 frames; anything beyond this is simply garbage collected.
+    private static final int MAX_POOLED_BUFFERS = 6;
+
+    private static final ArrayDeque<byte[]> LUMA_POOL = new ArrayDeque<>();
+    private static final ArrayDeque<int[]> ARGB_POOL = new ArrayDeque<>();
+
+    private static final ExecutorService ANALYSIS_EXECUTOR = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "capture-guard");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private BurstFrameAnalyzer() { }
+
+    /**
+     * Scores for every frame of one burst, indexed by frame position. Frames that could not be
+     * decoded keep {@code decoded[i] == false} and are ignored by the averages.
+     */
+    static final class BurstMetrics {
+        final int frameCount;
+        final boolean[] decoded;
+        final double[] sharpness;
+        final double[] aliasing;
+        final double[] screenArtifact;
+        final double[] border;
+        final double[] glare;
+        // Mean similarity of consecutive decoded frames, or 0 when fewer than two decoded.
+        double frameSimilarity;
+
+        BurstMetrics(int frameCount) {
+            this.frameCount = frameCount;
+            this.decoded = new boolean[frameCount];
+            this.sharpness = new double[frameCount];
+            this.aliasing = new double[frameCount];
+            this.screenArtifact = new double[frameCount];
+            this.border = new double[frameCount];
+            this.glare = new double[frameCount];
+        }
+
+        int decodedCount() {
+            int count = 0;
+            for (boolean value : decoded) {
+                if (value) count++;
+            }
+            return count;
+        }
+
+        /**
+         * Index of the sharpest decoded frame (first one wins ties), or -1 when none decoded.
+         */
+        int sharpestFrameIndex() {
+            int best = -1;
+            for (int i = 0; i < frameCount; i++) {
+                if (decoded[i] && (best < 0 || sharpness[i] > sharpness[best])) best = i;
+            }
+            return best;
+        }
+
+        double averageOfDecoded(@NonNull double[] values) {
+            double sum = 0.0;
+            int count = 0;
+            for (int i = 0; i < frameCount; i++) {
+                if (!decoded[i]) continue;
+                sum += values[i];
+                count++;
+            }
+            return count > 0 ? sum / count : 0.0;
+        }
+    }
+
+    /**
+     * Decodes and scores every frame in parallel, then computes the consecutive-frame similarity.
+     * Blocks until the burst is done, so call it from a background thread.
+     */
+    @NonNull
+    static BurstMetrics analyze(@NonNull Context context, @NonNull List<Uri> frameUris) {
+        StreamingBurst burst = new StreamingBurst(frameUris.size());
+        for (int i = 0; i < frameUris.size(); i++) {
+            burst.submitUriFrame(context, frameUris.get(i), i);
+        }
+        return burst.finish();
+    }
+
+    /**
+     * One burst whose frames are scored as they arrive. CameraFragment hands each captured JPEG
+     * over with {@link #submitJpegFrame} while the next frame is still being taken; by the time
+     * the shutter sequence ends, most of the analysis is already done and {@link #finish} only
+     * waits for the last frame.
+     */
+    static final class StreamingBurst {
+        private final BurstMetrics metrics;
+        private final byte[][] lumaFrames;
+        private final List<Future<?>> pending = new ArrayList<>();
+        private int bestFrameIndex = -1;
+        private boolean finished;
+
+        StreamingBurst(int maxFrames) {
+            this.metrics = new BurstMetrics(maxFrames);
+            this.lumaFrames = new byte[maxFrames][];
+        }
+
+        /**
+         * Writes the full-size JPEG to {@code outputFile} (the frame the user may end up keeping)
+         * and scores a downscaled decode of the same in-memory bytes.
+         *
+         * @param rotationDegrees ImageInfo rotation; stored as EXIF orientation if the JPEG lacks it.
+         */
+        void submitJpegFrame(int index,
+                             @NonNull byte[] jpeg,
+                             int width,
+                             int height,
+                             int rotationDegrees,
+                             @NonNull File outputFile) {
+            submit(index, () -> {
+                if (!writeJpeg(jpeg, rotationDegrees, outputFile)) return null;
+                return scoreBitmap(CaptureGuardHelper.decodeScaledJpeg(jpeg, width, height, FRAME_SIZE), metrics, index);
+            });
+        }
+
+        void submitUriFrame(@NonNull Context context, @NonNull Uri uri, int index) {
+            submit(index, () -> scoreBitmap(CaptureGuardHelper.decodeScaledBitmap(context, uri, FRAME_SIZE), metrics, index));
+        }
+
+        /**
+         * Sharpest frame scored so far, or -1.
+         */
+        synchronized int getBestFrameIndex() {
+            return bestFrameIndex;
+        }
+
+        /**
+         * Waits for outstanding frames, fills in the burst-wide similarity and returns the metrics.
+         * Frames that were never submitted stay undecoded. Call from a background thread.
+         */
+        @NonNull
+        BurstMetrics finish() {
+            List<Future<?>> outstanding;
+            synchronized (this) {
+                if (finished) return metrics;
+                finished = true;
+                outstanding = new ArrayList<>(pending);
+            }
+
+            for (Future<?> future : outstanding) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Log.w(TAG, "Burst frame analysis failed.", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+
+            synchronized (this) {
+                double similaritySum = 0.0;
+                int similarityPairs = 0;
+                byte[] previous = null;
+                for (int i = 0; i < metrics.frameCount; i++) {
+                    if (!metrics.decoded[i] || lumaFrames[i] == null) continue;
+                    if (previous != null) {
+                        similaritySum += computeFrameSimilarity(previous, lumaFrames[i], FRAME_PIXELS);
+                        similarityPairs++;
+                    }
+                    previous = lumaFrames[i];
+                }
+                metrics.frameSimilarity = similarityPairs > 0 ? (similaritySum / similarityPairs) : 0.0;
+
+                for (int i = 0; i < lumaFrames.length; i++) {
+                    if (lumaFrames[i] != null) releaseLuma(lumaFrames[i]);
+                    lumaFrames[i] = null;
+                }
+                return metrics;
+            }
+        }
+
+        private synchronized void submit(int index, @NonNull Callable<byte[]> scorer) {
+            if (finished || index < 0 || index >= metrics.frameCount) return;
+            pending.add(ANALYSIS_EXECUTOR.submit(() -> {
+                byte[] luma = scorer.call();
+                synchronized (StreamingBurst.this) {
+                    if (luma == null) return null;
+                    if (finished) {
+                        // finish() gave up waiting (interrupted); just hand the buffer back.
+                        releaseLuma(luma);
+                        return null;
+                    }
+                    lumaFrames[index] = luma;
+                    if (bestFrameIndex < 0 || metrics.sharpness[index] > metrics.sharpness[bestFrameIndex]
+                            || (metrics.sharpness[index] == metrics.sharpness[bestFrameIndex] && index < bestFrameIndex)) {
+                        bestFrameIndex = index;
+                    }
+                }
+                return null;
+            }));
+        }
+    }
+
+    /**
+     * Scores one decoded frame into slot {@code index} and recycles the bitmap.
+     *
+     * @return the frame's luma buffer (owned by the burst until it finishes), or null when the
+     *         frame could not be decoded.
+     */
+    @Nullable
+    private static byte[] scoreBitmap(@Nullable Bitmap frame, @NonNull BurstMetrics metrics, int index) {
+        if (frame == null) return null;
+
+        int[] argb = acquireArgb();
+        byte[] luma = acquireLuma();
+        try {
+            frame.getPixels(argb, 0, FRAME_SIZE, 0, 0, FRAME_SIZE, FRAME_SIZE);
+            analyzeFrame(argb, luma, FRAME_SIZE, FRAME_SIZE, metrics, index);
+            byte[] result = luma;
+            luma = null;
+            return result;
+        } finally {
+            frame.recycle();
+            releaseArgb(argb);
+            if (luma != null) releaseLuma(luma);
+        }
+    }
+
+    private static boolean writeJpeg(@NonNull byte[] jpeg, int rotationDegrees, @NonNull File outputFile) {
+        try (FileOutputStream out = new FileOutputStream(outputFile)) {
+            out.write(jpeg);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to write burst frame " + outputFile.getName(), e);
+            return false;
+        }
+
+        // Most HALs already write the orientation tag; only patch it when it disagrees.
+        try {
+            ExifInterface exif = new ExifInterface(outputFile.getAbsolutePath());
+            if (exif.getRotationDegrees() != rotationDegrees) {
+                exif.setAttribute(ExifInterface.TAG_ORIENTATION, String.valueOf(exifOrientationFor(rotationDegrees)));
+                exif.saveAttributes();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to update burst frame orientation.", e);
+        }
+        return true;
+    }
+
+    private static int exifOrientationFor(int rotationDegrees) {
+        switch (((rotationDegrees % 360) + 360) % 360) {
+            case 90:
+                return ExifInterface.ORIENTATION_ROTATE_90;
+            case 180:
+                return ExifInterface.ORIENTATION_ROTATE_180;
+            case 270:
+                return ExifInterface.ORIENTATION_ROTATE_270;
+            default:
+                return ExifInterface.ORIENTATION_NORMAL;
+        }
+    }
+
+    /**
+     * Fills {@code luma} from {@code argb} and writes every per-frame score into slot
+     * {@code index} of {@code out}. Frames must be at least 4x4.
+     */
+    static void analyzeFrame(@NonNull int[] argb,
+                             @NonNull byte[] luma,
+                             int width,
+                             int height,
+                             @NonNull BurstMetrics out,
+                             int index) {
+        int pixels = width * height;
+
+        // Pass 1: luma conversion + glare + border bands.
+        int band = Math.max(6, Math.min(width, height) / 16);
+        boolean hasBorder = band * 2 < width && band * 2 < height;
+        int clipped = 0;
+        long outerSum = 0L;
+        long innerSum = 0L;
+        int outerCount = 0;
+        int innerCount = 0;
+
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            long rowSum = 0L;
+            for (int x = 0; x < width; x++) {
+                int color = argb[row + x];
+                int r = (color >> 16) & 0xFF;
+                int g = (color >> 8) & 0xFF;
+                int b = color & 0xFF;
+                int value = (int) ((0.299 * r) + (0.587 * g) + (0.114 * b));
+                luma[row + x] = (byte) value;
+                rowSum += value;
+                if (value >= 245) clipped++;
+            }
+            if (!hasBorder) continue;
+
+            // Outer band = outermost `band` pixels; inner band = the next `band` pixels inwards.
+            if (y < band || y >= height - band) {
+                outerSum += rowSum;
+                outerCount += width;
+                continue;
+            }
+            long edges = sumLuma(luma, row, row + band) + sumLuma(luma, row + width - band, row + width);
+            outerSum += edges;
+            outerCount += band * 2;
+            if (y < band * 2 || y >= height - (band * 2)) {
+                innerSum += rowSum - edges;
+                innerCount += width - (band * 2);
+            } else {
+                innerSum += sumLuma(luma, row + band, row + (band * 2))
+                        + sumLuma(luma, row + width - (band * 2), row + width - band);
+                innerCount += band * 2;
+            }
+        }
+
+        // Pass 2: neighbourhood metrics, one row at a time while the three rows are cache-hot.
+        // Each horizontal / vertical triplet (a, b, c) feeds both the aliasing counter (sign flip
+        // a->b->c) and the pixel-grid counter (a ~ c while b differs). Those counters are updated
+        // branch-free: on sensor noise the conditions are close to coin flips.
+        long sharpSum = 0L;
+        long sharpSumSq = 0L;
+        int aliasHits = 0;
+        int aliasOpportunities = 0;
+        int gridHits = 0;
+        int gridOpportunities = 0;
+        int fringeHits = 0;
+        int fringeOpportunities = 0;
+
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+
+            for (int x = 0; x < width - 2; x++) {
+                int idx = row + x;
+                int a = luma[idx] & 0xFF;
+                int b = luma[idx + 1] & 0xFF;
+                int c = luma[idx + 2] & 0xFF;
+                int d1 = b - a;
+                int d2 = c - b;
+                int ab = Math.abs(d1);
+                int bc = Math.abs(d2);
+                int aliasCandidate = isNegative((7 - ab) & (7 - bc));       // ab >= 8 && bc >= 8
+                aliasOpportunities += aliasCandidate;
+                aliasHits += aliasCandidate & isNegative(d1 ^ d2);          // direction flips
+                int gridCandidate = isNegative((11 - ab) | (11 - bc));      // ab >= 12 || bc >= 12
+                gridOpportunities += gridCandidate;
+                // |a - c| + 6 < (ab + bc) / 2.0, kept in integers.
+                gridHits += gridCandidate & isNegative(2 * (Math.abs(a - c) + 6) - (ab + bc));
+            }
+
+            if (y < height - 2) {
+                for (int x = 0; x < width; x++) {
+                    int idx = row + x;
+                    int a = luma[idx] & 0xFF;
+                    int b = luma[idx + width] & 0xFF;
+                    int c = luma[idx + (2 * width)] & 0xFF;
+                    int d1 = b - a;
+                    int d2 = c - b;
+                    int ab = Math.abs(d1);
+                    int bc = Math.abs(d2);
+                    int aliasCandidate = isNegative((7 - ab) & (7 - bc));
+                    aliasOpportunities += aliasCandidate;
+                    aliasHits += aliasCandidate & isNegative(d1 ^ d2);
+                    int gridCandidate = isNegative((11 - ab) | (11 - bc));
+                    gridOpportunities += gridCandidate;
+                    gridHits += gridCandidate & isNegative(2 * (Math.abs(a - c) + 6) - (ab + bc));
+                }
+            }
+
+            if (y >= 1 && y < height - 1) {
+                for (int x = 1; x < width - 1; x++) {
+                    int idx = row + x;
+                    int left = luma[idx - 1] & 0xFF;
+                    int right = luma[idx + 1] & 0xFF;
+                    int up = luma[idx - width] & 0xFF;
+                    int down = luma[idx + width] & 0xFF;
+
+                    long lap = (4L * (luma[idx] & 0xFF)) - left - right - up - down;
+                    sharpSum += lap;
+                    sharpSumSq += lap * lap;
+
+                    if (Math.abs(right - left) >= 24) {
+                        fringeOpportunities++;
+                        if (isFringingEdge(argb[idx - 1], argb[idx + 1])) fringeHits++;
+                    }
+                    if (Math.abs(down - up) >= 24) {
+                        fringeOpportunities++;
+                        if (isFringingEdge(argb[idx - width], argb[idx + width])) fringeHits++;
+                    }
+                }
+            }
+        }
+
+        long sharpCount = (long) (width - 2) * (height - 2);
+
+        double sharpness = 0.0;
+        if (sharpCount > 0) {
+            double mean = (double) sharpSum / sharpCount;
+            sharpness = Math.max(0.0, ((double) sharpSumSq / sharpCount) - (mean * mean));
+        }
+        double fringing = fringeOpportunities > 0 ? CaptureGuardHelper.clamp((double) fringeHits / fringeOpportunities) : 0.0;
+        double pixelGrid = gridOpportunities > 0 ? CaptureGuardHelper.clamp((double) gridHits / gridOpportunities) : 0.0;
+        double border = 0.0;
+        if (outerCount > 0 && innerCount > 0) {
+            double outerMean = (double) outerSum / outerCount;
+            double innerMean = (double) innerSum / innerCount;
+            border = CaptureGuardHelper.clamp((innerMean - outerMean - 18.0) / 70.0);
+        }
+
+        out.decoded[index] = true;
+        out.sharpness[index] = sharpness;
+        out.aliasing[index] = aliasOpportunities > 0 ? CaptureGuardHelper.clamp((double) aliasHits / aliasOpportunities) : 0.0;
+        out.screenArtifact[index] = CaptureGuardHelper.clamp((0.65 * fringing) + (0.35 * pixelGrid));
+        out.border[index] = border;
+        out.glare[index] = pixels > 0 ? CaptureGuardHelper.clamp((double) clipped / pixels) : 0.0;
+    }
+
+    /**
+     * 1 when {@code value < 0}, else 0.
+     */
+    private static int isNegative(int value) {
+        return value >>> 31;
+    }
+
+    private static long sumLuma(@NonNull byte[] luma, int from, int to) {
+        long sum = 0L;
+        for (int i = from; i < to; i++) {
+            sum += luma[i] & 0xFF;
+        }
+        return sum;
+    }
+
+    static double computeFrameSimilarity(@NonNull byte[] first, @NonNull byte[] second, int length) {
+        int len = Math.min(length, Math.min(first.length, second.length));
+        if (len == 0) return 0.0;
+        long diffSum = 0L;
+        for (int i = 0; i < len; i++) {
+            diffSum += Math.abs((first[i] & 0xFF) - (second[i] & 0xFF));
+        }
+        double meanDiff = (double) diffSum / len;
+        return CaptureGuardHelper.clamp(1.0 - (meanDiff / 255.0));
+    }
+
+    /**
+     * Strong single-channel jump across an edge, typical of RGB subpixels on a photographed screen.
+     * Callers have already checked that the luminance difference is at least 24.
+     */
+    private static boolean isFringingEdge(int firstColor, int secondColor) {
+        int dr = Math.abs(((secondColor >> 16) & 0xFF) - ((firstColor >> 16) & 0xFF));
+        int dg = Math.abs(((secondColor >> 8) & 0xFF) - ((firstColor >> 8) & 0xFF));
+        int db = Math.abs((secondColor & 0xFF) - (firstColor & 0xFF));
+
+        int maxDelta = Math.max(dr, Math.max(dg, db));
+        int minDelta = Math.min(dr, Math.min(dg, db));
+        int midDelta = dr + dg + db - maxDelta - minDelta;
+
+        return maxDelta >= 30 && (maxDelta - minDelta) >= 18 && (maxDelta - midDelta) >= 10;
+    }
+
+    // ---------------------------------------------------------------------
+    // Buffer pool
+    // ---------------------------------------------------------------------
+
+    @NonNull
+    static byte[] acquireLuma() {
+        synchronized (LUMA_POOL) {
+            byte[] buffer = LUMA_POOL.pollFirst();
+            if (buffer != null) return buffer;
+        }
+        return new byte[FRAME_PIXELS];
+    }
+
+    static void releaseLuma(@NonNull byte[] buffer) {
+        if (buffer.length != FRAME_PIXELS) return;
+        synchronized (LUMA_POOL) {
+            if (LUMA_POOL.size() < MAX_POOLED_BUFFERS) LUMA_POOL.addFirst(buffer);
+        }
+    }
+
+    @NonNull
+    static int[] acquireArgb() {
+        synchronized (ARGB_POOL) {
+            int[] buffer = ARGB_POOL.pollFirst();
+            if (buffer != null) return buffer;
+        }
+        return new int[FRAME_PIXELS];
+    }
+
+    static void releaseArgb(@NonNull int[] buffer) {
+        if (buffer.length != FRAME_PIXELS) return;
+        synchronized (ARGB_POOL) {
+            if (ARGB_POOL.size() < MAX_POOLED_BUFFERS) ARGB_POOL.addFirst(buffer);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.birddex.app;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.functions.FirebaseFunctions;
+import com.google.firebase.functions.HttpsCallableReference;
+import com.google.firebase.functions.HttpsCallableResult;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * CallableRequestCoalescer: Shared in-flight registry for read-only Cloud Function calls.
+ *
+ * Identical concurrent calls (same callable name and arguments) share one Task instead of each
+ * starting its own request. This matters at startup, when HomeActivity's sync check,
+ * HomeActivity's bird list fetch and NearbyFragment can all ask for getGeorgiaBirds at once.
+ * After a failure the key backs off exponentially. Calls made during the backoff fail right away
+ * with {@link BackoffException}, so callers fall back to their cache without waiting for another
+ * timeout.
+ *
+ * Only use this for calls whose result can be shared by every caller (reads, not writes).
+ */
+final class CallableRequestCoalescer {
+
+    private static final String TAG = "CallableCoalescer";
+
+    static final long BACKOFF_BASE_MS = 5_000L;
+    static final long BACKOFF_MAX_MS = 5L * 60L * 1000L;
+
+    interface RequestStarter<T> {
+        @NonNull
+        Task<T> start();
+    }
+
+    /**
+     * Thrown instead of calling the function while its key is backing off after failures.
+     */
+    static final class BackoffException extends Exception {
+        final long retryInMs;
+
+        BackoffException(@NonNull String key, long retryInMs) {
+            super(key + " failed recently; retrying in " + retryInMs + "ms.");
+            this.retryInMs = retryInMs;
+        }
+    }
+
+    private static final class Backoff {
+        int failures;
+        long retryAt;
+    }
+
+    private static final Object lock = new Object();
+    private static final Map<String, Task<?>> inFlight = new HashMap<>();
+    private static final Map<String, Backoff> backoffs = new HashMap<>();
+
+    private CallableRequestCoalescer() {
+    }
+
+    /**
+     * Calls the named Cloud Function, or joins an identical call that is already running.
+     *
+     * @param ignoreBackoff true for explicit user refreshes, which should always reach the network
+     */
+    @NonNull
+    static Task<HttpsCallableResult> call(@NonNull String name, @Nullable Map<String, Object> data, boolean ignoreBackoff) {
+        String key = data == null || data.isEmpty() ? name : name + "?" + new TreeMap<>(data);
+        return callWithBackoff(key, ignoreBackoff, () -> {
+            HttpsCallableReference callable = FirebaseFunctions.getInstance().getHttpsCallable(name);
+            return data == null ? callable.call() : callable.call(data);
+        });
+    }
+
+    /**
+     * {@link #call} for an already built key: fails fast while the key is backing off, otherwise
+     * shares the request and records its outcome in the key's backoff.
+     */
+    @NonNull
+    static <T> Task<T> callWithBackoff(@NonNull String key, boolean ignoreBackoff, @NonNull RequestStarter<T> starter) {
+        synchronized (lock) {
+            if (!ignoreBackoff && !inFlight.containsKey(key)) {
+                long waitMs = backoffRemainingLocked(key);
+                if (waitMs > 0L) {
+                    Log.d(TAG, "Skipping " + key + " during backoff (" + waitMs + "ms left).");
+                    return Tasks.forException(new BackoffException(key, waitMs));
+                }
+            }
+            return shareLocked(key, true, starter);
+        }
+    }
+
+    /**
+     * Runs the request, or returns the Task of an identical one still in flight. Used to share
+     * post-processing (parsing, caching) of a {@link #call} result between callers.
+     */
+    @NonNull
+    static <T> Task<T> share(@NonNull String key, @NonNull RequestStarter<T> starter) {
+        synchronized (lock) {
+            return shareLocked(key, false, starter);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private static <T> Task<T> shareLocked(@NonNull String key, boolean trackBackoff, @NonNull RequestStarter<T> starter) {
+        Task<?> existing = inFlight.get(key);
+        if (existing != null) {
+            Log.d(TAG, "Joining in-flight request " + key);
+            return (Task<T>) existing;
+        }
+
+        Task<T> task = starter.start();
+        if (task.isComplete()) return task;
+        inFlight.put(key, task);
+        // Bookkeeping only, so it runs on whichever thread completes the task instead of waiting
+        // for the main thread; callers' own listeners are unaffected.
+        task.addOnCompleteListener(Runnable::run, done -> finish(key, done, trackBackoff));
+        return task;
+    }
+
+    private static void finish(@NonNull String key, @NonNull Task<?> task, boolean trackBackoff) {
+        synchronized (lock) {
+            if (inFlight.get(key) == task) inFlight.remove(key);
+            if (!trackBackoff) return;
+
+            if (task.isSuccessful()) {
+                backoffs.remove(key);
+                return;
+            }
+            Backoff backoff = backoffs.get(key);
+            if (backoff == null) {
+                backoff = new Backoff();
+                backoffs.put(key, backoff);
+            }
+            backoff.failures++;
+            long delayMs = Math.min(BACKOFF_MAX_MS, BACKOFF_BASE_MS << Math.min(backoff.failures - 1, 10));
+            backoff.retryAt = System.currentTimeMillis() + delayMs;
+            Log.w(TAG, key + " failed " + backoff.failures + " time(s); backing off for " + delayMs + "ms.");
+        }
+    }
+
+    private static long backoffRemainingLocked(@NonNull String key) {
+        Backoff backoff = backoffs.get(key);
+        return backoff == null ? 0L : Math.max(0L, backoff.retryAt - System.currentTimeMillis());
+    }
+}
@@ -5,6 +5,7 @@ import android.content.Context;
 import android.content.Intent;
 import android.content.SharedPreferences;
 import android.content.pm.PackageManager;
+import android.graphics.ImageFormat;
 import android.net.Uri;
 import android.os.Bundle;
 import android.os.Handler;
@@ -29,6 +30,7 @@ import androidx.camera.core.CameraSelector;
 import androidx.camera.core.FocusMeteringAction;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageProxy;
 import androidx.camera.core.MeteringPoint;
 import androidx.camera.core.MeteringPointFactory;
 import androidx.camera.core.Preview;
@@ -47,6 +49,7 @@ import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.common.util.concurrent.ListenableFuture;
 
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.concurrent.ExecutionException;
 
@@ -377,10 +380,17 @@ public class CameraFragment extends Fragment {
         }
 
         updateImageCaptureRotation();
-        captureBurstFrame(new ArrayList<>(), new ArrayList<>(), 0);
+        BurstFrameAnalyzer.StreamingBurst burst = new BurstFrameAnalyzer.StreamingBurst(BURST_FRAME_COUNT);
+        captureBurstFrame(burst, new ArrayList<>(), new ArrayList<>(), 0);
     }
 
-    private void captureBurstFrame(@NonNull ArrayList<Uri> frameUris,
+    /**
+     * Takes one burst frame into memory and hands the JPEG bytes straight to the streaming
+     * analyzer, which writes the file and scores a downscaled copy on its own threads while the
+     * next frame is being captured. The image is closed right away so the next shot is not held up.
+     */
+    private void captureBurstFrame(@NonNull BurstFrameAnalyzer.StreamingBurst burst,
+                                   @NonNull ArrayList<Uri> frameUris,
                                    @NonNull ArrayList<Long> captureTimesMs,
                                    int frameIndex) {
         if (!isAdded() || imageCapture == null) {
@@ -397,25 +407,45 @@ public class CameraFragment extends Fragment {
 
         updateImageCaptureRotation();
 
-        ImageCapture.OutputFileOptions options = new ImageCapture.OutputFileOptions.Builder(outputFile).build();
-        final Uri outputUri = Uri.fromFile(outputFile);
-
         imageCapture.takePicture(
-                options,
                 ContextCompat.getMainExecutor(requireContext()),
-                new ImageCapture.OnImageSavedCallback() {
+                new ImageCapture.OnImageCapturedCallback() {
                     @Override
-                    public void onImageSaved(@NonNull ImageCapture.OutputFileResults output) {
-                        frameUris.add(outputUri);
+                    public void onCaptureSuccess(@NonNull ImageProxy image) {
+                        byte[] jpeg;
+                        int format = image.getFormat();
+                        int width;
+                        int height;
+                        int rotationDegrees;
+                        try {
+                            jpeg = copyJpegBytes(image);
+                            width = image.getWidth();
+                            height = image.getHeight();
+                            rotationDegrees = image.getImageInfo().getRotationDegrees();
+                        } finally {
+                            image.close();
+                        }
+
+                        if (jpeg == null) {
+                            onError(new ImageCaptureException(
+                                    ImageCapture.ERROR_CAPTURE_FAILED,
+                                    "Unexpected capture format " + format,
+                                    null
+                            ));
+                            return;
+                        }
+
+                        burst.submitJpegFrame(frameIndex, jpeg, width, height, rotationDegrees, outputFile);
+                        frameUris.add(Uri.fromFile(outputFile));
                         captureTimesMs.add(System.currentTimeMillis());
 
                         if (frameUris.size() < BURST_FRAME_COUNT) {
                             burstHandler.postDelayed(
-                                    () -> captureBurstFrame(frameUris, captureTimesMs, frameIndex + 1),
+                                    () -> captureBurstFrame(burst, frameUris, captureTimesMs, frameIndex + 1),
                                     BURST_FRAME_DELAY_MS
                             );
                         } else {
-                            finalizeBurstCapture(frameUris, captureTimesMs);
+                            finalizeBurstCapture(burst, frameUris, captureTimesMs);
                         }
                     }
 
@@ -423,7 +453,7 @@ public class CameraFragment extends Fragment {
                     public void onError(@NonNull ImageCaptureException exc) {
                         Log.w(TAG, "Burst frame capture failed at index " + frameIndex, exc);
                         if (!frameUris.isEmpty()) {
-                            finalizeBurstCapture(frameUris, captureTimesMs);
+                            finalizeBurstCapture(burst, frameUris, captureTimesMs);
                         } else {
                             restoreCaptureButton();
                             MessagePopupHelper.show(requireContext(), "Capture failed.");
@@ -433,6 +463,19 @@ public class CameraFragment extends Fragment {
         );
     }
 
+    @Nullable
+    private static byte[] copyJpegBytes(@NonNull ImageProxy image) {
+        if (image.getFormat() != ImageFormat.JPEG) return null;
+        ImageProxy.PlaneProxy[] planes = image.getPlanes();
+        if (planes.length == 0) return null;
+
+        ByteBuffer buffer = planes[0].getBuffer();
+        buffer.rewind();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
     private void cleanupBurstFrameCache() {
         if (!isAdded()) return;
 
@@ -467,7 +510,8 @@ public class CameraFragment extends Fragment {
         }
     }
 
-    private void finalizeBurstCapture(@NonNull ArrayList<Uri> frameUris,
+    private void finalizeBurstCapture(@NonNull BurstFrameAnalyzer.StreamingBurst burst,
+                                      @NonNull ArrayList<Uri> frameUris,
                                       @NonNull ArrayList<Long> captureTimesMs) {
         if (!isAdded() || frameUris.isEmpty()) {
             restoreCaptureButton();
@@ -476,8 +520,11 @@ public class CameraFragment extends Fragment {
 
         Context appContext = requireContext().getApplicationContext();
         new Thread(() -> {
+            // Earlier frames were written + scored while the burst was running; this only waits
+            // for the last one.
+            BurstFrameAnalyzer.BurstMetrics metrics = burst.finish();
             CaptureGuardHelper.GuardReport guardReport = frameUris.size() >= 2
-                    ? CaptureGuardHelper.analyzeBurst(appContext, frameUris, captureTimesMs)
+                    ? CaptureGuardHelper.buildBurstReport(appContext, metrics, frameUris, captureTimesMs)
                     : CaptureGuardHelper.buildFallbackReport(
                     CaptureGuardHelper.CAPTURE_SOURCE_CAMERA_BURST,
                     frameUris.size()
@@ -52,7 +52,6 @@ public final class CaptureGuardHelper {
     public static final String EXTRA_CAPTURE_GUARD_REASONS = "captureGuardReasons";
 
     private static final String ANALYZER_VERSION = "capture_guard_v3";
-    private static final int TARGET_ANALYSIS_SIZE = 256;
 
     private CaptureGuardHelper() { }
 
@@ -119,6 +118,22 @@ public final class CaptureGuardHelper {
     public static GuardReport analyzeBurst(@NonNull Context context,
                                            @NonNull List<Uri> frameUris,
                                            @Nullable List<Long> captureTimesMs) {
+        BurstFrameAnalyzer.BurstMetrics metrics = frameUris.isEmpty()
+                ? new BurstFrameAnalyzer.BurstMetrics(0)
+                : BurstFrameAnalyzer.analyze(context, frameUris);
+        return buildBurstReport(context, metrics, frameUris, captureTimesMs);
+    }
+
+    /**
+     * Builds the guard report from burst metrics that were already computed, e.g. streamed by
+     * {@link BurstFrameAnalyzer.StreamingBurst} while CameraFragment was still capturing.
+     * {@code metrics} slots line up with {@code frameUris}.
+     */
+    @NonNull
+    static GuardReport buildBurstReport(@NonNull Context context,
+                                        @NonNull BurstFrameAnalyzer.BurstMetrics metrics,
+                                        @NonNull List<Uri> frameUris,
+                                        @Nullable List<Long> captureTimesMs) {
         GuardReport report = new GuardReport();
         report.captureSource = CAPTURE_SOURCE_CAMERA_BURST;
         report.burstFrameCount = frameUris.size();
@@ -136,66 +151,22 @@ public final class CaptureGuardHelper {
             return report;
         }
 
-        ArrayList<int[]> grayscaleFrames = new ArrayList<>();
-        ArrayList<Double> sharpnessValues = new ArrayList<>();
-        ArrayList<Double> aliasingValues = new ArrayList<>();
-        ArrayList<Double> screenArtifactValues = new ArrayList<>();
-        ArrayList<Double> borderValues = new ArrayList<>();
-        ArrayList<Double> glareValues = new ArrayList<>();
-
-        int selectedIndex = 0;
-        double bestSharpness = -1.0;
-
-        for (int i = 0; i < frameUris.size(); i++) {
-            Bitmap frame = decodeScaledBitmap(context, frameUris.get(i), TARGET_ANALYSIS_SIZE);
-            if (frame == null) {
-                continue;
-            }
-
-            int[] gray = bitmapToGrayscale(frame, TARGET_ANALYSIS_SIZE, TARGET_ANALYSIS_SIZE);
-            grayscaleFrames.add(gray);
-
-            double sharpness = computeSharpness(gray, TARGET_ANALYSIS_SIZE, TARGET_ANALYSIS_SIZE);
-            double aliasing = computeAliasingScore(gray, TARGET_ANALYSIS_SIZE, TARGET_ANALYSIS_SIZE);
-            double screenArtifact = computeScreenArtifactScore(frame, gray, TARGET_ANALYSIS_SIZE, TARGET_ANALYSIS_SIZE);
-            double border = computeBorderScore(gray, TARGET_ANALYSIS_SIZE, TARGET_ANALYSIS_SIZE);
-            double glare = computeGlareScore(gray);
-
-            sharpnessValues.add(sharpness);
-            aliasingValues.add(aliasing);
-            screenArtifactValues.add(screenArtifact);
-            borderValues.add(border);
-            glareValues.add(glare);
-
-            if (sharpness > bestSharpness) {
-                bestSharpness = sharpness;
-                selectedIndex = i;
-            }
-
-            frame.recycle();
-        }
-
-        if (grayscaleFrames.isEmpty()) {
+        int selectedIndex = metrics.sharpestFrameIndex();
+        if (selectedIndex < 0 || selectedIndex >= frameUris.size()) {
             report.suspicionScore = 1.0;
             report.suspicious = true;
             report.reasons.add("burst_decode_failed");
             return report;
         }
 
-        double similaritySum = 0.0;
-        int similarityPairs = 0;
-        for (int i = 1; i < grayscaleFrames.size(); i++) {
-            similaritySum += computeFrameSimilarity(grayscaleFrames.get(i - 1), grayscaleFrames.get(i));
-            similarityPairs++;
-        }
-
-        report.selectedFrameIndex = Math.max(0, Math.min(selectedIndex, frameUris.size() - 1));
+        double bestSharpness = metrics.sharpness[selectedIndex];
+        report.selectedFrameIndex = selectedIndex;
         report.selectedFrameSharpness = bestSharpness > 0 ? bestSharpness : 0.0;
-        report.frameSimilarity = similarityPairs > 0 ? (similaritySum / similarityPairs) : 0.0;
-        report.aliasingScore = average(aliasingValues);
-        report.screenArtifactScore = Math.max(average(screenArtifactValues), valueAt(screenArtifactValues, report.selectedFrameIndex));
-        report.borderScore = average(borderValues);
-        report.glareScore = average(glareValues);
+        report.frameSimilarity = metrics.frameSimilarity;
+        report.aliasingScore = metrics.averageOfDecoded(metrics.aliasing);
+        report.screenArtifactScore = Math.max(metrics.averageOfDecoded(metrics.screenArtifact), metrics.screenArtifact[selectedIndex]);
+        report.borderScore = metrics.averageOfDecoded(metrics.border);
+        report.glareScore = metrics.averageOfDecoded(metrics.glare);
 
         if (report.selectedFrameIndex >= 0 && report.selectedFrameIndex < frameUris.size()) {
             applyMetadataSignals(report, inspectMetadataSignals(context, frameUris.get(report.selectedFrameIndex)));
@@ -509,7 +480,7 @@ public final class CaptureGuardHelper {
     }
 
     @Nullable
-    private static Bitmap decodeScaledBitmap(@NonNull Context context, @NonNull Uri uri, int targetPx) {
+    static Bitmap decodeScaledBitmap(@NonNull Context context, @NonNull Uri uri, int targetPx) {
         ContentResolver resolver = context.getContentResolver();
         BitmapFactory.Options bounds = new BitmapFactory.Options();
         bounds.inJustDecodeBounds = true;
@@ -521,281 +492,53 @@ public final class CaptureGuardHelper {
             return null;
         }
 
-        int sampleSize = 1;
-        int maxDimension = Math.max(bounds.outWidth, bounds.outHeight);
-        while (maxDimension / sampleSize > targetPx * 2) {
-            sampleSize *= 2;
-        }
-
-        BitmapFactory.Options opts = new BitmapFactory.Options();
-        opts.inSampleSize = Math.max(1, sampleSize);
-        opts.inPreferredConfig = Bitmap.Config.ARGB_8888;
-
+        BitmapFactory.Options opts = scaledDecodeOptions(bounds.outWidth, bounds.outHeight, targetPx);
         try (InputStream in = resolver.openInputStream(uri)) {
             if (in == null) return null;
-            Bitmap bitmap = BitmapFactory.decodeStream(in, null, opts);
-            if (bitmap == null) return null;
-            if (bitmap.getWidth() == targetPx && bitmap.getHeight() == targetPx) {
-                return bitmap;
-            }
-            Bitmap scaled = Bitmap.createScaledBitmap(bitmap, targetPx, targetPx, true);
-            if (scaled != bitmap) {
-                bitmap.recycle();
-            }
-            return scaled;
+            return scaleToSquare(BitmapFactory.decodeStream(in, null, opts), targetPx);
         } catch (IOException e) {
             return null;
         }
     }
 
-    @NonNull
-    private static int[] bitmapToGrayscale(@NonNull Bitmap bitmap, int width, int height) {
-        int[] pixels = new int[width * height];
-        bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
-        int[] gray = new int[pixels.length];
-
-        for (int i = 0; i < pixels.length; i++) {
-            int color = pixels[i];
-            int r = (color >> 16) & 0xFF;
-            int g = (color >> 8) & 0xFF;
-            int b = color & 0xFF;
-            gray[i] = (int) ((0.299 * r) + (0.587 * g) + (0.114 * b));
-        }
-
-        return gray;
-    }
-
-    private static double computeFrameSimilarity(@NonNull int[] first, @NonNull int[] second) {
-        int len = Math.min(first.length, second.length);
-        if (len == 0) return 0.0;
-        long diffSum = 0L;
-        for (int i = 0; i < len; i++) {
-            diffSum += Math.abs(first[i] - second[i]);
-        }
-        double meanDiff = (double) diffSum / len;
-        return clamp(1.0 - (meanDiff / 255.0));
-    }
-
-    private static double computeSharpness(@NonNull int[] gray, int width, int height) {
-        if (width < 3 || height < 3) return 0.0;
-        double sum = 0.0;
-        double sumSq = 0.0;
-        int count = 0;
-
-        for (int y = 1; y < height - 1; y++) {
-            int row = y * width;
-            for (int x = 1; x < width - 1; x++) {
-                int idx = row + x;
-                double lap = (4.0 * gray[idx])
-                        - gray[idx - 1]
-                        - gray[idx + 1]
-                        - gray[idx - width]
-                        - gray[idx + width];
-                sum += lap;
-                sumSq += lap * lap;
-                count++;
-            }
-        }
-
-        if (count == 0) return 0.0;
-        double mean = sum / count;
-        return Math.max(0.0, (sumSq / count) - (mean * mean));
-    }
-
-    private static double computeAliasingScore(@NonNull int[] gray, int width, int height) {
-        if (width < 4 || height < 4) return 0.0;
-        long alternations = 0L;
-        long opportunities = 0L;
-
-        for (int y = 0; y < height; y++) {
-            int row = y * width;
-            for (int x = 1; x < width - 1; x++) {
-                int d1 = gray[row + x] - gray[row + x - 1];
-                int d2 = gray[row + x + 1] - gray[row + x];
-                if (Math.abs(d1) >= 8 && Math.abs(d2) >= 8) {
-                    opportunities++;
-                    if ((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) {
-                        alternations++;
-                    }
-                }
-            }
-        }
-
-        for (int y = 1; y < height - 1; y++) {
-            for (int x = 0; x < width; x++) {
-                int d1 = gray[(y * width) + x] - gray[((y - 1) * width) + x];
-                int d2 = gray[((y + 1) * width) + x] - gray[(y * width) + x];
-                if (Math.abs(d1) >= 8 && Math.abs(d2) >= 8) {
-                    opportunities++;
-                    if ((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) {
-                        alternations++;
-                    }
-                }
-            }
-        }
-
-        if (opportunities == 0L) return 0.0;
-        return clamp((double) alternations / opportunities);
-    }
-
-    private static double computeScreenArtifactScore(@NonNull Bitmap bitmap,
-                                                     @NonNull int[] gray,
-                                                     int width,
-                                                     int height) {
-        if (width < 4 || height < 4) return 0.0;
-        int[] pixels = new int[width * height];
-        bitmap.getPixels(pixels, 0, width, 0, 0, width, height);
-        double colorFringing = computeColorFringingScore(pixels, gray, width, height);
-        double pixelGrid = computePixelGridScore(gray, width, height);
-        return clamp((0.65 * colorFringing) + (0.35 * pixelGrid));
-    }
-
-    private static double computeColorFringingScore(@NonNull int[] pixels,
-                                                    @NonNull int[] gray,
-                                                    int width,
-                                                    int height) {
-        long hits = 0L;
-        long opportunities = 0L;
-
-        for (int y = 1; y < height - 1; y++) {
-            int row = y * width;
-            for (int x = 1; x < width - 1; x++) {
-                int idx = row + x;
-
-                if (isFringingEdge(pixels[idx - 1], pixels[idx + 1], Math.abs(gray[idx + 1] - gray[idx - 1]))) {
-                    hits++;
-                }
-                if (Math.abs(gray[idx + 1] - gray[idx - 1]) >= 24) {
-                    opportunities++;
-                }
-
-                if (isFringingEdge(pixels[idx - width], pixels[idx + width], Math.abs(gray[idx + width] - gray[idx - width]))) {
-                    hits++;
-                }
-                if (Math.abs(gray[idx + width] - gray[idx - width]) >= 24) {
-                    opportunities++;
-                }
-            }
-        }
-
-        if (opportunities == 0L) return 0.0;
-        return clamp((double) hits / opportunities);
-    }
-
-    private static boolean isFringingEdge(int firstColor, int secondColor, int luminanceDiff) {
-        if (luminanceDiff < 24) return false;
-
-        int dr = Math.abs(((secondColor >> 16) & 0xFF) - ((firstColor >> 16) & 0xFF));
-        int dg = Math.abs(((secondColor >> 8) & 0xFF) - ((firstColor >> 8) & 0xFF));
-        int db = Math.abs((secondColor & 0xFF) - (firstColor & 0xFF));
-
-        int maxDelta = Math.max(dr, Math.max(dg, db));
-        int minDelta = Math.min(dr, Math.min(dg, db));
-        int midDelta = dr + dg + db - maxDelta - minDelta;
-
-        return maxDelta >= 30 && (maxDelta - minDelta) >= 18 && (maxDelta - midDelta) >= 10;
-    }
-
-    private static double computePixelGridScore(@NonNull int[] gray, int width, int height) {
-        long hits = 0L;
-        long opportunities = 0L;
-
-        for (int y = 0; y < height; y++) {
-            int row = y * width;
-            for (int x = 0; x < width - 2; x++) {
-                int a = gray[row + x];
-                int b = gray[row + x + 1];
-                int c = gray[row + x + 2];
-                int ab = Math.abs(a - b);
-                int bc = Math.abs(b - c);
-                int ac = Math.abs(a - c);
-                int edge = Math.max(ab, bc);
-                if (edge >= 12) {
-                    opportunities++;
-                    if (ac + 6 < ((ab + bc) / 2.0)) {
-                        hits++;
-                    }
-                }
-            }
-        }
-
-        for (int y = 0; y < height - 2; y++) {
-            for (int x = 0; x < width; x++) {
-                int a = gray[(y * width) + x];
-                int b = gray[((y + 1) * width) + x];
-                int c = gray[((y + 2) * width) + x];
-                int ab = Math.abs(a - b);
-                int bc = Math.abs(b - c);
-                int ac = Math.abs(a - c);
-                int edge = Math.max(ab, bc);
-                if (edge >= 12) {
-                    opportunities++;
-                    if (ac + 6 < ((ab + bc) / 2.0)) {
-                        hits++;
-                    }
-                }
-            }
-        }
-
-        if (opportunities == 0L) return 0.0;
-        return clamp((double) hits / opportunities);
+    /**
+     * Same as {@link #decodeScaledBitmap} for a JPEG that is already in memory and whose size is
+     * known (e.g. straight from an ImageCapture buffer), so no bounds pass or file read is needed.
+     */
+    @Nullable
+    static Bitmap decodeScaledJpeg(@NonNull byte[] jpeg, int width, int height, int targetPx) {
+        BitmapFactory.Options opts = scaledDecodeOptions(width, height, targetPx);
+        return scaleToSquare(BitmapFactory.decodeByteArray(jpeg, 0, jpeg.length, opts), targetPx);
     }
 
-    private static double computeBorderScore(@NonNull int[] gray, int width, int height) {
-        int band = Math.max(6, Math.min(width, height) / 16);
-        if (band * 2 >= width || band * 2 >= height) return 0.0;
-
-        double outerSum = 0.0;
-        double innerSum = 0.0;
-        int outerCount = 0;
-        int innerCount = 0;
-
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                boolean outer = x < band || y < band || x >= width - band || y >= height - band;
-                boolean innerBand = !outer && (x < band * 2 || y < band * 2 || x >= width - (band * 2) || y >= height - (band * 2));
-                int value = gray[(y * width) + x];
-                if (outer) {
-                    outerSum += value;
-                    outerCount++;
-                } else if (innerBand) {
-                    innerSum += value;
-                    innerCount++;
-                }
-            }
+    @NonNull
+    private static BitmapFactory.Options scaledDecodeOptions(int width, int height, int targetPx) {
+        int sampleSize = 1;
+        int maxDimension = Math.max(width, height);
+        while (maxDimension / sampleSize > targetPx * 2) {
+            sampleSize *= 2;
         }
 
-        if (outerCount == 0 || innerCount == 0) return 0.0;
-        double outerMean = outerSum / outerCount;
-        double innerMean = innerSum / innerCount;
-        return clamp((innerMean - outerMean - 18.0) / 70.0);
+        BitmapFactory.Options opts = new BitmapFactory.Options();
+        opts.inSampleSize = Math.max(1, sampleSize);
+        opts.inPreferredConfig = Bitmap.Config.ARGB_8888;
+        return opts;
     }
 
-    private static double computeGlareScore(@NonNull int[] gray) {
-        if (gray.length == 0) return 0.0;
-        int clipped = 0;
-        for (int value : gray) {
-            if (value >= 245) clipped++;
+    @Nullable
+    private static Bitmap scaleToSquare(@Nullable Bitmap bitmap, int targetPx) {
+        if (bitmap == null) return null;
+        if (bitmap.getWidth() == targetPx && bitmap.getHeight() == targetPx) {
+            return bitmap;
         }
-        return clamp((double) clipped / gray.length);
-    }
-
-    private static double valueAt(@NonNull List<Double> values, int index) {
-        if (index < 0 || index >= values.size()) return 0.0;
-        Double value = values.get(index);
-        return value != null ? value : 0.0;
-    }
-
-    private static double average(@NonNull List<Double> values) {
-        if (values.isEmpty()) return 0.0;
-        double sum = 0.0;
-        for (Double value : values) {
-            sum += value != null ? value : 0.0;
+        Bitmap scaled = Bitmap.createScaledBitmap(bitmap, targetPx, targetPx, true);
+        if (scaled != bitmap) {
+            bitmap.recycle();
         }
-        return sum / values.size();
+        return scaled;
     }
 
-    private static double clamp(double value) {
+    static double clamp(double value) {
         if (Double.isNaN(value) || Double.isInfinite(value)) return 0.0;
         if (value < 0.0) return 0.0;
         if (value > 1.0) return 1.0;
@@ -1,5 +1,6 @@
 package com.birddex.app;
 
+import android.content.Context;
 import android.content.Intent;
 import android.text.TextUtils;
 import android.util.TypedValue;
@@ -13,14 +14,17 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.cardview.widget.CardView;
 import androidx.constraintlayout.widget.ConstraintLayout;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.RequestBuilder;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * CollectionCardAdapter: Adapter that converts model data into rows/cards for a RecyclerView or similar list UI.
@@ -28,7 +32,8 @@ import java.util.Locale;
  * These comments focus on what the actual code blocks are doing so the file is easier to trace
  * when you are debugging or presenting the app. Only comments were added; runtime logic was not changed.
  */
-public class CollectionCardAdapter extends RecyclerView.Adapter<CollectionCardAdapter.VH> {
+public class CollectionCardAdapter extends ListAdapter<CollectionSlot, CollectionCardAdapter.VH>
+        implements FeedPrefetcher.ImagePreloadSource {
 
     public static final String EXTRA_IMAGE_URL = "com.birddex.app.extra.IMAGE_URL";
     public static final String EXTRA_COMMON_NAME = "com.birddex.app.extra.COMMON_NAME";
@@ -41,15 +46,66 @@ public class CollectionCardAdapter extends RecyclerView.Adapter<CollectionCardAd
     public static final String EXTRA_RARITY = "com.birddex.app.extra.RARITY";
     public static final String EXTRA_IS_FAVORITE = "com.birddex.app.extra.IS_FAVORITE";
 
-    private final List<CollectionSlot> slots;
     private boolean isNavigating = false;
+    private final StableIdMap stableIds = new StableIdMap();
+
+    private static final DiffUtil.ItemCallback<CollectionSlot> DIFF_CALLBACK = new DiffUtil.ItemCallback<CollectionSlot>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull CollectionSlot oldSlot, @NonNull CollectionSlot newSlot) {
+            if (oldSlot.getId() == null || newSlot.getId() == null) return oldSlot == newSlot;
+            return oldSlot.getId().equals(newSlot.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull CollectionSlot oldSlot, @NonNull CollectionSlot newSlot) {
+            return Objects.equals(oldSlot.getImageUrl(), newSlot.getImageUrl())
+                    && Objects.equals(oldSlot.getImageRenditions(), newSlot.getImageRenditions())
+                    && Objects.equals(oldSlot.getRarity(), newSlot.getRarity())
+                    && Objects.equals(oldSlot.getCommonName(), newSlot.getCommonName())
+                    && Objects.equals(oldSlot.getScientificName(), newSlot.getScientificName())
+                    && Objects.equals(oldSlot.getState(), newSlot.getState())
+                    && Objects.equals(oldSlot.getLocality(), newSlot.getLocality())
+                    && Objects.equals(oldSlot.getTimestamp(), newSlot.getTimestamp())
+                    && oldSlot.isFavorite() == newSlot.isFavorite();
+        }
+    };
 
     /**
      * Constructor that stores incoming dependencies/values so this object starts in a usable
      * state.
      */
-    public CollectionCardAdapter(@NonNull List<CollectionSlot> slots) {
-        this.slots = slots;
+    public CollectionCardAdapter() {
+        super(DIFF_CALLBACK);
+        setHasStableIds(true);
+    }
+
+    /**
+     * Shows the given cards. The list is copied and diffed against the current cards in the
+     * background, so a search keystroke only inserts/removes/moves the cards that changed.
+     */
+    public void setSlots(@NonNull List<CollectionSlot> slots) {
+        submitList(new ArrayList<>(slots));
+    }
+
+    /**
+     * Rebinds one card after its slot was changed in place (e.g. a backfilled location), which a
+     * diff cannot see because both lists hold the same instance.
+     */
+    public void notifySlotChanged(@NonNull CollectionSlot slot) {
+        List<CollectionSlot> shown = getCurrentList();
+        for (int i = 0; i < shown.size(); i++) {
+            if (shown.get(i) == slot) {
+                notifyItemChanged(i);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public long getItemId(int position) {
+        CollectionSlot slot = getItem(position);
+        if (slot == null) return RecyclerView.NO_ID;
+        return stableIds.idFor(slot.getId() != null ? slot.getId() : StableIdMap.identityKey(slot));
     }
 
     /**
@@ -115,10 +171,20 @@ public class CollectionCardAdapter extends RecyclerView.Adapter<CollectionCardAd
 
     @Override
     public int getItemViewType(int position) {
-        CollectionSlot slot = slots.get(position);
+        CollectionSlot slot = getItem(position);
         return CardRarityHelper.getLayoutResId(slot != null ? slot.getRarity() : CardRarityHelper.COMMON);
     }
 
+    /**
+     * Same thumbnail request as {@link #onBindViewHolder}, so a prefetched card binds from cache.
+     */
+    @Override
+    public void collectPreloadRequests(@NonNull Context context, int position, @NonNull List<RequestBuilder<?>> out) {
+        CollectionSlot slot = getItem(position);
+        if (slot == null || isBlank(slot.getImageUrl())) return;
+        out.add(SizedImageRequests.cardThumbnail(context, slot.getImageUrl(), slot.getImageRenditions()));
+    }
+
     /**
      * Main logic block for this part of the feature.
      * Location values are handled here, so this is part of the logic that decides what area/bird
@@ -216,7 +282,7 @@ public class CollectionCardAdapter extends RecyclerView.Adapter<CollectionCardAd
      */
     @Override
     public void onBindViewHolder(@NonNull VH holder, int position) {
-        CollectionSlot slot = slots.get(position);
+        CollectionSlot slot = getItem(position);
         String url = slot != null ? slot.getImageUrl() : null;
         boolean hasImage = url != null && !url.trim().isEmpty();
 
@@ -235,7 +301,7 @@ public class CollectionCardAdapter extends RecyclerView.Adapter<CollectionCardAd
             i.putExtra(EXTRA_RARITY, slot.getRarity());
             i.putExtra(EXTRA_IS_FAVORITE, slot.isFavorite());
             if (slot.getTimestamp() != null) i.putExtra(EXTRA_CAUGHT_TIME, slot.getTimestamp().getTime());
-            ViewBirdCardActivity.attachSwipeExtras(i, slots, holder.getBindingAdapterPosition());
+            ViewBirdCardActivity.attachSwipeExtras(i, getCurrentList(), holder.getBindingAdapterPosition());
             // Move into the next screen and pass the identifiers/data that screen needs.
             v.getContext().startActivity(i);
         });
@@ -248,11 +314,7 @@ public class CollectionCardAdapter extends RecyclerView.Adapter<CollectionCardAd
             if (holder.txtDateCaught != null) holder.txtDateCaught.setText(slot.getTimestamp() != null ? new SimpleDateFormat("M/d/yy", Locale.US).format(slot.getTimestamp()) : "--");
             if (holder.imgBird != null) {
                 // Load the image asynchronously so the UI can show remote/local media without blocking the main thread.
-                Glide.with(holder.itemView.getContext())
-                        .load(url)
-                        .fitCenter()
-                        .placeholder(R.drawable.bg_image_placeholder)
-                        .diskCacheStrategy(DiskCacheStrategy.ALL)
+                SizedImageRequests.cardThumbnail(holder.itemView.getContext(), url, slot.getImageRenditions())
                         .into(holder.imgBird);
             }
             holder.itemView.setAlpha(1f);
@@ -269,11 +331,6 @@ public class CollectionCardAdapter extends RecyclerView.Adapter<CollectionCardAd
         }
     }
 
-    @Override
-    public int getItemCount() {
-        return slots.size();
-    }
-
     private boolean isBlank(String v) {
         return v == null || v.trim().isEmpty();
     }
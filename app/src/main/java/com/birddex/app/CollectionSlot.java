@@ -3,6 +3,7 @@ package com.birddex.app;
 import com.google.firebase.firestore.Exclude;
 import com.google.firebase.firestore.PropertyName;
 import java.util.Date;
+import java.util.Map;
 
 /**
  * CollectionSlot: Support/helper/model class used by other BirdDex screens so logic can stay reusable and organized.
@@ -16,6 +17,8 @@ public class CollectionSlot {
     private String birdId;
     private Date timestamp;
     private String imageUrl;
+    // Server-generated WebP thumbnails of imageUrl, longest edge in px ("128", "384", "1080") -> URL.
+    private Map<String, String> imageRenditions;
     private String rarity = CardRarityHelper.COMMON;
     private int slotIndex;
     private boolean isFavorite;
@@ -119,6 +122,14 @@ public class CollectionSlot {
         this.imageUrl = imageUrl;
     }
 
+    public Map<String, String> getImageRenditions() {
+        return imageRenditions;
+    }
+
+    public void setImageRenditions(Map<String, String> imageRenditions) {
+        this.imageRenditions = imageRenditions;
+    }
+
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
@@ -3,8 +3,12 @@ package com.birddex.app;
 import android.content.Context;
 
 import java.text.Normalizer;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -91,6 +95,9 @@ public class ContentFilter {
             "bushtit", "cock", "ass", "blue tit", "great tit", "tufted titmouse"
     ));
 
+    // Built once from NSFW_WORDS / BIRD_WHITELIST; must stay below both sets.
+    private static final LanguageMatcher LANGUAGE_MATCHER = new LanguageMatcher();
+
     private static final Pattern EMAIL_PATTERN = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,6}");
     private static final Pattern PHONE_PATTERN = Pattern.compile("\\b(\\+?\\d{1,3}[-.\\s]?)?\\(?\\d{3}\\)?[-.\\s]?\\d{3}[-.\\s]?\\d{4}\\b");
     private static final Pattern URL_PATTERN = Pattern.compile("https?://\\S+\\s?");
@@ -198,71 +205,307 @@ public class ContentFilter {
     }
 
     private static boolean hasInappropriateLanguage(String input) {
-        String normalizedInput = normalize(input);
-
-        for (String word : NSFW_WORDS) {
-            if (isWhitelisted(input, word)) continue;
-
-            if (checkMatch(normalizedInput, normalize(word))) return true;
-            if (checkWithBypass(input, word)) return true;
-        }
-        return false;
+        return LANGUAGE_MATCHER.matches(input);
     }
 
     /**
      * Main logic block for this part of the feature.
      */
-    private static boolean checkMatch(String input, String target) {
-        if (target.length() < 3) return false;
-        String regex = "\\b" + Pattern.quote(target) + "\\b";
-        return Pattern.compile(regex).matcher(input).find();
+    private static String normalize(String text) {
+        if (text == null) return "";
+
+        String normalized = text.toLowerCase()
+                .replace('0', 'o').replace('1', 'i').replace('3', 'e')
+                .replace('4', 'a').replace('5', 's').replace('7', 't')
+                .replace('8', 'b').replace('@', 'a').replace('$', 's').replace('!', 'i');
+
+        return normalized.replaceAll("(.)\\1+", "$1");
     }
 
     /**
      * Main logic block for this part of the feature.
      */
-    private static boolean checkWithBypass(String input, String word) {
-        StringBuilder regexBuilder = new StringBuilder("\\b");
-        for (int i = 0; i < word.length(); i++) {
-            regexBuilder.append(Pattern.quote(String.valueOf(word.charAt(i))));
-            if (i < word.length() - 1) {
-                regexBuilder.append("[\\W_]*");
-            }
-        }
-        regexBuilder.append("\\b");
-        return Pattern.compile(regexBuilder.toString()).matcher(input).find();
+    public static boolean containsInappropriateContent(String text) {
+        return getInappropriateReason(text) != null;
     }
 
     /**
-     * Returns the current value/state this class needs somewhere else in the app.
+     * LanguageMatcher: Answers "does this text contain a blocked word" in one pass over the text.
+     *
+     * It gives the same answer as checking every word in NSFW_WORDS with:
+     * - a whole-word match of normalize(word) inside normalize(text) (words of 3+ chars),
+     * - a whole-word match of the raw word with any run of [\W_] allowed between its letters,
+     * - minus words exempted because a BIRD_WHITELIST name containing them appears in the text.
+     * Three automata run side by side over the text: one over the normalized stream (leet swaps and
+     * collapsed repeats computed on the fly), one over letters/digits only (separator skipping),
+     * and one over the raw text to spot whitelisted bird names. Patterns are compiled only for the
+     * few words with spaces or punctuation, and only to confirm a hit the automaton already found.
      */
-    private static boolean isWhitelisted(String input, String nsfwWord) {
-        for (String white : BIRD_WHITELIST) {
-            if (input.contains(white) && white.contains(nsfwWord)) {
-                return true;
+    private static final class LanguageMatcher {
+
+        private final String[] words;
+
+        private final KeywordAutomaton normalizedAutomaton;
+        private final int[][] normalizedWordIds;
+        private final int normalizedRingMask;
+
+        private final KeywordAutomaton bypassAutomaton;
+        private final int[][] bypassWordIds;
+        private final boolean[] bypassNeedsVerification;
+        // Full bypass regex for words whose letters are not all alphanumeric (e.g. "9-11"), else null.
+        private final Pattern[] bypassVerifiers;
+
+        private final KeywordAutomaton whitelistAutomaton;
+        private final long[][] whitelistExemptions;
+
+        LanguageMatcher() {
+            words = NSFW_WORDS.toArray(new String[0]);
+
+            Map<String, List<Integer>> normalizedPatterns = new LinkedHashMap<>();
+            Map<String, List<Integer>> bypassPatterns = new LinkedHashMap<>();
+            bypassVerifiers = new Pattern[words.length];
+
+            for (int w = 0; w < words.length; w++) {
+                String word = words[w];
+
+                String normalizedWord = normalize(word);
+                if (normalizedWord.length() >= 3) {
+                    addPatternWord(normalizedPatterns, normalizedWord, w);
+                }
+
+                // The raw-word bypass regex is case-sensitive against lowercased input,
+                // so words written with capitals only ever match through the normalized path.
+                if (!word.equals(word.toLowerCase())) continue;
+                String skeleton = skeletonOf(word);
+                if (skeleton.isEmpty()) continue;
+                addPatternWord(bypassPatterns, skeleton, w);
+                if (!skeleton.equals(word)) {
+                    bypassVerifiers[w] = Pattern.compile(buildBypassRegex(word));
+                }
+            }
+
+            List<String> normalizedKeys = new ArrayList<>(normalizedPatterns.keySet());
+            normalizedAutomaton = new KeywordAutomaton(normalizedKeys);
+            normalizedWordIds = toIdArrays(normalizedPatterns);
+            normalizedRingMask = Integer.highestOneBit(normalizedAutomaton.maxPatternLength() + 1) * 2 - 1;
+
+            List<String> bypassKeys = new ArrayList<>(bypassPatterns.keySet());
+            bypassAutomaton = new KeywordAutomaton(bypassKeys);
+            bypassWordIds = toIdArrays(bypassPatterns);
+            bypassNeedsVerification = new boolean[bypassKeys.size()];
+            for (int p = 0; p < bypassWordIds.length; p++) {
+                for (int w : bypassWordIds[p]) {
+                    if (bypassVerifiers[w] != null) bypassNeedsVerification[p] = true;
+                }
+            }
+
+            List<String> whites = new ArrayList<>(BIRD_WHITELIST);
+            whitelistAutomaton = new KeywordAutomaton(whites);
+            whitelistExemptions = new long[whites.size()][];
+            for (int p = 0; p < whites.size(); p++) {
+                long[] exempt = new long[bitsetLength()];
+                for (int w = 0; w < words.length; w++) {
+                    if (whites.get(p).contains(words[w])) setBit(exempt, w);
+                }
+                whitelistExemptions[p] = exempt;
             }
         }
-        return false;
+
+        /**
+         * @param input lowercased, ASCII-only text (as produced by getInappropriateReason).
+         */
+        boolean matches(String input) {
+            int length = input.length();
+            long[] matched = new long[bitsetLength()];
+            long[] exempt = new long[bitsetLength()];
+
+            int whitelistState = KeywordAutomaton.ROOT;
+
+            int bypassState = KeywordAutomaton.ROOT;
+            int bypassWindow = Math.max(1, bypassAutomaton.maxPatternLength());
+            int[] skeletonRawIndex = new int[bypassWindow];
+            int skeletonCount = 0;
+
+            int normalizedState = KeywordAutomaton.ROOT;
+            boolean[] normalizedIsWord = new boolean[normalizedRingMask + 1];
+            int normalizedCount = 0;
+            char previousNormalized = 0;
+
+            for (int i = 0; i < length; i++) {
+                char c = input.charAt(i);
+
+                // 1. Whitelisted bird names (plain substring, raw text).
+                whitelistState = whitelistAutomaton.step(whitelistState, c);
+                for (int out = whitelistAutomaton.firstOutputState(whitelistState);
+                     out != KeywordAutomaton.NO_STATE;
+                     out = whitelistAutomaton.nextOutputState(out)) {
+                    orInto(exempt, whitelistExemptions[whitelistAutomaton.patternAt(out)]);
+                }
+
+                // 2. Separator-skipping bypass: only letters/digits advance the automaton.
+                if (isAsciiLetterOrDigit(c)) {
+                    skeletonRawIndex[skeletonCount % bypassWindow] = i;
+                    skeletonCount++;
+                    bypassState = bypassAutomaton.step(bypassState, c);
+                    for (int out = bypassAutomaton.firstOutputState(bypassState);
+                         out != KeywordAutomaton.NO_STATE;
+                         out = bypassAutomaton.nextOutputState(out)) {
+                        int pattern = bypassAutomaton.patternAt(out);
+                        int rawStart = skeletonRawIndex[(skeletonCount - bypassAutomaton.patternLength(pattern)) % bypassWindow];
+                        markBypassMatch(input, pattern, rawStart, i, matched);
+                    }
+                }
+
+                // 3. Normalized stream: leet swaps, then runs of the same char collapse to one.
+                char n = normalizeChar(c);
+                if (normalizedCount > 0 && n == previousNormalized && !isLineTerminator(n)) continue;
+                normalizedIsWord[normalizedCount & normalizedRingMask] = isWordChar(n);
+                normalizedCount++;
+                previousNormalized = n;
+
+                normalizedState = normalizedAutomaton.step(normalizedState, n);
+                for (int out = normalizedAutomaton.firstOutputState(normalizedState);
+                     out != KeywordAutomaton.NO_STATE;
+                     out = normalizedAutomaton.nextOutputState(out)) {
+                    int pattern = normalizedAutomaton.patternAt(out);
+                    int start = normalizedCount - normalizedAutomaton.patternLength(pattern);
+                    boolean wordBefore = start > 0 && normalizedIsWord[(start - 1) & normalizedRingMask];
+                    boolean firstIsWord = normalizedIsWord[start & normalizedRingMask];
+                    if (wordBefore == firstIsWord) continue;
+                    if (isWordChar(n) == nextNormalizedIsWord(input, i, n)) continue;
+                    for (int w : normalizedWordIds[pattern]) setBit(matched, w);
+                }
+            }
+
+            for (int i = 0; i < matched.length; i++) {
+                if ((matched[i] & ~exempt[i]) != 0L) return true;
+            }
+            return false;
+        }
+
+        private void markBypassMatch(String input, int pattern, int rawStart, int rawEnd, long[] matched) {
+            if (bypassNeedsVerification[pattern]) {
+                // Skeleton hit for a word with spaces/punctuation: let its real regex decide.
+                for (int w : bypassWordIds[pattern]) {
+                    if (testBit(matched, w)) continue;
+                    Pattern verifier = bypassVerifiers[w];
+                    boolean hit = verifier != null
+                            ? verifier.matcher(input).find()
+                            : hasWordBoundaries(input, rawStart, rawEnd);
+                    if (hit) setBit(matched, w);
+                }
+                return;
+            }
+            if (!hasWordBoundaries(input, rawStart, rawEnd)) return;
+            for (int w : bypassWordIds[pattern]) setBit(matched, w);
+        }
+
+        private int bitsetLength() {
+            return (words.length + 63) >>> 6;
+        }
+
+        private static boolean hasWordBoundaries(String input, int start, int end) {
+            boolean wordBefore = start > 0 && isWordChar(input.charAt(start - 1));
+            boolean wordAfter = end + 1 < input.length() && isWordChar(input.charAt(end + 1));
+            return wordBefore != isWordChar(input.charAt(start)) && wordAfter != isWordChar(input.charAt(end));
+        }
+
+        /**
+         * Word-ness of the next char in the normalized stream after position i (false at the end).
+         */
+        private static boolean nextNormalizedIsWord(String input, int i, char current) {
+            for (int j = i + 1; j < input.length(); j++) {
+                char next = normalizeChar(input.charAt(j));
+                if (next == current && !isLineTerminator(current)) continue;
+                return isWordChar(next);
+            }
+            return false;
+        }
+
+        private static void addPatternWord(Map<String, List<Integer>> patterns, String pattern, int wordId) {
+            List<Integer> ids = patterns.get(pattern);
+            if (ids == null) {
+                ids = new ArrayList<>();
+                patterns.put(pattern, ids);
+            }
+            ids.add(wordId);
+        }
+
+        private static int[][] toIdArrays(Map<String, List<Integer>> patterns) {
+            int[][] result = new int[patterns.size()][];
+            int p = 0;
+            for (List<Integer> ids : patterns.values()) {
+                result[p] = new int[ids.size()];
+                for (int i = 0; i < ids.size(); i++) result[p][i] = ids.get(i);
+                p++;
+            }
+            return result;
+        }
+
+        private static String skeletonOf(String word) {
+            StringBuilder skeleton = new StringBuilder(word.length());
+            for (int i = 0; i < word.length(); i++) {
+                char c = word.charAt(i);
+                if (isAsciiLetterOrDigit(c)) skeleton.append(c);
+            }
+            return skeleton.toString();
+        }
+
+        private static String buildBypassRegex(String word) {
+            StringBuilder regexBuilder = new StringBuilder("\\b");
+            for (int i = 0; i < word.length(); i++) {
+                regexBuilder.append(Pattern.quote(String.valueOf(word.charAt(i))));
+                if (i < word.length() - 1) {
+                    regexBuilder.append("[\\W_]*");
+                }
+            }
+            regexBuilder.append("\\b");
+            return regexBuilder.toString();
+        }
+
+        private static void setBit(long[] bits, int index) {
+            bits[index >>> 6] |= 1L << index;
+        }
+
+        private static boolean testBit(long[] bits, int index) {
+            return (bits[index >>> 6] & (1L << index)) != 0L;
+        }
+
+        private static void orInto(long[] target, long[] source) {
+            for (int i = 0; i < target.length; i++) target[i] |= source[i];
+        }
     }
 
     /**
-     * Main logic block for this part of the feature.
+     * Same character swaps as {@link #normalize(String)}, for one already-lowercased char.
      */
-    private static String normalize(String text) {
-        if (text == null) return "";
+    private static char normalizeChar(char c) {
+        switch (c) {
+            case '0': return 'o';
+            case '1': return 'i';
+            case '3': return 'e';
+            case '4': return 'a';
+            case '5': return 's';
+            case '7': return 't';
+            case '8': return 'b';
+            case '@': return 'a';
+            case '$': return 's';
+            case '!': return 'i';
+            default: return c;
+        }
+    }
 
-        String normalized = text.toLowerCase()
-                .replace('0', 'o').replace('1', 'i').replace('3', 'e')
-                .replace('4', 'a').replace('5', 's').replace('7', 't')
-                .replace('8', 'b').replace('@', 'a').replace('$', 's').replace('!', 'i');
+    // Regex \w: [a-zA-Z0-9_]
+    private static boolean isWordChar(char c) {
+        return c == '_' || isAsciiLetterOrDigit(c);
+    }
 
-        return normalized.replaceAll("(.)\\1+", "$1");
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
     }
 
-    /**
-     * Main logic block for this part of the feature.
-     */
-    public static boolean containsInappropriateContent(String text) {
-        return getInappropriateReason(text) != null;
+    // "." in the collapse regex of normalize() does not match line terminators, so those never collapse.
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 }
@@ -3,11 +3,12 @@ package com.birddex.app;
 import android.content.Context;
 import android.util.Log;
 
-import com.google.firebase.functions.FirebaseFunctions;
+import com.google.android.gms.tasks.Task;
 
 import org.json.JSONObject;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -70,38 +71,24 @@ public class EbirdApi {
      * caller.
      */
     public void fetchCoreGeorgiaBirdList(boolean forceRefresh, EbirdCoreBirdListCallback callback) {
-        if (!forceRefresh && cacheManager != null && cacheManager.hasFreshCoreGeorgiaBirdList(BirdCacheManager.CORE_BIRD_LIST_CACHE_TTL_MS)) {
+        if (!forceRefresh && cacheManager != null) {
             List<JSONObject> cachedBirds = cacheManager.getCachedCoreGeorgiaBirds();
             if (!cachedBirds.isEmpty()) {
-                Log.d(TAG, "Returning cached Georgia bird list (" + cachedBirds.size() + " birds).");
+                if (cacheManager.hasFreshCoreGeorgiaBirdList(BirdCacheManager.CORE_BIRD_LIST_CACHE_TTL_MS)) {
+                    Log.d(TAG, "Returning cached Georgia bird list (" + cachedBirds.size() + " birds).");
+                } else {
+                    // Stale-while-revalidate: the old list is usable right away, the refresh only updates the cache.
+                    Log.d(TAG, "Returning stale Georgia bird list (" + cachedBirds.size() + " birds) and revalidating.");
+                    loadCoreGeorgiaBirdList(false).addOnFailureListener(e ->
+                            Log.w(TAG, "Background Georgia bird list refresh failed.", e));
+                }
                 callback.onSuccess(cachedBirds);
                 return;
             }
         }
 
-        FirebaseFunctions.getInstance()
-                .getHttpsCallable("getGeorgiaBirds")
-                .call()
-                .addOnSuccessListener(result -> {
-                    try {
-                        Map<String, Object> resMap = (Map<String, Object>) result.getData();
-                        List<Map<String, Object>> birdsData = (List<Map<String, Object>>) resMap.get("birds");
-
-                        List<JSONObject> birdObjects = new ArrayList<>();
-                        if (birdsData != null) {
-                            for (Map<String, Object> map : birdsData) {
-                                birdObjects.add(new JSONObject(map));
-                            }
-                        }
-
-                        if (cacheManager != null && !birdObjects.isEmpty()) {
-                            cacheManager.saveCoreGeorgiaBirds(birdObjects);
-                        }
-                        callback.onSuccess(birdObjects);
-                    } catch (Exception e) {
-                        callback.onFailure(e);
-                    }
-                })
+        loadCoreGeorgiaBirdList(forceRefresh)
+                .addOnSuccessListener(callback::onSuccess)
                 .addOnFailureListener(e -> {
                     if (cacheManager != null) {
                         List<JSONObject> cachedBirds = cacheManager.getCachedCoreGeorgiaBirds();
@@ -115,6 +102,32 @@ public class EbirdApi {
                 });
     }
 
+    /**
+     * Calls getGeorgiaBirds, parses and caches the list once, and shares that Task with every
+     * caller that asks while it is still running.
+     */
+    private Task<List<JSONObject>> loadCoreGeorgiaBirdList(boolean ignoreBackoff) {
+        return CallableRequestCoalescer.share("ebird/coreGeorgiaBirds", () ->
+                CallableRequestCoalescer.call("getGeorgiaBirds", null, ignoreBackoff).continueWith(task -> {
+                    if (!task.isSuccessful()) throw failureOf(task, "getGeorgiaBirds");
+
+                    Map<String, Object> resMap = (Map<String, Object>) task.getResult().getData();
+                    List<Map<String, Object>> birdsData = resMap != null ? (List<Map<String, Object>>) resMap.get("birds") : null;
+
+                    List<JSONObject> birdObjects = new ArrayList<>();
+                    if (birdsData != null) {
+                        for (Map<String, Object> map : birdsData) {
+                            birdObjects.add(new JSONObject(map));
+                        }
+                    }
+
+                    if (cacheManager != null && !birdObjects.isEmpty()) {
+                        cacheManager.saveCoreGeorgiaBirds(birdObjects);
+                    }
+                    return birdObjects;
+                }));
+    }
+
     /**
      * Fetches detailed information and facts for a single bird from the Cloud Function.
      * @param birdId The ID of the bird to fetch details for.
@@ -144,37 +157,23 @@ public class EbirdApi {
             return;
         }
 
-        if (!forceRefresh && cacheManager != null && cacheManager.hasFreshBirdDetails(birdId, BirdCacheManager.BIRD_DETAILS_CACHE_TTL_MS)) {
+        if (!forceRefresh && cacheManager != null) {
             JSONObject cached = cacheManager.getCachedBirdDetails(birdId);
             if (cached != null) {
-                Log.d(TAG, "Returning cached bird details for " + birdId);
+                if (cacheManager.hasFreshBirdDetails(birdId, BirdCacheManager.BIRD_DETAILS_CACHE_TTL_MS)) {
+                    Log.d(TAG, "Returning cached bird details for " + birdId);
+                } else {
+                    Log.d(TAG, "Returning stale bird details for " + birdId + " and revalidating.");
+                    loadBirdDetailsAndFacts(birdId, false).addOnFailureListener(e ->
+                            Log.w(TAG, "Background bird details refresh failed for " + birdId, e));
+                }
                 callback.onSuccess(cached);
                 return;
             }
         }
 
-        java.util.Map<String, Object> data = new java.util.HashMap<>();
-        data.put("birdId", birdId);
-
-        FirebaseFunctions.getInstance()
-                .getHttpsCallable("getBirdDetailsAndFacts")
-                .call(data)
-                .addOnSuccessListener(result -> {
-                    try {
-                        Map<String, Object> birdDetailsMap = (Map<String, Object>) result.getData();
-                        if (birdDetailsMap != null) {
-                            JSONObject details = new JSONObject(birdDetailsMap);
-                            if (cacheManager != null) {
-                                cacheManager.saveBirdDetails(birdId, details);
-                            }
-                            callback.onSuccess(details);
-                        } else {
-                            callback.onFailure(new Exception("No bird details returned."));
-                        }
-                    } catch (Exception e) {
-                        callback.onFailure(e);
-                    }
-                })
+        loadBirdDetailsAndFacts(birdId, forceRefresh)
+                .addOnSuccessListener(callback::onSuccess)
                 .addOnFailureListener(e -> {
                     if (cacheManager != null) {
                         JSONObject cached = cacheManager.getCachedBirdDetails(birdId);
@@ -187,4 +186,31 @@ public class EbirdApi {
                     callback.onFailure(e);
                 });
     }
+
+    /**
+     * Calls getBirdDetailsAndFacts for one bird, caching the result once for all joined callers.
+     */
+    private Task<JSONObject> loadBirdDetailsAndFacts(String birdId, boolean ignoreBackoff) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("birdId", birdId);
+
+        return CallableRequestCoalescer.share("ebird/birdDetails/" + birdId, () ->
+                CallableRequestCoalescer.call("getBirdDetailsAndFacts", data, ignoreBackoff).continueWith(task -> {
+                    if (!task.isSuccessful()) throw failureOf(task, "getBirdDetailsAndFacts");
+
+                    Map<String, Object> birdDetailsMap = (Map<String, Object>) task.getResult().getData();
+                    if (birdDetailsMap == null) throw new Exception("No bird details returned.");
+
+                    JSONObject details = new JSONObject(birdDetailsMap);
+                    if (cacheManager != null) {
+                        cacheManager.saveBirdDetails(birdId, details);
+                    }
+                    return details;
+                }));
+    }
+
+    private static Exception failureOf(Task<?> task, String callableName) {
+        Exception e = task.getException();
+        return e != null ? e : new Exception(callableName + " was cancelled.");
+    }
 }
@@ -0,0 +1,126 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.firebase.functions.HttpsCallableResult;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides when the app should ask the backend to pull fresh eBird sightings (triggerEbirdDataFetch).
+ *
+ * Requests are debounced per region, so a burst of map refreshes from any screen collapses into
+ * one check. The check only calls the function when the server-reported refresh time for that
+ * region is older than the caller's threshold, and never more often than
+ * {@link #MIN_ATTEMPT_INTERVAL_MS}. Both timestamps live in SharedPreferences so the gating holds
+ * across app restarts.
+ */
+public final class EbirdRefreshScheduler {
+
+    private static final String TAG = "EbirdRefreshScheduler";
+    private static final String PREFS_NAME = "ebird_refresh_scheduler_prefs";
+    private static final String KEY_LAST_REFRESHED_AT_MS_PREFIX = "last_refreshed_at_ms_";
+    private static final String KEY_LAST_ATTEMPT_AT_MS_PREFIX = "last_attempt_at_ms_";
+
+    // The only region the backend currently pulls (eBird notable sightings for Georgia).
+    public static final String REGION_GEORGIA = "US-GA";
+
+    public static final long DEFAULT_STALE_AFTER_MS = TimeUnit.HOURS.toMillis(3);
+
+    // Even if the server keeps reporting old data (e.g. eBird is down), don't ask again sooner.
+    private static final long MIN_ATTEMPT_INTERVAL_MS = TimeUnit.MINUTES.toMillis(15);
+    private static final long DEBOUNCE_MS = 2000L;
+
+    private static final Handler handler = new Handler(Looper.getMainLooper());
+    // Main thread only.
+    private static final Map<String, Runnable> pendingChecks = new HashMap<>();
+
+    private EbirdRefreshScheduler() {
+        // No instances.
+    }
+
+    public static void requestRefresh(Context context, String regionCode) {
+        requestRefresh(context, regionCode, DEFAULT_STALE_AFTER_MS);
+    }
+
+    /**
+     * Schedules a staleness check for the region, replacing any check that has not run yet.
+     *
+     * @param staleAfterMs how old the server data may be before a refresh is triggered
+     */
+    public static void requestRefresh(Context context, String regionCode, long staleAfterMs) {
+        if (context == null || regionCode == null) return;
+        Context appContext = context.getApplicationContext();
+
+        cancelPending(regionCode);
+        Runnable check = () -> {
+            pendingChecks.remove(regionCode);
+            triggerIfStale(appContext, regionCode, staleAfterMs);
+        };
+        pendingChecks.put(regionCode, check);
+        handler.postDelayed(check, DEBOUNCE_MS);
+    }
+
+    /**
+     * Drops a scheduled check that has not run yet. A trigger already sent is not affected.
+     */
+    public static void cancelPending(String regionCode) {
+        Runnable check = pendingChecks.remove(regionCode);
+        if (check != null) handler.removeCallbacks(check);
+    }
+
+    private static void triggerIfStale(Context context, String regionCode, long staleAfterMs) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        long now = System.currentTimeMillis();
+
+        long dataAge = now - prefs.getLong(KEY_LAST_REFRESHED_AT_MS_PREFIX + regionCode, 0L);
+        if (dataAge < staleAfterMs) {
+            Log.d(TAG, "Skipping eBird refresh; " + regionCode + " data is " + dataAge + "ms old.");
+            return;
+        }
+
+        long sinceAttempt = now - prefs.getLong(KEY_LAST_ATTEMPT_AT_MS_PREFIX + regionCode, 0L);
+        if (sinceAttempt < MIN_ATTEMPT_INTERVAL_MS) {
+            Log.d(TAG, "Skipping eBird refresh; last attempt for " + regionCode + " was " + sinceAttempt + "ms ago.");
+            return;
+        }
+
+        prefs.edit().putLong(KEY_LAST_ATTEMPT_AT_MS_PREFIX + regionCode, now).apply();
+        Log.d(TAG, "Triggering eBird refresh for " + regionCode + " (data age " + dataAge + "ms).");
+        CallableRequestCoalescer.call("triggerEbirdDataFetch", null, false)
+                .addOnCompleteListener(task -> handleTriggerResult(prefs, regionCode, now, task));
+    }
+
+    private static void handleTriggerResult(SharedPreferences prefs, String regionCode, long attemptedAt,
+                                            Task<HttpsCallableResult> task) {
+        if (!task.isSuccessful() || task.getResult() == null) {
+            Exception e = task.getException();
+            Log.w(TAG, "eBird refresh trigger failed: " + (e != null ? e.getMessage() : "unknown"));
+            return;
+        }
+
+        // The server reports when the data was really refreshed, including when it skipped the
+        // fetch because another device just did it.
+        long refreshedAt = attemptedAt;
+        Object data = task.getResult().getData();
+        if (data instanceof Map) {
+            Object reported = ((Map<?, ?>) data).get("lastRefreshedAtMs");
+            if (reported instanceof Number && ((Number) reported).longValue() > 0L) {
+                refreshedAt = ((Number) reported).longValue();
+            }
+            Log.d(TAG, "eBird refresh trigger result: " + ((Map<?, ?>) data).get("status"));
+        }
+
+        String key = KEY_LAST_REFRESHED_AT_MS_PREFIX + regionCode;
+        if (refreshedAt > prefs.getLong(key, 0L)) {
+            prefs.edit().putLong(key, refreshedAt).apply();
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.request.target.Target;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * FeedPrefetcher: Scroll listener that keeps a RecyclerView feed ahead of the user.
+ *
+ * Two things happen while the list scrolls:
+ * - The next Firestore page is requested once the user is within a few rows of the end. The
+ *   distance grows with scroll speed, so a fling asks early enough that the page lands before
+ *   the spinner row does.
+ * - Images for the rows just past the screen (one to three screens, again by speed) are started
+ *   with Glide's preload API. The adapter supplies the same sized requests its rows bind with
+ *   ({@link ImagePreloadSource}), so a preload warms exactly the cache entry the row will read.
+ *
+ * Preloads still in flight are cancelled when the scroll direction flips and when the owning
+ * screen pauses ({@link #pause()}), so abandoned lookahead does not compete with visible rows.
+ * Works with LinearLayoutManager and GridLayoutManager. Main thread only.
+ */
+final class FeedPrefetcher extends RecyclerView.OnScrollListener {
+
+    /**
+     * Implemented by adapters whose rows load images.
+     */
+    interface ImagePreloadSource {
+        /**
+         * Adds the image requests the row at {@code position} will make when bound. Requests must
+         * be built with the same size/options as the bind so they share a cache key.
+         */
+        void collectPreloadRequests(@NonNull Context context, int position, @NonNull List<RequestBuilder<?>> out);
+    }
+
+    // Rows from the end at which the next page is requested when scrolling slowly.
+    static final int DEFAULT_PAGE_THRESHOLD_ROWS = 5;
+    // Roughly how long a Firestore page takes to arrive; at the current speed, that many rows
+    // ahead is where the next page should be requested.
+    private static final long PAGE_LEAD_TIME_MS = 800L;
+    // How far ahead images are preloaded: enough rows to cover this much scrolling time...
+    private static final long IMAGE_LEAD_TIME_MS = 600L;
+    // ...but at least one and at most this many screens.
+    private static final int MAX_SCREENS_AHEAD = 3;
+    // Speed samples closer together than this are merged (onScrolled fires every frame).
+    private static final long MIN_SAMPLE_INTERVAL_MS = 50L;
+
+    private final RecyclerView recyclerView;
+    @Nullable
+    private final Runnable loadNextPage;
+    private final int pageThresholdRows;
+
+    private final List<Target<?>> inFlight = new ArrayList<>();
+    private final List<RequestBuilder<?>> scratch = new ArrayList<>();
+
+    private boolean paused;
+    private int direction;
+    // Range of adapter positions already preloaded in the current direction, inclusive.
+    private int preloadedFrom = RecyclerView.NO_POSITION;
+    private int preloadedTo = RecyclerView.NO_POSITION;
+
+    private int sampleFirstVisible = RecyclerView.NO_POSITION;
+    private long sampleTimeMs;
+    private float rowsPerSecond;
+
+    /**
+     * @param loadNextPage called when more rows are wanted; the caller keeps its own in-flight and
+     *                     last-page guards, so repeated calls must be harmless. Null for lists
+     *                     that load everything at once.
+     */
+    FeedPrefetcher(@NonNull RecyclerView recyclerView, @Nullable Runnable loadNextPage, int pageThresholdRows) {
+        this.recyclerView = recyclerView;
+        this.loadNextPage = loadNextPage;
+        this.pageThresholdRows = Math.max(1, pageThresholdRows);
+    }
+
+    /**
+     * Creates a prefetcher and registers it on {@code recyclerView}.
+     */
+    @NonNull
+    static FeedPrefetcher attach(@NonNull RecyclerView recyclerView, @Nullable Runnable loadNextPage) {
+        FeedPrefetcher prefetcher = new FeedPrefetcher(recyclerView, loadNextPage, DEFAULT_PAGE_THRESHOLD_ROWS);
+        recyclerView.addOnScrollListener(prefetcher);
+        return prefetcher;
+    }
+
+    /**
+     * Stops prefetching and cancels preloads still in flight (screen paused/hidden).
+     */
+    void pause() {
+        paused = true;
+        cancelPreloads();
+        rowsPerSecond = 0f;
+        sampleFirstVisible = RecyclerView.NO_POSITION;
+    }
+
+    void resume() {
+        paused = false;
+    }
+
+    /**
+     * Forgets what was preloaded, e.g. after the adapter's list was replaced by a refresh or a
+     * new filter. In-flight preloads are left running; they are still likely to be useful.
+     */
+    void reset() {
+        preloadedFrom = RecyclerView.NO_POSITION;
+        preloadedTo = RecyclerView.NO_POSITION;
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+        if (paused || dy == 0) return;
+        if (!(rv.getLayoutManager() instanceof LinearLayoutManager)) return;
+        LinearLayoutManager lm = (LinearLayoutManager) rv.getLayoutManager();
+
+        int first = lm.findFirstVisibleItemPosition();
+        int last = lm.findLastVisibleItemPosition();
+        if (first == RecyclerView.NO_POSITION || last == RecyclerView.NO_POSITION) return;
+
+        int newDirection = dy > 0 ? 1 : -1;
+        if (newDirection != direction) {
+            // The lookahead on the other side is no longer where the user is going.
+            cancelPreloads();
+            direction = newDirection;
+            rowsPerSecond = 0f;
+        }
+        sampleSpeed(first);
+
+        int itemCount = lm.getItemCount();
+        int visibleCount = last - first + 1;
+
+        if (direction > 0 && loadNextPage != null) {
+            int threshold = Math.max(pageThresholdRows, rowsAhead(PAGE_LEAD_TIME_MS));
+            if (last + threshold >= itemCount - 1) loadNextPage.run();
+        }
+
+        int lookahead = Math.min(visibleCount * MAX_SCREENS_AHEAD,
+                Math.max(visibleCount, rowsAhead(IMAGE_LEAD_TIME_MS)));
+        if (direction > 0) {
+            preloadRange(last + 1, Math.min(itemCount - 1, last + lookahead));
+        } else {
+            preloadRange(Math.max(0, first - lookahead), first - 1);
+        }
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView rv, int newState) {
+        if (newState == RecyclerView.SCROLL_STATE_IDLE) rowsPerSecond = 0f;
+    }
+
+    private void sampleSpeed(int firstVisible) {
+        long now = SystemClock.uptimeMillis();
+        if (sampleFirstVisible == RecyclerView.NO_POSITION) {
+            sampleFirstVisible = firstVisible;
+            sampleTimeMs = now;
+            return;
+        }
+        long elapsed = now - sampleTimeMs;
+        if (elapsed < MIN_SAMPLE_INTERVAL_MS) return;
+
+        float instant = Math.abs(firstVisible - sampleFirstVisible) * 1000f / elapsed;
+        // Light smoothing so one long frame does not swing the lookahead.
+        rowsPerSecond = rowsPerSecond == 0f ? instant : rowsPerSecond * 0.5f + instant * 0.5f;
+        sampleFirstVisible = firstVisible;
+        sampleTimeMs = now;
+    }
+
+    private int rowsAhead(long leadTimeMs) {
+        return (int) Math.ceil(rowsPerSecond * leadTimeMs / 1000f);
+    }
+
+    /**
+     * Preloads [from, to], skipping positions already covered in this direction.
+     */
+    private void preloadRange(int from, int to) {
+        if (from > to) return;
+        RecyclerView.Adapter<?> adapter = recyclerView.getAdapter();
+        if (!(adapter instanceof ImagePreloadSource)) return;
+
+        if (preloadedFrom != RecyclerView.NO_POSITION) {
+            if (direction > 0) from = Math.max(from, preloadedTo + 1);
+            else to = Math.min(to, preloadedFrom - 1);
+            if (from > to) return;
+        }
+
+        ImagePreloadSource source = (ImagePreloadSource) adapter;
+        Context context = recyclerView.getContext();
+        for (int i = direction > 0 ? from : to; direction > 0 ? i <= to : i >= from; i += direction) {
+            if (i < 0 || i >= adapter.getItemCount()) continue;
+            scratch.clear();
+            source.collectPreloadRequests(context, i, scratch);
+            for (RequestBuilder<?> request : scratch) {
+                inFlight.add(request.preload());
+            }
+        }
+        scratch.clear();
+
+        preloadedFrom = preloadedFrom == RecyclerView.NO_POSITION ? from : Math.min(preloadedFrom, from);
+        preloadedTo = preloadedTo == RecyclerView.NO_POSITION ? to : Math.max(preloadedTo, to);
+        trimFinished();
+    }
+
+    private void cancelPreloads() {
+        if (!inFlight.isEmpty()) {
+            // Through the application's manager: this also runs from onDestroyView, when
+            // Glide.with(activity) may already refuse a finishing activity. clear() finds the
+            // request in whichever manager started it.
+            Context context = recyclerView.getContext().getApplicationContext();
+            for (Target<?> target : inFlight) {
+                Glide.with(context).clear(target);
+            }
+            inFlight.clear();
+        }
+        reset();
+    }
+
+    /**
+     * Drops targets whose preload already finished so the list only holds cancellable work.
+     */
+    private void trimFinished() {
+        for (int i = inFlight.size() - 1; i >= 0; i--) {
+            com.bumptech.glide.request.Request request = inFlight.get(i).getRequest();
+            if (request == null || request.isComplete() || request.isCleared()) inFlight.remove(i);
+        }
+    }
+}
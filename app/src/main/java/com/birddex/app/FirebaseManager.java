@@ -10,6 +10,7 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FieldPath;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
@@ -957,6 +958,17 @@ public class FirebaseManager {
                 });
     }
 
+    /**
+     * Live view of the user's saved-post entries (document id = thread id). Used by SavedPostStore
+     * instead of asking getForumPostSaveState about each post.
+     */
+    public ListenerRegistration listenToSavedPostIds(String userId, EventListener<QuerySnapshot> listener) {
+        return db.collection("users")
+                .document(userId)
+                .collection("savedPosts")
+                .addSnapshotListener(listener);
+    }
+
     public ListenerRegistration listenToHotspotSummary(String hotspotId, EventListener<DocumentSnapshot> listener) {
         String safeHotspotId = hotspotId != null ? hotspotId.trim() : "";
         if (safeHotspotId.isEmpty()) return null;
@@ -965,6 +977,27 @@ public class FirebaseManager {
                 .addSnapshotListener(listener);
     }
 
+    /**
+     * One listener for up to 30 hotspot summary docs (Firestore's "in" filter limit).
+     * Used by HotspotSummarySubscriptionManager instead of a listener per hotspot.
+     */
+    public ListenerRegistration listenToHotspotSummaries(List<String> hotspotIds, EventListener<QuerySnapshot> listener) {
+        List<String> safeIds = new ArrayList<>();
+        if (hotspotIds != null) {
+            for (String id : hotspotIds) {
+                String safeId = id != null ? id.trim() : "";
+                if (!safeId.isEmpty() && !safeIds.contains(safeId)) safeIds.add(safeId);
+            }
+        }
+        if (safeIds.isEmpty()) return null;
+        if (safeIds.size() > 30) {
+            throw new IllegalArgumentException("At most 30 hotspot ids per summary listener.");
+        }
+        return db.collection("hotspotVoteSummaries")
+                .whereIn(FieldPath.documentId(), safeIds)
+                .addSnapshotListener(listener);
+    }
+
     public ListenerRegistration listenToHotspotBirdSummary(String hotspotId, String birdKey, EventListener<DocumentSnapshot> listener) {
         String safeHotspotId = hotspotId != null ? hotspotId.trim() : "";
         String safeBirdKey = birdKey != null ? birdKey.trim() : "";
@@ -1685,7 +1718,8 @@ public class FirebaseManager {
         Log.d(TAG, "Calling getBirdDetailsAndFacts Cloud Function for: " + birdId);
         Map<String, Object> data = new HashMap<>();
         data.put("birdId", birdId);
-        mFunctions.getHttpsCallable("getBirdDetailsAndFacts").call(data).addOnCompleteListener(task -> {
+        // Shares the request with EbirdApi if it is already fetching the same bird.
+        CallableRequestCoalescer.call("getBirdDetailsAndFacts", data, false).addOnCompleteListener(task -> {
             if (task.isSuccessful()) Log.d(TAG, "getBirdDetailsAndFacts success.");
             else Log.e(TAG, "getBirdDetailsAndFacts failed.", task.getException());
             listener.onComplete(task);
@@ -1747,7 +1781,8 @@ public class FirebaseManager {
      */
     public void triggerEbirdDataFetch(OnCompleteListener<HttpsCallableResult> listener) {
         Log.d(TAG, "Calling triggerEbirdDataFetch Cloud Function.");
-        mFunctions.getHttpsCallable("triggerEbirdDataFetch").call().addOnCompleteListener(task -> {
+        // Prefer EbirdRefreshScheduler, which only calls this when the server data is stale.
+        CallableRequestCoalescer.call("triggerEbirdDataFetch", null, false).addOnCompleteListener(task -> {
             if (task.isSuccessful()) Log.d(TAG, "triggerEbirdDataFetch success.");
             else Log.e(TAG, "triggerEbirdDataFetch failure.", task.getException());
             listener.onComplete(task);
@@ -1776,7 +1811,8 @@ public class FirebaseManager {
      */
     public void syncGeorgiaBirdList(OnCompleteListener<HttpsCallableResult> listener) {
         Log.d(TAG, "Calling getGeorgiaBirds Cloud Function.");
-        mFunctions.getHttpsCallable("getGeorgiaBirds").call().addOnCompleteListener(task -> {
+        // Joins EbirdApi's list fetch when both run at startup.
+        CallableRequestCoalescer.call("getGeorgiaBirds", null, false).addOnCompleteListener(task -> {
             if (task.isSuccessful()) Log.d(TAG, "getGeorgiaBirds success.");
             else Log.e(TAG, "getGeorgiaBirds failure.", task.getException());
             listener.onComplete(task);
@@ -0,0 +1,79 @@
+package com.birddex.app;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * FirestoreModelDecoder: Maps query results to models off the main thread.
+ *
+ * List screens hand their snapshot documents to {@link #decode} together with one of the
+ * {@link FirestoreModelMappers}. The mapping runs on a single background thread and the
+ * unmodifiable result list is posted back to the main thread. The single thread means results
+ * arrive in submission order, so a cached first page can never land after the server page that
+ * was requested after it, and page 2 never lands after page 3. Callers must still re-check their
+ * generation/isAdded state in the callback, as they already do for Firestore listeners.
+ */
+final class FirestoreModelDecoder {
+
+    private static final String TAG = "FirestoreModelDecoder";
+
+    interface Mapper<T> {
+        @Nullable
+        T map(@NonNull DocumentSnapshot doc);
+    }
+
+    interface Callback<T> {
+        void onDecoded(@NonNull List<T> models);
+    }
+
+    static final Mapper<ForumPost> FORUM_POST = FirestoreModelMappers::forumPost;
+    static final Mapper<ForumComment> FORUM_COMMENT = FirestoreModelMappers::forumComment;
+    static final Mapper<CollectionSlot> COLLECTION_SLOT = FirestoreModelMappers::collectionSlot;
+    static final Mapper<User> USER = FirestoreModelMappers::user;
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "firestore-decode");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+    private FirestoreModelDecoder() {
+    }
+
+    /**
+     * Maps every existing document and delivers the models on the main thread. Documents that
+     * fail to map are logged and skipped.
+     */
+    static <T> void decode(@NonNull List<DocumentSnapshot> docs,
+                           @NonNull Mapper<T> mapper,
+                           @NonNull Callback<T> callback) {
+        List<DocumentSnapshot> input = new ArrayList<>(docs);
+        executor.execute(() -> {
+            List<T> models = new ArrayList<>(input.size());
+            for (DocumentSnapshot doc : input) {
+                if (doc == null || !doc.exists()) continue;
+                try {
+                    T model = mapper.map(doc);
+                    if (model != null) models.add(model);
+                } catch (RuntimeException e) {
+                    Log.w(TAG, "Skipping undecodable document " + doc.getReference().getPath(), e);
+                }
+            }
+            List<T> result = Collections.unmodifiableList(models);
+            mainHandler.post(() -> callback.onDecoded(result));
+        });
+    }
+}
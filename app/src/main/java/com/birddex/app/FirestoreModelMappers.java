@@ -0,0 +1,235 @@
+package com.birddex.app;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * FirestoreModelMappers: Hand-written DocumentSnapshot -> model mappers for the list screens.
+ *
+ * These replace {@code doc.toObject(X.class)}, which walks the model with reflection for every
+ * document. Field names match the Firestore property names those models map to (getter names,
+ * {@code @PropertyName}, {@code @DocumentId}), so results are the same as toObject for well-formed
+ * documents. A field with an unexpected type is left at its default instead of failing the whole
+ * document. Safe to call from any thread.
+ *
+ * Keep these in sync when a field is added to ForumPost, ForumComment, CollectionSlot or User.
+ */
+final class FirestoreModelMappers {
+
+    private FirestoreModelMappers() {
+    }
+
+    @Nullable
+    static ForumPost forumPost(@NonNull DocumentSnapshot doc) {
+        Map<String, Object> d = doc.getData();
+        if (d == null) return null;
+
+        ForumPost post = new ForumPost();
+        post.setId(doc.getId());
+        post.setUserId(string(d, "userId"));
+        post.setUsername(string(d, "username"));
+        post.setUserProfilePictureUrl(string(d, "userProfilePictureUrl"));
+        post.setMessage(string(d, "message"));
+        post.setBirdImageUrl(string(d, "birdImageUrl"));
+        if (d.get("birdImageRenditions") instanceof Map) post.setBirdImageRenditions(stringMap(d, "birdImageRenditions"));
+        post.setTimestamp(timestamp(d, "timestamp"));
+        post.setLikeCount(integer(d, "likeCount"));
+        post.setCommentCount(integer(d, "commentCount"));
+        post.setViewCount(integer(d, "viewCount"));
+        if (d.get("likedBy") instanceof Map) post.setLikedBy(booleanMap(d, "likedBy"));
+        if (d.get("viewedBy") instanceof Map) post.setViewedBy(objectMap(d, "viewedBy"));
+        post.setEdited(bool(d, "edited"));
+        post.setLastEditedAt(timestamp(d, "lastEditedAt"));
+
+        post.setLatitude(nullableDouble(d, "latitude"));
+        post.setLongitude(nullableDouble(d, "longitude"));
+        post.setShowLocation(bool(d, "showLocation"));
+        post.setHunted(bool(d, "hunted"));
+        post.setSpotted(bool(d, "spotted"));
+
+        post.setNotificationSent(bool(d, "notificationSent"));
+        post.setLikeNotificationSent(bool(d, "likeNotificationSent"));
+        post.setLastViewedAt(timestamp(d, "lastViewedAt"));
+
+        if (d.containsKey("moderationStatus")) post.setModerationStatus(string(d, "moderationStatus"));
+        post.setModerationReason(string(d, "moderationReason"));
+        post.setModerationSource(string(d, "moderationSource"));
+        post.setModeratedAt(timestamp(d, "moderatedAt"));
+        post.setHiddenAt(timestamp(d, "hiddenAt"));
+        post.setReportCount(integer(d, "reportCount"));
+        post.setUniqueReporterCount(integer(d, "uniqueReporterCount"));
+        if (d.get("reportReasonCounts") instanceof Map) post.setReportReasonCounts(objectMap(d, "reportReasonCounts"));
+
+        post.setDiscoveryScore(nullableDouble(d, "discoveryScore"));
+        post.setBirdSpeciesId(string(d, "birdSpeciesId"));
+        post.setRarity(string(d, "rarity"));
+        return post;
+    }
+
+    @Nullable
+    static ForumComment forumComment(@NonNull DocumentSnapshot doc) {
+        Map<String, Object> d = doc.getData();
+        if (d == null) return null;
+
+        ForumComment comment = new ForumComment();
+        comment.setId(doc.getId());
+        comment.setThreadId(string(d, "threadId"));
+        comment.setUserId(string(d, "userId"));
+        comment.setUsername(string(d, "username"));
+        comment.setUserProfilePictureUrl(string(d, "userProfilePictureUrl"));
+        comment.setText(string(d, "text"));
+        comment.setTimestamp(timestamp(d, "timestamp"));
+        comment.setLikeCount(integer(d, "likeCount"));
+        if (d.get("likedBy") instanceof Map) comment.setLikedBy(booleanMap(d, "likedBy"));
+        comment.setParentCommentId(string(d, "parentCommentId"));
+        comment.setParentUsername(string(d, "parentUsername"));
+        comment.setEdited(bool(d, "edited"));
+        comment.setLastEditedAt(timestamp(d, "lastEditedAt"));
+        comment.setLikeNotificationSent(bool(d, "likeNotificationSent"));
+
+        if (d.containsKey("moderationStatus")) comment.setModerationStatus(string(d, "moderationStatus"));
+        comment.setModerationReason(string(d, "moderationReason"));
+        comment.setModerationSource(string(d, "moderationSource"));
+        comment.setModeratedAt(timestamp(d, "moderatedAt"));
+        comment.setHiddenAt(timestamp(d, "hiddenAt"));
+        comment.setReportCount(integer(d, "reportCount"));
+        comment.setUniqueReporterCount(integer(d, "uniqueReporterCount"));
+        if (d.get("reportReasonCounts") instanceof Map) comment.setReportReasonCounts(objectMap(d, "reportReasonCounts"));
+        return comment;
+    }
+
+    @Nullable
+    static CollectionSlot collectionSlot(@NonNull DocumentSnapshot doc) {
+        Map<String, Object> d = doc.getData();
+        if (d == null) return null;
+
+        CollectionSlot slot = new CollectionSlot();
+        // Every caller used to set this right after toObject; CollectionSlot has no @DocumentId.
+        slot.setId(doc.getId());
+        slot.setUserBirdId(string(d, "userBirdId"));
+        slot.setBirdId(string(d, "birdId"));
+        slot.setTimestamp(date(d, "timestamp"));
+        slot.setImageUrl(string(d, "imageUrl"));
+        if (d.get("imageRenditions") instanceof Map) slot.setImageRenditions(stringMap(d, "imageRenditions"));
+        slot.setRarity(string(d, "rarity"));
+        slot.setSlotIndex(integer(d, "slotIndex"));
+        slot.setFavorite(bool(d, "isFavorite"));
+        slot.setCommonName(string(d, "commonName"));
+        slot.setScientificName(string(d, "scientificName"));
+        slot.setState(string(d, "state"));
+        slot.setLocality(string(d, "locality"));
+        return slot;
+    }
+
+    @Nullable
+    static User user(@NonNull DocumentSnapshot doc) {
+        Map<String, Object> d = doc.getData();
+        if (d == null) return null;
+
+        User user = new User();
+        user.setUserId(doc.getId());
+        user.setEmail(string(d, "email"));
+        user.setUsername(string(d, "username"));
+        user.setBio(string(d, "bio"));
+        user.setCreatedAt(date(d, "createdAt"));
+        user.setDefaultLocationId(string(d, "defaultLocationId"));
+        user.setTotalBirds(integer(d, "totalBirds"));
+        user.setDuplicateBirds(integer(d, "duplicateBirds"));
+        user.setTotalPoints(integer(d, "totalPoints"));
+        user.setProfilePictureUrl(string(d, "profilePictureUrl"));
+        if (d.get("profilePictureRenditions") instanceof Map) user.setProfilePictureRenditions(stringMap(d, "profilePictureRenditions"));
+        user.setPfpChangesToday(integer(d, "pfpChangesToday"));
+        user.setPfpCooldownResetTimestamp(date(d, "pfpCooldownResetTimestamp"));
+        user.setOpenAiRequestsRemaining(integer(d, "openAiRequestsRemaining"));
+        user.setOpenAiCooldownResetTimestamp(date(d, "openAiCooldownResetTimestamp"));
+        user.setFollowerCount(integer(d, "followerCount"));
+        user.setFollowingCount(integer(d, "followingCount"));
+        user.setHasLoggedInBefore(bool(d, "hasLoggedInBefore"));
+        user.setLastActiveAt(date(d, "lastActiveAt"));
+        // toObject maps isStaff()/setStaff() to the "staff" property.
+        user.setStaff(bool(d, "staff"));
+        return user;
+    }
+
+    // ---------------------------------------------------------------------
+    // Field readers
+    // ---------------------------------------------------------------------
+
+    @Nullable
+    private static String string(@NonNull Map<String, Object> d, @NonNull String field) {
+        Object value = d.get(field);
+        return value instanceof String ? (String) value : null;
+    }
+
+    private static int integer(@NonNull Map<String, Object> d, @NonNull String field) {
+        Object value = d.get(field);
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    @Nullable
+    private static Double nullableDouble(@NonNull Map<String, Object> d, @NonNull String field) {
+        Object value = d.get(field);
+        return value instanceof Number ? ((Number) value).doubleValue() : null;
+    }
+
+    private static boolean bool(@NonNull Map<String, Object> d, @NonNull String field) {
+        return Boolean.TRUE.equals(d.get(field));
+    }
+
+    @Nullable
+    private static Timestamp timestamp(@NonNull Map<String, Object> d, @NonNull String field) {
+        Object value = d.get(field);
+        if (value instanceof Timestamp) return (Timestamp) value;
+        if (value instanceof Date) return new Timestamp((Date) value);
+        return null;
+    }
+
+    @Nullable
+    private static Date date(@NonNull Map<String, Object> d, @NonNull String field) {
+        Object value = d.get(field);
+        if (value instanceof Timestamp) return ((Timestamp) value).toDate();
+        if (value instanceof Date) return (Date) value;
+        return null;
+    }
+
+    @NonNull
+    private static Map<String, Boolean> booleanMap(@NonNull Map<String, Object> d, @NonNull String field) {
+        Map<?, ?> source = (Map<?, ?>) d.get(field);
+        Map<String, Boolean> out = new HashMap<>(Math.max(4, source.size() * 2));
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            if (entry.getKey() instanceof String && entry.getValue() instanceof Boolean) {
+                out.put((String) entry.getKey(), (Boolean) entry.getValue());
+            }
+        }
+        return out;
+    }
+
+    @NonNull
+    private static Map<String, String> stringMap(@NonNull Map<String, Object> d, @NonNull String field) {
+        Map<?, ?> source = (Map<?, ?>) d.get(field);
+        Map<String, String> out = new HashMap<>(Math.max(4, source.size() * 2));
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            if (entry.getKey() instanceof String && entry.getValue() instanceof String) {
+                out.put((String) entry.getKey(), (String) entry.getValue());
+            }
+        }
+        return out;
+    }
+
+    @NonNull
+    private static Map<String, Object> objectMap(@NonNull Map<String, Object> d, @NonNull String field) {
+        Map<?, ?> source = (Map<?, ?>) d.get(field);
+        Map<String, Object> out = new HashMap<>(Math.max(4, source.size() * 2));
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            if (entry.getKey() instanceof String) out.put((String) entry.getKey(), entry.getValue());
+        }
+        return out;
+    }
+}
@@ -9,31 +9,46 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
-import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
 import com.google.firebase.auth.FirebaseAuth;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  * ForumCommentAdapter: Adapter that converts model data into rows/cards for a RecyclerView or similar list UI.
  *
+ * Comments are indexed once in a {@link ForumCommentThread} and shown as a flat list of rows:
+ * each top-level comment followed by its visible replies (the first one, or all of them once the
+ * thread is expanded). Every change (a refresh, a new page, expanding/collapsing) submits the
+ * rebuilt rows, which are diffed in the background, so only the affected rows are inserted,
+ * removed or rebound.
+ *
  * These comments focus on what the actual code blocks are doing so the file is easier to trace
  * when you are debugging or presenting the app. Only comments were added; runtime logic was not changed.
  */
-public class ForumCommentAdapter extends RecyclerView.Adapter<ForumCommentAdapter.CommentViewHolder> {
+public class ForumCommentAdapter extends ListAdapter<ForumCommentThread.Row, ForumCommentAdapter.CommentViewHolder> {
+
+    // Partial rebinds: only like counts/state, or only the reply count/expanded toggle changed.
+    static final String PAYLOAD_LIKES = "likes";
+    static final String PAYLOAD_TOGGLE = "toggle";
+
+    // Where reply content used to start: the parent's 12dp padding plus the old nested list's 44dp margin.
+    private static final int REPLY_INDENT_DP = 56;
 
-    private List<ForumComment> allComments = new ArrayList<>();
-    private List<ForumComment> topLevelComments = new ArrayList<>();
-    private OnCommentInteractionListener listener;
-    private Set<String> expandedCommentIds = new HashSet<>();
-    private String currentUserId;
+    private final OnCommentInteractionListener listener;
+    private final String currentUserId;
+    private final StableIdMap stableIds = new StableIdMap();
+    private final ForumCommentThread thread = new ForumCommentThread();
+    // A newer submitList drops the commit callback of one still diffing, so callbacks are queued
+    // here and all run on the next commit.
+    private final List<Runnable> pendingCommitCallbacks = new ArrayList<>();
 
     public interface OnCommentInteractionListener {
         void onCommentLikeClick(ForumComment comment);
@@ -42,26 +57,171 @@ public class ForumCommentAdapter extends RecyclerView.Adapter<ForumCommentAdapte
         void onUserClick(String userId);
     }
 
+    public interface OnCommentPositionListener {
+        /**
+         * @param position the adapter position of the comment, or -1 if it is not loaded
+         */
+        void onCommentPosition(int position);
+    }
+
     /**
      * Constructor that stores incoming dependencies/values so this object starts in a usable
      * state.
      */
     public ForumCommentAdapter(OnCommentInteractionListener listener) {
+        super(new RowDiff(FirebaseAuth.getInstance().getUid()));
         this.listener = listener;
         this.currentUserId = FirebaseAuth.getInstance().getUid();
+        setHasStableIds(true);
     }
 
     /**
      * Updates object/screen state by storing a new value or reconfiguring a dependency.
-     * It prepares or refreshes adapter-backed lists/grids here so the latest model objects are
-     * rendered on screen.
+     * Replaces every comment (first page or a refresh). The reply index is rebuilt once and the
+     * new rows are diffed against the old ones in the background, so unchanged rows are not
+     * rebound.
      */
     public void setComments(List<ForumComment> comments) {
-        this.allComments = comments;
-        this.topLevelComments = comments.stream()
-                .filter(c -> c.getParentCommentId() == null)
-                .collect(Collectors.toList());
-        notifyDataSetChanged();
+        setComments(comments, null);
+    }
+
+    /**
+     * @param onShown runs once the adapter holds the new rows, so positions and
+     *                {@link #getItemCount()} are up to date
+     */
+    public void setComments(List<ForumComment> comments, @Nullable Runnable onShown) {
+        thread.reset(comments);
+        submitRows(onShown);
+    }
+
+    /**
+     * Adds the next page of comments. Only the new comments are indexed; new top-level comments
+     * end up at the end and new replies under threads already on screen.
+     */
+    public void appendComments(List<ForumComment> page, @Nullable Runnable onShown) {
+        if (thread.append(page).isEmpty()) {
+            if (onShown != null) onShown.run();
+            return;
+        }
+        submitRows(onShown);
+    }
+
+    private void submitRows(@Nullable Runnable onShown) {
+        if (onShown != null) pendingCommitCallbacks.add(onShown);
+        submitList(thread.rows(), this::runCommitCallbacks);
+    }
+
+    private void runCommitCallbacks() {
+        List<Runnable> callbacks = new ArrayList<>(pendingCommitCallbacks);
+        pendingCommitCallbacks.clear();
+        for (Runnable callback : callbacks) callback.run();
+    }
+
+    /**
+     * Expands or collapses the thread whose top-level row is at this position. The first reply
+     * always stays visible; the diff inserts/removes the rest as one range.
+     */
+    private void toggleThread(int position) {
+        if (position < 0 || position >= getItemCount()) return;
+        ForumCommentThread.Row row = getItem(position);
+        if (row.type != ForumCommentThread.Row.TYPE_COMMENT) return;
+        if (thread.toggle(row.comment.getId())) submitRows(null);
+    }
+
+    /**
+     * Finds the adapter position of a comment, expanding its thread first if it is a hidden
+     * reply. The position is delivered once the rows showing it are in the adapter.
+     */
+    public void revealComment(String commentId, @NonNull OnCommentPositionListener onPosition) {
+        if (!thread.reveal(commentId)) {
+            onPosition.onCommentPosition(-1);
+            return;
+        }
+        submitRows(() -> onPosition.onCommentPosition(indexOfRow(commentId)));
+    }
+
+    /**
+     * Rebinds the row of a comment after it was changed in place (e.g. an optimistic like).
+     */
+    public void notifyCommentChanged(ForumComment comment) {
+        if (comment == null) return;
+        List<ForumCommentThread.Row> rows = getCurrentList();
+        for (int i = 0; i < rows.size(); i++) {
+            ForumComment shown = rows.get(i).comment;
+            if (shown == comment || (comment.getId() != null && comment.getId().equals(shown.getId()))) {
+                notifyItemChanged(i, PAYLOAD_LIKES);
+                return;
+            }
+        }
+    }
+
+    private int indexOfRow(@Nullable String commentId) {
+        if (commentId == null) return -1;
+        List<ForumCommentThread.Row> rows = getCurrentList();
+        for (int i = 0; i < rows.size(); i++) {
+            if (commentId.equals(rows.get(i).comment.getId())) return i;
+        }
+        return -1;
+    }
+
+    private static final class RowDiff extends DiffUtil.ItemCallback<ForumCommentThread.Row> {
+        @Nullable private final String userId;
+
+        RowDiff(@Nullable String userId) {
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean areItemsTheSame(@NonNull ForumCommentThread.Row a, @NonNull ForumCommentThread.Row b) {
+            return a.type == b.type && a.key().equals(b.key());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ForumCommentThread.Row a, @NonNull ForumCommentThread.Row b) {
+            return sameBody(a.comment, b.comment) && sameLikes(a.comment, b.comment, userId) && sameToggle(a, b);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull ForumCommentThread.Row a, @NonNull ForumCommentThread.Row b) {
+            if (!sameBody(a.comment, b.comment)) return null;
+            boolean likes = sameLikes(a.comment, b.comment, userId);
+            boolean toggle = sameToggle(a, b);
+            if (!likes && toggle) return PAYLOAD_LIKES;
+            if (likes && !toggle) return PAYLOAD_TOGGLE;
+            return null;
+        }
+
+        private static boolean sameToggle(@NonNull ForumCommentThread.Row a, @NonNull ForumCommentThread.Row b) {
+            return a.replyCount == b.replyCount && a.expanded == b.expanded;
+        }
+    }
+
+    private static boolean sameBody(@NonNull ForumComment a, @NonNull ForumComment b) {
+        return Objects.equals(a.getUsername(), b.getUsername())
+                && Objects.equals(a.getText(), b.getText())
+                && Objects.equals(a.getUserProfilePictureUrl(), b.getUserProfilePictureUrl())
+                && Objects.equals(a.getParentUsername(), b.getParentUsername())
+                && Objects.equals(a.getTimestamp(), b.getTimestamp());
+    }
+
+    private static boolean sameLikes(@NonNull ForumComment a, @NonNull ForumComment b, @Nullable String userId) {
+        return a.getLikeCount() == b.getLikeCount()
+                && isLikedBy(a, userId) == isLikedBy(b, userId);
+    }
+
+    static boolean isLikedBy(@NonNull ForumComment comment, @Nullable String userId) {
+        return userId != null && comment.getLikedBy() != null && comment.getLikedBy().containsKey(userId);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return getItem(position).type;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(getItem(position).key());
     }
 
     /**
@@ -74,7 +234,15 @@ public class ForumCommentAdapter extends RecyclerView.Adapter<ForumCommentAdapte
     public CommentViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
         // Bind or inflate the UI pieces this method needs before it can update the screen.
         View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_forum_comment, parent, false);
-        return new CommentViewHolder(view);
+        CommentViewHolder holder = new CommentViewHolder(view);
+        holder.rvReplies.setVisibility(View.GONE);
+        if (viewType == ForumCommentThread.Row.TYPE_REPLY) {
+            // Replies don't have further nesting or their own reply buttons in this design
+            holder.llActions.setVisibility(View.GONE);
+            int indent = Math.round(REPLY_INDENT_DP * parent.getResources().getDisplayMetrics().density);
+            view.setPaddingRelative(view.getPaddingStart() + indent, view.getPaddingTop(), view.getPaddingEnd(), view.getPaddingBottom());
+        }
+        return holder;
     }
 
     /**
@@ -82,29 +250,47 @@ public class ForumCommentAdapter extends RecyclerView.Adapter<ForumCommentAdapte
      */
     @Override
     public void onBindViewHolder(@NonNull CommentViewHolder holder, int position) {
-        ForumComment comment = topLevelComments.get(position);
-        List<ForumComment> replies = allComments.stream()
-                .filter(c -> comment.getId().equals(c.getParentCommentId()))
-                .collect(Collectors.toList());
-        
-        boolean isExpanded = expandedCommentIds.contains(comment.getId());
-        holder.bind(comment, replies, isExpanded, listener, currentUserId, (id, expand) -> {
-            if (expand) expandedCommentIds.add(id);
-            else expandedCommentIds.remove(id);
-            notifyItemChanged(position);
-        });
+        ForumCommentThread.Row row = getItem(position);
+        holder.bind(row.comment, listener, currentUserId);
+        if (row.type == ForumCommentThread.Row.TYPE_COMMENT) {
+            holder.bindToggle(row, this::onToggleClicked);
+        }
     }
 
     /**
-     * Returns the current value/state this class needs somewhere else in the app.
+     * Partial rebind for {@link #PAYLOAD_LIKES} and {@link #PAYLOAD_TOGGLE}, without reloading the
+     * profile picture.
      */
     @Override
-    public int getItemCount() {
-        return topLevelComments.size();
+    public void onBindViewHolder(@NonNull CommentViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty()) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        for (Object payload : payloads) {
+            if (!PAYLOAD_LIKES.equals(payload) && !PAYLOAD_TOGGLE.equals(payload)) {
+                onBindViewHolder(holder, position);
+                return;
+            }
+        }
+
+        ForumCommentThread.Row row = getItem(position);
+        if (payloads.contains(PAYLOAD_LIKES)) {
+            holder.bindLikes(row.comment, currentUserId);
+            holder.bindListeners(row.comment, listener);
+        }
+        if (payloads.contains(PAYLOAD_TOGGLE) && row.type == ForumCommentThread.Row.TYPE_COMMENT) {
+            holder.bindToggle(row, this::onToggleClicked);
+        }
+    }
+
+    private void onToggleClicked(@NonNull CommentViewHolder holder) {
+        int position = holder.getBindingAdapterPosition();
+        if (position != RecyclerView.NO_POSITION) toggleThread(position);
     }
 
-    interface OnExpandListener {
-        void onExpandToggle(String commentId, boolean expand);
+    interface OnToggleListener {
+        void onToggle(@NonNull CommentViewHolder holder);
     }
 
     static class CommentViewHolder extends RecyclerView.ViewHolder {
@@ -149,16 +335,12 @@ public class ForumCommentAdapter extends RecyclerView.Adapter<ForumCommentAdapte
          * Connects already-fetched data to views so the user can see the current state.
          * It wires user actions here, so taps on buttons/cards/menus trigger the next step in the
          * flow.
-         * It prepares or refreshes adapter-backed lists/grids here so the latest model objects are
-         * rendered on screen.
          * Image loading happens here, which is why placeholder/error behavior for profile
          * photos/cards/posts usually traces back to this code path.
          */
-        public void bind(ForumComment comment, List<ForumComment> replies, boolean isExpanded, OnCommentInteractionListener listener, String currentUserId, OnExpandListener expandListener) {
+        public void bind(ForumComment comment, OnCommentInteractionListener listener, String currentUserId) {
             tvUsername.setText(comment.getUsername());
             tvText.setText(comment.getText());
-            tvLikeCount.setText(String.valueOf(comment.getLikeCount()));
-            llActions.setVisibility(View.VISIBLE);
 
             if (comment.getParentUsername() != null && !comment.getParentUsername().isEmpty()) {
                 tvReplyingTo.setVisibility(View.VISIBLE);
@@ -178,177 +360,48 @@ public class ForumCommentAdapter extends RecyclerView.Adapter<ForumCommentAdapte
                     .placeholder(R.drawable.ic_profile)
                     .into(ivUserPfp);
 
-            // Like status icon update
-            if (currentUserId != null && comment.getLikedBy() != null && comment.getLikedBy().containsKey(currentUserId)) {
-                ivLikeIcon.setImageResource(R.drawable.ic_favorite);
-            } else {
-                ivLikeIcon.setImageResource(R.drawable.ic_favorite_border);
-            }
-
-            // Attach the user interaction that should run when this control is tapped.
-            btnLike.setOnClickListener(v -> listener.onCommentLikeClick(comment));
-            btnReply.setOnClickListener(v -> listener.onCommentReplyClick(comment));
-            btnOptions.setOnClickListener(v -> listener.onCommentOptionsClick(comment, v));
-            ivUserPfp.setOnClickListener(v -> listener.onUserClick(comment.getUserId()));
-            tvUsername.setOnClickListener(v -> listener.onUserClick(comment.getUserId()));
-
-            if (replies != null && !replies.isEmpty()) {
-                if (isExpanded) {
-                    tvShowReplies.setVisibility(View.VISIBLE);
-                    tvShowReplies.setText("Hide replies");
-                    tvShowReplies.setOnClickListener(v -> expandListener.onExpandToggle(comment.getId(), false));
-                    
-                    rvReplies.setVisibility(View.VISIBLE);
-                    rvReplies.setLayoutManager(new LinearLayoutManager(itemView.getContext()));
-                    // Hook the data source to the list/grid adapter so model objects can render as UI rows/cards.
-                    rvReplies.setAdapter(new ReplyAdapter(replies, listener, currentUserId));
-                } else {
-                    tvShowReplies.setVisibility(View.VISIBLE);
-                    int remainingCount = replies.size() - 1;
-                    if (remainingCount > 0) {
-                        tvShowReplies.setText("Show " + remainingCount + " more " + (remainingCount == 1 ? "reply" : "replies"));
-                    } else {
-                        tvShowReplies.setVisibility(View.GONE);
-                    }
-                    tvShowReplies.setOnClickListener(v -> expandListener.onExpandToggle(comment.getId(), true));
-                    
-                    rvReplies.setVisibility(View.VISIBLE);
-                    rvReplies.setLayoutManager(new LinearLayoutManager(itemView.getContext()));
-                    List<ForumComment> firstReplyOnly = new ArrayList<>();
-                    firstReplyOnly.add(replies.get(0));
-                    rvReplies.setAdapter(new ReplyAdapter(firstReplyOnly, listener, currentUserId));
-                }
-            } else {
-                tvShowReplies.setVisibility(View.GONE);
-                rvReplies.setVisibility(View.GONE);
-            }
+            bindLikes(comment, currentUserId);
+            bindListeners(comment, listener);
         }
-    }
-
-    static class ReplyAdapter extends RecyclerView.Adapter<ReplyAdapter.ReplyViewHolder> {
-        private List<ForumComment> replies;
-        private OnCommentInteractionListener listener;
-        private String currentUserId;
 
         /**
-         * Main logic block for this part of the feature.
+         * "Show N more replies" / "Hide replies" under a top-level comment.
          */
-        ReplyAdapter(List<ForumComment> replies, OnCommentInteractionListener listener, String currentUserId) {
-            this.replies = replies;
-            this.listener = listener;
-            this.currentUserId = currentUserId;
-        }
-
-        /**
-         * Main logic block for this part of the feature.
-         * It grabs layout/view references here so later code can read from them, update them, or
-         * attach listeners.
-         */
-        @NonNull
-        @Override
-        public ReplyViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-            // Bind or inflate the UI pieces this method needs before it can update the screen.
-            View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_forum_comment, parent, false);
-            return new ReplyViewHolder(view);
-        }
-
-        /**
-         * Main logic block for this part of the feature.
-         */
-        @Override
-        public void onBindViewHolder(@NonNull ReplyViewHolder holder, int position) {
-            holder.bind(replies.get(position), listener, currentUserId);
-        }
-
-        /**
-         * Returns the current value/state this class needs somewhere else in the app.
-         */
-        @Override
-        public int getItemCount() {
-            return replies.size();
-        }
-
-        static class ReplyViewHolder extends RecyclerView.ViewHolder {
-            ImageView ivUserPfp;
-            TextView tvUsername;
-            TextView tvTimestamp;
-            TextView tvText;
-            LinearLayout btnLike;
-            ImageView ivLikeIcon;
-            TextView tvLikeCount;
-            RecyclerView rvReplies;
-            TextView tvReplyingTo;
-            ImageView btnOptions;
-            View llActions;
-
-            /**
-             * Main logic block for this part of the feature.
-             * It grabs layout/view references here so later code can read from them, update them, or
-             * attach listeners.
-             */
-            ReplyViewHolder(@NonNull View itemView) {
-                super(itemView);
-                // Bind or inflate the UI pieces this method needs before it can update the screen.
-                ivUserPfp = itemView.findViewById(R.id.ivCommentUserPfp);
-                tvUsername = itemView.findViewById(R.id.tvCommentUsername);
-                tvTimestamp = itemView.findViewById(R.id.tvCommentTimestamp);
-                tvText = itemView.findViewById(R.id.tvCommentText);
-                btnLike = itemView.findViewById(R.id.btnLikeComment);
-                ivLikeIcon = itemView.findViewById(R.id.ivCommentLikeIcon);
-                tvLikeCount = itemView.findViewById(R.id.tvCommentLikeCount);
-                rvReplies = itemView.findViewById(R.id.rvReplies);
-                tvReplyingTo = itemView.findViewById(R.id.tvReplyingTo);
-                btnOptions = itemView.findViewById(R.id.btnCommentOptions);
-                llActions = itemView.findViewById(R.id.llActions);
-
-                // Replies don't have further nesting or their own reply buttons in this design
-                llActions.setVisibility(View.GONE);
-                rvReplies.setVisibility(View.GONE);
+        void bindToggle(ForumCommentThread.Row row, OnToggleListener toggleListener) {
+            if (row.replyCount == 0) {
+                tvShowReplies.setVisibility(View.GONE);
+                tvShowReplies.setOnClickListener(null);
+                return;
             }
 
-            /**
-             * Connects already-fetched data to views so the user can see the current state.
-             * It wires user actions here, so taps on buttons/cards/menus trigger the next step in the
-             * flow.
-             * Image loading happens here, which is why placeholder/error behavior for profile
-             * photos/cards/posts usually traces back to this code path.
-             */
-            void bind(ForumComment reply, OnCommentInteractionListener listener, String currentUserId) {
-                tvUsername.setText(reply.getUsername());
-                tvText.setText(reply.getText());
-                tvLikeCount.setText(String.valueOf(reply.getLikeCount()));
-
-                if (reply.getParentUsername() != null && !reply.getParentUsername().isEmpty()) {
-                    tvReplyingTo.setVisibility(View.VISIBLE);
-                    tvReplyingTo.setText("replying to @" + reply.getParentUsername());
+            if (row.expanded) {
+                tvShowReplies.setVisibility(View.VISIBLE);
+                tvShowReplies.setText("Hide replies");
+            } else {
+                int remainingCount = row.replyCount - 1;
+                if (remainingCount > 0) {
+                    tvShowReplies.setVisibility(View.VISIBLE);
+                    tvShowReplies.setText("Show " + remainingCount + " more " + (remainingCount == 1 ? "reply" : "replies"));
                 } else {
-                    tvReplyingTo.setVisibility(View.GONE);
+                    tvShowReplies.setVisibility(View.GONE);
                 }
+            }
+            tvShowReplies.setOnClickListener(v -> toggleListener.onToggle(this));
+        }
 
-                if (reply.getTimestamp() != null) {
-                    long time = reply.getTimestamp().toDate().getTime();
-                    tvTimestamp.setText(DateUtils.getRelativeTimeSpanString(time, System.currentTimeMillis(), DateUtils.SECOND_IN_MILLIS, DateUtils.FORMAT_ABBREV_RELATIVE));
-                }
-
-                // Load the image asynchronously so the UI can show remote/local media without blocking the main thread.
-                Glide.with(itemView.getContext())
-                        .load(reply.getUserProfilePictureUrl())
-                        .placeholder(R.drawable.ic_profile)
-                        .into(ivUserPfp);
-
-                // Like status icon update
-                if (currentUserId != null && reply.getLikedBy() != null && reply.getLikedBy().containsKey(currentUserId)) {
-                    ivLikeIcon.setImageResource(R.drawable.ic_favorite);
-                } else {
-                    ivLikeIcon.setImageResource(R.drawable.ic_favorite_border);
-                }
+        void bindLikes(ForumComment comment, String currentUserId) {
+            tvLikeCount.setText(String.valueOf(comment.getLikeCount()));
+            // Like status icon update
+            ivLikeIcon.setImageResource(isLikedBy(comment, currentUserId) ? R.drawable.ic_favorite : R.drawable.ic_favorite_border);
+        }
 
-                // Attach the user interaction that should run when this control is tapped.
-                btnLike.setOnClickListener(v -> listener.onCommentLikeClick(reply));
-                btnOptions.setOnClickListener(v -> listener.onCommentOptionsClick(reply, v));
-                ivUserPfp.setOnClickListener(v -> listener.onUserClick(reply.getUserId()));
-                tvUsername.setOnClickListener(v -> listener.onUserClick(reply.getUserId()));
-            }
+        void bindListeners(ForumComment comment, OnCommentInteractionListener listener) {
+            // Attach the user interaction that should run when this control is tapped.
+            btnLike.setOnClickListener(v -> listener.onCommentLikeClick(comment));
+            btnReply.setOnClickListener(v -> listener.onCommentReplyClick(comment));
+            btnOptions.setOnClickListener(v -> listener.onCommentOptionsClick(comment, v));
+            ivUserPfp.setOnClickListener(v -> listener.onUserClick(comment.getUserId()));
+            tvUsername.setOnClickListener(v -> listener.onUserClick(comment.getUserId()));
         }
     }
 }
@@ -0,0 +1,172 @@
+package com.birddex.app;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ForumCommentThread: Comments of one post, indexed by parent, and the flat rows they show as.
+ *
+ * Top-level comments keep their load order and replies are grouped under their parentCommentId,
+ * so looking up a thread's replies is a map read instead of a scan over every comment. Pages can
+ * be appended without rebuilding the index. Comments already seen (by id) are ignored, so a page
+ * overlapping the previous one does not duplicate rows.
+ *
+ * {@link #rows()} lists each top-level comment followed by its visible replies: the first one, or
+ * all of them once the thread is expanded. Expanded threads stay expanded across a reset, like a
+ * refresh of the same post. Main thread only.
+ */
+final class ForumCommentThread {
+
+    private final List<ForumComment> topLevel = new ArrayList<>();
+    private final Map<String, List<ForumComment>> repliesByParent = new HashMap<>();
+    private final Map<String, ForumComment> commentsById = new HashMap<>();
+    // Comments without an id (shouldn't happen for loaded docs) are still shown, just not deduped.
+    private final Set<ForumComment> unkeyed = new HashSet<>();
+    private final Set<String> expandedIds = new HashSet<>();
+
+    /**
+     * One visible row. Top-level rows capture the reply count and expanded state they were built
+     * with, so a diff can tell when only the toggle changed.
+     */
+    static final class Row {
+        static final int TYPE_COMMENT = 0;
+        static final int TYPE_REPLY = 1;
+
+        final int type;
+        final ForumComment comment;
+        final int replyCount;
+        final boolean expanded;
+
+        Row(int type, @NonNull ForumComment comment, int replyCount, boolean expanded) {
+            this.type = type;
+            this.comment = comment;
+            this.replyCount = replyCount;
+            this.expanded = expanded;
+        }
+
+        @NonNull
+        String key() {
+            return comment.getId() != null ? comment.getId() : StableIdMap.identityKey(comment);
+        }
+    }
+
+    void reset(@Nullable List<ForumComment> comments) {
+        topLevel.clear();
+        repliesByParent.clear();
+        commentsById.clear();
+        unkeyed.clear();
+        append(comments);
+    }
+
+    /**
+     * Indexes a page of comments.
+     *
+     * @return the comments that were new, in the order given
+     */
+    @NonNull
+    List<ForumComment> append(@Nullable List<ForumComment> comments) {
+        if (comments == null || comments.isEmpty()) return Collections.emptyList();
+
+        List<ForumComment> added = new ArrayList<>(comments.size());
+        for (ForumComment comment : comments) {
+            if (comment == null) continue;
+            if (comment.getId() != null) {
+                if (commentsById.containsKey(comment.getId())) continue;
+                commentsById.put(comment.getId(), comment);
+            } else if (!unkeyed.add(comment)) {
+                continue;
+            }
+
+            String parentId = comment.getParentCommentId();
+            if (parentId == null) {
+                topLevel.add(comment);
+            } else {
+                List<ForumComment> replies = repliesByParent.get(parentId);
+                if (replies == null) {
+                    replies = new ArrayList<>();
+                    repliesByParent.put(parentId, replies);
+                }
+                replies.add(comment);
+            }
+            added.add(comment);
+        }
+        return added;
+    }
+
+    @NonNull
+    List<ForumComment> topLevel() {
+        return Collections.unmodifiableList(topLevel);
+    }
+
+    @NonNull
+    List<ForumComment> repliesOf(@Nullable String parentId) {
+        List<ForumComment> replies = parentId != null ? repliesByParent.get(parentId) : null;
+        return replies != null ? Collections.unmodifiableList(replies) : Collections.emptyList();
+    }
+
+    @Nullable
+    ForumComment get(@Nullable String commentId) {
+        return commentId != null ? commentsById.get(commentId) : null;
+    }
+
+    /**
+     * The rows to show, built fresh so a list differ can compare them with the previous ones.
+     */
+    @NonNull
+    List<Row> rows() {
+        List<Row> rows = new ArrayList<>(topLevel.size() * 2);
+        for (ForumComment comment : topLevel) {
+            List<ForumComment> replies = repliesOf(comment.getId());
+            boolean expanded = isExpanded(comment.getId());
+            rows.add(new Row(Row.TYPE_COMMENT, comment, replies.size(), expanded));
+
+            int visible = expanded ? replies.size() : Math.min(1, replies.size());
+            for (int r = 0; r < visible; r++) {
+                rows.add(new Row(Row.TYPE_REPLY, replies.get(r), 0, false));
+            }
+        }
+        return rows;
+    }
+
+    boolean isExpanded(@Nullable String topLevelId) {
+        return topLevelId != null && expandedIds.contains(topLevelId);
+    }
+
+    /**
+     * Expands or collapses the thread of a top-level comment. The first reply shows either way.
+     *
+     * @return false if the id is not a loaded top-level comment
+     */
+    boolean toggle(@Nullable String topLevelId) {
+        ForumComment comment = get(topLevelId);
+        if (comment == null || comment.getParentCommentId() != null) return false;
+        if (!expandedIds.remove(topLevelId)) expandedIds.add(topLevelId);
+        return true;
+    }
+
+    /**
+     * Makes sure a comment has a row, expanding its thread if it is a reply hidden behind the
+     * first one.
+     *
+     * @return false if the comment, or the thread it replies to, is not loaded
+     */
+    boolean reveal(@Nullable String commentId) {
+        ForumComment comment = get(commentId);
+        if (comment == null) return false;
+        String parentId = comment.getParentCommentId();
+        if (parentId == null) return true;
+
+        ForumComment parent = get(parentId);
+        if (parent == null || parent.getParentCommentId() != null) return false;
+        if (repliesOf(parentId).indexOf(comment) > 0) expandedIds.add(parentId);
+        return true;
+    }
+}
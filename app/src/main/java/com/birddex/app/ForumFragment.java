@@ -35,7 +35,6 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.core.content.ContextCompat;
 import androidx.fragment.app.Fragment;
 import androidx.recyclerview.widget.LinearLayoutManager;
-import androidx.recyclerview.widget.RecyclerView;
 
 import com.birddex.app.databinding.FragmentForumBinding;
 import com.bumptech.glide.Glide;
@@ -84,6 +83,7 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
     private FirebaseFirestore db;
     private FirebaseManager firebaseManager;
     private ForumPostAdapter adapter;
+    private FeedPrefetcher prefetcher;
 
     private List<ForumPost> postList = new ArrayList<>();
     private DocumentSnapshot lastVisible;
@@ -99,8 +99,6 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
     private LocationHelper locationHelper;
 
     private final Set<String> postLikeInFlight = Collections.newSetFromMap(new ConcurrentHashMap<>());
-    private final Map<String, Boolean> savedPostStateCache = new ConcurrentHashMap<>();
-    private final Set<String> savedPostStateInFlight = ConcurrentHashMap.newKeySet();
 
     // FIX: Navigation guard
     private boolean isNavigating = false;
@@ -185,6 +183,17 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
     public void onResume() {
         super.onResume();
         isNavigating = false; // Reset on return
+        if (prefetcher != null) prefetcher.resume();
+    }
+
+    /**
+     * Runs when the screen leaves the foreground (including a tab switch); stops image prefetching
+     * so lookahead for a feed nobody is looking at does not hold up the next screen's images.
+     */
+    @Override
+    public void onPause() {
+        super.onPause();
+        if (prefetcher != null) prefetcher.pause();
     }
 
     /**
@@ -198,13 +207,10 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
         LinearLayoutManager lm = new LinearLayoutManager(getContext());
         binding.rvForumPosts.setLayoutManager(lm);
         binding.rvForumPosts.setAdapter(adapter);
-        binding.rvForumPosts.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
-                if (dy > 0 && !isFetching && !isLastPage) {
-                    if ((lm.getChildCount() + lm.findFirstVisibleItemPosition()) >= lm.getItemCount()) fetchPosts();
-                }
-            }
+        // Requests the next page a few rows (more when flinging) before the end and preloads the
+        // images of the posts about to scroll in.
+        prefetcher = FeedPrefetcher.attach(binding.rvForumPosts, () -> {
+            if (!isFetching && !isLastPage) fetchPosts();
         });
     }
 
@@ -463,7 +469,10 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
             }
         }
         adapter.setPosts(visiblePosts);
-        primeSavedPostStates(visiblePosts);
+        // The forum is the default tab: its first posts on screen mark the end of a cold start.
+        if (!visiblePosts.isEmpty() && getActivity() != null) {
+            StartupTracer.reportInteractive(getActivity(), "forum_posts");
+        }
     }
 
     private int getStableTransparentColor(String hashtag) {
@@ -538,7 +547,6 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
 
                 postList.addAll(newPosts);
                 renderCurrentPosts();
-                primeSavedPostStates(newPosts);
 
             } else {
                 Log.e(TAG, "Failed to fetch For You feed", task.getException());
@@ -711,7 +719,6 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
         lastVisible = null;
         isLastPage = false;
         renderCurrentPosts();
-        primeSavedPostStates(postList);
         refreshPosts();
     }
 
@@ -853,6 +860,7 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
         lastVisible = null;
         nextCursor = null;
         isLastPage = false;
+        if (prefetcher != null) prefetcher.reset();
         // Don't clear postList here to avoid flickering if a new fetch is already starting.
         // It will be cleared inside fetchPosts when the SUCCESSFUL generation returns.
         if ("Following".equals(currentFilter)) fetchFollowedIdsAndLoad(fetchGeneration);
@@ -894,7 +902,6 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
                         nextCursor = null;
                         isLastPage = true;
                         renderCurrentPosts();
-                        primeSavedPostStates(postList);
                         isFetching = false;
                         if (binding != null) binding.swipeRefreshLayout.setRefreshing(false);
 
@@ -994,48 +1001,51 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
     private void applyForumFirstPageSnapshot(com.google.firebase.firestore.QuerySnapshot value, boolean showGraphic, boolean fromServer, int generation) {
         if (!isAdded() || binding == null || fetchGeneration != generation) return;
         if (fromServer || (value != null && !value.isEmpty())) {
-            postList.clear();
             lastVisible = null;
             isLastPage = false;
         }
 
-        if (value != null && !value.isEmpty()) {
-            lastVisible = value.getDocuments().get(value.size() - 1);
-            for (DocumentSnapshot doc : value.getDocuments()) {
-                ForumPost p = doc.toObject(ForumPost.class);
-                if (p != null) {
-                    p.setId(doc.getId());
-                    if (isForumPostVisible(p) && (showGraphic || !p.isHunted())) postList.add(p);
-                }
+        if (value == null || value.isEmpty()) {
+            if (fromServer) {
+                isLastPage = true;
+                postList.clear();
+                renderCurrentPosts();
             }
-            if (value.size() < PAGE_SIZE) isLastPage = true;
-        } else if (fromServer) {
-            isLastPage = true;
+            return;
         }
 
-        renderCurrentPosts();
-        primeSavedPostStates(postList);
+        // Cursor state is updated now so the next page query is correct; the posts follow once decoded.
+        lastVisible = value.getDocuments().get(value.size() - 1);
+        if (value.size() < PAGE_SIZE) isLastPage = true;
+        FirestoreModelDecoder.decode(value.getDocuments(), FirestoreModelDecoder.FORUM_POST, posts -> {
+            if (!isAdded() || binding == null || fetchGeneration != generation) return;
+            postList.clear();
+            addVisibleForumPosts(posts, showGraphic);
+            renderCurrentPosts();
+        });
     }
 
     private void appendForumPageSnapshot(com.google.firebase.firestore.QuerySnapshot value, boolean showGraphic, int generation) {
         if (!isAdded() || binding == null || fetchGeneration != generation) return;
         if (value != null && !value.isEmpty()) {
             lastVisible = value.getDocuments().get(value.size() - 1);
-            for (DocumentSnapshot doc : value.getDocuments()) {
-                ForumPost p = doc.toObject(ForumPost.class);
-                if (p != null) {
-                    p.setId(doc.getId());
-                    if (isForumPostVisible(p) && (showGraphic || !p.isHunted())) postList.add(p);
-                }
-            }
-            renderCurrentPosts();
-            primeSavedPostStates(postList);
             if (value.size() < PAGE_SIZE) isLastPage = true;
+            FirestoreModelDecoder.decode(value.getDocuments(), FirestoreModelDecoder.FORUM_POST, posts -> {
+                if (!isAdded() || binding == null || fetchGeneration != generation) return;
+                addVisibleForumPosts(posts, showGraphic);
+                renderCurrentPosts();
+            });
         } else {
             isLastPage = true;
         }
     }
 
+    private void addVisibleForumPosts(List<ForumPost> posts, boolean showGraphic) {
+        for (ForumPost p : posts) {
+            if (isForumPostVisible(p) && (showGraphic || !p.isHunted())) postList.add(p);
+        }
+    }
+
     private void finishForumFetch(int generation) {
         if (fetchGeneration == generation) {
             isFetching = false;
@@ -1064,7 +1074,7 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
         // Optimistic UI update
         if (liked) { p.setLikeCount(Math.max(0, count - 1)); p.getLikedBy().remove(uid); }
         else { p.setLikeCount(count + 1); if (p.getLikedBy() == null) p.setLikedBy(new HashMap<>()); p.getLikedBy().put(uid, true); }
-        adapter.notifyDataSetChanged();
+        adapter.notifyPostChanged(p, ForumPostAdapter.PAYLOAD_COUNTS);
 
         firebaseManager.toggleForumPostLike(p.getId(), !liked, new FirebaseManager.ActionListener() {
             @Override
@@ -1076,7 +1086,7 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
             public void onFailure(String errorMessage) {
                 postLikeInFlight.remove(p.getId());
                 p.setLikeCount(count); if (liked) p.getLikedBy().put(uid, true); else p.getLikedBy().remove(uid);
-                adapter.notifyDataSetChanged();
+                adapter.notifyPostChanged(p, ForumPostAdapter.PAYLOAD_COUNTS);
                 if (isAdded()) {
                     MessagePopupHelper.showBrief(getContext(), (errorMessage != null && !errorMessage.trim().isEmpty()) ? errorMessage : "Failed to update like status.");
                 }
@@ -1084,37 +1094,6 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
         });
     }
 
-    private void primeSavedPostState(@Nullable ForumPost post) {
-        if (post == null || post.getId() == null) return;
-
-        FirebaseUser user = mAuth.getCurrentUser();
-        if (user == null) {
-            savedPostStateCache.put(post.getId(), false);
-            return;
-        }
-
-        if (savedPostStateCache.containsKey(post.getId())) return;
-        if (!savedPostStateInFlight.add(post.getId())) return;
-
-        firebaseManager.isForumPostSaved(post.getId(), task -> {
-            savedPostStateInFlight.remove(post.getId());
-            if (!isAdded()) return;
-
-            boolean isSaved = task.isSuccessful()
-                    && task.getResult() != null
-                    && task.getResult();
-
-            savedPostStateCache.put(post.getId(), isSaved);
-        });
-    }
-
-    private void primeSavedPostStates(@Nullable List<ForumPost> posts) {
-        if (posts == null || posts.isEmpty()) return;
-        for (ForumPost post : posts) {
-            primeSavedPostState(post);
-        }
-    }
-
     @Override public void onCommentClick(ForumPost p) { onPostClick(p); }
     @Override public void onPostClick(ForumPost p) {
         Log.d(TAG, "onPostClick: postId=" + (p != null ? p.getId() : "null") + ", isNavigating=" + isNavigating);
@@ -1137,7 +1116,7 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
         PopupMenu popup = new PopupMenu(getContext(), v);
         FirebaseUser u = mAuth.getCurrentUser();
         if (u != null && p.getUserId().equals(u.getUid())) popup.getMenu().add("Delete");
-        boolean isSaved = Boolean.TRUE.equals(savedPostStateCache.get(p.getId()));
+        boolean isSaved = SavedPostStore.get().isSaved(p.getId());
         popup.getMenu().add(isSaved ? "Unsave Post" : "Save Post");
         if (u != null && !p.getUserId().equals(u.getUid())) popup.getMenu().add("Report");
         popup.setOnMenuItemClickListener(item -> {
@@ -1153,7 +1132,7 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
     private void savePostForLater(ForumPost p) {
         firebaseManager.saveForumPost(p.getId(), new FirebaseManager.ForumWriteListener() {
             @Override public void onSuccess() {
-                savedPostStateCache.put(p.getId(), true);
+                SavedPostStore.get().setSaved(p.getId(), true);
                 if (isAdded()) MessagePopupHelper.showBrief(requireContext(), "Post saved");
             }
 
@@ -1166,7 +1145,7 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
     private void unsavePost(ForumPost p) {
         firebaseManager.unsaveForumPost(p.getId(), new FirebaseManager.ForumWriteListener() {
             @Override public void onSuccess() {
-                savedPostStateCache.put(p.getId(), false);
+                SavedPostStore.get().setSaved(p.getId(), false);
                 if (isAdded()) MessagePopupHelper.showBrief(requireContext(), "Post unsaved");
             }
 
@@ -1320,6 +1299,8 @@ public class ForumFragment extends Fragment implements ForumPostAdapter.OnPostCl
         super.onDestroyView();
         if (binding != null && pendingRefreshRunnable != null) binding.getRoot().removeCallbacks(pendingRefreshRunnable);
         pendingRefreshRunnable = null;
+        if (prefetcher != null) prefetcher.pause();
+        prefetcher = null;
         binding = null;
     }
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ public class ForumPost {
     private String userProfilePictureUrl;
     private String message;
     private String birdImageUrl;
+    private Map<String, String> birdImageRenditions; // WebP thumbnails of birdImageUrl by longest edge (px)
     @ServerTimestamp
     private Timestamp timestamp;
     private int likeCount;
@@ -113,6 +114,8 @@ public class ForumPost {
     public void setMessage(String message) { this.message = message; }
     public String getBirdImageUrl() { return birdImageUrl; }
     public void setBirdImageUrl(String birdImageUrl) { this.birdImageUrl = birdImageUrl; }
+    public Map<String, String> getBirdImageRenditions() { return birdImageRenditions; }
+    public void setBirdImageRenditions(Map<String, String> birdImageRenditions) { this.birdImageRenditions = birdImageRenditions; }
     public Timestamp getTimestamp() { return timestamp; }
     public void setTimestamp(Timestamp timestamp) { this.timestamp = timestamp; }
     public int getLikeCount() { return likeCount; }
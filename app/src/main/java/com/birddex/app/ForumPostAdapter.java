@@ -1,5 +1,6 @@
 package com.birddex.app;
 
+import android.content.Context;
 import android.text.format.DateUtils;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -10,15 +11,18 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
-import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.RequestBuilder;
 import com.google.firebase.auth.FirebaseAuth;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * ForumPostAdapter: Adapter that converts model data into rows/cards for a RecyclerView or similar list UI.
@@ -26,10 +30,17 @@ import java.util.Locale;
  * These comments focus on what the actual code blocks are doing so the file is easier to trace
  * when you are debugging or presenting the app. Only comments were added; runtime logic was not changed.
  */
-public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.PostViewHolder> {
+public class ForumPostAdapter extends ListAdapter<ForumPost, ForumPostAdapter.PostViewHolder>
+        implements FeedPrefetcher.ImagePreloadSource {
 
-    private List<ForumPost> postList = new ArrayList<>();
-    private OnPostClickListener listener;
+    // Partial rebind: only the like/comment/view counts and like state changed.
+    static final String PAYLOAD_COUNTS = "counts";
+
+    private final OnPostClickListener listener;
+    private final StableIdMap stableIds = new StableIdMap();
+    // Last list handed to submitList. Edits build on this rather than getCurrentList(), which lags
+    // behind until the background diff is committed.
+    private List<ForumPost> latestPosts = new ArrayList<>();
 
     public interface OnPostClickListener {
         void onLikeClick(ForumPost post);
@@ -40,60 +51,97 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
         void onMapClick(ForumPost post);
     }
 
+    private static final DiffUtil.ItemCallback<ForumPost> DIFF_CALLBACK = new DiffUtil.ItemCallback<ForumPost>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ForumPost oldPost, @NonNull ForumPost newPost) {
+            if (oldPost.getId() == null || newPost.getId() == null) return oldPost == newPost;
+            return oldPost.getId().equals(newPost.getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ForumPost oldPost, @NonNull ForumPost newPost) {
+            return sameBody(oldPost, newPost) && sameCounts(oldPost, newPost);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull ForumPost oldPost, @NonNull ForumPost newPost) {
+            // Only counts changed: rebind the counters and keep the images/text as they are.
+            return sameBody(oldPost, newPost) ? PAYLOAD_COUNTS : null;
+        }
+    };
+
     /**
      * Constructor that stores incoming dependencies/values so this object starts in a usable
      * state.
      */
     public ForumPostAdapter(OnPostClickListener listener) {
+        super(DIFF_CALLBACK);
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     /**
      * Updates object/screen state by storing a new value or reconfiguring a dependency.
-     * It prepares or refreshes adapter-backed lists/grids here so the latest model objects are
-     * rendered on screen.
+     * The new list is diffed against the current one in the background, so only rows that
+     * actually changed are rebound.
      */
     public void setPosts(List<ForumPost> posts) {
-        this.postList = posts;
-        notifyDataSetChanged();
+        latestPosts = posts != null ? new ArrayList<>(posts) : new ArrayList<>();
+        submitList(new ArrayList<>(latestPosts));
     }
 
     public void insertPostAtTop(ForumPost post) {
         if (post == null) return;
 
-        int existingIndex = findPostIndexById(post.getId());
-        if (existingIndex >= 0) {
-            postList.remove(existingIndex);
-            notifyItemRemoved(existingIndex);
-        }
-
-        postList.add(0, post);
-        notifyItemInserted(0);
+        List<ForumPost> updated = new ArrayList<>(latestPosts);
+        int existingIndex = findPostIndexById(updated, post.getId());
+        if (existingIndex >= 0) updated.remove(existingIndex);
+        updated.add(0, post);
+        setPosts(updated);
     }
 
     public void replacePostById(ForumPost post) {
         if (post == null || post.getId() == null) return;
 
-        int index = findPostIndexById(post.getId());
+        int index = findPostIndexById(latestPosts, post.getId());
         if (index >= 0) {
-            postList.set(index, post);
-            notifyItemChanged(index);
+            List<ForumPost> updated = new ArrayList<>(latestPosts);
+            updated.set(index, post);
+            setPosts(updated);
         }
     }
 
     public void removePostById(String postId) {
-        int index = findPostIndexById(postId);
+        int index = findPostIndexById(latestPosts, postId);
         if (index >= 0) {
-            postList.remove(index);
-            notifyItemRemoved(index);
+            List<ForumPost> updated = new ArrayList<>(latestPosts);
+            updated.remove(index);
+            setPosts(updated);
         }
     }
 
-    private int findPostIndexById(String postId) {
+    /**
+     * Rebinds one row after its post was changed in place (e.g. an optimistic like). A diff
+     * cannot see in-place edits because the old and new list hold the same instance.
+     */
+    public void notifyPostChanged(ForumPost post, @Nullable Object payload) {
+        if (post == null) return;
+        List<ForumPost> shown = getCurrentList();
+        for (int i = 0; i < shown.size(); i++) {
+            ForumPost current = shown.get(i);
+            if (current == post || (post.getId() != null && post.getId().equals(current.getId()))) {
+                notifyItemChanged(i, payload);
+                return;
+            }
+        }
+    }
+
+    private static int findPostIndexById(List<ForumPost> posts, String postId) {
         if (postId == null) return -1;
 
-        for (int i = 0; i < postList.size(); i++) {
-            ForumPost currentPost = postList.get(i);
+        for (int i = 0; i < posts.size(); i++) {
+            ForumPost currentPost = posts.get(i);
             if (currentPost != null && postId.equals(currentPost.getId())) {
                 return i;
             }
@@ -101,6 +149,53 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
         return -1;
     }
 
+    private static boolean sameBody(@NonNull ForumPost a, @NonNull ForumPost b) {
+        return Objects.equals(a.getUsername(), b.getUsername())
+                && Objects.equals(a.getMessage(), b.getMessage())
+                && Objects.equals(a.getUserProfilePictureUrl(), b.getUserProfilePictureUrl())
+                && Objects.equals(a.getBirdImageUrl(), b.getBirdImageUrl())
+                && Objects.equals(a.getBirdImageRenditions(), b.getBirdImageRenditions())
+                && Objects.equals(a.getTimestamp(), b.getTimestamp())
+                && a.isSpotted() == b.isSpotted()
+                && a.isHunted() == b.isHunted()
+                && a.isShowLocation() == b.isShowLocation()
+                && Objects.equals(a.getLatitude(), b.getLatitude())
+                && Objects.equals(a.getLongitude(), b.getLongitude())
+                && Objects.equals(a.getRarity(), b.getRarity())
+                && Objects.equals(a.getDiscoveryScore(), b.getDiscoveryScore());
+    }
+
+    private static boolean sameCounts(@NonNull ForumPost a, @NonNull ForumPost b) {
+        String uid = FirebaseAuth.getInstance().getUid();
+        return a.getLikeCount() == b.getLikeCount()
+                && a.getCommentCount() == b.getCommentCount()
+                && a.getViewCount() == b.getViewCount()
+                && isLikedBy(a, uid) == isLikedBy(b, uid);
+    }
+
+    private static boolean isLikedBy(@NonNull ForumPost post, @Nullable String userId) {
+        return userId != null && post.getLikedBy() != null && post.getLikedBy().containsKey(userId);
+    }
+
+    @Override
+    public long getItemId(int position) {
+        ForumPost post = getItem(position);
+        return stableIds.idFor(post.getId() != null ? post.getId() : StableIdMap.identityKey(post));
+    }
+
+    /**
+     * Same avatar/photo requests as {@link PostViewHolder#bind}, so a prefetched row binds from cache.
+     */
+    @Override
+    public void collectPreloadRequests(@NonNull Context context, int position, @NonNull List<RequestBuilder<?>> out) {
+        ForumPost post = getItem(position);
+        if (post == null) return;
+        out.add(SizedImageRequests.avatar(context, post.getUserProfilePictureUrl(), SizedImageRequests.FORUM_AVATAR_DP));
+        if (post.getBirdImageUrl() != null && !post.getBirdImageUrl().isEmpty()) {
+            out.add(SizedImageRequests.postImage(context, post.getBirdImageUrl(), post.getBirdImageRenditions()));
+        }
+    }
+
     /**
      * Main logic block for this part of the feature.
      * It grabs layout/view references here so later code can read from them, update them, or
@@ -119,16 +214,24 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
      */
     @Override
     public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
-        ForumPost post = postList.get(position);
+        ForumPost post = getItem(position);
         holder.bind(post, listener);
     }
 
     /**
-     * Returns the current value/state this class needs somewhere else in the app.
+     * Partial rebind for {@link #PAYLOAD_COUNTS}: updates the counters and like icon without
+     * touching text or reloading images.
      */
     @Override
-    public int getItemCount() {
-        return postList.size();
+    public void onBindViewHolder(@NonNull PostViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !payloads.stream().allMatch(PAYLOAD_COUNTS::equals)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        ForumPost post = getItem(position);
+        holder.bindCounts(post);
+        // The row may now hold a new instance of the same post; point the listeners at it.
+        holder.bindListeners(post, listener);
     }
 
     static class PostViewHolder extends RecyclerView.ViewHolder {
@@ -195,9 +298,7 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
         public void bind(ForumPost post, OnPostClickListener listener) {
             tvUsername.setText(post.getUsername());
             tvMessage.setText(post.getMessage());
-            tvLikeCount.setText(String.valueOf(post.getLikeCount()));
-            tvCommentCount.setText(String.valueOf(post.getCommentCount()));
-            tvViewCount.setText(post.getViewCount() + " views");
+            bindCounts(post);
 
             // Status badges
             if (tvSpottedBadge != null) {
@@ -252,20 +353,13 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
 
             // User Profile Picture
             // Load the image asynchronously so the UI can show remote/local media without blocking the main thread.
-            Glide.with(itemView.getContext())
-                    .load(post.getUserProfilePictureUrl())
-                    .placeholder(R.drawable.ic_profile)
-                    .error(R.drawable.ic_profile)
-                    .diskCacheStrategy(DiskCacheStrategy.ALL)
+            SizedImageRequests.avatar(itemView.getContext(), post.getUserProfilePictureUrl(), SizedImageRequests.FORUM_AVATAR_DP)
                     .into(ivUserProfile);
 
             // Bird Image
             if (post.getBirdImageUrl() != null && !post.getBirdImageUrl().isEmpty()) {
                 cvPostImage.setVisibility(View.VISIBLE);
-                Glide.with(itemView.getContext())
-                        .load(post.getBirdImageUrl())
-                        .diskCacheStrategy(DiskCacheStrategy.ALL)
-                        .placeholder(R.drawable.bg_image_placeholder)
+                SizedImageRequests.postImage(itemView.getContext(), post.getBirdImageUrl(), post.getBirdImageRenditions())
                         .into(ivBirdImage);
 
                 View.OnClickListener forumImageClickListener = v ->
@@ -280,14 +374,28 @@ public class ForumPostAdapter extends RecyclerView.Adapter<ForumPostAdapter.Post
                 ivBirdImage.setOnClickListener(null);
             }
 
+            bindListeners(post, listener);
+        }
+
+        /**
+         * Counters and like state only; shared by the full bind and the {@link #PAYLOAD_COUNTS}
+         * partial bind.
+         */
+        void bindCounts(ForumPost post) {
+            tvLikeCount.setText(String.valueOf(post.getLikeCount()));
+            tvCommentCount.setText(String.valueOf(post.getCommentCount()));
+            tvViewCount.setText(post.getViewCount() + " views");
+
             // Like status
             String currentUserId = FirebaseAuth.getInstance().getUid();
-            if (currentUserId != null && post.getLikedBy() != null && post.getLikedBy().containsKey(currentUserId)) {
+            if (isLikedBy(post, currentUserId)) {
                 ivLikeIcon.setImageResource(R.drawable.ic_favorite);
             } else {
                 ivLikeIcon.setImageResource(R.drawable.ic_favorite_border);
             }
+        }
 
+        void bindListeners(ForumPost post, OnPostClickListener listener) {
             btnLike.setOnClickListener(v -> listener.onLikeClick(post));
             btnComment.setOnClickListener(v -> listener.onCommentClick(post));
             itemView.setOnClickListener(v -> listener.onPostClick(post));
@@ -0,0 +1,249 @@
+package com.birddex.app;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * GeohashQueryPlanner: Turns a visible map rectangle into a small set of Firestore range queries
+ * over the "geohash" field that the backend stamps onto every userBirdSightings / eBirdApiSightings doc.
+ *
+ * The encoding must stay in sync with encodeGeohash() in functions/modules/_shared.js.
+ * The planner picks the finest geohash precision whose covering stays under {@link #MAX_CELLS},
+ * then merges neighbouring cells (in lexical order) into single [start, end] ranges so the map
+ * only reads roughly what is on screen instead of a full latitude strip of the state.
+ */
+public final class GeohashQueryPlanner {
+
+    public static final String GEOHASH_FIELD = "geohash";
+    // Length written by the backend (SIGHTING_GEOHASH_PRECISION in _shared.js).
+    public static final int SIGHTING_PRECISION = 7;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+    // '~' sorts after every base32 character, so "prefix~" is an inclusive upper bound for that prefix.
+    private static final char RANGE_END_SUFFIX = '~';
+    // Planning never needs to go as deep as SIGHTING_PRECISION.
+    private static final int MAX_PRECISION = 6;
+    private static final int MAX_CELLS = 16;
+
+    private GeohashQueryPlanner() {}
+
+    /**
+     * One Firestore range over the geohash field: start inclusive, end inclusive.
+     */
+    public static final class GeohashRange {
+        public final String start;
+        public final String end;
+
+        GeohashRange(@NonNull String start, @NonNull String end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "[" + start + ", " + end + "]";
+        }
+    }
+
+    /**
+     * Encodes a coordinate into a geohash string of the given length.
+     */
+    @Nullable
+    public static String encode(double lat, double lng, int precision) {
+        if (Double.isNaN(lat) || Double.isNaN(lng) || precision <= 0) return null;
+
+        double minLat = -90d, maxLat = 90d;
+        double minLng = -180d, maxLng = 180d;
+        StringBuilder hash = new StringBuilder(precision);
+        int bit = 0;
+        int ch = 0;
+        boolean evenBit = true;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2d;
+                if (lng >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2d;
+                if (lat >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32.charAt(ch));
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    /**
+     * Builds the merged range queries that cover the rectangle. Ranges are sorted and non-overlapping,
+     * so callers can fire them in parallel and only need to de-duplicate docs sitting on shared cells.
+     */
+    @NonNull
+    public static List<GeohashRange> planRanges(double south, double west, double north, double east) {
+        double[] box = normalizeBox(south, west, north, east);
+        if (box == null) return Collections.emptyList();
+
+        int precision = choosePrecision(box[0], box[1], box[2], box[3]);
+        TreeSet<String> cells = coverCells(box[0], box[1], box[2], box[3], precision);
+        return mergeCells(cells);
+    }
+
+    /**
+     * Lists every geohash cell of a fixed length that intersects the rectangle, in lexical order.
+     * Used when the caller tracks per-cell state (for example which areas have been synced).
+     */
+    @NonNull
+    public static List<String> listCells(double south, double west, double north, double east, int precision) {
+        double[] box = normalizeBox(south, west, north, east);
+        if (box == null || precision <= 0) return Collections.emptyList();
+        return new ArrayList<>(coverCells(box[0], box[1], box[2], box[3], precision));
+    }
+
+    /**
+     * Clamps the rectangle to valid coordinates and returns {south, west, north, east}, or null
+     * when any edge is NaN.
+     */
+    @Nullable
+    private static double[] normalizeBox(double south, double west, double north, double east) {
+        if (Double.isNaN(south) || Double.isNaN(west) || Double.isNaN(north) || Double.isNaN(east)) {
+            return null;
+        }
+
+        double minLat = clamp(Math.min(south, north), -90d, 90d);
+        double maxLat = clamp(Math.max(south, north), -90d, 90d);
+        if (west > east) {
+            // Viewport crosses the antimeridian; not a real case for Georgia, so cover every longitude.
+            west = -180d;
+            east = 180d;
+        }
+        return new double[]{minLat, clamp(west, -180d, 180d), maxLat, clamp(east, -180d, 180d)};
+    }
+
+    private static int choosePrecision(double south, double west, double north, double east) {
+        int chosen = 1;
+        for (int precision = 1; precision <= MAX_PRECISION; precision++) {
+            if (countCells(south, west, north, east, precision) > MAX_CELLS) break;
+            chosen = precision;
+        }
+        return chosen;
+    }
+
+    private static long countCells(double south, double west, double north, double east, int precision) {
+        double cellLat = cellHeight(precision);
+        double cellLng = cellWidth(precision);
+        long rows = cellIndex(north, -90d, cellLat) - cellIndex(south, -90d, cellLat) + 1;
+        long cols = cellIndex(east, -180d, cellLng) - cellIndex(west, -180d, cellLng) + 1;
+        return rows * cols;
+    }
+
+    @NonNull
+    private static TreeSet<String> coverCells(double south, double west, double north, double east, int precision) {
+        double cellLat = cellHeight(precision);
+        double cellLng = cellWidth(precision);
+        long firstRow = cellIndex(south, -90d, cellLat);
+        long lastRow = cellIndex(north, -90d, cellLat);
+        long firstCol = cellIndex(west, -180d, cellLng);
+        long lastCol = cellIndex(east, -180d, cellLng);
+
+        TreeSet<String> cells = new TreeSet<>();
+        for (long row = firstRow; row <= lastRow; row++) {
+            double centerLat = -90d + (row + 0.5d) * cellLat;
+            for (long col = firstCol; col <= lastCol; col++) {
+                double centerLng = -180d + (col + 0.5d) * cellLng;
+                String cell = encode(centerLat, centerLng, precision);
+                if (cell != null) cells.add(cell);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Collapses runs of lexically consecutive cells ("dn4", "dn5", "dn6") into one range query.
+     */
+    @NonNull
+    private static List<GeohashRange> mergeCells(@NonNull TreeSet<String> cells) {
+        List<GeohashRange> ranges = new ArrayList<>();
+        String runStart = null;
+        String runEnd = null;
+
+        for (String cell : cells) {
+            if (runStart == null) {
+                runStart = cell;
+                runEnd = cell;
+                continue;
+            }
+            if (cell.equals(successor(runEnd))) {
+                runEnd = cell;
+                continue;
+            }
+            ranges.add(new GeohashRange(runStart, runEnd + RANGE_END_SUFFIX));
+            runStart = cell;
+            runEnd = cell;
+        }
+
+        if (runStart != null) {
+            ranges.add(new GeohashRange(runStart, runEnd + RANGE_END_SUFFIX));
+        }
+        return ranges;
+    }
+
+    /**
+     * Next geohash of the same length in lexical order, carrying into the parent prefix when needed.
+     * Returns null when the input is already the last cell ("zzz").
+     */
+    @Nullable
+    private static String successor(@NonNull String cell) {
+        char[] chars = cell.toCharArray();
+        for (int i = chars.length - 1; i >= 0; i--) {
+            int index = BASE32.indexOf(chars[i]);
+            if (index < BASE32.length() - 1) {
+                chars[i] = BASE32.charAt(index + 1);
+                return new String(chars);
+            }
+            chars[i] = BASE32.charAt(0);
+        }
+        return null;
+    }
+
+    private static double cellHeight(int precision) {
+        int latBits = (5 * precision) / 2;
+        return 180d / (1L << latBits);
+    }
+
+    private static double cellWidth(int precision) {
+        int lngBits = (5 * precision + 1) / 2;
+        return 360d / (1L << lngBits);
+    }
+
+    private static long cellIndex(double value, double origin, double cellSize) {
+        long maxIndex = Math.round((origin < -90d ? 360d : 180d) / cellSize) - 1;
+        long index = (long) Math.floor((value - origin) / cellSize);
+        return Math.max(0, Math.min(maxIndex, index));
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
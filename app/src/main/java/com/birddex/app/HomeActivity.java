@@ -82,6 +82,7 @@ public class HomeActivity extends AppCompatActivity implements NetworkMonitor.Ne
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        StartupTracer.beginPhase("home_oncreate");
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_home);
 
@@ -171,6 +172,7 @@ public class HomeActivity extends AppCompatActivity implements NetworkMonitor.Ne
 
             return false;
         });
+        StartupTracer.endPhase("home_oncreate");
     }
 
     /**
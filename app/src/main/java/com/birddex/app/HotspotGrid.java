@@ -0,0 +1,228 @@
+package com.birddex.app;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * HotspotGrid: Grid-bucketing engine for the heatmap's hotspot circles.
+ *
+ * A hotspot cell is identified by its rounded lat/lng cell indices packed into one {@code long},
+ * so bucketing tens of thousands of sightings never formats or hashes a String. Buckets live in a
+ * primitive open-addressing table (linear probing over {@code long} keys) with values kept in
+ * insertion order, and the Firestore hotspot id ("33.7400,-84.3800") is only built when asked for.
+ *
+ * This class is the single source of truth for client hotspot ids and must match
+ * calculateHotspotBucketId() in functions/modules/_shared.js (Math.round, 4 decimals, ",").
+ */
+public final class HotspotGrid<V> {
+
+    public static final double CELL_SIZE_DEGREES = 0.02d;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final float MAX_LOAD_FACTOR = 0.5f;
+
+    // slots[i] holds (dense index + 1), 0 means empty.
+    private int[] slots;
+    private long[] denseKeys;
+    private final ArrayList<V> denseValues;
+
+    public HotspotGrid() {
+        this(MIN_CAPACITY);
+    }
+
+    public HotspotGrid(int expectedSize) {
+        int capacity = tableSizeFor(Math.max(MIN_CAPACITY, (int) (expectedSize / MAX_LOAD_FACTOR) + 1));
+        slots = new int[capacity];
+        denseKeys = new long[Math.max(MIN_CAPACITY, expectedSize)];
+        denseValues = new ArrayList<>(Math.max(MIN_CAPACITY, expectedSize));
+    }
+
+    /**
+     * Factory used by {@link #getOrCreate(long, Factory)} so callers do not need a lookup + put.
+     */
+    public interface Factory<V> {
+        @NonNull
+        V create(long cellKey);
+    }
+
+    /**
+     * Packs the rounded cell indices of a coordinate into one key.
+     */
+    public static long cellKey(double lat, double lng) {
+        int latIndex = (int) Math.round(lat / CELL_SIZE_DEGREES);
+        int lngIndex = (int) Math.round(lng / CELL_SIZE_DEGREES);
+        return ((long) latIndex << 32) | (lngIndex & 0xFFFFFFFFL);
+    }
+
+    public static int cellLatIndex(long cellKey) {
+        return (int) (cellKey >> 32);
+    }
+
+    public static int cellLngIndex(long cellKey) {
+        return (int) cellKey;
+    }
+
+    public static double cellCenterLat(long cellKey) {
+        return cellLatIndex(cellKey) * CELL_SIZE_DEGREES;
+    }
+
+    public static double cellCenterLng(long cellKey) {
+        return cellLngIndex(cellKey) * CELL_SIZE_DEGREES;
+    }
+
+    /**
+     * Firestore hotspot id for a cell, e.g. "33.7400,-84.3800".
+     */
+    @NonNull
+    public static String hotspotId(long cellKey) {
+        return String.format(Locale.US, "%.4f,%.4f", cellCenterLat(cellKey), cellCenterLng(cellKey));
+    }
+
+    @NonNull
+    public static String hotspotIdFor(double lat, double lng) {
+        return hotspotId(cellKey(lat, lng));
+    }
+
+    /**
+     * Same test as LatLngBounds.contains on plain coordinates (no LatLng allocated per sighting).
+     * A box with west > east spans the antimeridian.
+     */
+    public static boolean boundsContain(double south, double west, double north, double east,
+                                        double lat, double lng) {
+        if (lat < south || lat > north) return false;
+        return west <= east ? (lng >= west && lng <= east) : (lng >= west || lng <= east);
+    }
+
+    public int size() {
+        return denseValues.size();
+    }
+
+    public boolean isEmpty() {
+        return denseValues.isEmpty();
+    }
+
+    @Nullable
+    public V get(long cellKey) {
+        int slot = findSlot(cellKey);
+        int denseIndex = slots[slot];
+        return denseIndex == 0 ? null : denseValues.get(denseIndex - 1);
+    }
+
+    public boolean containsKey(long cellKey) {
+        return slots[findSlot(cellKey)] != 0;
+    }
+
+    /**
+     * Returns the bucket for the cell, creating it through the factory the first time.
+     */
+    @NonNull
+    public V getOrCreate(long cellKey, @NonNull Factory<V> factory) {
+        int slot = findSlot(cellKey);
+        int denseIndex = slots[slot];
+        if (denseIndex != 0) return denseValues.get(denseIndex - 1);
+
+        V value = factory.create(cellKey);
+        insertAt(slot, cellKey, value);
+        return value;
+    }
+
+    /**
+     * Stores the value for the cell and returns the previous one, if any.
+     */
+    @Nullable
+    public V put(long cellKey, @NonNull V value) {
+        int slot = findSlot(cellKey);
+        int denseIndex = slots[slot];
+        if (denseIndex != 0) {
+            return denseValues.set(denseIndex - 1, value);
+        }
+        insertAt(slot, cellKey, value);
+        return null;
+    }
+
+    /**
+     * Cell key of the i-th inserted bucket; pairs with {@link #valueAt(int)}.
+     */
+    public long keyAt(int index) {
+        if (index < 0 || index >= denseValues.size()) throw new IndexOutOfBoundsException("index " + index);
+        return denseKeys[index];
+    }
+
+    @NonNull
+    public V valueAt(int index) {
+        return denseValues.get(index);
+    }
+
+    /**
+     * Buckets in insertion order. The list is a read-only view.
+     */
+    @NonNull
+    public List<V> values() {
+        return Collections.unmodifiableList(denseValues);
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        denseValues.clear();
+    }
+
+    private void insertAt(int slot, long cellKey, @NonNull V value) {
+        int denseIndex = denseValues.size();
+        if (denseIndex == denseKeys.length) {
+            denseKeys = Arrays.copyOf(denseKeys, denseKeys.length * 2);
+        }
+        denseKeys[denseIndex] = cellKey;
+        denseValues.add(value);
+        slots[slot] = denseIndex + 1;
+
+        if (denseValues.size() > slots.length * MAX_LOAD_FACTOR) {
+            rehash(slots.length * 2);
+        }
+    }
+
+    private int findSlot(long cellKey) {
+        int mask = slots.length - 1;
+        int slot = mix(cellKey) & mask;
+        while (true) {
+            int denseIndex = slots[slot];
+            if (denseIndex == 0 || denseKeys[denseIndex - 1] == cellKey) return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        slots = new int[newCapacity];
+        int mask = newCapacity - 1;
+        for (int i = 0; i < denseValues.size(); i++) {
+            int slot = mix(denseKeys[i]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    /**
+     * Spreads neighbouring cell indices across the table (murmur3 finalizer).
+     */
+    private static int mix(long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int tableSizeFor(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        return Math.max(MIN_CAPACITY, size);
+    }
+}
@@ -0,0 +1,239 @@
+package com.birddex.app;
+
+import android.util.Log;
+import android.view.Choreographer;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * HotspotSummarySubscriptionManager: Keeps live hotspotVoteSummaries data for the hotspots on screen
+ * without one Firestore listener per bucket.
+ *
+ * - Hotspot ids are batched into documentId() "in" queries of up to {@link #MAX_IDS_PER_QUERY}.
+ * - {@link #setVisibleHotspots(Collection)} diffs old vs new ids: batches whose hotspots are still
+ *   visible keep listening across map refreshes, only new ids get new batches, and batches with no
+ *   visible ids left are removed. Batches are repacked once too many of them run half-empty.
+ * - Snapshot callbacks only update the cached summaries; the owner is told once per frame with the
+ *   set of hotspot ids that changed, so an initial burst of snapshots costs a single re-render.
+ *
+ * All methods must be called on the main thread.
+ */
+public class HotspotSummarySubscriptionManager {
+
+    private static final String TAG = "HotspotSummarySubs";
+    // Firestore allows up to 30 values in an "in" filter.
+    static final int MAX_IDS_PER_QUERY = 30;
+
+    public interface Listener {
+        void onHotspotSummariesChanged(@NonNull Set<String> changedHotspotIds);
+    }
+
+    private static final class Batch {
+        final Set<String> hotspotIds;
+        ListenerRegistration registration;
+
+        Batch(@NonNull Set<String> hotspotIds) {
+            this.hotspotIds = hotspotIds;
+        }
+    }
+
+    private final FirebaseManager firebaseManager;
+    private final Listener listener;
+    private final List<Batch> batches = new ArrayList<>();
+    private final Set<String> visibleHotspotIds = new HashSet<>();
+    private final Map<String, DocumentSnapshot> summaries = new HashMap<>();
+    private final Set<String> pendingChangedIds = new LinkedHashSet<>();
+    private boolean frameCallbackPosted = false;
+    private boolean released = false;
+
+    private final Choreographer.FrameCallback dispatchFrameCallback = frameTimeNanos -> dispatchPendingChanges();
+
+    public HotspotSummarySubscriptionManager(@NonNull FirebaseManager firebaseManager, @NonNull Listener listener) {
+        this.firebaseManager = firebaseManager;
+        this.listener = listener;
+    }
+
+    /**
+     * Replaces the set of hotspots the map needs summaries for.
+     */
+    public void setVisibleHotspots(@NonNull Collection<String> hotspotIds) {
+        if (released) return;
+
+        Set<String> next = new HashSet<>();
+        for (String id : hotspotIds) {
+            if (id != null && !id.trim().isEmpty()) next.add(id.trim());
+        }
+
+        visibleHotspotIds.clear();
+        visibleHotspotIds.addAll(next);
+
+        List<Set<String>> currentIds = new ArrayList<>(batches.size());
+        for (Batch batch : batches) currentIds.add(batch.hotspotIds);
+        BatchPlan plan = planBatches(currentIds, next);
+
+        List<Batch> kept = new ArrayList<>(plan.keptBatchIndexes.size());
+        for (int i = 0; i < batches.size(); i++) {
+            Batch batch = batches.get(i);
+            if (plan.keptBatchIndexes.contains(i)) {
+                kept.add(batch);
+            } else {
+                removeBatch(batch);
+            }
+        }
+        batches.clear();
+        batches.addAll(kept);
+        for (Set<String> ids : plan.newBatches) addBatch(ids);
+
+        // Keep summaries for every id a live batch still covers, visible or not: those ids are not
+        // re-queried when they come back on screen, so the cache is the only copy of their data.
+        Set<String> covered = new HashSet<>();
+        for (Batch batch : batches) covered.addAll(batch.hotspotIds);
+        summaries.keySet().retainAll(covered);
+    }
+
+    /**
+     * Which batches {@link #setVisibleHotspots(Collection)} keeps and which it opens.
+     */
+    static final class BatchPlan {
+        // Indexes into the current batch list, in order.
+        final List<Integer> keptBatchIndexes;
+        final List<Set<String>> newBatches;
+
+        BatchPlan(@NonNull List<Integer> keptBatchIndexes, @NonNull List<Set<String>> newBatches) {
+            this.keptBatchIndexes = keptBatchIndexes;
+            this.newBatches = newBatches;
+        }
+    }
+
+    /**
+     * Keeps every current batch that still has a visible id, batches the ids none of them cover,
+     * and repacks from scratch when that would leave more than twice the minimum number of queries.
+     */
+    @NonNull
+    static BatchPlan planBatches(@NonNull List<? extends Set<String>> currentBatches, @NonNull Set<String> next) {
+        List<Integer> kept = new ArrayList<>();
+        Set<String> alreadyCovered = new HashSet<>();
+        for (int i = 0; i < currentBatches.size(); i++) {
+            boolean stillUseful = false;
+            for (String id : currentBatches.get(i)) {
+                if (next.contains(id)) {
+                    stillUseful = true;
+                    alreadyCovered.add(id);
+                }
+            }
+            if (stillUseful) kept.add(i);
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String id : next) {
+            if (!alreadyCovered.contains(id)) missing.add(id);
+        }
+
+        int minimumBatches = (next.size() + MAX_IDS_PER_QUERY - 1) / MAX_IDS_PER_QUERY;
+        int projectedBatches = kept.size() + (missing.size() + MAX_IDS_PER_QUERY - 1) / MAX_IDS_PER_QUERY;
+        if (projectedBatches > minimumBatches * 2) {
+            // Panning has fragmented the batches; repack everything into as few queries as possible.
+            kept.clear();
+            missing = new ArrayList<>(next);
+        }
+
+        List<Set<String>> newBatches = new ArrayList<>();
+        for (int start = 0; start < missing.size(); start += MAX_IDS_PER_QUERY) {
+            int end = Math.min(missing.size(), start + MAX_IDS_PER_QUERY);
+            newBatches.add(new LinkedHashSet<>(missing.subList(start, end)));
+        }
+        return new BatchPlan(kept, newBatches);
+    }
+
+    /**
+     * Latest summary doc for a hotspot covered by a live batch, or null when none has arrived (or
+     * none exists).
+     */
+    @Nullable
+    public DocumentSnapshot getSummary(@NonNull String hotspotId) {
+        return summaries.get(hotspotId);
+    }
+
+    public int getActiveQueryCount() {
+        return batches.size();
+    }
+
+    /**
+     * Removes every Firestore listener. The manager ignores further calls afterwards.
+     */
+    public void release() {
+        released = true;
+        for (Batch batch : batches) removeBatch(batch);
+        batches.clear();
+        visibleHotspotIds.clear();
+        summaries.clear();
+        pendingChangedIds.clear();
+        if (frameCallbackPosted) {
+            Choreographer.getInstance().removeFrameCallback(dispatchFrameCallback);
+            frameCallbackPosted = false;
+        }
+    }
+
+    private void addBatch(@NonNull Set<String> hotspotIds) {
+        Batch batch = new Batch(hotspotIds);
+        batch.registration = firebaseManager.listenToHotspotSummaries(new ArrayList<>(hotspotIds), (snapshot, e) -> {
+            if (released || !batches.contains(batch)) return;
+            if (e != null) {
+                Log.w(TAG, "Hotspot summary batch listener failed.", e);
+                return;
+            }
+            if (snapshot == null) return;
+
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                DocumentSnapshot doc = change.getDocument();
+                String hotspotId = doc.getId();
+
+                if (change.getType() == DocumentChange.Type.REMOVED) {
+                    summaries.remove(hotspotId);
+                } else {
+                    summaries.put(hotspotId, doc);
+                }
+                // Off-screen ids stay cached for when they are shown again; only visible ones re-render.
+                if (visibleHotspotIds.contains(hotspotId)) pendingChangedIds.add(hotspotId);
+            }
+            scheduleDispatch();
+        });
+        batches.add(batch);
+    }
+
+    private void removeBatch(@NonNull Batch batch) {
+        if (batch.registration != null) {
+            batch.registration.remove();
+            batch.registration = null;
+        }
+    }
+
+    private void scheduleDispatch() {
+        if (frameCallbackPosted || pendingChangedIds.isEmpty()) return;
+        frameCallbackPosted = true;
+        Choreographer.getInstance().postFrameCallback(dispatchFrameCallback);
+    }
+
+    private void dispatchPendingChanges() {
+        frameCallbackPosted = false;
+        if (released || pendingChangedIds.isEmpty()) return;
+
+        Set<String> changed = new LinkedHashSet<>(pendingChangedIds);
+        pendingChangedIds.clear();
+        listener.onHotspotSummariesChanged(changed);
+    }
+}
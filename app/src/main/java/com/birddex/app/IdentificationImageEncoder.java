@@ -0,0 +1,141 @@
+package com.birddex.app;
+
+import android.content.ContentResolver;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Matrix;
+import android.net.Uri;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.exifinterface.media.ExifInterface;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * IdentificationImageEncoder: Produces the single JPEG used for bird identification.
+ *
+ * The image is decoded once with subsampling (never at full sensor resolution), rotated per its
+ * EXIF orientation, fitted into {@link #MAX_DIMENSION_PX} and compressed once. IdentifyingActivity
+ * uploads these bytes and the identifyBird callable reads the uploaded object, so nothing has to
+ * be re-decoded or Base64-encoded on the device.
+ */
+public final class IdentificationImageEncoder {
+
+    private static final String TAG = "IdentificationImage";
+
+    public static final int MAX_DIMENSION_PX = 1024;
+    public static final int JPEG_QUALITY = 90;
+
+    private IdentificationImageEncoder() { }
+
+    /**
+     * Blocking; call off the main thread.
+     *
+     * @return JPEG bytes no larger than {@link #MAX_DIMENSION_PX} on either side, or null if the
+     *         image could not be read.
+     */
+    @Nullable
+    public static byte[] encodeForIdentification(@NonNull Context context, @NonNull Uri imageUri) {
+        ContentResolver resolver = context.getContentResolver();
+
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        try (InputStream in = resolver.openInputStream(imageUri)) {
+            if (in == null) return null;
+            BitmapFactory.decodeStream(in, null, bounds);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to read image bounds", e);
+            return null;
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) return null;
+
+        // Largest power-of-two subsample that still leaves at least MAX_DIMENSION_PX on the long
+        // side, so the final resize is always a downscale.
+        int sampleSize = 1;
+        int longSide = Math.max(bounds.outWidth, bounds.outHeight);
+        while (longSide / (sampleSize * 2) >= MAX_DIMENSION_PX) {
+            sampleSize *= 2;
+        }
+
+        BitmapFactory.Options opts = new BitmapFactory.Options();
+        opts.inSampleSize = sampleSize;
+        opts.inPreferredConfig = Bitmap.Config.ARGB_8888;
+
+        Bitmap decoded;
+        try (InputStream in = resolver.openInputStream(imageUri)) {
+            if (in == null) return null;
+            decoded = BitmapFactory.decodeStream(in, null, opts);
+        } catch (IOException | OutOfMemoryError e) {
+            Log.e(TAG, "Failed to decode image", e);
+            return null;
+        }
+        if (decoded == null) return null;
+
+        Bitmap prepared = orientAndFit(decoded, readExifOrientation(resolver, imageUri));
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256 * 1024);
+            if (!prepared.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, out)) return null;
+            return out.toByteArray();
+        } finally {
+            prepared.recycle();
+        }
+    }
+
+    /**
+     * Applies the EXIF rotation/flip and the final downscale in one bitmap pass.
+     */
+    @NonNull
+    private static Bitmap orientAndFit(@NonNull Bitmap source, int exifOrientation) {
+        Matrix matrix = new Matrix();
+        float scale = Math.min(1f, (float) MAX_DIMENSION_PX / Math.max(source.getWidth(), source.getHeight()));
+        if (scale < 1f) matrix.postScale(scale, scale);
+
+        switch (exifOrientation) {
+            case ExifInterface.ORIENTATION_FLIP_HORIZONTAL:
+                matrix.postScale(-1f, 1f);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_180:
+                matrix.postRotate(180f);
+                break;
+            case ExifInterface.ORIENTATION_FLIP_VERTICAL:
+                matrix.postScale(1f, -1f);
+                break;
+            case ExifInterface.ORIENTATION_TRANSPOSE:
+                matrix.postRotate(90f);
+                matrix.postScale(-1f, 1f);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_90:
+                matrix.postRotate(90f);
+                break;
+            case ExifInterface.ORIENTATION_TRANSVERSE:
+                matrix.postRotate(-90f);
+                matrix.postScale(-1f, 1f);
+                break;
+            case ExifInterface.ORIENTATION_ROTATE_270:
+                matrix.postRotate(270f);
+                break;
+            default:
+                break;
+        }
+
+        if (matrix.isIdentity()) return source;
+        Bitmap transformed = Bitmap.createBitmap(source, 0, 0, source.getWidth(), source.getHeight(), matrix, true);
+        if (transformed != source) source.recycle();
+        return transformed;
+    }
+
+    private static int readExifOrientation(@NonNull ContentResolver resolver, @NonNull Uri imageUri) {
+        try (InputStream in = resolver.openInputStream(imageUri)) {
+            if (in == null) return ExifInterface.ORIENTATION_NORMAL;
+            return new ExifInterface(in).getAttributeInt(
+                    ExifInterface.TAG_ORIENTATION, ExifInterface.ORIENTATION_NORMAL);
+        } catch (IOException e) {
+            return ExifInterface.ORIENTATION_NORMAL;
+        }
+    }
+}
@@ -4,16 +4,11 @@ import android.Manifest;
 import android.content.Context;
 import android.content.Intent;
 import android.content.pm.PackageManager;
-import android.graphics.Bitmap;
-import android.graphics.ImageDecoder;
 import android.location.Location;
 import android.net.Uri;
-import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
-import android.provider.MediaStore;
-import android.util.Base64;
 import android.util.Log;
 import android.widget.ImageView;
 import android.widget.TextView;
@@ -30,11 +25,10 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.functions.FirebaseFunctionsException;
 import com.google.firebase.storage.FirebaseStorage;
+import com.google.firebase.storage.StorageMetadata;
 import com.google.firebase.storage.StorageReference;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Locale;
 import java.util.Date;
@@ -288,6 +282,8 @@ public class IdentifyingActivity extends AppCompatActivity implements LocationHe
     /**
      * Builds data from the current screen/object state and writes it out to storage, Firebase, or
      * another service.
+     * The identification JPEG (1024px, decoded once with subsampling) is prepared off the main
+     * thread, and those exact bytes are what gets uploaded and later read by identifyBird.
      * There is also one-time async data loading here, so success/failure callbacks are important
      * for the final UI state.
      * User-facing feedback is shown here so the user knows whether the action succeeded, failed,
@@ -300,15 +296,35 @@ public class IdentifyingActivity extends AppCompatActivity implements LocationHe
             return;
         }
 
+        Context appContext = getApplicationContext();
+        new Thread(() -> {
+            byte[] jpeg = IdentificationImageEncoder.encodeForIdentification(appContext, imageUri);
+            runOnUiThread(() -> {
+                if (identificationCompleted.get() || isFinishing() || isDestroyed()) return;
+                if (jpeg == null) {
+                    deleteLocalTempImageIfNeeded(localImageUri);
+                    finishActivityWithToast("Failed to prepare image for analysis.");
+                    return;
+                }
+                uploadIdentificationJpeg(user.getUid(), jpeg, latitude, longitude, localityName, state, country);
+            });
+        }).start();
+    }
+
+    private void uploadIdentificationJpeg(String uid, byte[] jpeg, @Nullable Double latitude, @Nullable Double longitude, @Nullable String localityName, @Nullable String state, @Nullable String country) {
         // Reverted: Folder changed to identificationImages
-        String fileName = "identificationImages/" + user.getUid() + "/" + UUID.randomUUID().toString() + ".jpg";
+        String fileName = "identificationImages/" + uid + "/" + UUID.randomUUID().toString() + ".jpg";
         StorageReference storageRef = FirebaseStorage.getInstance().getReference().child(fileName);
         uploadedIdentificationStorageRef = storageRef;
         uploadedIdentificationDownloadUrl = null;
         identificationImageShouldBeKept = false;
 
-        Log.d(TAG, "uploadImageToIdentificationStorage: Uploading to " + fileName);
-        storageRef.putFile(imageUri)
+        StorageMetadata metadata = new StorageMetadata.Builder()
+                .setContentType("image/jpeg")
+                .build();
+
+        Log.d(TAG, "uploadImageToIdentificationStorage: Uploading " + jpeg.length + " bytes to " + fileName);
+        storageRef.putBytes(jpeg, metadata)
                 .addOnSuccessListener(taskSnapshot -> {
                     // Kick off an asynchronous one-time read; the callbacks below decide how the UI should react.
                     if (identificationCompleted.get() || isFinishing() || isDestroyed()) return;
@@ -316,7 +332,7 @@ public class IdentifyingActivity extends AppCompatActivity implements LocationHe
                         if (identificationCompleted.get() || isFinishing() || isDestroyed()) return;
                         uploadedIdentificationDownloadUrl = downloadUri.toString();
                         Log.d(TAG, "Image uploaded. Download URL: " + downloadUri);
-                        identifyBirdWithUrl(downloadUri.toString(), latitude, longitude, localityName, state, country);
+                        identifyBirdWithUploadedImage(fileName, downloadUri.toString(), latitude, longitude, localityName, state, country);
                     }).addOnFailureListener(e -> {
                         Log.e(TAG, "Failed to get download URL", e);
                         deleteUploadedIdentificationImageIfUnused();
@@ -333,27 +349,20 @@ public class IdentifyingActivity extends AppCompatActivity implements LocationHe
 
     /**
      * Main logic block for this part of the feature.
+     * The callable reads the uploaded object by its Storage path, so no image payload travels
+     * with the request.
      * There is also one-time async data loading here, so success/failure callbacks are important
      * for the final UI state.
      * User-facing feedback is shown here so the user knows whether the action succeeded, failed,
      * or needs attention.
      */
-    private void identifyBirdWithUrl(String downloadUrl, @Nullable Double latitude, @Nullable Double longitude, @Nullable String localityName, @Nullable String state, @Nullable String country) {
-        Log.d(TAG, "identifyBirdWithUrl: Encoding image for AI analysis...");
-        String base64Image = encodeImage(localImageUri); // Still need base64 for the Vision API call
-        if (base64Image == null) {
-            deleteUploadedIdentificationImageIfUnused();
-            deleteLocalTempImageIfNeeded(localImageUri);
-            finishActivityWithToast("Failed to encode image for analysis.");
-            return;
-        }
-
+    private void identifyBirdWithUploadedImage(String storagePath, String downloadUrl, @Nullable Double latitude, @Nullable Double longitude, @Nullable String localityName, @Nullable String state, @Nullable String country) {
         boolean awardPointsRequested = getIntent().getBooleanExtra("awardPoints", true);
         CaptureGuardHelper.GuardReport captureGuardReport = CaptureGuardHelper.readReportFromIntent(getIntent(), awardPointsRequested);
         String observedAt = buildObservedAtForIdentification();
 
-        // We pass the base64 for analysis AND the storage URL for logging AND requestId for idempotency
-        openAiApi.identifyBirdFromImage(base64Image, downloadUrl, latitude, longitude, localityName, requestId, observedAt, captureGuardReport, new OpenAiApi.IdentifyBirdCallback() {
+        // We pass the Storage path for analysis AND the download URL for logging AND requestId for idempotency
+        openAiApi.identifyBirdFromImage(storagePath, downloadUrl, latitude, longitude, localityName, requestId, observedAt, captureGuardReport, new OpenAiApi.IdentifyBirdCallback() {
             @Override
             public void onSuccess(OpenAiApi.IdentifyBirdResult result) {
                 if (identificationCompleted.get() || isFinishing() || isDestroyed()) return;
@@ -615,21 +624,6 @@ public class IdentifyingActivity extends AppCompatActivity implements LocationHe
         }).start();
     }
 
-    private String encodeImage(Uri imageUri) {
-        try {
-            Bitmap bitmap = (Build.VERSION.SDK_INT >= 28) ? ImageDecoder.decodeBitmap(ImageDecoder.createSource(this.getContentResolver(), imageUri)) : MediaStore.Images.Media.getBitmap(this.getContentResolver(), imageUri);
-            int maxWidth = 1024, maxHeight = 1024;
-            float ratio = Math.min((float) maxWidth / bitmap.getWidth(), (float) maxHeight / bitmap.getHeight());
-            if (ratio < 1.0f) bitmap = Bitmap.createScaledBitmap(bitmap, Math.round(ratio * bitmap.getWidth()), Math.round(ratio * bitmap.getHeight()), true);
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            bitmap.compress(Bitmap.CompressFormat.JPEG, 90, baos);
-            return Base64.encodeToString(baos.toByteArray(), Base64.NO_WRAP);
-        } catch (IOException e) {
-            Log.e(TAG, "encodeImage: Error", e);
-            return null;
-        }
-    }
-
     /**
      * Shows a dialog with a message and finishes the activity when the user clicks OK.
      */
@@ -0,0 +1,138 @@
+package com.birddex.app;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * KeywordAutomaton: Aho-Corasick multi-pattern matcher over a small char alphabet.
+ *
+ * Built once from a fixed word list, it finds every pattern occurrence in a single left-to-right
+ * pass: callers feed characters through {@link #step(int, char)} and walk the pattern ids ending
+ * at the current position with {@link #firstOutputState(int)} / {@link #nextOutputState(int)}.
+ * Transitions are a dense DFA table, so stepping never allocates.
+ *
+ * Only ASCII characters that appear in some pattern get their own symbol; everything else shares
+ * one "no pattern uses this" symbol that always leads back to the root.
+ */
+final class KeywordAutomaton {
+
+    static final int ROOT = 0;
+    static final int NO_STATE = -1;
+
+    private static final int ASCII_LIMIT = 128;
+
+    private final int[] symbolOf = new int[ASCII_LIMIT];
+    private final int alphabetSize;
+    private final int[] transitions;
+    // Pattern id that ends exactly at a state, or -1.
+    private final int[] outputOf;
+    // Closest state on the failure chain that has an output, or NO_STATE.
+    private final int[] outputLink;
+    private final int[] patternLengths;
+    private final int maxPatternLength;
+
+    /**
+     * @param patterns distinct, non-empty ASCII patterns; pattern ids are list indices.
+     */
+    KeywordAutomaton(@NonNull List<String> patterns) {
+        int symbols = 1;
+        int totalChars = 0;
+        int longest = 0;
+        patternLengths = new int[patterns.size()];
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            if (pattern.isEmpty()) throw new IllegalArgumentException("Empty pattern at " + p);
+            patternLengths[p] = pattern.length();
+            totalChars += pattern.length();
+            longest = Math.max(longest, pattern.length());
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c >= ASCII_LIMIT) throw new IllegalArgumentException("Non-ASCII pattern: " + pattern);
+                if (symbolOf[c] == 0) symbolOf[c] = symbols++;
+            }
+        }
+        alphabetSize = symbols;
+        maxPatternLength = longest;
+
+        // 1. Trie (0 = missing edge; the root is never a child, so 0 is free to mean "none").
+        int maxStates = totalChars + 1;
+        int[] trie = new int[maxStates * alphabetSize];
+        int[] outputs = new int[maxStates];
+        Arrays.fill(outputs, -1);
+        int stateCount = 1;
+        for (int p = 0; p < patterns.size(); p++) {
+            String pattern = patterns.get(p);
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                int slot = state * alphabetSize + symbolOf[pattern.charAt(i)];
+                if (trie[slot] == 0) trie[slot] = stateCount++;
+                state = trie[slot];
+            }
+            if (outputs[state] != -1) throw new IllegalArgumentException("Duplicate pattern: " + pattern);
+            outputs[state] = p;
+        }
+
+        // 2. Failure links + full DFA transitions in BFS order.
+        transitions = Arrays.copyOf(trie, stateCount * alphabetSize);
+        outputOf = Arrays.copyOf(outputs, stateCount);
+        outputLink = new int[stateCount];
+        int[] fail = new int[stateCount];
+        Arrays.fill(outputLink, NO_STATE);
+
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int a = 0; a < alphabetSize; a++) {
+            int child = trie[a];
+            if (child != 0) {
+                fail[child] = ROOT;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            int failState = fail[state];
+            outputLink[state] = outputOf[failState] != -1 ? failState : outputLink[failState];
+
+            for (int a = 0; a < alphabetSize; a++) {
+                int slot = state * alphabetSize + a;
+                int child = trie[slot];
+                if (child != 0) {
+                    fail[child] = transitions[failState * alphabetSize + a];
+                    queue.add(child);
+                } else {
+                    transitions[slot] = transitions[failState * alphabetSize + a];
+                }
+            }
+        }
+    }
+
+    int step(int state, char c) {
+        int symbol = c < ASCII_LIMIT ? symbolOf[c] : 0;
+        return transitions[state * alphabetSize + symbol];
+    }
+
+    /**
+     * First state whose pattern ends at the current position, or {@link #NO_STATE}.
+     */
+    int firstOutputState(int state) {
+        return outputOf[state] != -1 ? state : outputLink[state];
+    }
+
+    int nextOutputState(int outputState) {
+        return outputLink[outputState];
+    }
+
+    int patternAt(int outputState) {
+        return outputOf[outputState];
+    }
+
+    int patternLength(int patternId) {
+        return patternLengths[patternId];
+    }
+
+    int maxPatternLength() {
+        return maxPatternLength;
+    }
+}
@@ -6,38 +6,74 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.google.android.material.imageview.ShapeableImageView;
 
 import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.LeaderboardViewHolder> {
+public class LeaderboardAdapter extends ListAdapter<LeaderboardEntry, LeaderboardAdapter.LeaderboardViewHolder> {
+
+    // Partial rebind: only rank/points moved, the name and picture are unchanged.
+    static final String PAYLOAD_STANDING = "standing";
 
     public interface OnLeaderboardUserClickListener {
         void onUserClick(LeaderboardEntry entry);
     }
 
-    private final List<LeaderboardEntry> entries = new ArrayList<>();
     private final OnLeaderboardUserClickListener listener;
     private final String currentUserId;
     private final NumberFormat numberFormat = NumberFormat.getInstance(Locale.US);
+    private final StableIdMap stableIds = new StableIdMap();
+
+    private static final DiffUtil.ItemCallback<LeaderboardEntry> DIFF_CALLBACK = new DiffUtil.ItemCallback<LeaderboardEntry>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull LeaderboardEntry oldEntry, @NonNull LeaderboardEntry newEntry) {
+            if (oldEntry.getUserId() == null || newEntry.getUserId() == null) return oldEntry == newEntry;
+            return oldEntry.getUserId().equals(newEntry.getUserId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull LeaderboardEntry oldEntry, @NonNull LeaderboardEntry newEntry) {
+            return sameProfile(oldEntry, newEntry)
+                    && oldEntry.getRank() == newEntry.getRank()
+                    && oldEntry.getTotalPoints() == newEntry.getTotalPoints();
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull LeaderboardEntry oldEntry, @NonNull LeaderboardEntry newEntry) {
+            return sameProfile(oldEntry, newEntry) ? PAYLOAD_STANDING : null;
+        }
+    };
 
     public LeaderboardAdapter(String currentUserId, OnLeaderboardUserClickListener listener) {
+        super(DIFF_CALLBACK);
         this.currentUserId = currentUserId;
         this.listener = listener;
+        setHasStableIds(true);
     }
 
     public void setEntries(List<LeaderboardEntry> newEntries) {
-        entries.clear();
-        if (newEntries != null) {
-            entries.addAll(newEntries);
-        }
-        notifyDataSetChanged();
+        submitList(newEntries != null ? new ArrayList<>(newEntries) : new ArrayList<>());
+    }
+
+    private static boolean sameProfile(@NonNull LeaderboardEntry a, @NonNull LeaderboardEntry b) {
+        return Objects.equals(a.getUsername(), b.getUsername())
+                && Objects.equals(a.getProfilePictureUrl(), b.getProfilePictureUrl());
+    }
+
+    @Override
+    public long getItemId(int position) {
+        LeaderboardEntry entry = getItem(position);
+        return stableIds.idFor(entry.getUserId() != null ? entry.getUserId() : StableIdMap.identityKey(entry));
     }
 
     @NonNull
@@ -49,12 +85,20 @@ public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull LeaderboardViewHolder holder, int position) {
-        holder.bind(entries.get(position));
+        holder.bind(getItem(position));
     }
 
     @Override
-    public int getItemCount() {
-        return entries.size();
+    public void onBindViewHolder(@NonNull LeaderboardViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !payloads.stream().allMatch(PAYLOAD_STANDING::equals)) {
+            onBindViewHolder(holder, position);
+            return;
+        }
+        LeaderboardEntry entry = getItem(position);
+        holder.bindStanding(entry);
+        holder.itemView.setOnClickListener(v -> {
+            if (listener != null) listener.onUserClick(entry);
+        });
     }
 
     class LeaderboardViewHolder extends RecyclerView.ViewHolder {
@@ -76,26 +120,27 @@ public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.
         }
 
         void bind(LeaderboardEntry entry) {
-            tvRank.setText(String.valueOf(entry.getRank()));
+            bindStanding(entry);
             tvUsername.setText(entry.getUsername() == null || entry.getUsername().trim().isEmpty()
                     ? "BirdDex User"
                     : entry.getUsername().trim());
-            tvPoints.setText(numberFormat.format(entry.getTotalPoints()) + " pts");
 
             boolean isCurrentUser = currentUserId != null && currentUserId.equals(entry.getUserId());
             tvYouBadge.setVisibility(isCurrentUser ? View.VISIBLE : View.GONE);
             container.setActivated(isCurrentUser);
             container.setSelected(isCurrentUser);
 
-            Glide.with(itemView.getContext())
-                    .load(entry.getProfilePictureUrl())
-                    .placeholder(R.drawable.ic_profile)
-                    .error(R.drawable.ic_profile)
+            SizedImageRequests.avatar(itemView.getContext(), entry.getProfilePictureUrl(), SizedImageRequests.LEADERBOARD_AVATAR_DP)
                     .into(ivPfp);
 
             itemView.setOnClickListener(v -> {
                 if (listener != null) listener.onUserClick(entry);
             });
         }
+
+        void bindStanding(LeaderboardEntry entry) {
+            tvRank.setText(String.valueOf(entry.getRank()));
+            tvPoints.setText(numberFormat.format(entry.getTotalPoints()) + " pts");
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.birddex.app;
 
+import android.content.Context;
 import android.content.Intent;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -9,15 +10,23 @@ import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.bumptech.glide.RequestBuilder;
 import com.google.android.material.bottomsheet.BottomSheetDialog;
 import com.google.android.material.imageview.ShapeableImageView;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * NearbyAdapter displays bird sightings in a list.
@@ -30,24 +39,74 @@ import java.util.Locale;
  * These comments focus on what the actual code blocks are doing so the file is easier to trace
  * when you are debugging or presenting the app. Only comments were added; runtime logic was not changed.
  */
-public class NearbyAdapter extends RecyclerView.Adapter<NearbyAdapter.NearbyViewHolder> {
+public class NearbyAdapter extends ListAdapter<Bird, NearbyAdapter.NearbyViewHolder>
+        implements FeedPrefetcher.ImagePreloadSource {
 
     public interface OnNearbyBirdActionListener {
         void onOpenBirdInfo(@NonNull Bird bird);
         void onShowBirdOnMap(@NonNull Bird bird);
     }
 
-    private List<Bird> birdList;
     private boolean isNavigating = false;
     private final OnNearbyBirdActionListener actionListener;
+    private final StableIdMap stableIds = new StableIdMap();
+
+    private static final DiffUtil.ItemCallback<Bird> DIFF_CALLBACK = new DiffUtil.ItemCallback<Bird>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Bird oldBird, @NonNull Bird newBird) {
+            return rowKey(oldBird).equals(rowKey(newBird));
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Bird oldBird, @NonNull Bird newBird) {
+            // Where and when are part of the row key; only the names can still differ.
+            return sameSpecies(oldBird, newBird);
+        }
+    };
 
     /**
      * Constructor that stores incoming dependencies/values so this object starts in a usable
      * state.
      */
     public NearbyAdapter(List<Bird> birdList, OnNearbyBirdActionListener actionListener) {
-        this.birdList = birdList;
+        super(DIFF_CALLBACK);
         this.actionListener = actionListener;
+        setHasStableIds(true);
+        updateList(birdList);
+    }
+
+    /**
+     * A row is one sighting: the species plus where and when it was seen. The merged Firestore and
+     * eBird list has one entry per sighting, and the same species shows up at several places.
+     * Neither source's sighting id reaches Bird (nor the nearby cache), so the coordinates and
+     * time identify it.
+     */
+    @NonNull
+    static String rowKey(@NonNull Bird bird) {
+        if (bird.getId() == null) return StableIdMap.identityKey(bird);
+        return bird.getId() + "|" + bird.getLastSeenLatitudeGeorgia() + "," + bird.getLastSeenLongitudeGeorgia()
+                + "@" + bird.getLastSeenTimestampGeorgia();
+    }
+
+    private static boolean sameSpecies(@NonNull Bird a, @NonNull Bird b) {
+        return Objects.equals(a.getCommonName(), b.getCommonName())
+                && Objects.equals(a.getScientificName(), b.getScientificName());
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return stableIds.idFor(rowKey(getItem(position)));
+    }
+
+    /**
+     * Warms the image (or starts its metadata lookup) for a bird about to scroll into view.
+     */
+    @Override
+    public void collectPreloadRequests(@NonNull Context context, int position, @NonNull List<RequestBuilder<?>> out) {
+        Bird bird = getItem(position);
+        if (bird == null) return;
+        RequestBuilder<?> request = BirdImageLoader.preloadRequest(context, bird.getId(), bird.getCommonName(), bird.getScientificName());
+        if (request != null) out.add(request);
     }
 
     /**
@@ -80,9 +139,21 @@ public class NearbyAdapter extends RecyclerView.Adapter<NearbyAdapter.NearbyView
      */
     @Override
     public void onBindViewHolder(@NonNull NearbyViewHolder holder, int position) {
-        Bird bird = birdList.get(position);
+        Bird bird = getItem(position);
         holder.tvBirdName.setText(bird.getCommonName());
+        bindLastSeen(holder, bird);
+
+        // Load the image asynchronously so the UI can show remote/local media without blocking the main thread.
+        BirdImageLoader.loadBirdImageInto(holder.ivBirdImage, bird.getId(), bird.getCommonName(), bird.getScientificName());
 
+        // Attach the user interaction that should run when this control is tapped.
+        holder.itemView.setOnClickListener(v -> {
+            if (isNavigating) return;
+            showBirdActions(v, bird);
+        });
+    }
+
+    private void bindLastSeen(@NonNull NearbyViewHolder holder, @NonNull Bird bird) {
         if (bird.getLastSeenTimestampGeorgia() != null) {
             SimpleDateFormat sdf = new SimpleDateFormat("hh:mm a, MMM dd", Locale.getDefault());
             String dateStr = sdf.format(new Date(bird.getLastSeenTimestampGeorgia()));
@@ -90,74 +161,71 @@ public class NearbyAdapter extends RecyclerView.Adapter<NearbyAdapter.NearbyView
         } else {
             holder.tvTimestamp.setText("Time unknown");
         }
+    }
+
+    /**
+     * Opens the bottom sheet with the bird info / view on map actions for a tapped row.
+     */
+    private void showBirdActions(@NonNull View v, @NonNull Bird bird) {
+        BottomSheetDialog bottomSheetDialog = new BottomSheetDialog(v.getContext(), R.style.BirdDexNearbyBottomSheetDialog);
+        View sheetView = LayoutInflater.from(v.getContext())
+                .inflate(R.layout.bottom_sheet_nearby_bird_actions, null, false);
+
+        TextView tvBirdName = sheetView.findViewById(R.id.tvBirdName);
+        TextView tvBirdSubtitle = sheetView.findViewById(R.id.tvBirdSubtitle);
+        LinearLayout btnBirdInfo = sheetView.findViewById(R.id.btnBirdInfo);
+        LinearLayout btnViewOnMap = sheetView.findViewById(R.id.btnViewOnMap);
+        TextView tvMapHelper = sheetView.findViewById(R.id.tvMapHelper);
+        ImageView ivMapAction = sheetView.findViewById(R.id.ivMapAction);
+
+        String commonName = safeText(bird.getCommonName(), "Unknown Bird");
+        String scientificName = safeText(bird.getScientificName(), null);
+        tvBirdName.setText(commonName);
+        if (scientificName != null && !scientificName.equalsIgnoreCase(commonName)) {
+            tvBirdSubtitle.setVisibility(View.VISIBLE);
+            tvBirdSubtitle.setText(scientificName);
+        } else {
+            tvBirdSubtitle.setVisibility(View.GONE);
+        }
 
-        // Load the image asynchronously so the UI can show remote/local media without blocking the main thread.
-        BirdImageLoader.loadBirdImageInto(holder.ivBirdImage, bird.getId(), bird.getCommonName(), bird.getScientificName());
+        boolean hasCoordinates = bird.getLastSeenLatitudeGeorgia() != null
+                && bird.getLastSeenLongitudeGeorgia() != null;
 
-        // Attach the user interaction that should run when this control is tapped.
-        holder.itemView.setOnClickListener(v -> {
-            if (isNavigating) return;
+        btnViewOnMap.setEnabled(hasCoordinates);
+        btnViewOnMap.setAlpha(hasCoordinates ? 1f : 0.45f);
+        ivMapAction.setAlpha(hasCoordinates ? 1f : 0.45f);
+        tvMapHelper.setText(hasCoordinates
+                ? "Open the heatmap to this specific bird's sighting."
+                : "Map unavailable because this sighting has no saved coordinates.");
+        tvMapHelper.setAlpha(hasCoordinates ? 0.90f : 0.65f);
 
-            BottomSheetDialog bottomSheetDialog = new BottomSheetDialog(v.getContext(), R.style.BirdDexNearbyBottomSheetDialog);
-            View sheetView = LayoutInflater.from(v.getContext())
-                    .inflate(R.layout.bottom_sheet_nearby_bird_actions, null, false);
-
-            TextView tvBirdName = sheetView.findViewById(R.id.tvBirdName);
-            TextView tvBirdSubtitle = sheetView.findViewById(R.id.tvBirdSubtitle);
-            LinearLayout btnBirdInfo = sheetView.findViewById(R.id.btnBirdInfo);
-            LinearLayout btnViewOnMap = sheetView.findViewById(R.id.btnViewOnMap);
-            TextView tvMapHelper = sheetView.findViewById(R.id.tvMapHelper);
-            ImageView ivMapAction = sheetView.findViewById(R.id.ivMapAction);
-
-            String commonName = safeText(bird.getCommonName(), "Unknown Bird");
-            String scientificName = safeText(bird.getScientificName(), null);
-            tvBirdName.setText(commonName);
-            if (scientificName != null && !scientificName.equalsIgnoreCase(commonName)) {
-                tvBirdSubtitle.setVisibility(View.VISIBLE);
-                tvBirdSubtitle.setText(scientificName);
+        btnBirdInfo.setOnClickListener(view -> {
+            bottomSheetDialog.dismiss();
+            isNavigating = true;
+
+            if (actionListener != null) {
+                actionListener.onOpenBirdInfo(bird);
             } else {
-                tvBirdSubtitle.setVisibility(View.GONE);
+                Intent intent = new Intent(v.getContext(), BirdWikiActivity.class);
+                intent.putExtra(BirdWikiActivity.EXTRA_BIRD_ID, bird.getId());
+                // Move into the next screen and pass the identifiers/data that screen needs.
+                v.getContext().startActivity(intent);
             }
+        });
+
+        btnViewOnMap.setOnClickListener(view -> {
+            if (!hasCoordinates) return;
 
-            boolean hasCoordinates = bird.getLastSeenLatitudeGeorgia() != null
-                    && bird.getLastSeenLongitudeGeorgia() != null;
-
-            btnViewOnMap.setEnabled(hasCoordinates);
-            btnViewOnMap.setAlpha(hasCoordinates ? 1f : 0.45f);
-            ivMapAction.setAlpha(hasCoordinates ? 1f : 0.45f);
-            tvMapHelper.setText(hasCoordinates
-                    ? "Open the heatmap to this specific bird's sighting."
-                    : "Map unavailable because this sighting has no saved coordinates.");
-            tvMapHelper.setAlpha(hasCoordinates ? 0.90f : 0.65f);
-
-            btnBirdInfo.setOnClickListener(view -> {
-                bottomSheetDialog.dismiss();
-                isNavigating = true;
-
-                if (actionListener != null) {
-                    actionListener.onOpenBirdInfo(bird);
-                } else {
-                    Intent intent = new Intent(v.getContext(), BirdWikiActivity.class);
-                    intent.putExtra(BirdWikiActivity.EXTRA_BIRD_ID, bird.getId());
-                    // Move into the next screen and pass the identifiers/data that screen needs.
-                    v.getContext().startActivity(intent);
-                }
-            });
-
-            btnViewOnMap.setOnClickListener(view -> {
-                if (!hasCoordinates) return;
-
-                bottomSheetDialog.dismiss();
-                isNavigating = true;
-
-                if (actionListener != null) {
-                    actionListener.onShowBirdOnMap(bird);
-                }
-            });
-
-            bottomSheetDialog.setContentView(sheetView);
-            bottomSheetDialog.show();
+            bottomSheetDialog.dismiss();
+            isNavigating = true;
+
+            if (actionListener != null) {
+                actionListener.onShowBirdOnMap(bird);
+            }
         });
+
+        bottomSheetDialog.setContentView(sheetView);
+        bottomSheetDialog.show();
     }
 
     private String safeText(String value, String fallback) {
@@ -165,22 +233,28 @@ public class NearbyAdapter extends RecyclerView.Adapter<NearbyAdapter.NearbyView
         return value.trim();
     }
 
-    /**
-     * Returns the current value/state this class needs somewhere else in the app.
-     */
-    @Override
-    public int getItemCount() {
-        return birdList.size();
-    }
-
     /**
      * Applies the latest values to existing UI/data so the screen and backend stay in sync.
      * It prepares or refreshes adapter-backed lists/grids here so the latest model objects are
      * rendered on screen.
      */
     public void updateList(List<Bird> newList) {
-        this.birdList = newList;
-        notifyDataSetChanged();
+        submitList(distinctRows(newList));
+    }
+
+    /**
+     * Every non-null sighting in order. Stable ids must be unique, so only an exact repeat of a
+     * sighting (same species, place and time, e.g. reported by both sources) is dropped.
+     */
+    @NonNull
+    static List<Bird> distinctRows(@Nullable List<Bird> birds) {
+        List<Bird> rows = new ArrayList<>();
+        if (birds == null) return rows;
+        Set<String> seenKeys = new HashSet<>();
+        for (Bird bird : birds) {
+            if (bird != null && seenKeys.add(rowKey(bird))) rows.add(bird);
+        }
+        return rows;
     }
 
     static class NearbyViewHolder extends RecyclerView.ViewHolder {
@@ -11,8 +11,9 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.imageview.ShapeableImageView;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
 
 /**
  * NearbyBirdSearchAdapter: Scrollable bird browser used by the Nearby search button.
@@ -25,9 +26,13 @@ public class NearbyBirdSearchAdapter extends RecyclerView.Adapter<NearbyBirdSear
 
     private final List<Bird> allBirds = new ArrayList<>();
     private final List<Bird> filteredBirds = new ArrayList<>();
+    // Rows by trimmed bird id, so ranked index hits map back to this list's instances.
+    private final Map<String, Bird> birdsById = new HashMap<>();
+    private final BirdSearchIndex<Bird> searchIndex;
     private final OnBirdClickListener onBirdClickListener;
 
-    public NearbyBirdSearchAdapter(@NonNull List<Bird> birds, @NonNull OnBirdClickListener listener) {
+    public NearbyBirdSearchAdapter(@NonNull List<Bird> birds, @NonNull BirdSearchIndex<Bird> searchIndex, @NonNull OnBirdClickListener listener) {
+        this.searchIndex = searchIndex;
         this.onBirdClickListener = listener;
         submitList(birds);
     }
@@ -35,22 +40,30 @@ public class NearbyBirdSearchAdapter extends RecyclerView.Adapter<NearbyBirdSear
     public void submitList(@NonNull List<Bird> birds) {
         allBirds.clear();
         allBirds.addAll(birds);
+        birdsById.clear();
+        for (Bird bird : birds) {
+            String id = bird.getId() == null ? "" : bird.getId().trim();
+            if (id.isEmpty() || birdsById.containsKey(id)) continue;
+            birdsById.put(id, bird);
+            // No-op for birds already indexed under the same names.
+            BirdSearchIndex.putBird(searchIndex, bird);
+        }
         filter("");
     }
 
+    /**
+     * Shows the birds matching {@code query}, best match first. The shared index may know more
+     * species than this list holds; those hits are skipped.
+     */
     public void filter(String query) {
-        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.getDefault());
         filteredBirds.clear();
 
-        if (normalized.isEmpty()) {
+        if (query == null || query.trim().isEmpty()) {
             filteredBirds.addAll(allBirds);
         } else {
-            for (Bird bird : allBirds) {
-                String commonName = safeLower(bird.getCommonName());
-                String scientificName = safeLower(bird.getScientificName());
-                if (commonName.contains(normalized) || scientificName.contains(normalized)) {
-                    filteredBirds.add(bird);
-                }
+            for (Bird hit : searchIndex.search(query)) {
+                Bird bird = birdsById.get(hit.getId().trim());
+                if (bird != null) filteredBirds.add(bird);
             }
         }
 
@@ -88,10 +101,6 @@ public class NearbyBirdSearchAdapter extends RecyclerView.Adapter<NearbyBirdSear
         return filteredBirds.size();
     }
 
-    private String safeLower(String value) {
-        return value == null ? "" : value.toLowerCase(Locale.getDefault());
-    }
-
     private String firstNonBlank(String... values) {
         for (String value : values) {
             if (value != null && !value.trim().isEmpty()) return value.trim();
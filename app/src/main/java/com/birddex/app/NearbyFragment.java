@@ -80,6 +80,7 @@ public class NearbyFragment extends Fragment {
     private TextView txtLocation;
     private RecyclerView rvNearby;
     private NearbyAdapter adapter;
+    private FeedPrefetcher prefetcher;
     private ImageButton btnRefresh, btnSearch, btnMap;
     private ProgressBar pbLoading;
     private TextView tvNoBirds;
@@ -106,6 +107,8 @@ public class NearbyFragment extends Fragment {
     private final List<Bird> latestFirestoreResults = Collections.synchronizedList(new ArrayList<>());
     private final List<Bird> latestEbirdResults = Collections.synchronizedList(new ArrayList<>());
     private final List<Bird> searchableBirds = new CopyOnWriteArrayList<>();
+    // Shared with the heatmap screen; seeded from the cached Georgia list on first use.
+    private BirdSearchIndex<Bird> speciesSearchIndex;
 
     private boolean isNavigating = false;
 
@@ -172,6 +175,9 @@ public class NearbyFragment extends Fragment {
             }
         });
         rvNearby.setAdapter(adapter);
+        // The nearby list arrives in one piece; prefetching only warms upcoming bird images (and
+        // their metadata lookups) ahead of the scroll.
+        prefetcher = FeedPrefetcher.attach(rvNearby, null);
 
         // Set up or query the Firebase layer that supplies/stores this feature's data.
         firebaseManager = new FirebaseManager(requireContext());
@@ -245,6 +251,7 @@ public class NearbyFragment extends Fragment {
         super.onResume();
         isNavigating = false;
         if (adapter != null) adapter.setNavigating(false);
+        if (prefetcher != null) prefetcher.resume();
         if (geoExecutor == null || geoExecutor.isShutdown()) geoExecutor = Executors.newSingleThreadExecutor();
 
         // Force a fresh reload when returning to this screen so newly saved identifications
@@ -263,6 +270,7 @@ public class NearbyFragment extends Fragment {
         super.onPause();
         stopLocationUpdates();
         saveBirdSearchUiState();
+        if (prefetcher != null) prefetcher.pause();
     }
 
     @Override
@@ -270,6 +278,8 @@ public class NearbyFragment extends Fragment {
         super.onDestroyView();
         if (geoExecutor != null) geoExecutor.shutdownNow();
         cleanupBirdSearchDialogRefs();
+        if (prefetcher != null) prefetcher.pause();
+        prefetcher = null;
     }
 
     /**
@@ -280,6 +290,7 @@ public class NearbyFragment extends Fragment {
         List<Bird> cached = cacheManager.getCachedNearbyBirds();
         if (!cached.isEmpty() && cacheManager.hasFreshNearbyBirds(NEARBY_LOCAL_CACHE_MAX_AGE_MS)) {
             adapter.updateList(cached);
+            if (prefetcher != null) prefetcher.reset();
             rvNearby.setVisibility(View.VISIBLE);
             tvNoBirds.setVisibility(View.GONE);
             pbLoading.setVisibility(View.GONE);
@@ -307,6 +318,7 @@ public class NearbyFragment extends Fragment {
             List<Bird> cached = cacheManager.getCachedNearbyBirds();
             if (!cached.isEmpty()) {
                 adapter.updateList(cached);
+                if (prefetcher != null) prefetcher.reset();
                 rvNearby.setVisibility(View.VISIBLE);
                 tvNoBirds.setVisibility(View.GONE);
                 pbLoading.setVisibility(View.GONE);
@@ -600,6 +612,7 @@ public class NearbyFragment extends Fragment {
                         tvNoBirds.setVisibility(View.VISIBLE);
                     } else {
                         adapter.updateList(combined);
+                        if (prefetcher != null) prefetcher.reset();
                         tvNoBirds.setVisibility(View.GONE);
                         rvNearby.setVisibility(View.VISIBLE);
                     }
@@ -673,6 +686,7 @@ public class NearbyFragment extends Fragment {
      * Main logic block for this part of the feature.
      */
     private void primeSearchableBirds() {
+        if (speciesSearchIndex == null) speciesSearchIndex = BirdSearchIndex.species(requireContext());
         if (isSearchDataLoading || !searchableBirds.isEmpty()) return;
         isSearchDataLoading = true;
 
@@ -691,6 +705,7 @@ public class NearbyFragment extends Fragment {
                     loaded.sort((b1, b2) -> b1.getCommonName().compareToIgnoreCase(b2.getCommonName()));
                     searchableBirds.clear();
                     searchableBirds.addAll(loaded);
+                    for (Bird b : loaded) BirdSearchIndex.putBird(speciesSearchIndex, b);
                 }
             } finally {
                 isSearchDataLoading = false;
@@ -709,6 +724,7 @@ public class NearbyFragment extends Fragment {
             }
             searchableBirds.add(bird);
         }
+        if (speciesSearchIndex != null) BirdSearchIndex.putBird(speciesSearchIndex, bird);
     }
 
     /**
@@ -774,7 +790,7 @@ public class NearbyFragment extends Fragment {
         birdSearchLayoutManager = new LinearLayoutManager(requireContext());
         birdSearchRecyclerView.setLayoutManager(birdSearchLayoutManager);
 
-        birdSearchAdapter = new NearbyBirdSearchAdapter(birds, bird -> {
+        birdSearchAdapter = new NearbyBirdSearchAdapter(birds, speciesSearchIndex, bird -> {
             saveBirdSearchUiState();
             reopenBirdSearchOnResume = true;
             birdSearchDialog.dismiss();
@@ -45,6 +45,8 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.android.gms.maps.CameraUpdateFactory;
 import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.OnMapReadyCallback;
@@ -71,6 +73,7 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.MetadataChanges;
 import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.Source;
 import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.Timestamp;
@@ -90,6 +93,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * NearbyHeatmapActivity shows sightings on a map.
@@ -123,8 +127,6 @@ public class NearbyHeatmapActivity extends AppCompatActivity
     private String trackedBirdNameFromNotification;
     private static final String KEY_GRAPHIC_CONTENT = "show_graphic_content";
     private static final int VOTE_NONE = 0;
-    private final Map<String, Boolean> savedPostStateCache = new ConcurrentHashMap<>();
-    private final Set<String> savedPostStateInFlight = ConcurrentHashMap.newKeySet();
     private static final int VOTE_UP = 1;
     private static final int VOTE_DOWN = -1;
     private View legendHeader;
@@ -154,7 +156,6 @@ public class NearbyHeatmapActivity extends AppCompatActivity
     private static final double SEARCH_RADIUS_METERS = 50000d;
     private static final long SIGHTING_RECENCY_MS = 72L * 60 * 60 * 1000;
 
-    private static final double HOTSPOT_BUCKET_SIZE = 0.02d;
     private static final double HOTSPOT_CIRCLE_RADIUS_METERS = 900d;
 
     private static final Gradient USER_UNVERIFIED_GRADIENT = new Gradient(
@@ -192,23 +193,39 @@ public class NearbyHeatmapActivity extends AppCompatActivity
     private boolean showFollowingPinsOnly = false;
 
     private final List<Bird> searchableBirds = new ArrayList<>();
+    private BirdSearchIndex<Bird> speciesSearchIndex;
     private boolean isSearchDataLoading = false;
     private String selectedBirdId;
     private String selectedBirdCommonName;
     private String selectedBirdScientificName;
     private String selectedBirdLabel;
 
-    private TileOverlay userUnverifiedOverlay;
-    private TileOverlay userMixedOverlay;
-    private TileOverlay userVerifiedOverlay;
-    private TileOverlay eBirdOverlay;
+    private static final int HEATMAP_RADIUS = 45;
+    private final HeatLayer eBirdHeatLayer = new HeatLayer(EBIRD_GRADIENT, 0.65, 1f);
+    private final HeatLayer userUnverifiedHeatLayer = new HeatLayer(USER_UNVERIFIED_GRADIENT, 0.70, 2f);
+    private final HeatLayer userMixedHeatLayer = new HeatLayer(USER_MIXED_GRADIENT, 0.70, 2.1f);
+    private final HeatLayer userVerifiedHeatLayer = new HeatLayer(USER_VERIFIED_GRADIENT, 0.72, 2.2f);
 
     private final List<WeightedLatLng> userHeatPoints = new ArrayList<>();
     private final List<WeightedLatLng> eBirdHeatPoints = new ArrayList<>();
     private final List<HotspotSighting> userHotspotSightings = new ArrayList<>();
     private final List<HotspotSighting> eBirdHotspotSightings = new ArrayList<>();
 
-    private final Map<String, HotspotBucket> hotspotBuckets = new LinkedHashMap<>();
+    // Local sighting mirror: the map paints from disk and only syncs deltas from Firestore.
+    private static final long SIGHTING_DELTA_SYNC_MIN_INTERVAL_MS = 30_000L;
+    private static final long SIGHTING_WATERMARK_SKEW_MS = 5L * 60 * 1000;
+    private static final int MAX_TILE_SYNCS_PER_REFRESH = 32;
+    private SightingStore sightingStore;
+    private final Map<String, HotspotSighting> userSightingsById = new LinkedHashMap<>();
+    private final Map<String, HotspotSighting> eBirdSightingsById = new LinkedHashMap<>();
+    private final Set<String> sightingSyncInFlight = new HashSet<>();
+    private final Map<String, Long> lastSightingDeltaSyncAt = new HashMap<>();
+
+    private HotspotGrid<HotspotBucket> hotspotBuckets = new HotspotGrid<>();
+    // Zoomed-out views paint from the server's pre-aggregated tile pyramid instead of raw sightings.
+    private AggregatedHeatmapTileLoader aggregatedTileLoader;
+    @Nullable
+    private AggregatedHeatmapTileLoader.Result aggregatedTiles;
     private final List<Circle> hotspotCircles = new ArrayList<>();
     private final Map<String, HotspotBucket> circleIdToBucket = new HashMap<>();
 
@@ -227,7 +244,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
     private ForumCommentAdapter popupCommentAdapter;
 
     private List<ForumComment> popupCommentList = new ArrayList<>();
-    private final List<ListenerRegistration> hotspotSummaryListeners = new ArrayList<>();
+    private HotspotSummarySubscriptionManager hotspotSummarySubscriptions;
     private final List<ListenerRegistration> bottomSheetListeners = new ArrayList<>();
     private DocumentSnapshot lastPopupCommentVisible;
     private boolean isFetchingPopupComments = false;
@@ -271,6 +288,9 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         db = FirebaseFirestore.getInstance();
         mAuth = FirebaseAuth.getInstance();
         firebaseManager = new FirebaseManager(this);
+        sightingStore = SightingStore.getInstance(this);
+        hotspotSummarySubscriptions = new HotspotSummarySubscriptionManager(firebaseManager, this::onHotspotSummariesChanged);
+        aggregatedTileLoader = new AggregatedHeatmapTileLoader(db);
 
         // Bind or inflate the UI pieces this method needs before it can update the screen.
         findViewById(R.id.btnBack).setOnClickListener(v -> finish());
@@ -354,9 +374,10 @@ public class NearbyHeatmapActivity extends AppCompatActivity
     @Override
     protected void onDestroy() {
         heatmapCameraHandler.removeCallbacks(debouncedHeatmapReloadRunnable);
+        EbirdRefreshScheduler.cancelPending(EbirdRefreshScheduler.REGION_GEORGIA);
         super.onDestroy();
         clearListenerRegistrations(bottomSheetListeners);
-        clearListenerRegistrations(hotspotSummaryListeners);
+        if (hotspotSummarySubscriptions != null) hotspotSummarySubscriptions.release();
     }
 
     private void toggleLegend() {
@@ -471,6 +492,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
     }
 
     private void primeSearchableBirds() {
+        if (speciesSearchIndex == null) speciesSearchIndex = BirdSearchIndex.species(this);
         if (isSearchDataLoading || !searchableBirds.isEmpty()) return;
 
         isSearchDataLoading = true;
@@ -490,6 +512,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
                     loaded.sort((left, right) -> safeBirdLabel(left).compareToIgnoreCase(safeBirdLabel(right)));
                     searchableBirds.clear();
                     searchableBirds.addAll(loaded);
+                    for (Bird bird : loaded) BirdSearchIndex.putBird(speciesSearchIndex, bird);
                 }
             } finally {
                 isSearchDataLoading = false;
@@ -545,7 +568,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
             }
         });
 
-        NearbyBirdSearchAdapter searchAdapter = new NearbyBirdSearchAdapter(birds, bird -> {
+        NearbyBirdSearchAdapter searchAdapter = new NearbyBirdSearchAdapter(birds, speciesSearchIndex, bird -> {
             dialog.dismiss();
             applySelectedBirdFilter(bird);
         });
@@ -838,19 +861,55 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         // Don't update subtitle here to reduce UI flicker if it's already updated by debounced logic
         // tvMapSubtitle.setText("Updating heatmap...");
 
-        // Trigger a background server-side fetch to ensure data isn't stale/empty.
-        firebaseManager.triggerEbirdDataFetch(task -> {
-            if (task.isSuccessful()) {
-                Log.d(TAG, "Background eBird fetch triggered successfully.");
-            } else {
-                Log.e(TAG, "Background eBird fetch trigger failed.", task.getException());
-            }
-        });
+        // Ask the backend to refresh eBird data only if the server copy is stale; camera moves
+        // within the debounce window collapse into one check.
+        EbirdRefreshScheduler.requestRefresh(this, EbirdRefreshScheduler.REGION_GEORGIA);
 
+        if (shouldUseAggregatedTiles()) {
+            loadAggregatedHeatmapTiles(gen);
+            return;
+        }
+
+        aggregatedTiles = null;
         loadUserBirdSightings(gen);
         loadEbirdApiSightings(gen);
     }
 
+    /**
+     * The tile pyramid only carries per-layer weights, so anything that needs individual
+     * sightings (bird filter, focusing a specific sighting or tracked bird) keeps the raw path.
+     */
+    private boolean shouldUseAggregatedTiles() {
+        if (googleMap == null || currentVisibleBounds == null) return false;
+        if (!AggregatedHeatmapTileLoader.supportsCameraZoom(googleMap.getCameraPosition().zoom)) return false;
+        if (hasSelectedBirdFilter() || shouldFocusExactSightingFromIntent) return false;
+
+        boolean hasTrackedBirdTarget = safeTrim(trackedSightingIdFromNotification) != null
+                || safeTrim(trackedBirdIdFromNotification) != null
+                || safeTrim(trackedBirdNameFromNotification) != null;
+        return trackedBirdNotificationHandled || !hasTrackedBirdTarget;
+    }
+
+    private void loadAggregatedHeatmapTiles(int gen) {
+        aggregatedTileLoader.load(currentVisibleBounds, googleMap.getCameraPosition().zoom)
+                .addOnCompleteListener(this, task -> {
+                    if (fetchGeneration != gen || isFinishing() || isDestroyed()) return;
+
+                    if (!task.isSuccessful() || task.getResult() == null) {
+                        Log.w(TAG, "Aggregated heatmap tiles failed; falling back to raw sightings.", task.getException());
+                        aggregatedTiles = null;
+                        loadUserBirdSightings(gen);
+                        loadEbirdApiSightings(gen);
+                        return;
+                    }
+
+                    aggregatedTiles = task.getResult();
+                    hotspotBuckets = new HotspotGrid<>();
+                    hotspotSummarySubscriptions.setVisibleHotspots(Collections.emptyList());
+                    renderHeatmaps();
+                });
+    }
+
     private boolean isHeatmapPinVisible(ForumPost post) {
         if (post == null) return false;
         String status = post.getModerationStatus();
@@ -1205,7 +1264,6 @@ public class NearbyHeatmapActivity extends AppCompatActivity
             startActivity(new Intent(this, PostDetailActivity.class).putExtra(PostDetailActivity.EXTRA_POST_ID, p.getId()));
             dialog.dismiss();
         });
-        primeSavedPostState(p);
         content.findViewById(R.id.btnPostOptions).setOnClickListener(v -> showPostOptions(p, v, dialog));
 
         RecyclerView rv = view.findViewById(R.id.rvComments);
@@ -1328,48 +1386,28 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         isFetchingPopupComments = true;
         // Set up or query the Firebase layer that supplies/stores this feature's data.
         Query q = db.collection("forumThreads").document(postId).collection("comments").orderBy("timestamp", Query.Direction.ASCENDING).limit(POPUP_COMMENTS_PAGE_SIZE);
-        if (lastPopupCommentVisible != null) q = q.startAfter(lastPopupCommentVisible);
+        boolean firstPage = lastPopupCommentVisible == null;
+        if (!firstPage) q = q.startAfter(lastPopupCommentVisible);
         q.get().addOnSuccessListener(val -> {
             if (val != null && !val.isEmpty()) {
                 lastPopupCommentVisible = val.getDocuments().get(val.size() - 1);
+                List<ForumComment> page = new ArrayList<>();
                 for (DocumentSnapshot d : val.getDocuments()) {
-                    ForumComment c = d.toObject(ForumComment.class);
+                    ForumComment c = FirestoreModelMappers.forumComment(d);
                     if (c != null) {
                         c.setId(d.getId());
-                        if (isForumCommentVisible(c)) popupCommentList.add(c);
+                        if (isForumCommentVisible(c)) page.add(c);
                     }
                 }
-                adapter.setComments(new ArrayList<>(popupCommentList));
+                popupCommentList.addAll(page);
+                if (firstPage) adapter.setComments(new ArrayList<>(popupCommentList));
+                else adapter.appendComments(page, null);
                 if (val.size() < POPUP_COMMENTS_PAGE_SIZE) isLastPopupCommentsPage = true;
             } else isLastPopupCommentsPage = true;
             isFetchingPopupComments = false;
         }).addOnFailureListener(e -> isFetchingPopupComments = false);
     }
 
-    private void primeSavedPostState(@Nullable ForumPost post) {
-        if (post == null || post.getId() == null) return;
-
-        FirebaseUser user = mAuth.getCurrentUser();
-        if (user == null) {
-            savedPostStateCache.put(post.getId(), false);
-            return;
-        }
-
-        if (savedPostStateCache.containsKey(post.getId())) return;
-        if (!savedPostStateInFlight.add(post.getId())) return;
-
-        firebaseManager.isForumPostSaved(post.getId(), task -> {
-            savedPostStateInFlight.remove(post.getId());
-            if (isFinishing() || isDestroyed()) return;
-
-            boolean isSaved = task.isSuccessful()
-                    && task.getResult() != null
-                    && task.getResult();
-
-            savedPostStateCache.put(post.getId(), isSaved);
-        });
-    }
-
     /**
      * Takes prepared data and presents it on screen or in a dialog/menu.
      */
@@ -1381,7 +1419,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         PopupMenu popup = new PopupMenu(this, v);
         FirebaseUser user = mAuth.getCurrentUser();
         if (user != null && p.getUserId().equals(user.getUid())) popup.getMenu().add("Delete");
-        boolean isSaved = Boolean.TRUE.equals(savedPostStateCache.get(p.getId()));
+        boolean isSaved = SavedPostStore.get().isSaved(p.getId());
         popup.getMenu().add(isSaved ? "Unsave Post" : "Save Post");
         if (user != null && !p.getUserId().equals(user.getUid())) popup.getMenu().add("Report");
         popup.setOnMenuItemClickListener(item -> {
@@ -1399,7 +1437,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
             @Override
             public void onSuccess() {
                 if (isFinishing() || isDestroyed()) return;
-                savedPostStateCache.put(p.getId(), true);
+                SavedPostStore.get().setSaved(p.getId(), true);
                 MessagePopupHelper.showBrief(NearbyHeatmapActivity.this, "Post saved");
             }
 
@@ -1416,7 +1454,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
             @Override
             public void onSuccess() {
                 if (isFinishing() || isDestroyed()) return;
-                savedPostStateCache.put(p.getId(), false);
+                SavedPostStore.get().setSaved(p.getId(), false);
                 MessagePopupHelper.showBrief(NearbyHeatmapActivity.this, "Post unsaved");
             }
 
@@ -1621,7 +1659,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
             c.setLikeCount(count + 1);
             c.getLikedBy().put(uid, true);
         }
-        if (popupCommentAdapter != null) popupCommentAdapter.notifyDataSetChanged();
+        if (popupCommentAdapter != null) popupCommentAdapter.notifyCommentChanged(c);
 
         firebaseManager.toggleForumCommentLike(activePost.getId(), c.getId(), !liked, new FirebaseManager.ActionListener() {
             @Override
@@ -1635,7 +1673,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
                 c.setLikeCount(count);
                 if (liked) c.getLikedBy().put(uid, true);
                 else c.getLikedBy().remove(uid);
-                if (popupCommentAdapter != null) popupCommentAdapter.notifyDataSetChanged();
+                if (popupCommentAdapter != null) popupCommentAdapter.notifyCommentChanged(c);
                 if (errorMessage != null && !errorMessage.trim().isEmpty()) {
                     MessagePopupHelper.showBrief(NearbyHeatmapActivity.this, errorMessage);
                 }
@@ -1737,123 +1775,245 @@ public class NearbyHeatmapActivity extends AppCompatActivity
             Log.d(TAG, "loadUserBirdSightings: Authenticated as " + user.getUid());
         }
 
-        // Set up or query the Firebase layer that supplies/stores this feature's data.
-        db.collection("userBirdSightings").get(Source.CACHE).addOnSuccessListener(snap -> {
-            if (snap != null && !snap.isEmpty()) processSightings(snap, true, gen);
-            else onCollectionFinished(gen);
-            fetchUserBirdSightingsFromServer(gen);
-        }).addOnFailureListener(e -> {
+        loadViewportSightings(SightingStore.LAYER_USER, gen);
+    }
+
+    private void loadEbirdApiSightings(int gen) {
+        loadViewportSightings(SightingStore.LAYER_EBIRD, gen);
+    }
+
+    /**
+     * Paints one layer straight from the on-device {@link SightingStore} for the current viewport,
+     * then starts a background sync so Firestore is only asked for tiles that were never read (or
+     * are due a full re-read) and for docs changed since the layer watermark.
+     */
+    private void loadViewportSightings(@NonNull String layer, int gen) {
+        readViewportFromStore(layer, byId -> {
+            if (fetchGeneration != gen) return;
+            replaceLayerSightings(SightingStore.LAYER_USER.equals(layer), byId);
             onCollectionFinished(gen);
-            fetchUserBirdSightingsFromServer(gen);
+            syncSightingLayer(layer, currentVisibleBounds);
         });
     }
 
-    private void fetchUserBirdSightingsFromServer(int gen) {
-        if (currentVisibleBounds == null) {
-            db.collection("userBirdSightings").get(Source.SERVER).addOnSuccessListener(snap -> {
-                Log.d(TAG, "fetchUserBirdSightingsFromServer: Success. Found " + (snap != null ? snap.size() : 0) + " sightings.");
-                processSightings(snap, true, gen);
-            }).addOnFailureListener(e -> {
-                Log.e(TAG, "fetchUserBirdSightingsFromServer: Error fetching user sightings", e);
-                onCollectionFinished(gen);
-            });
-            return;
-        }
+    private interface StoredSightingsCallback {
+        void onLoaded(@NonNull Map<String, HotspotSighting> sightingsById);
+    }
 
-        double minLat = currentVisibleBounds.southwest.latitude;
-        double maxLat = currentVisibleBounds.northeast.latitude;
+    private void readViewportFromStore(@NonNull String layer, @NonNull StoredSightingsCallback callback) {
+        LatLngBounds bounds = currentVisibleBounds;
+        boolean user = SightingStore.LAYER_USER.equals(layer);
+        long minSightingTimeMs = System.currentTimeMillis() - SIGHTING_RECENCY_MS;
 
-        db.collection("userBirdSightings")
-                .whereGreaterThanOrEqualTo("latitude", minLat)
-                .whereLessThanOrEqualTo("latitude", maxLat)
-                .get(Source.SERVER)
-                .addOnSuccessListener(snap -> {
-                    Log.d(TAG, "fetchUserBirdSightingsFromServer: Range Success. Found " + (snap != null ? snap.size() : 0) + " sightings.");
-                    processSightings(snap, true, gen);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "fetchUserBirdSightingsFromServer: Error with range query", e);
-                    onCollectionFinished(gen);
-                });
-    }
+        sightingStore.getExecutor().execute(() -> {
+            Map<String, HotspotSighting> byId = new LinkedHashMap<>();
+            if (bounds != null) {
+                List<SightingStore.StoredSighting> rows = sightingStore.queryViewport(
+                        layer,
+                        bounds.southwest.latitude,
+                        bounds.southwest.longitude,
+                        bounds.northeast.latitude,
+                        bounds.northeast.longitude,
+                        minSightingTimeMs);
+                for (SightingStore.StoredSighting row : rows) {
+                    byId.put(row.id, buildHotspotSighting(row, user));
+                }
+            }
 
-    private void loadEbirdApiSightings(int gen) {
-        // Set up or query the Firebase layer that supplies/stores this feature's data.
-        db.collection("eBirdApiSightings").get(Source.CACHE).addOnSuccessListener(snap -> {
-            if (snap != null && !snap.isEmpty()) processSightings(snap, false, gen);
-            else onCollectionFinished(gen);
-            fetchEbirdApiSightingsFromServer(gen);
-        }).addOnFailureListener(e -> {
-            onCollectionFinished(gen);
-            fetchEbirdApiSightingsFromServer(gen);
+            runOnUiThread(() -> {
+                if (isFinishing() || isDestroyed()) return;
+                callback.onLoaded(byId);
+            });
         });
     }
 
-    private void fetchEbirdApiSightingsFromServer(int gen) {
-        if (currentVisibleBounds == null) {
-            db.collection("eBirdApiSightings").get(Source.SERVER)
-                    .addOnSuccessListener(snap -> processSightings(snap, false, gen))
-                    .addOnFailureListener(e -> onCollectionFinished(gen));
-            return;
-        }
+    private void replaceLayerSightings(boolean user, @NonNull Map<String, HotspotSighting> byId) {
+        Map<String, HotspotSighting> target = user ? userSightingsById : eBirdSightingsById;
+        target.clear();
+        target.putAll(byId);
+        publishLayerSightings(user);
+    }
 
-        double minLat = currentVisibleBounds.southwest.latitude;
-        double maxLat = currentVisibleBounds.northeast.latitude;
+    /**
+     * Copies the id-keyed sightings of one layer into the point/sighting lists the bucketing and
+     * rendering code read from.
+     */
+    private void publishLayerSightings(boolean user) {
+        Map<String, HotspotSighting> source = user ? userSightingsById : eBirdSightingsById;
+        List<WeightedLatLng> points = user ? userHeatPoints : eBirdHeatPoints;
+        List<HotspotSighting> sightings = user ? userHotspotSightings : eBirdHotspotSightings;
+        double intensity = user ? 1.8 : 1.0;
 
-        db.collection("eBirdApiSightings")
-                .whereGreaterThanOrEqualTo("location.latitude", minLat)
-                .whereLessThanOrEqualTo("location.latitude", maxLat)
-                .get(Source.SERVER)
-                .addOnSuccessListener(snap -> processSightings(snap, false, gen))
-                .addOnFailureListener(e -> onCollectionFinished(gen));
+        points.clear();
+        sightings.clear();
+        for (HotspotSighting sighting : source.values()) {
+            points.add(new WeightedLatLng(new LatLng(sighting.lat, sighting.lng), intensity));
+            sightings.add(sighting);
+        }
     }
 
     /**
-     * Main logic block for this part of the feature.
-     * Location values are handled here, so this is part of the logic that decides what area/bird
-     * sightings the user sees.
+     * Brings the local store up to date for the visible area. Stale tiles are re-read in full by
+     * geohash range; everything else only costs one "updatedAt > watermark" query, throttled to
+     * {@link #SIGHTING_DELTA_SYNC_MIN_INTERVAL_MS}. Results are written to disk first and then
+     * applied to the in-memory layer as a delta.
      */
-    private void processSightings(com.google.firebase.firestore.QuerySnapshot snap, boolean user, int gen) {
-        if (fetchGeneration != gen) return;
-
-        // Use a background thread for heavy processing
-        new Thread(() -> {
-            List<WeightedLatLng> hl = new ArrayList<>();
-            List<HotspotSighting> hsl = new ArrayList<>();
+    private void syncSightingLayer(@NonNull String layer, @Nullable LatLngBounds bounds) {
+        if (bounds == null || !sightingSyncInFlight.add(layer)) return;
+
+        boolean user = SightingStore.LAYER_USER.equals(layer);
+        String collection = user ? "userBirdSightings" : "eBirdApiSightings";
+        long now = System.currentTimeMillis();
+        Long lastDeltaSyncAt = lastSightingDeltaSyncAt.get(layer);
+        boolean deltaDue = lastDeltaSyncAt == null || now - lastDeltaSyncAt >= SIGHTING_DELTA_SYNC_MIN_INTERVAL_MS;
+        Executor storeExecutor = sightingStore.getExecutor();
+        SightingSyncOutcome outcome = new SightingSyncOutcome();
+
+        Tasks.call(storeExecutor, () -> {
+            sightingStore.pruneOlderThan(now - SIGHTING_RECENCY_MS);
+
+            List<String> staleTiles = new ArrayList<>();
+            for (String tile : GeohashQueryPlanner.listCells(
+                    bounds.southwest.latitude,
+                    bounds.southwest.longitude,
+                    bounds.northeast.latitude,
+                    bounds.northeast.longitude,
+                    SightingStore.SYNC_TILE_PRECISION)) {
+                if (staleTiles.size() >= MAX_TILE_SYNCS_PER_REFRESH) break;
+                if (now - sightingStore.getTileSyncedAt(layer, tile) >= SightingStore.TILE_RESYNC_INTERVAL_MS) {
+                    staleTiles.add(tile);
+                }
+            }
+            outcome.watermark = sightingStore.getWatermark(layer);
+            return staleTiles;
+        }).continueWithTask(planTask -> {
+            List<Task<Void>> steps = new ArrayList<>();
+
+            for (String tile : planTask.getResult()) {
+                steps.add(db.collection(collection)
+                        .orderBy(GeohashQueryPlanner.GEOHASH_FIELD)
+                        .startAt(tile)
+                        .endAt(tile + "~")
+                        .get(Source.SERVER)
+                        .continueWith(storeExecutor, task -> {
+                            applyTileSync(layer, tile, user, task.getResult(), now);
+                            outcome.tilesReloaded = true;
+                            return null;
+                        }));
+            }
+
+            // A never-synced layer gets its watermark from the first tile read, so deltas start next time.
+            if (deltaDue && outcome.watermark > 0L) {
+                steps.add(db.collection(collection)
+                        .whereGreaterThan("updatedAt", new Timestamp(new Date(outcome.watermark)))
+                        .get(Source.SERVER)
+                        .continueWith(storeExecutor, task -> {
+                            applyDeltaSync(layer, user, outcome, task.getResult());
+                            return null;
+                        }));
+            }
+            return Tasks.whenAllComplete(steps);
+        }).addOnCompleteListener(task -> {
+            sightingSyncInFlight.remove(layer);
+            if (deltaDue) lastSightingDeltaSyncAt.put(layer, now);
+            if (isFinishing() || isDestroyed()) return;
 
-            for (DocumentSnapshot d : snap.getDocuments()) {
-                if (fetchGeneration != gen) return;
+            if (!task.isSuccessful()) {
+                Log.e(TAG, "syncSightingLayer: planning failed for " + layer, task.getException());
+                return;
+            }
+            for (Task<?> step : task.getResult()) {
+                if (!step.isSuccessful()) {
+                    Log.e(TAG, "syncSightingLayer: a sync step failed for " + layer, step.getException());
+                }
+            }
+            applySightingSyncOutcome(layer, user, outcome);
+        });
+    }
 
-                Boolean suspicious = d.getBoolean("suspicious");
-                if (suspicious != null && suspicious) continue;
+    /**
+     * Runs on the store executor. Replaces one tile of the layer with a fresh full read.
+     */
+    private void applyTileSync(@NonNull String layer,
+                               @NonNull String tile,
+                               boolean user,
+                               @NonNull QuerySnapshot snap,
+                               long syncStartedAt) {
+        List<SightingStore.StoredSighting> rows = new ArrayList<>();
+        for (DocumentSnapshot d : snap.getDocuments()) {
+            Boolean suspicious = d.getBoolean("suspicious");
+            if (suspicious != null && suspicious) continue;
+            SightingStore.StoredSighting row = buildStoredSighting(d, user);
+            if (row != null) rows.add(row);
+        }
+        sightingStore.applyTileSync(layer, tile, rows, syncStartedAt, syncStartedAt - SIGHTING_WATERMARK_SKEW_MS);
+        Log.d(TAG, "applyTileSync: " + layer + " tile " + tile + " -> " + rows.size() + " sightings.");
+    }
 
-                Double lat = getAnyDouble(d, "location.latitude", "lastSeenLatitudeGeorgia", "latitude", "lat");
-                Double lng = getAnyDouble(d, "location.longitude", "lastSeenLongitudeGeorgia", "longitude", "lng");
+    /**
+     * Runs on the store executor. Persists docs changed since the watermark and remembers them
+     * so the UI thread can patch the in-memory layer without re-reading the viewport.
+     */
+    private void applyDeltaSync(@NonNull String layer,
+                                boolean user,
+                                @NonNull SightingSyncOutcome outcome,
+                                @NonNull QuerySnapshot snap) {
+        long newWatermark = outcome.watermark;
+        for (DocumentSnapshot d : snap.getDocuments()) {
+            Long updatedAt = getAnyTimeMillis(d, "updatedAt");
+            if (updatedAt != null) newWatermark = Math.max(newWatermark, updatedAt);
+
+            Boolean suspicious = d.getBoolean("suspicious");
+            SightingStore.StoredSighting row = buildStoredSighting(d, user);
+            if ((suspicious != null && suspicious) || row == null) {
+                outcome.removedIds.add(d.getId());
+            } else {
+                outcome.upserts.add(row);
+            }
+        }
+        sightingStore.applyDelta(layer, outcome.upserts, outcome.removedIds, newWatermark);
+        Log.d(TAG, "applyDeltaSync: " + layer + " +" + outcome.upserts.size() + " -" + outcome.removedIds.size());
+    }
 
-                if (lat == null || lng == null || shouldBeFiltered(lat, lng, getAnyTimeMillis(d, user ? "timestamp" : "observationDate")))
-                    continue;
+    private void applySightingSyncOutcome(@NonNull String layer, boolean user, @NonNull SightingSyncOutcome outcome) {
+        if (outcome.tilesReloaded) {
+            // Whole tiles changed underneath the viewport; a local re-read is cheaper than diffing.
+            readViewportFromStore(layer, byId -> {
+                replaceLayerSightings(user, byId);
+                rebuildHotspotBuckets(fetchGeneration);
+            });
+            return;
+        }
 
-                hl.add(new WeightedLatLng(new LatLng(lat, lng), user ? 1.8 : 1.0));
-                hsl.add(buildHotspotSighting(d, lat, lng, user));
+        Map<String, HotspotSighting> target = user ? userSightingsById : eBirdSightingsById;
+        boolean changed = false;
+        for (String id : outcome.removedIds) {
+            changed |= target.remove(id) != null;
+        }
+        for (SightingStore.StoredSighting row : outcome.upserts) {
+            if (shouldBeFiltered(row.lat, row.lng, row.sightingTimeMs)) {
+                changed |= target.remove(row.id) != null;
+            } else {
+                target.put(row.id, buildHotspotSighting(row, user));
+                changed = true;
             }
+        }
 
-            // Only switch to UI thread for final map updates
-            runOnUiThread(() -> {
-                if (fetchGeneration != gen) return;
-                if (user) {
-                    userHeatPoints.clear();
-                    userHeatPoints.addAll(hl);
-                    userHotspotSightings.clear();
-                    userHotspotSightings.addAll(hsl);
-                } else {
-                    eBirdHeatPoints.clear();
-                    eBirdHeatPoints.addAll(hl);
-                    eBirdHotspotSightings.clear();
-                    eBirdHotspotSightings.addAll(hsl);
-                }
-                onCollectionFinished(gen);
-            });
-        }).start();
+        if (changed) {
+            publishLayerSightings(user);
+            rebuildHotspotBuckets(fetchGeneration);
+        }
+    }
+
+    /**
+     * Per-sync scratch state. Written on the store executor, read on the UI thread once every
+     * sync step has completed.
+     */
+    private static class SightingSyncOutcome {
+        long watermark;
+        boolean tilesReloaded;
+        final List<SightingStore.StoredSighting> upserts = new ArrayList<>();
+        final List<String> removedIds = new ArrayList<>();
     }
 
     private void onCollectionFinished(int gen) {
@@ -1869,14 +2029,34 @@ public class NearbyHeatmapActivity extends AppCompatActivity
      * Location values are handled here, so this is part of the logic that decides what area/bird
      * sightings the user sees.
      */
-    private HotspotSighting buildHotspotSighting(DocumentSnapshot d, double lat, double lng, boolean user) {
-        String sightingId = d.getId();
+    @Nullable
+    private SightingStore.StoredSighting buildStoredSighting(DocumentSnapshot d, boolean user) {
+        Double lat = getAnyDouble(d, "location.latitude", "lastSeenLatitudeGeorgia", "latitude", "lat");
+        Double lng = getAnyDouble(d, "location.longitude", "lastSeenLongitudeGeorgia", "longitude", "lng");
+        if (lat == null || lng == null) return null;
+
         String birdId = getAnyString(d, "birdId", "speciesCode", "speciesCodeClean", "species_code");
         String userBirdId = getAnyString(d, "userBirdId", "userBirdRefId");
         String commonName = cleanBirdText(getAnyString(d, "commonName", "comName", "birdName"));
         String scientificName = cleanBirdText(getAnyString(d, "scientificName", "sciName"));
         String displayName = firstNonBlank(commonName, scientificName, cleanBirdText(getAnyString(d, "species", "birdId", "speciesCode")), "Unknown bird");
-        return new HotspotSighting(sightingId, lat, lng, birdId, userBirdId, commonName, scientificName, displayName, user);
+        Long updatedAt = getAnyTimeMillis(d, "updatedAt");
+        return new SightingStore.StoredSighting(
+                d.getId(),
+                lat,
+                lng,
+                getAnyTimeMillis(d, user ? "timestamp" : "observationDate"),
+                updatedAt != null ? updatedAt : 0L,
+                birdId,
+                userBirdId,
+                commonName,
+                scientificName,
+                displayName);
+    }
+
+    private HotspotSighting buildHotspotSighting(@NonNull SightingStore.StoredSighting row, boolean user) {
+        return new HotspotSighting(row.id, row.lat, row.lng, row.birdId, row.userBirdId,
+                row.commonName, row.scientificName, row.displayName, user);
     }
 
     /**
@@ -1885,25 +2065,26 @@ public class NearbyHeatmapActivity extends AppCompatActivity
     private void renderHeatmaps() {
         if (googleMap == null || isMapMoving) return;
 
+        if (aggregatedTiles != null) {
+            if (shouldUseAggregatedTiles()) {
+                renderAggregatedHeatmaps(aggregatedTiles);
+            } else {
+                // A bird filter or focus target needs raw sightings again.
+                aggregatedTiles = null;
+                fetchHeatmapData();
+            }
+            return;
+        }
+
         List<WeightedLatLng> displayEBirdHeatPoints = buildDisplayHeatPoints(false);
         List<WeightedLatLng> displayUserUnverifiedHeatPoints = buildUserHeatPointsForStatus(HotspotVerificationState.UNVERIFIED);
         List<WeightedLatLng> displayUserMixedHeatPoints = buildUserHeatPointsForStatus(HotspotVerificationState.MIXED);
         List<WeightedLatLng> displayUserVerifiedHeatPoints = buildUserHeatPointsForStatus(HotspotVerificationState.VERIFIED);
 
-        TileOverlay previousEBirdOverlay = eBirdOverlay;
-        TileOverlay previousUserUnverifiedOverlay = userUnverifiedOverlay;
-        TileOverlay previousUserMixedOverlay = userMixedOverlay;
-        TileOverlay previousUserVerifiedOverlay = userVerifiedOverlay;
-
-        eBirdOverlay = buildHeatOverlay(displayEBirdHeatPoints, EBIRD_GRADIENT, 45, 0.65, 1f);
-        userUnverifiedOverlay = buildHeatOverlay(displayUserUnverifiedHeatPoints, USER_UNVERIFIED_GRADIENT, 45, 0.70, 2f);
-        userMixedOverlay = buildHeatOverlay(displayUserMixedHeatPoints, USER_MIXED_GRADIENT, 45, 0.70, 2.1f);
-        userVerifiedOverlay = buildHeatOverlay(displayUserVerifiedHeatPoints, USER_VERIFIED_GRADIENT, 45, 0.72, 2.2f);
-
-        removeOverlayIfPresent(previousEBirdOverlay);
-        removeOverlayIfPresent(previousUserUnverifiedOverlay);
-        removeOverlayIfPresent(previousUserMixedOverlay);
-        removeOverlayIfPresent(previousUserVerifiedOverlay);
+        updateHeatLayer(eBirdHeatLayer, displayEBirdHeatPoints);
+        updateHeatLayer(userUnverifiedHeatLayer, displayUserUnverifiedHeatPoints);
+        updateHeatLayer(userMixedHeatLayer, displayUserMixedHeatPoints);
+        updateHeatLayer(userVerifiedHeatLayer, displayUserVerifiedHeatPoints);
 
         clearHotspotCircles();
         renderHotspotCircles();
@@ -1957,26 +2138,86 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         }
     }
 
-    @Nullable
-    private TileOverlay buildHeatOverlay(@NonNull List<WeightedLatLng> points,
-                                         @NonNull Gradient gradient,
-                                         int radius,
-                                         double opacity,
-                                         float zIndex) {
-        if (googleMap == null || points.isEmpty()) return null;
-
-        HeatmapTileProvider provider = new HeatmapTileProvider.Builder()
-                .weightedData(points)
-                .radius(radius)
-                .opacity(opacity)
-                .gradient(gradient)
-                .build();
-
-        return googleMap.addTileOverlay(
-                new TileOverlayOptions()
-                        .tileProvider(provider)
-                        .zIndex(zIndex)
-        );
+    /**
+     * Zoomed-out variant of {@link #renderHeatmaps()}: the four layers come straight from the
+     * tile pyramid and there are no individual hotspot circles to draw.
+     */
+    private void renderAggregatedHeatmaps(@NonNull AggregatedHeatmapTileLoader.Result tiles) {
+        updateHeatLayer(eBirdHeatLayer, tiles.getPoints(AggregatedHeatmapTileLoader.LAYER_EBIRD));
+        updateHeatLayer(userUnverifiedHeatLayer, tiles.getPoints(AggregatedHeatmapTileLoader.LAYER_USER_UNVERIFIED));
+        updateHeatLayer(userMixedHeatLayer, tiles.getPoints(AggregatedHeatmapTileLoader.LAYER_USER_MIXED));
+        updateHeatLayer(userVerifiedHeatLayer, tiles.getPoints(AggregatedHeatmapTileLoader.LAYER_USER_VERIFIED));
+
+        clearHotspotCircles();
+
+        int userUnverifiedHotspots = tiles.getVisibleCount(AggregatedHeatmapTileLoader.LAYER_USER_UNVERIFIED);
+        int userMixedHotspots = tiles.getVisibleCount(AggregatedHeatmapTileLoader.LAYER_USER_MIXED);
+        int userVerifiedHotspots = tiles.getVisibleCount(AggregatedHeatmapTileLoader.LAYER_USER_VERIFIED);
+        int eBirdSightings = tiles.getVisibleCount(AggregatedHeatmapTileLoader.LAYER_EBIRD);
+
+        if (userUnverifiedHotspots + userMixedHotspots + userVerifiedHotspots + eBirdSightings == 0) {
+            tvMapSubtitle.setText("No recent sightings found.");
+        } else {
+            tvMapSubtitle.setText(
+                    "Heatmap: "
+                            + userUnverifiedHotspots
+                            + " unverified, "
+                            + userMixedHotspots
+                            + " mixed, "
+                            + userVerifiedHotspots
+                            + " verified user hotspots, "
+                            + eBirdSightings
+                            + " verified"
+            );
+        }
+    }
+
+    /**
+     * Pushes new points into one heat layer, but only when they differ from what the layer is
+     * already drawing. Unchanged layers keep their overlay and tile cache; changed layers reuse
+     * their provider and just clear cached tiles instead of recreating the overlay.
+     */
+    private void updateHeatLayer(@NonNull HeatLayer layer, @NonNull List<WeightedLatLng> points) {
+        if (googleMap == null) return;
+
+        long signature = computeHeatSignature(points);
+        if (layer.overlay != null && layer.renderedSignature == signature) return;
+
+        if (points.isEmpty()) {
+            removeOverlayIfPresent(layer.overlay);
+            layer.overlay = null;
+            layer.provider = null;
+            layer.renderedSignature = signature;
+            return;
+        }
+
+        if (layer.provider != null && layer.overlay != null) {
+            layer.provider.setWeightedData(points);
+            layer.overlay.clearTileCache();
+        } else {
+            layer.provider = new HeatmapTileProvider.Builder()
+                    .weightedData(points)
+                    .radius(HEATMAP_RADIUS)
+                    .opacity(layer.opacity)
+                    .gradient(layer.gradient)
+                    .build();
+            layer.overlay = googleMap.addTileOverlay(
+                    new TileOverlayOptions()
+                            .tileProvider(layer.provider)
+                            .zIndex(layer.zIndex)
+            );
+        }
+        layer.renderedSignature = signature;
+    }
+
+    private long computeHeatSignature(@NonNull List<WeightedLatLng> points) {
+        long signature = points.size();
+        for (WeightedLatLng point : points) {
+            signature = 31L * signature + Double.doubleToLongBits(point.getPoint().x);
+            signature = 31L * signature + Double.doubleToLongBits(point.getPoint().y);
+            signature = 31L * signature + Double.doubleToLongBits(point.getIntensity());
+        }
+        return signature;
     }
 
     private void removeOverlayIfPresent(@Nullable TileOverlay overlay) {
@@ -2419,47 +2660,8 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         return trimmed.isEmpty() ? null : trimmed;
     }
 
-    /**
-     * Main logic block for this part of the feature.
-     * Location values are handled here, so this is part of the logic that decides what area/bird
-     * sightings the user sees.
-     */
-    private void addToHotspotBucket(@NonNull HotspotSighting sighting, boolean user) {
-        double blat = (Math.round(sighting.lat / HOTSPOT_BUCKET_SIZE) * HOTSPOT_BUCKET_SIZE);
-        double blng = (Math.round(sighting.lng / HOTSPOT_BUCKET_SIZE) * HOTSPOT_BUCKET_SIZE);
-        String key = String.format(Locale.US, "%.4f,%.4f", blat, blng);
-        HotspotBucket b = hotspotBuckets.get(key);
-        if (b == null) {
-            HotspotBucket newB = new HotspotBucket();
-            hotspotBuckets.put(key, newB);
-            hotspotSummaryListeners.add(firebaseManager.listenToHotspotSummary(key, (snapshot, e) -> {
-                if (isFinishing() || isDestroyed()) return;
-                if (e != null || snapshot == null) return;
-
-                Map<String, Object> birds = (Map<String, Object>) snapshot.get("birds");
-                if (birds != null) {
-                    for (Map.Entry<String, Object> entry : birds.entrySet()) {
-                        String birdKey = entry.getKey();
-                        Map<String, Object> birdData = (Map<String, Object>) entry.getValue();
-                        if (birdData != null) {
-                            Long upVoteCount = (Long) birdData.get("upVoteCount");
-                            Long downVoteCount = (Long) birdData.get("downVoteCount");
-                            Boolean isVerified = (Boolean) birdData.get("isVerified");
-                            newB.verifiedCounts.put(birdKey, upVoteCount != null ? upVoteCount.intValue() : 0);
-                            newB.downVoteCounts.put(birdKey, downVoteCount != null ? downVoteCount.intValue() : 0);
-                            newB.isVerifiedMap.put(birdKey, isVerified != null && isVerified);
-                        }
-                    }
-                }
-                renderHeatmaps();
-            }));
-            b = newB;
-        }
-        b.add(sighting, user);
-    }
     private void rebuildHotspotBuckets(int gen) {
-        Map<String, HotspotBucket> newBuckets = new LinkedHashMap<>();
-        List<ListenerRegistration> newListeners = new ArrayList<>();
+        HotspotGrid<HotspotBucket> newBuckets = new HotspotGrid<>();
 
         new Thread(() -> {
             // We use local copies of the sightings lists to avoid ConcurrentModificationException
@@ -2476,22 +2678,25 @@ public class NearbyHeatmapActivity extends AppCompatActivity
                 addToTempBuckets(newBuckets, sighting, false);
             }
 
-            // Batch listener attachment on UI thread
+            // Swap buckets and re-point the shared summary subscriptions on the UI thread
             runOnUiThread(() -> {
                 if (fetchGeneration != gen || isFinishing() || isDestroyed() || isMapMoving) return;
 
-                clearListenerRegistrations(hotspotSummaryListeners);
-                hotspotBuckets.clear();
-                hotspotBuckets.putAll(newBuckets);
+                hotspotBuckets = newBuckets;
 
+                // Only user hotspots carry vote summaries. Ids that stayed on screen keep their
+                // existing listener, so their cached summary can be applied straight away.
+                List<String> summaryIds = new ArrayList<>();
                 for (HotspotBucket bucket : hotspotBuckets.values()) {
-                    if (fetchGeneration != gen || isMapMoving) return;
-                    attachHotspotSummaryListener(hotspotSummaryListeners, bucket);
+                    if (bucket.userCount <= 0) continue;
+                    String hotspotId = bucket.getHotspotId();
+                    summaryIds.add(hotspotId);
+                    DocumentSnapshot cached = hotspotSummarySubscriptions.getSummary(hotspotId);
+                    if (cached != null) applyHotspotSummaryToBucket(bucket, cached);
                 }
+                hotspotSummarySubscriptions.setVisibleHotspots(summaryIds);
 
-                if (fetchGeneration == gen && !isMapMoving) {
-                    renderHeatmaps();
-                }
+                renderHeatmaps();
             });
         }).start();
     }
@@ -2503,58 +2708,52 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         listeners.clear();
     }
 
-    private String buildHotspotIdForBucket(@NonNull HotspotBucket bucket) {
-        double hotspotLat = Math.round(bucket.getCenterLat() / HOTSPOT_BUCKET_SIZE) * HOTSPOT_BUCKET_SIZE;
-        double hotspotLng = Math.round(bucket.getCenterLng() / HOTSPOT_BUCKET_SIZE) * HOTSPOT_BUCKET_SIZE;
-        return String.format(Locale.US, "%.4f,%.4f", hotspotLat, hotspotLng);
-    }
-
-    private void attachHotspotSummaryListener(@NonNull List<ListenerRegistration> listenerStore,
-                                              @NonNull HotspotBucket bucket) {
-        String hotspotId = buildHotspotIdForBucket(bucket);
-        ListenerRegistration registration = firebaseManager.listenToHotspotSummary(hotspotId, (snapshot, e) -> {
-            if (isFinishing() || isDestroyed()) return;
-            if (e != null || snapshot == null) return;
+    /**
+     * Called at most once per frame with every hotspot whose summary doc changed, so a burst of
+     * snapshots across many batches only re-renders the heatmap once.
+     */
+    private void onHotspotSummariesChanged(@NonNull Set<String> changedHotspotIds) {
+        if (isFinishing() || isDestroyed()) return;
 
-            Map<String, Object> birds = (Map<String, Object>) snapshot.get("birds");
-            bucket.verifiedCounts.clear();
-            bucket.downVoteCounts.clear();
-            bucket.isVerifiedMap.clear();
-
-            if (birds != null) {
-                for (Map.Entry<String, Object> entry : birds.entrySet()) {
-                    String birdKey = entry.getKey();
-                    Map<String, Object> birdData = (Map<String, Object>) entry.getValue();
-                    if (birdData != null) {
-                        Long upVoteCount = (Long) birdData.get("upVoteCount");
-                        Long downVoteCount = (Long) birdData.get("downVoteCount");
-                        Boolean isVerified = (Boolean) birdData.get("isVerified");
-                        bucket.verifiedCounts.put(birdKey, upVoteCount != null ? upVoteCount.intValue() : 0);
-                        bucket.downVoteCounts.put(birdKey, downVoteCount != null ? downVoteCount.intValue() : 0);
-                        bucket.isVerifiedMap.put(birdKey, isVerified != null && isVerified);
-                    }
-                }
-            }
+        boolean changed = false;
+        for (HotspotBucket bucket : hotspotBuckets.values()) {
+            if (bucket.userCount <= 0) continue;
+            String hotspotId = bucket.getHotspotId();
+            if (!changedHotspotIds.contains(hotspotId)) continue;
+            applyHotspotSummaryToBucket(bucket, hotspotSummarySubscriptions.getSummary(hotspotId));
+            changed = true;
+        }
 
+        if (changed && !isMapMoving) {
             renderHeatmaps();
-        });
-
-        if (registration != null) {
-            listenerStore.add(registration);
         }
     }
 
-    private void addToTempBuckets(Map<String, HotspotBucket> buckets, HotspotSighting sighting, boolean user) {
-        double bucketLat = Math.floor(sighting.lat / HOTSPOT_BUCKET_SIZE) * HOTSPOT_BUCKET_SIZE;
-        double bucketLng = Math.floor(sighting.lng / HOTSPOT_BUCKET_SIZE) * HOTSPOT_BUCKET_SIZE;
-        String key = String.format(java.util.Locale.US, "%.4f_%.4f", bucketLat, bucketLng);
+    private void applyHotspotSummaryToBucket(@NonNull HotspotBucket bucket, @Nullable DocumentSnapshot snapshot) {
+        bucket.verifiedCounts.clear();
+        bucket.downVoteCounts.clear();
+        bucket.isVerifiedMap.clear();
+        if (snapshot == null) return;
 
-        HotspotBucket b = buckets.get(key);
-        if (b == null) {
-            b = new HotspotBucket();
-            buckets.put(key, b);
+        Map<String, Object> birds = (Map<String, Object>) snapshot.get("birds");
+        if (birds == null) return;
+
+        for (Map.Entry<String, Object> entry : birds.entrySet()) {
+            String birdKey = entry.getKey();
+            Map<String, Object> birdData = (Map<String, Object>) entry.getValue();
+            if (birdData != null) {
+                Long upVoteCount = (Long) birdData.get("upVoteCount");
+                Long downVoteCount = (Long) birdData.get("downVoteCount");
+                Boolean isVerified = (Boolean) birdData.get("isVerified");
+                bucket.verifiedCounts.put(birdKey, upVoteCount != null ? upVoteCount.intValue() : 0);
+                bucket.downVoteCounts.put(birdKey, downVoteCount != null ? downVoteCount.intValue() : 0);
+                bucket.isVerifiedMap.put(birdKey, isVerified != null && isVerified);
+            }
         }
-        b.add(sighting, user);
+    }
+
+    private void addToTempBuckets(HotspotGrid<HotspotBucket> buckets, HotspotSighting sighting, boolean user) {
+        buckets.getOrCreate(HotspotGrid.cellKey(sighting.lat, sighting.lng), HotspotBucket::new).add(sighting, user);
     }
 
     private String cleanBirdText(String value) {
@@ -2713,7 +2912,7 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         tvThumbUpCount.setText(String.valueOf(getBirdUpVoteCount(bucket, item)));
         tvThumbDownCount.setText(String.valueOf(getBirdDownVoteCount(bucket, item)));
 
-        String hotspotId = buildHotspotIdForBucket(bucket);
+        String hotspotId = bucket.getHotspotId();
         String birdKey = buildHotspotBirdKey(item.birdId, item.commonName, item.userBirdId);
 
         bottomSheetListeners.add(firebaseManager.listenToMyHotspotBirdVote(hotspotId, birdKey, (snapshot, e) -> {
@@ -2882,8 +3081,10 @@ public class NearbyHeatmapActivity extends AppCompatActivity
 
     private boolean shouldBeFiltered(double lat, double lng, Long time) {
         if (time != null && (System.currentTimeMillis() - time > SIGHTING_RECENCY_MS)) return true;
-        if (currentVisibleBounds != null)
-            return !currentVisibleBounds.contains(new LatLng(lat, lng));
+        LatLngBounds bounds = currentVisibleBounds;
+        if (bounds != null)
+            return !HotspotGrid.boundsContain(bounds.southwest.latitude, bounds.southwest.longitude,
+                    bounds.northeast.latitude, bounds.northeast.longitude, lat, lng);
         return false;
     }
 
@@ -2994,7 +3195,28 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         }
     }
 
+    /**
+     * One heatmap overlay plus a signature of the points it currently draws, so renderHeatmaps()
+     * can leave layers whose data did not change alone.
+     */
+    private static class HeatLayer {
+        final Gradient gradient;
+        final double opacity;
+        final float zIndex;
+        TileOverlay overlay;
+        HeatmapTileProvider provider;
+        long renderedSignature;
+
+        HeatLayer(Gradient gradient, double opacity, float zIndex) {
+            this.gradient = gradient;
+            this.opacity = opacity;
+            this.zIndex = zIndex;
+        }
+    }
+
     private static class HotspotBucket {
+        final long cellKey;
+        private String hotspotId;
         double latSum = 0, lngSum = 0;
         int pointCount = 0, userCount = 0, eBirdCount = 0;
         final Map<String, BirdSheetRow> birdRows = new LinkedHashMap<>();
@@ -3004,6 +3226,20 @@ public class NearbyHeatmapActivity extends AppCompatActivity
         final Map<String, Integer> downVoteCounts = new HashMap<>();
         final Map<String, Boolean> isVerifiedMap = new HashMap<>();
 
+        HotspotBucket(long cellKey) {
+            this.cellKey = cellKey;
+        }
+
+        /**
+         * Firestore hotspot id of this bucket's grid cell, built on first use only.
+         */
+        String getHotspotId() {
+            if (hotspotId == null) {
+                hotspotId = HotspotGrid.hotspotId(cellKey);
+            }
+            return hotspotId;
+        }
+
         void add(HotspotSighting sighting, boolean user) {
             latSum += sighting.lat;
             lngSum += sighting.lng;
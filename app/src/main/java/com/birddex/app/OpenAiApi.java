@@ -72,7 +72,14 @@ public class OpenAiApi {
         void onFailure(@Nullable Exception e, @NonNull String message);
     }
 
-    public void identifyBirdFromImage(String base64Image,
+    /**
+     * Runs identifyBird against an image that was already uploaded to Storage.
+     *
+     * @param imagePath Storage object path under identificationImages/{uid}/; the backend reads
+     *                  the bytes from there instead of receiving an inline Base64 payload.
+     * @param imageUrl  download URL of the same object, kept on the identification log.
+     */
+    public void identifyBirdFromImage(String imagePath,
                                       String imageUrl,
                                       @Nullable Double latitude,
                                       @Nullable Double longitude,
@@ -82,7 +89,7 @@ public class OpenAiApi {
                                       @Nullable CaptureGuardHelper.GuardReport captureGuardReport,
                                       IdentifyBirdCallback callback) {
         Map<String, Object> data = new HashMap<>();
-        data.put("image", base64Image);
+        data.put("imagePath", imagePath);
         data.put("imageUrl", imageUrl);
         String safeRequestId = (requestId != null && !requestId.trim().isEmpty())
                 ? requestId
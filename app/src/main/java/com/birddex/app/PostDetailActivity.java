@@ -20,6 +20,7 @@ import android.text.TextWatcher;
 import android.view.WindowManager;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.graphics.Insets;
@@ -89,8 +90,6 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
     private boolean shouldAutoScrollToNewestComment = false;
     private int commentFetchGeneration = 0;
     private boolean postLikeInFlight = false;
-    private final Map<String, Boolean> savedPostStateCache = new HashMap<>();
-    private final Map<String, Boolean> savedPostStateInFlight = new HashMap<>();
 
     private ForumComment replyingToComment = null;
     private boolean hasMarkedAsViewed = false;
@@ -433,7 +432,6 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
         FirebaseUser user = mAuth.getCurrentUser();
         ((ImageView) v.findViewById(R.id.ivLikeIcon)).setImageResource((user != null && post.getLikedBy() != null && post.getLikedBy().containsKey(user.getUid())) ? R.drawable.ic_favorite : R.drawable.ic_favorite_border);
         v.findViewById(R.id.btnLike).setOnClickListener(view -> toggleLike());
-        primeSavedPostState(post);
         v.findViewById(R.id.btnPostOptions).setOnClickListener(view -> showPostOptions(post, view));
 
         v.findViewById(R.id.ivPostUserProfilePicture).setOnClickListener(view -> openProfile(post.getUserId()));
@@ -458,32 +456,6 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
         startActivity(ForumImageViewerActivity.createIntent(this, imageUrl));
     }
 
-    private void primeSavedPostState(@NonNull ForumPost post) {
-        if (post.getId() == null) return;
-
-        FirebaseUser user = mAuth.getCurrentUser();
-        if (user == null) {
-            savedPostStateCache.put(post.getId(), false);
-            return;
-        }
-
-        if (savedPostStateCache.containsKey(post.getId())) return;
-        if (Boolean.TRUE.equals(savedPostStateInFlight.get(post.getId()))) return;
-
-        savedPostStateInFlight.put(post.getId(), true);
-
-        firebaseManager.isForumPostSaved(post.getId(), task -> {
-            savedPostStateInFlight.remove(post.getId());
-            if (isFinishing() || isDestroyed()) return;
-
-            boolean isSaved = task.isSuccessful()
-                    && task.getResult() != null
-                    && task.getResult();
-
-            savedPostStateCache.put(post.getId(), isSaved);
-        });
-    }
-
     /**
      * Takes prepared data and presents it on screen or in a dialog/menu.
      */
@@ -498,7 +470,7 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
             if (post.getTimestamp() != null && (System.currentTimeMillis() - post.getTimestamp().toDate().getTime() <= EDIT_WINDOW_MS)) popup.getMenu().add("Edit");
             popup.getMenu().add("Delete");
         }
-        boolean isSaved = Boolean.TRUE.equals(savedPostStateCache.get(post.getId()));
+        boolean isSaved = SavedPostStore.get().isSaved(post.getId());
         popup.getMenu().add(isSaved ? "Unsave Post" : "Save Post");
         if (user != null && !post.getUserId().equals(user.getUid())) popup.getMenu().add("Report");
         popup.setOnMenuItemClickListener(item -> {
@@ -517,7 +489,7 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
             @Override
             public void onSuccess() {
                 if (isFinishing() || isDestroyed()) return;
-                savedPostStateCache.put(post.getId(), true);
+                SavedPostStore.get().setSaved(post.getId(), true);
                 MessagePopupHelper.showBrief(PostDetailActivity.this, "Post saved");
             }
 
@@ -534,7 +506,7 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
             @Override
             public void onSuccess() {
                 if (isFinishing() || isDestroyed()) return;
-                savedPostStateCache.put(post.getId(), false);
+                SavedPostStore.get().setSaved(post.getId(), false);
                 MessagePopupHelper.showBrief(PostDetailActivity.this, "Post unsaved");
             }
 
@@ -780,7 +752,7 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
             firstPageQuery.get(Source.CACHE).addOnSuccessListener(val -> {
                 if (isFinishing() || isDestroyed() || myGen != commentFetchGeneration) return;
                 if (val != null && !val.isEmpty()) {
-                    applyCommentsSnapshot(val, false, myGen);
+                    applyCommentsSnapshot(val, false, myGen, null);
                 }
                 fetchCommentsFirstPageFromServer(firstPageQuery, myGen);
             }).addOnFailureListener(e -> fetchCommentsFirstPageFromServer(firstPageQuery, myGen));
@@ -790,8 +762,7 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
         buildCommentsBaseQuery().startAfter(lastCommentVisible).get(Source.SERVER)
                 .addOnSuccessListener(val -> {
                     if (isFinishing() || isDestroyed() || myGen != commentFetchGeneration) return;
-                    appendCommentsSnapshot(val, myGen);
-                    finishCommentsFetch(myGen);
+                    appendCommentsSnapshot(val, myGen, () -> finishCommentsFetch(myGen));
                 })
                 .addOnFailureListener(e -> finishCommentsFetch(myGen));
     }
@@ -807,12 +778,15 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
     private void fetchCommentsFirstPageFromServer(Query firstPageQuery, int generation) {
         firstPageQuery.get(Source.SERVER).addOnSuccessListener(val -> {
             if (isFinishing() || isDestroyed() || generation != commentFetchGeneration) return;
-            applyCommentsSnapshot(val, true, generation);
-            finishCommentsFetch(generation);
+            applyCommentsSnapshot(val, true, generation, () -> finishCommentsFetch(generation));
         }).addOnFailureListener(e -> finishCommentsFetch(generation));
     }
 
-    private void applyCommentsSnapshot(com.google.firebase.firestore.QuerySnapshot value, boolean fromServer, int generation) {
+    /**
+     * @param onShown runs once the adapter has committed the new comments, so scrolling code sees
+     *                the right positions
+     */
+    private void applyCommentsSnapshot(com.google.firebase.firestore.QuerySnapshot value, boolean fromServer, int generation, @Nullable Runnable onShown) {
         if (isFinishing() || isDestroyed() || generation != commentFetchGeneration) return;
         if (fromServer || (value != null && !value.isEmpty())) {
             commentList.clear();
@@ -823,7 +797,7 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
         if (value != null && !value.isEmpty()) {
             lastCommentVisible = value.getDocuments().get(value.size() - 1);
             for (DocumentSnapshot d : value.getDocuments()) {
-                ForumComment c = d.toObject(ForumComment.class);
+                ForumComment c = FirestoreModelMappers.forumComment(d);
                 if (c != null) {
                     c.setId(d.getId());
                     if (isForumCommentVisible(c)) commentList.add(c);
@@ -834,25 +808,28 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
             isLastCommentsPage = true;
         }
 
-        adapter.setComments(new ArrayList<>(commentList));
+        adapter.setComments(new ArrayList<>(commentList), onShown);
     }
 
-    private void appendCommentsSnapshot(com.google.firebase.firestore.QuerySnapshot value, int generation) {
+    private void appendCommentsSnapshot(com.google.firebase.firestore.QuerySnapshot value, int generation, @Nullable Runnable onShown) {
         if (isFinishing() || isDestroyed() || generation != commentFetchGeneration) return;
+        List<ForumComment> page = new ArrayList<>();
         if (value != null && !value.isEmpty()) {
             lastCommentVisible = value.getDocuments().get(value.size() - 1);
             for (DocumentSnapshot d : value.getDocuments()) {
-                ForumComment c = d.toObject(ForumComment.class);
+                ForumComment c = FirestoreModelMappers.forumComment(d);
                 if (c != null) {
                     c.setId(d.getId());
-                    if (isForumCommentVisible(c)) commentList.add(c);
+                    if (isForumCommentVisible(c)) page.add(c);
                 }
             }
             if (value.size() < COMMENTS_PAGE_SIZE) isLastCommentsPage = true;
         } else {
             isLastCommentsPage = true;
         }
-        adapter.setComments(new ArrayList<>(commentList));
+        commentList.addAll(page);
+        // Only the new page is indexed and inserted; earlier threads are not rebuilt.
+        adapter.appendComments(page, onShown);
     }
 
     private void finishCommentsFetch(int generation) {
@@ -901,22 +878,23 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
         });
     }
 
-    private int findCommentPositionById(String commentId) {
-        if (commentId == null || commentId.trim().isEmpty()) return -1;
-        for (int i = 0; i < commentList.size(); i++) {
-            ForumComment c = commentList.get(i);
-            if (c != null && commentId.equals(c.getId())) {
-                return i;
-            }
+    private void findCommentPositionById(String commentId, @NonNull ForumCommentAdapter.OnCommentPositionListener onPosition) {
+        if (commentId == null || commentId.trim().isEmpty() || adapter == null) {
+            onPosition.onCommentPosition(-1);
+            return;
         }
-        return -1;
+        // Adapter rows are threads plus visible replies, not commentList order; a collapsed reply
+        // gets its thread expanded so there is a row to scroll to.
+        adapter.revealComment(commentId, onPosition);
     }
 
     private void scrollToCommentById(String commentId) {
         if (isFinishing() || isDestroyed()) return;
+        findCommentPositionById(commentId, this::scrollToCommentPosition);
+    }
 
-        final int position = findCommentPositionById(commentId);
-        if (position < 0) return;
+    private void scrollToCommentPosition(int position) {
+        if (isFinishing() || isDestroyed() || position < 0) return;
 
         Runnable pass = () -> {
             if (isFinishing() || isDestroyed()) return;
@@ -1091,7 +1069,7 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
         int count = comment.getLikeCount();
         if (liked) { comment.setLikeCount(Math.max(0, count - 1)); comment.getLikedBy().remove(uid); }
         else { comment.setLikeCount(count + 1); comment.getLikedBy().put(uid, true); }
-        adapter.notifyDataSetChanged();
+        adapter.notifyCommentChanged(comment);
 
         firebaseManager.toggleForumCommentLike(postId, comment.getId(), !liked, new FirebaseManager.ActionListener() {
             @Override
@@ -1102,7 +1080,7 @@ public class PostDetailActivity extends AppCompatActivity implements ForumCommen
             @Override
             public void onFailure(String errorMessage) {
                 commentLikeInFlight.remove(comment.getId());
-                comment.setLikeCount(count); if (liked) comment.getLikedBy().put(uid, true); else comment.getLikedBy().remove(uid); adapter.notifyDataSetChanged();
+                comment.setLikeCount(count); if (liked) comment.getLikedBy().put(uid, true); else comment.getLikedBy().remove(uid); adapter.notifyCommentChanged(comment);
                 if (errorMessage != null && !errorMessage.trim().isEmpty()) {
                     MessagePopupHelper.showBrief(PostDetailActivity.this, errorMessage);
                 }
@@ -48,7 +48,6 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -87,6 +86,7 @@ public class ProfileFragment extends Fragment implements
     private FavoritesAdapter favoritesAdapter;
     private TrackedBirdAdapter trackedBirdsAdapter;
     private ForumPostAdapter postsAdapter;
+    private FeedPrefetcher postsPrefetcher;
 
     private List<ForumPost> postList = new ArrayList<>();
     private final List<ForumPost> savedPostList = new ArrayList<>();
@@ -101,8 +101,6 @@ public class ProfileFragment extends Fragment implements
     private String currentUsername, currentBio, currentProfilePictureUrl;
     private boolean isCurrentUser = true;
     private boolean isFollowing = false;
-    private final Map<String, Boolean> savedPostStateCache = new ConcurrentHashMap<>();
-    private final Set<String> savedPostStateInFlight = ConcurrentHashMap.newKeySet();
 
     private final List<String> favoriteCardKeys = new ArrayList<>();
     private final List<CollectionSlot> allCollectionSlots = new ArrayList<>();
@@ -208,6 +206,7 @@ public class ProfileFragment extends Fragment implements
     public void onResume() {
         super.onResume();
         isNavigating = false;
+        if (postsPrefetcher != null) postsPrefetcher.resume();
         if (profileListener == null) fetchUserProfile();
 
         // Keep tab content in place when returning from child screens. Only fetch if we
@@ -248,18 +247,12 @@ public class ProfileFragment extends Fragment implements
         postsAdapter = new ForumPostAdapter(this);
         rvProfilePosts.setLayoutManager(new LinearLayoutManager(requireContext()));
         rvProfilePosts.setAdapter(postsAdapter);
-        rvProfilePosts.addOnScrollListener(new RecyclerView.OnScrollListener() {
-            @Override
-            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
-                if (dy <= 0) return;
-                LinearLayoutManager lm = (LinearLayoutManager) rvProfilePosts.getLayoutManager();
-                if (lm == null || lm.getChildCount() + lm.findFirstVisibleItemPosition() < lm.getItemCount()) return;
-
-                if (isSavedTabSelected()) {
-                    if (!isFetchingSaved && !isSavedLastPage) fetchSavedPosts();
-                } else if (!isFetching && !isLastPage) {
-                    fetchPosts();
-                }
+        // The posts and saved tabs share this list; page whichever one is showing, ahead of the end.
+        postsPrefetcher = FeedPrefetcher.attach(rvProfilePosts, () -> {
+            if (isSavedTabSelected()) {
+                if (!isFetchingSaved && !isSavedLastPage) fetchSavedPosts();
+            } else if (!isFetching && !isLastPage) {
+                fetchPosts();
             }
         });
     }
@@ -302,6 +295,8 @@ public class ProfileFragment extends Fragment implements
         rvTrackedBirds.setVisibility(View.GONE);
         rvProfilePosts.setVisibility(View.GONE);
         tvProfileTabEmpty.setVisibility(View.GONE);
+        // The shared posts list is about to show a different tab's rows.
+        if (postsPrefetcher != null) postsPrefetcher.reset();
 
         if (position == 0) {
             rvFavoriteCards.setVisibility(View.VISIBLE);
@@ -320,7 +315,6 @@ public class ProfileFragment extends Fragment implements
         if (isCurrentUser && position == getSavedTabPosition()) {
             if (savedPostList.isEmpty() && !isFetchingSaved && !isSavedLastPage) fetchSavedPosts();
             postsAdapter.setPosts(new ArrayList<>(savedPostList));
-            primeSavedPostStates(savedPostList);
             rvProfilePosts.setVisibility(savedPostList.isEmpty() ? View.GONE : View.VISIBLE);
             tvProfileTabEmpty.setVisibility(savedPostList.isEmpty() ? View.VISIBLE : View.GONE);
             if (savedPostList.isEmpty()) tvProfileTabEmpty.setText("No saved posts yet.");
@@ -330,7 +324,6 @@ public class ProfileFragment extends Fragment implements
 
         if (postList.isEmpty() && !isFetching && !isLastPage) fetchPosts();
         postsAdapter.setPosts(new ArrayList<>(postList));
-        primeSavedPostStates(postList);
         rvProfilePosts.setVisibility(postList.isEmpty() ? View.GONE : View.VISIBLE);
         tvProfileTabEmpty.setVisibility(postList.isEmpty() ? View.VISIBLE : View.GONE);
         if (postList.isEmpty()) tvProfileTabEmpty.setText("No posts yet.");
@@ -517,7 +510,7 @@ public class ProfileFragment extends Fragment implements
      * photos/cards/posts usually traces back to this code path.
      */
     private void handleUserSnapshot(DocumentSnapshot doc) {
-        User user = doc.toObject(User.class);
+        User user = FirestoreModelMappers.user(doc);
         if (user == null) return;
         Log.d(TAG, "handleUserSnapshot — bio: " + user.getBio());
         currentUsername = user.getUsername();
@@ -529,8 +522,12 @@ public class ProfileFragment extends Fragment implements
         tvFollowerCount.setText(String.valueOf(user.getFollowerCount()));
         tvFollowingCount.setText(String.valueOf(user.getFollowingCount()));
         // Load the image asynchronously so the UI can show remote/local media without blocking the main thread.
+        // Prefer the server thumbnail that covers the avatar over the full-size upload.
         Glide.with(this)
-                .load((currentProfilePictureUrl != null && !currentProfilePictureUrl.isEmpty()) ? currentProfilePictureUrl : null)
+                .load((currentProfilePictureUrl != null && !currentProfilePictureUrl.isEmpty())
+                        ? SizedImageRequests.selectUrl(user.getProfilePictureRenditions(), currentProfilePictureUrl,
+                                SizedImageRequests.dpToPx(requireContext(), SizedImageRequests.PROFILE_AVATAR_DP))
+                        : null)
                 .placeholder(R.drawable.ic_profile)
                 .error(R.drawable.ic_profile)
                 .into(ivPfp);
@@ -626,15 +623,12 @@ public class ProfileFragment extends Fragment implements
 
     private void processFavoriteSlotSnapshot(com.google.firebase.firestore.QuerySnapshot querySnapshot, int generation) {
         if (!isAdded() || generation != favoriteFetchGeneration) return;
-        allCollectionSlots.clear();
-        for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-            CollectionSlot slot = doc.toObject(CollectionSlot.class);
-            if (slot != null) {
-                slot.setId(doc.getId());
-                allCollectionSlots.add(slot);
-            }
-        }
-        refreshFavoritesDisplay();
+        FirestoreModelDecoder.decode(querySnapshot.getDocuments(), FirestoreModelDecoder.COLLECTION_SLOT, slots -> {
+            if (!isAdded() || generation != favoriteFetchGeneration) return;
+            allCollectionSlots.clear();
+            allCollectionSlots.addAll(slots);
+            refreshFavoritesDisplay();
+        });
     }
 
     /**
@@ -760,45 +754,54 @@ public class ProfileFragment extends Fragment implements
     private void applyProfilePostFirstPage(com.google.firebase.firestore.QuerySnapshot value, boolean fromServer, int generation) {
         if (!isAdded() || generation != fetchGeneration) return;
         if (fromServer || (value != null && !value.isEmpty())) {
-            postList.clear();
             lastVisible = null;
             isLastPage = false;
         }
 
-        if (value != null && !value.isEmpty()) {
-            lastVisible = value.getDocuments().get(value.size() - 1);
-            for (DocumentSnapshot doc : value.getDocuments()) {
-                ForumPost post = doc.toObject(ForumPost.class);
-                if (post != null) {
-                    post.setId(doc.getId());
-                    if (isForumPostVisible(post)) postList.add(post);
-                }
+        if (value == null || value.isEmpty()) {
+            if (fromServer) {
+                isLastPage = true;
+                postList.clear();
+                showProfilePosts();
             }
-            if (value.size() < PAGE_SIZE) isLastPage = true;
-        } else if (fromServer) {
-            isLastPage = true;
+            return;
         }
 
-        if (!isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(postList)); primeSavedPostStates(postList); }
-        applyTabState(profileTabLayout.getSelectedTabPosition());
+        lastVisible = value.getDocuments().get(value.size() - 1);
+        if (value.size() < PAGE_SIZE) isLastPage = true;
+        FirestoreModelDecoder.decode(value.getDocuments(), FirestoreModelDecoder.FORUM_POST, posts -> {
+            if (!isAdded() || generation != fetchGeneration) return;
+            postList.clear();
+            addVisibleProfilePosts(posts);
+            showProfilePosts();
+        });
     }
 
     private void appendProfilePosts(com.google.firebase.firestore.QuerySnapshot value, int generation) {
         if (!isAdded() || generation != fetchGeneration) return;
-        if (value != null && !value.isEmpty()) {
-            lastVisible = value.getDocuments().get(value.size() - 1);
-            for (DocumentSnapshot doc : value.getDocuments()) {
-                ForumPost post = doc.toObject(ForumPost.class);
-                if (post != null) {
-                    post.setId(doc.getId());
-                    if (isForumPostVisible(post)) postList.add(post);
-                }
-            }
-            if (value.size() < PAGE_SIZE) isLastPage = true;
-        } else {
+        if (value == null || value.isEmpty()) {
             isLastPage = true;
+            showProfilePosts();
+            return;
         }
-        if (!isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(postList)); primeSavedPostStates(postList); }
+
+        lastVisible = value.getDocuments().get(value.size() - 1);
+        if (value.size() < PAGE_SIZE) isLastPage = true;
+        FirestoreModelDecoder.decode(value.getDocuments(), FirestoreModelDecoder.FORUM_POST, posts -> {
+            if (!isAdded() || generation != fetchGeneration) return;
+            addVisibleProfilePosts(posts);
+            showProfilePosts();
+        });
+    }
+
+    private void addVisibleProfilePosts(List<ForumPost> posts) {
+        for (ForumPost post : posts) {
+            if (isForumPostVisible(post)) postList.add(post);
+        }
+    }
+
+    private void showProfilePosts() {
+        if (!isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(postList)); }
         applyTabState(profileTabLayout.getSelectedTabPosition());
     }
 
@@ -861,7 +864,7 @@ public class ProfileFragment extends Fragment implements
             if (fromServer) {
                 isSavedLastPage = true;
                 isFetchingSaved = false;
-                if (isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(savedPostList)); primeSavedPostStates(savedPostList); }
+                if (isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(savedPostList)); }
                 applyTabState(profileTabLayout.getSelectedTabPosition());
             }
             return;
@@ -880,7 +883,7 @@ public class ProfileFragment extends Fragment implements
             lastSavedVisible = pageLastVisible;
             if (value.size() < PAGE_SIZE) isSavedLastPage = true;
             if (fromServer) isFetchingSaved = false;
-            if (isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(savedPostList)); primeSavedPostStates(savedPostList); }
+            if (isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(savedPostList)); }
             applyTabState(profileTabLayout.getSelectedTabPosition());
             return;
         }
@@ -888,31 +891,37 @@ public class ProfileFragment extends Fragment implements
         com.google.android.gms.tasks.Tasks.whenAllComplete(postTasks).addOnSuccessListener(done -> {
             if (!isAdded() || generation != savedFetchGeneration) return;
 
-            List<ForumPost> resolvedPosts = new ArrayList<>();
+            List<DocumentSnapshot> postDocs = new ArrayList<>();
             for (com.google.android.gms.tasks.Task<DocumentSnapshot> task : postTasks) {
-                if (!task.isSuccessful() || task.getResult() == null || !task.getResult().exists()) continue;
-                DocumentSnapshot doc = task.getResult();
-                ForumPost post = doc.toObject(ForumPost.class);
-                if (post != null) {
-                    post.setId(doc.getId());
-                    if (isForumPostVisible(post)) resolvedPosts.add(post);
-                }
-            }
-
-            if (lastSavedVisible == null || fromServer) {
-                savedPostList.clear();
+                if (task.isSuccessful() && task.getResult() != null) postDocs.add(task.getResult());
             }
-            savedPostList.addAll(resolvedPosts);
-            lastSavedVisible = pageLastVisible;
-            if (value.size() < PAGE_SIZE) isSavedLastPage = true;
-            if (fromServer) isFetchingSaved = false;
-            if (isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(savedPostList)); primeSavedPostStates(savedPostList); }
-            applyTabState(profileTabLayout.getSelectedTabPosition());
+            FirestoreModelDecoder.decode(postDocs, FirestoreModelDecoder.FORUM_POST, decoded ->
+                    applyResolvedSavedPosts(decoded, pageLastVisible, value.size(), fromServer, generation));
         }).addOnFailureListener(e -> {
             if (generation == savedFetchGeneration && fromServer) isFetchingSaved = false;
         });
     }
 
+    private void applyResolvedSavedPosts(List<ForumPost> decoded, DocumentSnapshot pageLastVisible, int pageSize,
+                                         boolean fromServer, int generation) {
+        if (!isAdded() || generation != savedFetchGeneration) return;
+
+        List<ForumPost> resolvedPosts = new ArrayList<>();
+        for (ForumPost post : decoded) {
+            if (isForumPostVisible(post)) resolvedPosts.add(post);
+        }
+
+        if (lastSavedVisible == null || fromServer) {
+            savedPostList.clear();
+        }
+        savedPostList.addAll(resolvedPosts);
+        lastSavedVisible = pageLastVisible;
+        if (pageSize < PAGE_SIZE) isSavedLastPage = true;
+        if (fromServer) isFetchingSaved = false;
+        if (isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>(savedPostList)); }
+        applyTabState(profileTabLayout.getSelectedTabPosition());
+    }
+
     /**
      * Main logic block for this part of the feature.
      */
@@ -922,7 +931,7 @@ public class ProfileFragment extends Fragment implements
         lastVisible = null;
         isLastPage = false;
         postList.clear();
-        if (postsAdapter != null && !isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>()); primeSavedPostStates(postList); }
+        if (postsAdapter != null && !isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>()); }
         fetchPosts();
     }
 
@@ -933,7 +942,7 @@ public class ProfileFragment extends Fragment implements
         lastSavedVisible = null;
         isSavedLastPage = false;
         savedPostList.clear();
-        if (postsAdapter != null && isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>()); primeSavedPostStates(savedPostList); }
+        if (postsAdapter != null && isSavedTabSelected()) { postsAdapter.setPosts(new ArrayList<>()); }
         fetchSavedPosts();
     }
 
@@ -981,7 +990,7 @@ public class ProfileFragment extends Fragment implements
             post.setLikeCount(count + 1);
             post.getLikedBy().put(uid, true);
         }
-        postsAdapter.notifyDataSetChanged();
+        postsAdapter.notifyPostChanged(post, ForumPostAdapter.PAYLOAD_COUNTS);
 
         firebaseManager.toggleForumPostLike(post.getId(), !liked, new FirebaseManager.ActionListener() {
             @Override
@@ -995,7 +1004,7 @@ public class ProfileFragment extends Fragment implements
                 post.setLikeCount(count);
                 if (liked) post.getLikedBy().put(uid, true);
                 else post.getLikedBy().remove(uid);
-                postsAdapter.notifyDataSetChanged();
+                postsAdapter.notifyPostChanged(post, ForumPostAdapter.PAYLOAD_COUNTS);
                 if (isAdded() && errorMessage != null && !errorMessage.trim().isEmpty()) {
                     MessagePopupHelper.showBrief(requireContext(), errorMessage);
                 }
@@ -1003,37 +1012,6 @@ public class ProfileFragment extends Fragment implements
         });
     }
 
-    private void primeSavedPostState(@Nullable ForumPost post) {
-        if (post == null || post.getId() == null) return;
-
-        FirebaseUser user = mAuth.getCurrentUser();
-        if (user == null) {
-            savedPostStateCache.put(post.getId(), false);
-            return;
-        }
-
-        if (savedPostStateCache.containsKey(post.getId())) return;
-        if (!savedPostStateInFlight.add(post.getId())) return;
-
-        firebaseManager.isForumPostSaved(post.getId(), task -> {
-            savedPostStateInFlight.remove(post.getId());
-            if (!isAdded()) return;
-
-            boolean isSaved = task.isSuccessful()
-                    && task.getResult() != null
-                    && task.getResult();
-
-            savedPostStateCache.put(post.getId(), isSaved);
-        });
-    }
-
-    private void primeSavedPostStates(@Nullable List<ForumPost> posts) {
-        if (posts == null || posts.isEmpty()) return;
-        for (ForumPost post : posts) {
-            primeSavedPostState(post);
-        }
-    }
-
     @Override
     public void onCommentClick(ForumPost post) {
         onPostClick(post);
@@ -1056,7 +1034,7 @@ public class ProfileFragment extends Fragment implements
         PopupMenu popup = new PopupMenu(requireContext(), view);
         FirebaseUser user = mAuth.getCurrentUser();
         if (user != null && post.getUserId().equals(user.getUid())) popup.getMenu().add("Delete");
-        boolean isSaved = Boolean.TRUE.equals(savedPostStateCache.get(post.getId()));
+        boolean isSaved = SavedPostStore.get().isSaved(post.getId());
         popup.getMenu().add(isSaved ? "Unsave Post" : "Save Post");
         if (user != null && !post.getUserId().equals(user.getUid())) popup.getMenu().add("Report");
         popup.setOnMenuItemClickListener(item -> {
@@ -1073,6 +1051,7 @@ public class ProfileFragment extends Fragment implements
         firebaseManager.saveForumPost(post.getId(), new FirebaseManager.ForumWriteListener() {
             @Override
             public void onSuccess() {
+                SavedPostStore.get().setSaved(post.getId(), true);
                 if (!isAdded()) return;
                 MessagePopupHelper.showBrief(requireContext(), "Post saved");
                 refreshSavedPosts();
@@ -1090,6 +1069,7 @@ public class ProfileFragment extends Fragment implements
         firebaseManager.unsaveForumPost(post.getId(), new FirebaseManager.ForumWriteListener() {
             @Override
             public void onSuccess() {
+                SavedPostStore.get().setSaved(post.getId(), false);
                 if (!isAdded()) return;
                 MessagePopupHelper.showBrief(requireContext(), "Post unsaved");
                 refreshSavedPosts();
@@ -1332,6 +1312,15 @@ public class ProfileFragment extends Fragment implements
         });
     }
 
+    /**
+     * Stops image prefetching for the posts list while the profile is not in the foreground.
+     */
+    @Override
+    public void onPause() {
+        super.onPause();
+        if (postsPrefetcher != null) postsPrefetcher.pause();
+    }
+
     @Override
     public void onStop() {
         super.onStop();
@@ -22,6 +22,7 @@ import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
 import com.bumptech.glide.request.target.CustomTarget;
 import com.bumptech.glide.request.transition.Transition;
 import com.google.firebase.auth.FirebaseAuth;
@@ -42,7 +43,8 @@ import java.util.List;
  * These comments focus on what the actual code blocks are doing so the file is easier to trace
  * when you are debugging or presenting the app. Only comments were added; runtime logic was not changed.
  */
-public class RecentPhotoMemoriesAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
+public class RecentPhotoMemoriesAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder>
+        implements FeedPrefetcher.ImagePreloadSource {
 
     private static final int TYPE_HEADER = 0;
     private static final int TYPE_PHOTO = 1;
@@ -88,6 +90,17 @@ public class RecentPhotoMemoriesAdapter extends RecyclerView.Adapter<RecyclerVie
         return items.get(position).type;
     }
 
+    /**
+     * Photo cells size their load to the cell, so only the download is warmed ahead of time.
+     */
+    @Override
+    public void collectPreloadRequests(@NonNull Context context, int position, @NonNull List<RequestBuilder<?>> out) {
+        if (position < 0 || position >= items.size()) return;
+        MemoryItem item = items.get(position);
+        if (item.type != TYPE_PHOTO || item.imageUrl == null || item.imageUrl.isEmpty()) return;
+        out.add(Glide.with(context).downloadOnly().load(item.imageUrl));
+    }
+
     /**
      * Main logic block for this part of the feature.
      * It grabs layout/view references here so later code can read from them, update them, or
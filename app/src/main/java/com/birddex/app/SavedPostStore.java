@@ -0,0 +1,182 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SavedPostStore: Process-wide set of the forum post ids the signed-in user has saved.
+ *
+ * Screens used to ask the backend about every post they showed (one getForumPostSaveState call per
+ * post, per screen) just to label the Save/Unsave menu item. This keeps one snapshot listener on
+ * users/{uid}/savedPosts instead: the first snapshot loads the id set, later ones only carry the
+ * changes, and {@link #isSaved(String)} is a set lookup.
+ *
+ * - The listener runs while any in-app screen is started (BirdDexAppCheck calls
+ *   {@link #acquire(Context)}/{@link #release()} from the activity lifecycle) and is removed
+ *   {@link #DETACH_DELAY_MS} after the last one stops, so moving between screens does not
+ *   re-attach it.
+ * - Switching accounts drops the previous user's ids before the new listener starts.
+ * - Save/unsave results are applied right away ({@link #setSaved}) so the menu is correct before
+ *   the listener echoes the write.
+ *
+ * All methods must be called on the main thread.
+ */
+final class SavedPostStore {
+
+    private static final String TAG = "SavedPostStore";
+    // Long enough to cover activity transitions and rotation without re-reading the collection.
+    private static final long DETACH_DELAY_MS = 30_000L;
+
+    private static final SavedPostStore INSTANCE = new SavedPostStore();
+
+    // Created by the first acquire(); only used while a screen holds the store.
+    @Nullable
+    private FirebaseManager firebaseManager;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Runnable detachRunnable = this::detach;
+
+    private final Set<String> savedIds = new HashSet<>();
+    // Save/unsave results not yet reflected by a snapshot, by post id.
+    private final Map<String, Boolean> pendingWrites = new HashMap<>();
+
+    @Nullable
+    private ListenerRegistration registration;
+    @Nullable
+    private String listeningUid;
+    // False until the current registration delivered its first snapshot.
+    private boolean receivedInitialSnapshot;
+    private int activeUsers;
+
+    private SavedPostStore() {
+    }
+
+    @NonNull
+    static SavedPostStore get() {
+        return INSTANCE;
+    }
+
+    void acquire(@NonNull Context context) {
+        if (firebaseManager == null) firebaseManager = new FirebaseManager(context.getApplicationContext());
+        activeUsers++;
+        mainHandler.removeCallbacks(detachRunnable);
+        attachForCurrentUser();
+    }
+
+    void release() {
+        if (activeUsers > 0) activeUsers--;
+        if (activeUsers == 0) {
+            mainHandler.removeCallbacks(detachRunnable);
+            mainHandler.postDelayed(detachRunnable, DETACH_DELAY_MS);
+        }
+    }
+
+    /**
+     * @return whether the signed-in user has saved {@code postId}; false while the set is still
+     * loading, which matches what screens showed before their per-post lookup returned
+     */
+    boolean isSaved(@Nullable String postId) {
+        if (postId == null) return false;
+        attachForCurrentUser();
+        if (listeningUid == null) return false;
+        Boolean pending = pendingWrites.get(postId);
+        if (pending != null) return pending;
+        return savedIds.contains(postId);
+    }
+
+    /**
+     * Records a save/unsave the backend confirmed, ahead of the listener seeing it.
+     */
+    void setSaved(@Nullable String postId, boolean saved) {
+        if (postId == null) return;
+        pendingWrites.put(postId, saved);
+        if (saved) savedIds.add(postId);
+        else savedIds.remove(postId);
+    }
+
+    /**
+     * Starts (or moves) the listener to the signed-in user; signing out clears the set.
+     */
+    private void attachForCurrentUser() {
+        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
+        String uid = user != null ? user.getUid() : null;
+
+        if (uid == null) {
+            detach();
+            listeningUid = null;
+            clearState();
+            return;
+        }
+        if (uid.equals(listeningUid) && registration != null) return;
+
+        detach();
+        if (!uid.equals(listeningUid)) clearState();
+        listeningUid = uid;
+        // Only a started screen keeps the listener alive; a lookup while none is started answers
+        // from the last known set for this user.
+        if (activeUsers == 0 || firebaseManager == null) return;
+
+        receivedInitialSnapshot = false;
+        registration = firebaseManager.listenToSavedPostIds(uid, (snapshot, e) -> {
+            if (e != null) {
+                // Keep the last known set; the menu falls back to it.
+                Log.w(TAG, "Saved posts listener failed", e);
+                return;
+            }
+            if (snapshot == null || !uid.equals(listeningUid)) return;
+            applySnapshot(snapshot);
+        });
+    }
+
+    private void applySnapshot(@NonNull QuerySnapshot snapshot) {
+        if (!receivedInitialSnapshot) {
+            // A new registration lists every document as ADDED; rebuild so removals made while
+            // detached are not missed.
+            receivedInitialSnapshot = true;
+            savedIds.clear();
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                savedIds.add(doc.getId());
+            }
+            if (!snapshot.getMetadata().isFromCache()) pendingWrites.clear();
+        } else {
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                String id = change.getDocument().getId();
+                if (change.getType() == DocumentChange.Type.REMOVED) savedIds.remove(id);
+                else savedIds.add(id);
+                pendingWrites.remove(id);
+            }
+        }
+        // Writes the snapshot already agrees with need no override.
+        pendingWrites.entrySet().removeIf(entry -> entry.getValue() == savedIds.contains(entry.getKey()));
+    }
+
+    private void detach() {
+        mainHandler.removeCallbacks(detachRunnable);
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+    }
+
+    private void clearState() {
+        savedIds.clear();
+        pendingWrites.clear();
+        receivedInitialSnapshot = false;
+    }
+}
@@ -83,6 +83,7 @@ public class SearchCollectionFragment extends Fragment {
     private boolean isFilterDialogOpening = false;
     private CollectionCardAdapter cardAdapter;
     private RecentPhotoMemoriesAdapter recentPhotoAdapter;
+    private FeedPrefetcher prefetcher;
 
     private ActivityResultLauncher<String> imagePickerLauncher;
 
@@ -91,6 +92,8 @@ public class SearchCollectionFragment extends Fragment {
 
     private final List<CollectionSlot> rawSlots = new ArrayList<>();
     private final List<CollectionSlot> uniqueSpeciesSlots = new ArrayList<>();
+    // Name index over uniqueSpeciesSlots, keyed by species key and kept in sync on every rebuild.
+    private final BirdSearchIndex<CollectionSlot> speciesSearchIndex = new BirdSearchIndex<>();
     private final List<CollectionSlot> displayedSlots = new ArrayList<>();
     private final List<RecentPhotoEntry> recentPhotoEntries = new ArrayList<>();
 
@@ -134,9 +137,12 @@ public class SearchCollectionFragment extends Fragment {
         tvCollectionEmpty = v.findViewById(R.id.tvCollectionEmpty);
 
         // Hook the data source to the list/grid adapter so model objects can render as UI rows/cards.
-        cardAdapter = new CollectionCardAdapter(displayedSlots);
+        cardAdapter = new CollectionCardAdapter();
         recentPhotoAdapter = new RecentPhotoMemoriesAdapter(requireContext(), this::startRecentPhotosListener);
         applySpeciesCardMode();
+        // Everything is loaded up front, so there is no next page; this only warms the images of
+        // the rows about to scroll in, for whichever adapter is showing.
+        prefetcher = FeedPrefetcher.attach(rvCollection, null);
 
         // Attach the user interaction that should run when this control is tapped.
         btnAddBird.setOnClickListener(view -> openImagePicker());
@@ -158,6 +164,7 @@ public class SearchCollectionFragment extends Fragment {
         isImagePickerOpen = false;
         setAddBirdButtonBusy(false);
         if (cardAdapter != null) cardAdapter.setNavigating(false);
+        if (prefetcher != null) prefetcher.resume();
 
         if (currentViewMode == ViewMode.RECENT_PHOTOS && recentPhotoEntries.isEmpty()) {
             startRecentPhotosListener();
@@ -174,6 +181,7 @@ public class SearchCollectionFragment extends Fragment {
         rvCollection.setLayoutManager(layoutManager);
         // Hook the data source to the list/grid adapter so model objects can render as UI rows/cards.
         rvCollection.setAdapter(cardAdapter);
+        if (prefetcher != null) prefetcher.reset();
 
         if (favoritesOnly) {
             etSearch.setHint("Search favorites...");
@@ -200,6 +208,7 @@ public class SearchCollectionFragment extends Fragment {
         rvCollection.setLayoutManager(layoutManager);
         // Hook the data source to the list/grid adapter so model objects can render as UI rows/cards.
         rvCollection.setAdapter(recentPhotoAdapter);
+        if (prefetcher != null) prefetcher.reset();
         etSearch.setHint("Search birds...");
         
         // Ensure listener is running if we switched to this mode
@@ -514,8 +523,19 @@ public class SearchCollectionFragment extends Fragment {
         }
     }
 
+    /**
+     * Stops image prefetching while the collection is not in the foreground.
+     */
+    @Override
+    public void onPause() {
+        super.onPause();
+        if (prefetcher != null) prefetcher.pause();
+    }
+
     @Override
     public void onDestroyView() {
+        if (prefetcher != null) prefetcher.pause();
+        prefetcher = null;
         stopCollectionListener();
         stopRecentPhotosListener();
         if (filterDialog != null) {
@@ -722,7 +742,11 @@ public class SearchCollectionFragment extends Fragment {
                         baseUpdates.put("timestamp", timeSpotted);
                     }
 
-                    if (!baseUpdates.isEmpty()) updateCollectionSlot(userId, slot.getId(), baseUpdates);
+                    if (!baseUpdates.isEmpty()) {
+                        updateCollectionSlot(userId, slot.getId(), baseUpdates);
+                        // Edited in place, so the diff in filterCollection won't catch it.
+                        cardAdapter.notifySlotChanged(slot);
+                    }
 
                     if (missingNames && !isBlank(birdId)) {
                         FirebaseFirestore.getInstance()
@@ -745,7 +769,10 @@ public class SearchCollectionFragment extends Fragment {
                                         updates.put("scientificName", scientificName);
                                     }
 
-                                    if (!updates.isEmpty()) updateCollectionSlot(userId, slot.getId(), updates);
+                                    if (!updates.isEmpty()) {
+                                        updateCollectionSlot(userId, slot.getId(), updates);
+                                        cardAdapter.notifySlotChanged(slot);
+                                    }
                                     rebuildSpeciesListAndFilter();
                                 });
                     }
@@ -771,7 +798,10 @@ public class SearchCollectionFragment extends Fragment {
                                         updates.put("locality", locality);
                                     }
 
-                                    if (!updates.isEmpty()) updateCollectionSlot(userId, slot.getId(), updates);
+                                    if (!updates.isEmpty()) {
+                                        updateCollectionSlot(userId, slot.getId(), updates);
+                                        cardAdapter.notifySlotChanged(slot);
+                                    }
                                     rebuildSpeciesListAndFilter();
                                 });
                     }
@@ -792,6 +822,13 @@ public class SearchCollectionFragment extends Fragment {
         }
         uniqueSpeciesSlots.clear();
         uniqueSpeciesSlots.addAll(grouped.values());
+
+        // Only species whose names changed (or that are new) get re-indexed.
+        speciesSearchIndex.retainKeys(grouped.keySet());
+        for (Map.Entry<String, CollectionSlot> e : grouped.entrySet()) {
+            CollectionSlot slot = e.getValue();
+            speciesSearchIndex.put(e.getKey(), slot, slot.getCommonName(), slot.getScientificName());
+        }
         if (currentViewMode == ViewMode.SPECIES_CARDS) applyCurrentFilter();
     }
 
@@ -801,24 +838,23 @@ public class SearchCollectionFragment extends Fragment {
      * rendered on screen.
      */
     private void filterCollection(String query) {
-        String text = query == null ? "" : query.trim().toLowerCase(Locale.US);
+        boolean searching = query != null && !query.trim().isEmpty();
         displayedSlots.clear();
 
-        for (CollectionSlot s : uniqueSpeciesSlots) {
+        // The index returns matches best first (typos included); without a query it is every species.
+        List<CollectionSlot> candidates = searching ? speciesSearchIndex.search(query) : uniqueSpeciesSlots;
+        for (CollectionSlot s : candidates) {
             if (favoritesOnly && !s.isFavorite()) continue;
             if (!matchesRarityFilter(s)) continue;
-
-            boolean matchesSearch = text.isEmpty()
-                    || safeLower(s.getCommonName()).contains(text)
-                    || safeLower(s.getScientificName()).contains(text);
-
-            if (matchesSearch) {
-                displayedSlots.add(s);
-            }
+            displayedSlots.add(s);
         }
 
-        sortDisplayedSlots();
-        cardAdapter.notifyDataSetChanged();
+        // While searching, the default order is relevance; an explicit sort choice still wins.
+        if (!searching || currentSortMode != SortMode.DEFAULT) {
+            sortDisplayedSlots();
+        }
+        cardAdapter.setSlots(displayedSlots);
+        if (prefetcher != null) prefetcher.reset();
 
         if (favoritesOnly) {
             updateEmptyState(displayedSlots.isEmpty(), "No favorite birds yet.");
@@ -854,6 +890,7 @@ public class SearchCollectionFragment extends Fragment {
         }
 
         recentPhotoAdapter.submitList(items);
+        if (prefetcher != null) prefetcher.reset();
         updateEmptyState(items.isEmpty(), "No bird photos match this search.");
     }
 
@@ -0,0 +1,365 @@
+package com.birddex.app;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SightingStore: On-device SQLite mirror of the recent userBirdSightings / eBirdApiSightings docs
+ * used by {@link NearbyHeatmapActivity}.
+ *
+ * Rows are keyed by (layer, sighting id). Each layer keeps an "updatedAt" watermark, so the map can
+ * paint from disk right away and then only ask Firestore for docs changed since that watermark.
+ * Areas are bootstrapped one geohash tile at a time (see {@link #SYNC_TILE_PRECISION}); a tile is
+ * re-read in full once its sync is older than {@link #TILE_RESYNC_INTERVAL_MS} so deletions that
+ * deltas cannot see (archives, account removal) eventually drop out.
+ * Viewport reads go through a geohash column using the same ranges {@link GeohashQueryPlanner}
+ * builds for Firestore, so panning never has to scan the whole table.
+ */
+public class SightingStore extends SQLiteOpenHelper {
+    private static final String TAG = "SightingStore";
+    private static final String DB_NAME = "birddex_sightings.db";
+    private static final int DB_VERSION = 1;
+
+    public static final String LAYER_USER = "user";
+    public static final String LAYER_EBIRD = "ebird";
+
+    // Precision-3 tiles are ~156km x 156km; statewide Georgia is covered by roughly a dozen.
+    public static final int SYNC_TILE_PRECISION = 3;
+    public static final long TILE_RESYNC_INTERVAL_MS = 24L * 60L * 60L * 1000L;
+
+    private static final String TABLE_SIGHTINGS = "sightings";
+    private static final String TABLE_SYNC_STATE = "sync_state";
+    private static final String TABLE_SYNCED_TILES = "synced_tiles";
+
+    private static final String COL_LAYER = "layer";
+    private static final String COL_ID = "id";
+    private static final String COL_LAT = "lat";
+    private static final String COL_LNG = "lng";
+    private static final String COL_GEOHASH = "geohash";
+    private static final String COL_SIGHTING_TIME = "sighting_time";
+    private static final String COL_UPDATED_AT = "updated_at";
+    private static final String COL_BIRD_ID = "bird_id";
+    private static final String COL_USER_BIRD_ID = "user_bird_id";
+    private static final String COL_COMMON_NAME = "common_name";
+    private static final String COL_SCIENTIFIC_NAME = "scientific_name";
+    private static final String COL_DISPLAY_NAME = "display_name";
+
+    private static final String COL_WATERMARK = "watermark";
+    private static final String COL_TILE = "tile";
+    private static final String COL_SYNCED_AT = "synced_at";
+
+    private static SightingStore instance;
+
+    // Process-wide so in-flight syncs can finish writing after the map screen closes.
+    private final ExecutorService ioExecutor = Executors.newSingleThreadExecutor();
+
+    /**
+     * One cached sighting row. Mirrors the fields NearbyHeatmapActivity needs to rebuild
+     * heat points and hotspot buckets without touching Firestore.
+     */
+    public static final class StoredSighting {
+        public final String id;
+        public final double lat;
+        public final double lng;
+        @Nullable public final Long sightingTimeMs;
+        public final long updatedAtMs;
+        public final String birdId;
+        public final String userBirdId;
+        public final String commonName;
+        public final String scientificName;
+        public final String displayName;
+
+        public StoredSighting(@NonNull String id,
+                              double lat,
+                              double lng,
+                              @Nullable Long sightingTimeMs,
+                              long updatedAtMs,
+                              String birdId,
+                              String userBirdId,
+                              String commonName,
+                              String scientificName,
+                              String displayName) {
+            this.id = id;
+            this.lat = lat;
+            this.lng = lng;
+            this.sightingTimeMs = sightingTimeMs;
+            this.updatedAtMs = updatedAtMs;
+            this.birdId = birdId;
+            this.userBirdId = userBirdId;
+            this.commonName = commonName;
+            this.scientificName = scientificName;
+            this.displayName = displayName;
+        }
+    }
+
+    public static synchronized SightingStore getInstance(@NonNull Context context) {
+        if (instance == null) {
+            instance = new SightingStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private SightingStore(@NonNull Context context) {
+        super(context, DB_NAME, null, DB_VERSION);
+    }
+
+    /**
+     * Single background thread for every store read/write, so syncs apply in order.
+     */
+    @NonNull
+    public ExecutorService getExecutor() {
+        return ioExecutor;
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_SIGHTINGS + " ("
+                + COL_LAYER + " TEXT NOT NULL, "
+                + COL_ID + " TEXT NOT NULL, "
+                + COL_LAT + " REAL NOT NULL, "
+                + COL_LNG + " REAL NOT NULL, "
+                + COL_GEOHASH + " TEXT NOT NULL, "
+                + COL_SIGHTING_TIME + " INTEGER, "
+                + COL_UPDATED_AT + " INTEGER NOT NULL, "
+                + COL_BIRD_ID + " TEXT, "
+                + COL_USER_BIRD_ID + " TEXT, "
+                + COL_COMMON_NAME + " TEXT, "
+                + COL_SCIENTIFIC_NAME + " TEXT, "
+                + COL_DISPLAY_NAME + " TEXT, "
+                + "PRIMARY KEY (" + COL_LAYER + ", " + COL_ID + "))");
+        db.execSQL("CREATE INDEX idx_sightings_layer_geohash ON " + TABLE_SIGHTINGS
+                + " (" + COL_LAYER + ", " + COL_GEOHASH + ")");
+        db.execSQL("CREATE TABLE " + TABLE_SYNC_STATE + " ("
+                + COL_LAYER + " TEXT PRIMARY KEY, "
+                + COL_WATERMARK + " INTEGER NOT NULL DEFAULT 0)");
+        db.execSQL("CREATE TABLE " + TABLE_SYNCED_TILES + " ("
+                + COL_LAYER + " TEXT NOT NULL, "
+                + COL_TILE + " TEXT NOT NULL, "
+                + COL_SYNCED_AT + " INTEGER NOT NULL, "
+                + "PRIMARY KEY (" + COL_LAYER + ", " + COL_TILE + "))");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // The store is a disposable mirror of Firestore; a schema change just triggers a fresh sync.
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SIGHTINGS);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNC_STATE);
+        db.execSQL("DROP TABLE IF EXISTS " + TABLE_SYNCED_TILES);
+        onCreate(db);
+    }
+
+    /**
+     * Returns the rows for one layer inside the rectangle whose sighting time is at or after
+     * {@code minSightingTimeMs} (rows without a sighting time are always included, matching the
+     * heatmap's own recency filter).
+     */
+    @NonNull
+    public List<StoredSighting> queryViewport(@NonNull String layer,
+                                              double south,
+                                              double west,
+                                              double north,
+                                              double east,
+                                              long minSightingTimeMs) {
+        List<GeohashQueryPlanner.GeohashRange> ranges = GeohashQueryPlanner.planRanges(south, west, north, east);
+        List<StoredSighting> rows = new ArrayList<>();
+        if (ranges.isEmpty()) return rows;
+
+        StringBuilder where = new StringBuilder(COL_LAYER + " = ? AND (");
+        List<String> args = new ArrayList<>();
+        args.add(layer);
+        for (int i = 0; i < ranges.size(); i++) {
+            if (i > 0) where.append(" OR ");
+            where.append(COL_GEOHASH).append(" BETWEEN ? AND ?");
+            args.add(ranges.get(i).start);
+            args.add(ranges.get(i).end);
+        }
+        where.append(") AND ").append(COL_LAT).append(" BETWEEN ? AND ?")
+                .append(" AND ").append(COL_LNG).append(" BETWEEN ? AND ?")
+                .append(" AND (").append(COL_SIGHTING_TIME).append(" IS NULL OR ")
+                .append(COL_SIGHTING_TIME).append(" >= ?)");
+        args.add(String.valueOf(Math.min(south, north)));
+        args.add(String.valueOf(Math.max(south, north)));
+        args.add(String.valueOf(Math.min(west, east)));
+        args.add(String.valueOf(Math.max(west, east)));
+        args.add(String.valueOf(minSightingTimeMs));
+
+        try (Cursor cursor = getReadableDatabase().query(TABLE_SIGHTINGS, null, where.toString(),
+                args.toArray(new String[0]), null, null, null)) {
+            int idIdx = cursor.getColumnIndexOrThrow(COL_ID);
+            int latIdx = cursor.getColumnIndexOrThrow(COL_LAT);
+            int lngIdx = cursor.getColumnIndexOrThrow(COL_LNG);
+            int timeIdx = cursor.getColumnIndexOrThrow(COL_SIGHTING_TIME);
+            int updatedIdx = cursor.getColumnIndexOrThrow(COL_UPDATED_AT);
+            int birdIdIdx = cursor.getColumnIndexOrThrow(COL_BIRD_ID);
+            int userBirdIdIdx = cursor.getColumnIndexOrThrow(COL_USER_BIRD_ID);
+            int commonIdx = cursor.getColumnIndexOrThrow(COL_COMMON_NAME);
+            int scientificIdx = cursor.getColumnIndexOrThrow(COL_SCIENTIFIC_NAME);
+            int displayIdx = cursor.getColumnIndexOrThrow(COL_DISPLAY_NAME);
+
+            while (cursor.moveToNext()) {
+                rows.add(new StoredSighting(
+                        cursor.getString(idIdx),
+                        cursor.getDouble(latIdx),
+                        cursor.getDouble(lngIdx),
+                        cursor.isNull(timeIdx) ? null : cursor.getLong(timeIdx),
+                        cursor.getLong(updatedIdx),
+                        cursor.getString(birdIdIdx),
+                        cursor.getString(userBirdIdIdx),
+                        cursor.getString(commonIdx),
+                        cursor.getString(scientificIdx),
+                        cursor.getString(displayIdx)));
+            }
+        } catch (RuntimeException e) {
+            Log.e(TAG, "queryViewport failed for layer " + layer, e);
+        }
+        return rows;
+    }
+
+    /**
+     * Applies a "changed since watermark" result in one transaction: upserts changed rows, drops
+     * removed ids (e.g. docs flagged suspicious), and advances the layer watermark.
+     */
+    public void applyDelta(@NonNull String layer,
+                           @NonNull Collection<StoredSighting> upserts,
+                           @NonNull Collection<String> removedIds,
+                           long newWatermarkMs) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            for (String id : removedIds) {
+                db.delete(TABLE_SIGHTINGS, COL_LAYER + " = ? AND " + COL_ID + " = ?", new String[]{layer, id});
+            }
+            insertRows(db, layer, upserts);
+            writeWatermark(db, layer, Math.max(newWatermarkMs, readWatermark(db, layer)));
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Replaces every row of one tile with a fresh full read of that tile and stamps the tile as
+     * synced. When the layer has no watermark yet, {@code watermarkFloorMs} seeds it so later deltas
+     * start from roughly when this read happened.
+     */
+    public void applyTileSync(@NonNull String layer,
+                              @NonNull String tile,
+                              @NonNull Collection<StoredSighting> rows,
+                              long syncedAtMs,
+                              long watermarkFloorMs) {
+        SQLiteDatabase db = getWritableDatabase();
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_SIGHTINGS,
+                    COL_LAYER + " = ? AND " + COL_GEOHASH + " BETWEEN ? AND ?",
+                    new String[]{layer, tile, tile + "~"});
+            insertRows(db, layer, rows);
+
+            ContentValues tileValues = new ContentValues();
+            tileValues.put(COL_LAYER, layer);
+            tileValues.put(COL_TILE, tile);
+            tileValues.put(COL_SYNCED_AT, syncedAtMs);
+            db.insertWithOnConflict(TABLE_SYNCED_TILES, null, tileValues, SQLiteDatabase.CONFLICT_REPLACE);
+
+            if (readWatermark(db, layer) <= 0L) {
+                writeWatermark(db, layer, watermarkFloorMs);
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void insertRows(@NonNull SQLiteDatabase db,
+                            @NonNull String layer,
+                            @NonNull Collection<StoredSighting> rows) {
+        ContentValues values = new ContentValues();
+        for (StoredSighting sighting : rows) {
+            String geohash = GeohashQueryPlanner.encode(sighting.lat, sighting.lng, GeohashQueryPlanner.SIGHTING_PRECISION);
+            if (geohash == null) continue;
+
+            values.clear();
+            values.put(COL_LAYER, layer);
+            values.put(COL_ID, sighting.id);
+            values.put(COL_LAT, sighting.lat);
+            values.put(COL_LNG, sighting.lng);
+            values.put(COL_GEOHASH, geohash);
+            if (sighting.sightingTimeMs != null) values.put(COL_SIGHTING_TIME, sighting.sightingTimeMs);
+            else values.putNull(COL_SIGHTING_TIME);
+            values.put(COL_UPDATED_AT, sighting.updatedAtMs);
+            values.put(COL_BIRD_ID, sighting.birdId);
+            values.put(COL_USER_BIRD_ID, sighting.userBirdId);
+            values.put(COL_COMMON_NAME, sighting.commonName);
+            values.put(COL_SCIENTIFIC_NAME, sighting.scientificName);
+            values.put(COL_DISPLAY_NAME, sighting.displayName);
+            db.insertWithOnConflict(TABLE_SIGHTINGS, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+        }
+    }
+
+    /**
+     * Deletes rows whose sighting time is older than the cutoff. The heatmap never shows them and
+     * the backend archives them anyway, so they only cost disk and query time.
+     */
+    public int pruneOlderThan(long minSightingTimeMs) {
+        try {
+            return getWritableDatabase().delete(TABLE_SIGHTINGS,
+                    COL_SIGHTING_TIME + " IS NOT NULL AND " + COL_SIGHTING_TIME + " < ?",
+                    new String[]{String.valueOf(minSightingTimeMs)});
+        } catch (RuntimeException e) {
+            Log.e(TAG, "pruneOlderThan failed", e);
+            return 0;
+        }
+    }
+
+    /**
+     * Highest Firestore "updatedAt" (ms) this layer has been synced to; 0 when never synced.
+     */
+    public long getWatermark(@NonNull String layer) {
+        try {
+            return readWatermark(getReadableDatabase(), layer);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to read watermark for layer " + layer, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * When the tile was last read in full for this layer; 0 when never.
+     */
+    public long getTileSyncedAt(@NonNull String layer, @NonNull String tile) {
+        try (Cursor cursor = getReadableDatabase().query(TABLE_SYNCED_TILES, new String[]{COL_SYNCED_AT},
+                COL_LAYER + " = ? AND " + COL_TILE + " = ?", new String[]{layer, tile}, null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0L;
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to read sync time for tile " + tile, e);
+            return 0L;
+        }
+    }
+
+    private long readWatermark(@NonNull SQLiteDatabase db, @NonNull String layer) {
+        try (Cursor cursor = db.query(TABLE_SYNC_STATE, new String[]{COL_WATERMARK}, COL_LAYER + " = ?",
+                new String[]{layer}, null, null, null)) {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0L;
+        }
+    }
+
+    private void writeWatermark(@NonNull SQLiteDatabase db, @NonNull String layer, long watermarkMs) {
+        ContentValues state = new ContentValues();
+        state.put(COL_LAYER, layer);
+        state.put(COL_WATERMARK, watermarkMs);
+        db.insertWithOnConflict(TABLE_SYNC_STATE, null, state, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+}
@@ -0,0 +1,141 @@
+package com.birddex.app;
+
+import android.content.Context;
+import android.graphics.drawable.Drawable;
+import android.util.DisplayMetrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestBuilder;
+import com.bumptech.glide.load.DecodeFormat;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+
+import java.util.Map;
+
+/**
+ * SizedImageRequests: Glide requests for list images, decoded at the size they are shown at.
+ *
+ * Every request carries an explicit override size and transformation, so a 12 MP upload shown in
+ * a 40dp avatar is decoded at 40dp, and the same URL always maps to the same cache key. That also
+ * lets other code warm exactly the entry a row will ask for (same builder + {@code preload()}).
+ * Card thumbnails are opaque photos, so they decode as RGB_565 at half the memory of ARGB_8888.
+ *
+ * When the document carries server-generated renditions (WebP, longest edge 128/384/1080 px),
+ * {@link #selectUrl} downloads the smallest one that still covers the target instead of the
+ * original upload.
+ */
+final class SizedImageRequests {
+
+    static final int FORUM_AVATAR_DP = 40;
+    static final int LEADERBOARD_AVATAR_DP = 52;
+    static final int USER_LIST_AVATAR_DP = 50;
+    static final int PROFILE_AVATAR_DP = 110;
+    // Collection grid: three cards per row, photo area is 4:3.
+    private static final int CARD_COLUMNS = 3;
+    // The largest server rendition; anything wider than this on screen is rare enough (tablets)
+    // that the 1080 copy is still preferred over a multi-megabyte original.
+    private static final int MAX_RENDITION_EDGE_PX = 1080;
+
+    private SizedImageRequests() {
+    }
+
+    /**
+     * Square, center-cropped profile picture.
+     */
+    @NonNull
+    static RequestBuilder<Drawable> avatar(@NonNull Context context, @Nullable String url, int sizeDp) {
+        return avatar(context, url, null, sizeDp);
+    }
+
+    @NonNull
+    static RequestBuilder<Drawable> avatar(@NonNull Context context, @Nullable String url,
+                                           @Nullable Map<String, String> renditions, int sizeDp) {
+        int size = dpToPx(context, sizeDp);
+        return Glide.with(context)
+                .load(selectUrl(renditions, url, size))
+                .override(size, size)
+                .centerCrop()
+                .placeholder(R.drawable.ic_profile)
+                .error(R.drawable.ic_profile)
+                .diskCacheStrategy(DiskCacheStrategy.ALL);
+    }
+
+    /**
+     * Bird photo on a collection card (fitCenter, RGB_565).
+     */
+    @NonNull
+    static RequestBuilder<Drawable> cardThumbnail(@NonNull Context context, @Nullable String url,
+                                                  @Nullable Map<String, String> renditions) {
+        DisplayMetrics metrics = context.getResources().getDisplayMetrics();
+        int width = Math.max(1, metrics.widthPixels / CARD_COLUMNS);
+        int height = Math.max(1, width * 3 / 4);
+        return Glide.with(context)
+                .load(selectUrl(renditions, url, width))
+                .override(width, height)
+                .fitCenter()
+                .format(DecodeFormat.PREFER_RGB_565)
+                .placeholder(R.drawable.bg_image_placeholder)
+                .diskCacheStrategy(DiskCacheStrategy.ALL);
+    }
+
+    /**
+     * Full-width, fixed-height forum post photo (centerCrop). The full-screen viewer still loads
+     * the original.
+     */
+    @NonNull
+    static RequestBuilder<Drawable> postImage(@NonNull Context context, @Nullable String url,
+                                              @Nullable Map<String, String> renditions) {
+        int width = context.getResources().getDisplayMetrics().widthPixels;
+        int height = context.getResources().getDimensionPixelSize(R.dimen.forum_post_image_height);
+        return Glide.with(context)
+                .load(selectUrl(renditions, url, Math.max(width, height)))
+                .override(width, height)
+                .centerCrop()
+                .placeholder(R.drawable.bg_image_placeholder)
+                .diskCacheStrategy(DiskCacheStrategy.ALL);
+    }
+
+    /**
+     * Picks the smallest rendition whose longest edge is at least {@code targetPx}. Falls back to
+     * the largest rendition when none is big enough but it still beats the original by being
+     * at least 1080 px, and to the original when there are no renditions.
+     */
+    @Nullable
+    static String selectUrl(@Nullable Map<String, String> renditions, @Nullable String originalUrl, int targetPx) {
+        if (renditions == null || renditions.isEmpty()) return originalUrl;
+
+        String best = null;
+        int bestEdge = Integer.MAX_VALUE;
+        String largest = null;
+        int largestEdge = 0;
+        for (Map.Entry<String, String> entry : renditions.entrySet()) {
+            int edge = parseEdge(entry.getKey());
+            String url = entry.getValue();
+            if (edge <= 0 || url == null || url.isEmpty()) continue;
+            if (edge >= targetPx && edge < bestEdge) {
+                best = url;
+                bestEdge = edge;
+            }
+            if (edge > largestEdge) {
+                largest = url;
+                largestEdge = edge;
+            }
+        }
+        if (best != null) return best;
+        return largestEdge >= MAX_RENDITION_EDGE_PX ? largest : originalUrl;
+    }
+
+    private static int parseEdge(@Nullable String key) {
+        try {
+            return key != null ? Integer.parseInt(key) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    static int dpToPx(@NonNull Context context, int dp) {
+        return Math.max(1, Math.round(dp * context.getResources().getDisplayMetrics().density));
+    }
+}
@@ -2,10 +2,7 @@ package com.birddex.app;
 
 import android.content.Intent;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
-import android.view.animation.Animation;
 import android.view.animation.AnimationUtils;
 
 import androidx.appcompat.app.AppCompatActivity;
@@ -25,6 +22,8 @@ import java.util.concurrent.TimeUnit;
  */
 public class SplashActivity extends AppCompatActivity {
 
+    private boolean proceeded = false;
+
     /**
      * Android calls this when the Activity is first created. This is where the screen usually
      * inflates its layout, grabs views, creates helpers, and wires listeners.
@@ -34,6 +33,7 @@ public class SplashActivity extends AppCompatActivity {
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
+        StartupTracer.beginPhase("splash");
         SplashScreen.installSplashScreen(this);
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_splash);
@@ -41,54 +41,36 @@ public class SplashActivity extends AppCompatActivity {
 
         // Bind or inflate the UI pieces this method needs before it can update the screen.
         View splashRoot = findViewById(R.id.splashRoot);
-        View splashLogo = findViewById(R.id.ivSplashLogo);
-        View poweredBy = findViewById(R.id.tvPoweredBy);
-
-        // Load fancy entry animation and fade out
-        Animation splashEnter = AnimationUtils.loadAnimation(this, R.anim.splash_enter);
-        Animation fadeOut = AnimationUtils.loadAnimation(this, R.anim.fade_out);
-
-        // Start entrance animation
-        splashRoot.startAnimation(splashEnter);
-
-        // Warm up the BirdDex model API as soon as the app starts to hide cold starts.
-        BirdDexApiWarmupHelper.maybeWarmup(this, "app_launch");
-
-        splashEnter.setAnimationListener(new Animation.AnimationListener() {
-            @Override
-            public void onAnimationStart(Animation animation) {}
-
-            @Override
-            public void onAnimationEnd(Animation animation) {
-                // Hold the state for 1.2 seconds before fading out
-                new Handler(Looper.getMainLooper()).postDelayed(() -> {
-                    // Fade only content so ?attr/colorSurface on splashRoot stays opaque — avoids a dark
-                    // flash when the whole root hit alpha 0 before the next activity window is ready.
-                    splashLogo.startAnimation(fadeOut);
-                    poweredBy.startAnimation(
-                            AnimationUtils.loadAnimation(SplashActivity.this, R.anim.fade_out));
-                }, 1200);
-            }
-
-            @Override
-            public void onAnimationRepeat(Animation animation) {}
-        });
 
-        fadeOut.setAnimationListener(new Animation.AnimationListener() {
-            @Override
-            public void onAnimationStart(Animation animation) {}
+        // The entrance animation plays while start-up work runs; it no longer gates navigation.
+        splashRoot.startAnimation(AnimationUtils.loadAnimation(this, R.anim.splash_enter));
+    }
 
-            @Override
-            public void onAnimationEnd(Animation animation) {
-                // Transition to appropriate activity based on auth state
-                checkAuthAndProceed();
-                // Smooth transition without blinking
-                overridePendingTransition(android.R.anim.fade_in, android.R.anim.fade_out);
-            }
+    /**
+     * Leaves as soon as the auth state is known. Everything else (Firestore, caches, model
+     * warm-up) keeps initializing in the background and is ready or nearly so by the time
+     * HomeActivity needs it. Registered here because activity-scoped listeners are dropped in
+     * onStop; a task that already finished calls back right away.
+     */
+    @Override
+    protected void onStart() {
+        super.onStart();
+        BirdDexAppCheck.startup(this)
+                .whenReady(BirdDexAppCheck.STARTUP_AUTH)
+                .addOnCompleteListener(this, task -> proceed());
+    }
 
-            @Override
-            public void onAnimationRepeat(Animation animation) {}
-        });
+    /**
+     * Navigates exactly once, even if onStart registered more than one listener.
+     */
+    private void proceed() {
+        if (proceeded || isFinishing() || isDestroyed()) return;
+        proceeded = true;
+        // Transition to appropriate activity based on auth state
+        checkAuthAndProceed();
+        // Smooth transition without blinking
+        overridePendingTransition(android.R.anim.fade_in, android.R.anim.fade_out);
+        StartupTracer.endPhase("splash");
     }
 
     /**
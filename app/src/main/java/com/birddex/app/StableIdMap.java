@@ -0,0 +1,37 @@
+package com.birddex.app;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * StableIdMap: Hands out RecyclerView stable ids for the String keys (Firestore ids) of list models.
+ *
+ * A key gets an id the first time it is seen and keeps it for the life of the map, so a row keeps
+ * its ViewHolder across list submissions and DiffUtil moves animate instead of rebinding.
+ * Main thread only; each adapter owns one.
+ */
+final class StableIdMap {
+
+    private final Map<String, Long> ids = new HashMap<>();
+    private long nextId = 1L;
+
+    long idFor(@NonNull String key) {
+        Long id = ids.get(key);
+        if (id == null) {
+            id = nextId++;
+            ids.put(key, id);
+        }
+        return id;
+    }
+
+    /**
+     * Key for models that have no Firestore id yet (e.g. an optimistic insert). Stable as long as
+     * the same instance stays in the list.
+     */
+    @NonNull
+    static String identityKey(@NonNull Object model) {
+        return "@" + System.identityHashCode(model);
+    }
+}
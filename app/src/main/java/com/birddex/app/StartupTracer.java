@@ -0,0 +1,130 @@
+package com.birddex.app;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StartupTracer: Cold-start timing, logged under the "StartupTrace" tag.
+ *
+ * Every time is measured from process start ({@link Process#getStartUptimeMillis()}), so it
+ * includes class loading and Application.onCreate:
+ * - each startup phase (Application init, each {@link AppStartup} initializer, splash) logs its
+ *   own duration and when it finished;
+ * - the first frame of the first few activities (splash, then home);
+ * - "interactive": the first screen is showing real content. This also calls
+ *   {@link Activity#reportFullyDrawn()}, so {@code adb shell am start -W} and Play vitals see the
+ *   same point.
+ *
+ * Phases are also emitted as async trace sections, which makes them visible next to the main
+ * thread in Perfetto/systrace captures. Only the first launch in a process is traced; later
+ * calls are no-ops.
+ */
+final class StartupTracer {
+
+    private static final String TAG = "StartupTrace";
+    // Splash and home; anything after that is not part of the cold start.
+    private static final int MAX_TRACED_FIRST_FRAMES = 2;
+
+    private static final Map<String, Long> phaseStarts = new LinkedHashMap<>();
+    private static final Map<String, Long> phaseDurations = new LinkedHashMap<>();
+    private static final AtomicInteger cookies = new AtomicInteger();
+    private static final Map<String, Integer> phaseCookies = new LinkedHashMap<>();
+    private static final AtomicInteger firstFramesTraced = new AtomicInteger();
+    private static final AtomicBoolean interactiveReported = new AtomicBoolean(false);
+
+    private StartupTracer() {
+    }
+
+    /**
+     * Milliseconds since the process was started.
+     */
+    static long sinceProcessStart() {
+        return SystemClock.uptimeMillis() - Process.getStartUptimeMillis();
+    }
+
+    static void beginPhase(@NonNull String name) {
+        if (interactiveReported.get()) return;
+        int cookie = cookies.incrementAndGet();
+        synchronized (phaseStarts) {
+            phaseStarts.put(name, SystemClock.uptimeMillis());
+            phaseCookies.put(name, cookie);
+        }
+        Trace.beginAsyncSection(name, cookie);
+    }
+
+    static void endPhase(@NonNull String name) {
+        Long start;
+        Integer cookie;
+        synchronized (phaseStarts) {
+            start = phaseStarts.remove(name);
+            cookie = phaseCookies.remove(name);
+            if (start == null) return;
+            phaseDurations.put(name, SystemClock.uptimeMillis() - start);
+        }
+        Trace.endAsyncSection(name, cookie);
+        Log.i(TAG, name + ": " + (SystemClock.uptimeMillis() - start) + " ms (done at +" + sinceProcessStart() + " ms)");
+    }
+
+    /**
+     * Logs the time to the first frame drawn by {@code activity}'s window.
+     */
+    static void traceFirstFrame(@NonNull Activity activity) {
+        if (interactiveReported.get() || firstFramesTraced.get() >= MAX_TRACED_FIRST_FRAMES) return;
+        View decor = activity.getWindow() != null ? activity.getWindow().getDecorView() : null;
+        if (decor == null) return;
+
+        String label = activity.getClass().getSimpleName();
+        Handler mainHandler = new Handler(Looper.getMainLooper());
+        decor.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+            private boolean logged;
+
+            @Override
+            public void onDraw() {
+                if (logged) return;
+                logged = true;
+                if (firstFramesTraced.incrementAndGet() <= MAX_TRACED_FIRST_FRAMES) {
+                    Log.i(TAG, "first frame " + label + ": +" + sinceProcessStart() + " ms");
+                }
+                // Listeners cannot be removed from inside onDraw.
+                mainHandler.post(() -> {
+                    if (decor.getViewTreeObserver().isAlive()) {
+                        decor.getViewTreeObserver().removeOnDrawListener(this);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Marks the first screen as usable and logs a summary of every phase. Only the first call per
+     * process counts.
+     */
+    static void reportInteractive(@NonNull Activity activity, @NonNull String what) {
+        if (!interactiveReported.compareAndSet(false, true)) return;
+        long total = sinceProcessStart();
+        activity.reportFullyDrawn();
+
+        StringBuilder summary = new StringBuilder("interactive (").append(what).append("): +")
+                .append(total).append(" ms");
+        synchronized (phaseStarts) {
+            for (Map.Entry<String, Long> phase : phaseDurations.entrySet()) {
+                summary.append(" | ").append(phase.getKey()).append(' ').append(phase.getValue()).append(" ms");
+            }
+        }
+        Log.i(TAG, summary.toString());
+    }
+}
@@ -5,6 +5,7 @@ import com.google.firebase.firestore.Exclude;
 import com.google.firebase.firestore.ServerTimestamp;
 
 import java.util.Date;
+import java.util.Map;
 
 /**
  * User: Support/helper/model class used by other BirdDex screens so logic can stay reusable and organized.
@@ -24,6 +25,7 @@ public class User {
     private int duplicateBirds; // New field
     private int totalPoints; // New field
     private String profilePictureUrl; // Added profile picture URL
+    private Map<String, String> profilePictureRenditions; // WebP thumbnails by longest edge (px)
     private int pfpChangesToday; // New field for PFP change limit
     private Date pfpCooldownResetTimestamp; // Renamed for rolling 24-hour cooldown
     private int openAiRequestsRemaining; // New field for OpenAI request limit
@@ -245,6 +247,10 @@ public class User {
 
     public void setProfilePictureUrl(String profilePictureUrl) { this.profilePictureUrl = profilePictureUrl; }
 
+    public Map<String, String> getProfilePictureRenditions() { return profilePictureRenditions; }
+
+    public void setProfilePictureRenditions(Map<String, String> profilePictureRenditions) { this.profilePictureRenditions = profilePictureRenditions; }
+
     /**
      * Returns the current value/state this class needs somewhere else in the app.
      */
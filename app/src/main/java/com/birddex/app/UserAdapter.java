@@ -8,7 +8,6 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.imageview.ShapeableImageView;
 
@@ -108,9 +107,8 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.UserViewHolder
             tvBio.setText(user.getBio() != null ? user.getBio() : "No bio yet.");
 
             // Load the image asynchronously so the UI can show remote/local media without blocking the main thread.
-            Glide.with(itemView.getContext())
-                    .load(user.getProfilePictureUrl())
-                    .placeholder(R.drawable.ic_profile)
+            SizedImageRequests.avatar(itemView.getContext(), user.getProfilePictureUrl(),
+                            user.getProfilePictureRenditions(), SizedImageRequests.USER_LIST_AVATAR_DP)
                     .into(ivPfp);
 
             // Attach the user interaction that should run when this control is tapped.
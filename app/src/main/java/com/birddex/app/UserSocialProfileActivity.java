@@ -101,8 +101,6 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
     private boolean isNavigating = false;
     private int favoriteFetchGeneration = 0;
     private boolean isFollowActionInProgress = false;
-    private final Map<String, Boolean> savedPostStateCache = new ConcurrentHashMap<>();
-    private final Set<String> savedPostStateInFlight = ConcurrentHashMap.newKeySet();
 
     /**
      * Android calls this when the Activity is first created. This is where the screen usually
@@ -284,7 +282,7 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
 
                     if (doc != null && doc.exists()) {
                         Log.d(TAG, "loadUserDetails: Document updated.");
-                        User user = doc.toObject(User.class);
+                        User user = FirestoreModelMappers.user(doc);
                         if (user != null) {
                             if (Boolean.TRUE.equals(doc.getBoolean("isDeleted"))) {
                                 Log.w(TAG, "Viewing deleted user.");
@@ -336,16 +334,13 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
                         Log.d(TAG, "loadFavoriteCards: Discarding stale generation " + myGen);
                         return;
                     }
-                    allCollectionSlots.clear();
-                    for (DocumentSnapshot doc : querySnapshot.getDocuments()) {
-                        CollectionSlot slot = doc.toObject(CollectionSlot.class);
-                        if (slot != null) {
-                            slot.setId(doc.getId());
-                            allCollectionSlots.add(slot);
-                        }
-                    }
-                    Log.d(TAG, "loadFavoriteCards: " + allCollectionSlots.size() + " slots loaded.");
-                    refreshFavoritesDisplay();
+                    FirestoreModelDecoder.decode(querySnapshot.getDocuments(), FirestoreModelDecoder.COLLECTION_SLOT, slots -> {
+                        if (myGen != favoriteFetchGeneration || isFinishing() || isDestroyed()) return;
+                        allCollectionSlots.clear();
+                        allCollectionSlots.addAll(slots);
+                        Log.d(TAG, "loadFavoriteCards: " + allCollectionSlots.size() + " slots loaded.");
+                        refreshFavoritesDisplay();
+                    });
                 })
                 .addOnFailureListener(e -> Log.e(TAG, "loadFavoriteCards: Failed.", e));
     }
@@ -501,22 +496,22 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
         query.get().addOnSuccessListener(value -> {
             if (value != null && !value.isEmpty()) {
                 lastVisible = value.getDocuments().get(value.size() - 1);
-                for (DocumentSnapshot doc : value.getDocuments()) {
-                    ForumPost post = doc.toObject(ForumPost.class);
-                    if (post != null) {
-                        post.setId(doc.getId());
+                if (value.size() < PAGE_SIZE) isLastPage = true;
+                // isFetching stays set until the page is decoded so pages are appended in order.
+                FirestoreModelDecoder.decode(value.getDocuments(), FirestoreModelDecoder.FORUM_POST, posts -> {
+                    isFetching = false;
+                    if (isFinishing() || isDestroyed()) return;
+                    for (ForumPost post : posts) {
                         if (isForumPostVisible(post)) postList.add(post);
                     }
-                }
-                Log.d(TAG, "fetchUserPosts: " + value.size() + " posts loaded. Total: " + postList.size());
-                tvPostCount.setText(String.valueOf(postList.size()));
-                adapter.setPosts(new ArrayList<>(postList));
-                primeSavedPostStates(postList);
-                if (value.size() < PAGE_SIZE) isLastPage = true;
-            } else {
-                Log.d(TAG, "fetchUserPosts: No more posts.");
-                isLastPage = true;
+                    Log.d(TAG, "fetchUserPosts: " + value.size() + " posts loaded. Total: " + postList.size());
+                    tvPostCount.setText(String.valueOf(postList.size()));
+                    adapter.setPosts(new ArrayList<>(postList));
+                });
+                return;
             }
+            Log.d(TAG, "fetchUserPosts: No more posts.");
+            isLastPage = true;
             isFetching = false;
         }).addOnFailureListener(e -> {
             isFetching = false;
@@ -543,7 +538,7 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
             post.setLikeCount(currentCount + 1);
             post.getLikedBy().put(userId, true);
         }
-        adapter.notifyDataSetChanged();
+        adapter.notifyPostChanged(post, ForumPostAdapter.PAYLOAD_COUNTS);
 
         firebaseManager.toggleForumPostLike(post.getId(), !currentlyLiked, new FirebaseManager.ActionListener() {
             @Override
@@ -560,7 +555,7 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
                 } else {
                     post.getLikedBy().remove(userId);
                 }
-                adapter.notifyDataSetChanged();
+                adapter.notifyPostChanged(post, ForumPostAdapter.PAYLOAD_COUNTS);
                 if (errorMessage != null && !errorMessage.trim().isEmpty()) {
                     MessagePopupHelper.showBrief(UserSocialProfileActivity.this, errorMessage);
                 }
@@ -568,37 +563,6 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
         });
     }
 
-    private void primeSavedPostState(@Nullable ForumPost post) {
-        if (post == null || post.getId() == null) return;
-
-        FirebaseUser user = FirebaseAuth.getInstance().getCurrentUser();
-        if (user == null) {
-            savedPostStateCache.put(post.getId(), false);
-            return;
-        }
-
-        if (savedPostStateCache.containsKey(post.getId())) return;
-        if (!savedPostStateInFlight.add(post.getId())) return;
-
-        firebaseManager.isForumPostSaved(post.getId(), task -> {
-            savedPostStateInFlight.remove(post.getId());
-            if (isFinishing() || isDestroyed()) return;
-
-            boolean isSaved = task.isSuccessful()
-                    && task.getResult() != null
-                    && task.getResult();
-
-            savedPostStateCache.put(post.getId(), isSaved);
-        });
-    }
-
-    private void primeSavedPostStates(@Nullable List<ForumPost> posts) {
-        if (posts == null || posts.isEmpty()) return;
-        for (ForumPost post : posts) {
-            primeSavedPostState(post);
-        }
-    }
-
     @Override public void onCommentClick(ForumPost post) { onPostClick(post); }
 
     /**
@@ -626,7 +590,7 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
         if (currentUser != null && post.getUserId().equals(currentUser.getUid())) {
             popup.getMenu().add("Delete");
         }
-        boolean isSaved = Boolean.TRUE.equals(savedPostStateCache.get(post.getId()));
+        boolean isSaved = SavedPostStore.get().isSaved(post.getId());
         popup.getMenu().add(isSaved ? "Unsave Post" : "Save Post");
         if (currentUser != null && !post.getUserId().equals(currentUser.getUid())) popup.getMenu().add("Report");
         popup.setOnMenuItemClickListener(item -> {
@@ -639,7 +603,6 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
                                 if (task.isSuccessful()) {
                                     postList.remove(post);
                                     adapter.setPosts(new ArrayList<>(postList));
-                                    primeSavedPostStates(postList);
                                     tvPostCount.setText(String.valueOf(postList.size()));
                                     MessagePopupHelper.showBrief(this, "Post deleted");
                                 } else if (task.getException() != null) {
@@ -665,7 +628,7 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
         firebaseManager.saveForumPost(post.getId(), new FirebaseManager.ForumWriteListener() {
             @Override public void onSuccess() {
                 if (isFinishing() || isDestroyed()) return;
-                savedPostStateCache.put(post.getId(), true);
+                SavedPostStore.get().setSaved(post.getId(), true);
                 MessagePopupHelper.showBrief(UserSocialProfileActivity.this, "Post saved");
             }
 
@@ -680,7 +643,7 @@ public class UserSocialProfileActivity extends AppCompatActivity implements
         firebaseManager.unsaveForumPost(post.getId(), new FirebaseManager.ForumWriteListener() {
             @Override public void onSuccess() {
                 if (isFinishing() || isDestroyed()) return;
-                savedPostStateCache.put(post.getId(), false);
+                SavedPostStore.get().setSaved(post.getId(), false);
                 MessagePopupHelper.showBrief(UserSocialProfileActivity.this, "Post unsaved");
             }
 
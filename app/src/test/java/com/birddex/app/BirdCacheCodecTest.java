@@ -0,0 +1,118 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BirdCacheCodecTest: Round trips through the binary bird cache format.
+ */
+public class BirdCacheCodecTest {
+
+    @Test
+    public void nearby_roundTripsBirdsAndCenter() throws Exception {
+        Bird cardinal = new Bird("noca", "Northern Cardinal", "Cardinalis cardinalis", null, null,
+                false, false, null, 1_700_000_000_000L, 33.75, -84.39);
+        Bird bare = new Bird();
+
+        byte[] bytes = BirdCacheCodec.encodeNearby(Arrays.asList(cardinal, bare), 33.7, -84.4);
+        BirdCacheCodec.NearbySnapshot snapshot = BirdCacheCodec.decodeNearby(ByteBuffer.wrap(bytes));
+
+        assertEquals(33.7, snapshot.centerLat, 0.0);
+        assertEquals(-84.4, snapshot.centerLng, 0.0);
+        assertEquals(2, snapshot.birds.size());
+
+        Bird first = snapshot.birds.get(0);
+        assertEquals("noca", first.getId());
+        assertEquals("Northern Cardinal", first.getCommonName());
+        assertEquals("Cardinalis cardinalis", first.getScientificName());
+        assertEquals(Long.valueOf(1_700_000_000_000L), first.getLastSeenTimestampGeorgia());
+        assertEquals(33.75, first.getLastSeenLatitudeGeorgia(), 0.0);
+        assertEquals(-84.39, first.getLastSeenLongitudeGeorgia(), 0.0);
+
+        // Missing strings come back as "" like the old JSON cache; missing numbers stay null.
+        Bird second = snapshot.birds.get(1);
+        assertEquals("", second.getId());
+        assertEquals("", second.getCommonName());
+        assertNull(second.getLastSeenTimestampGeorgia());
+        assertNull(second.getLastSeenLatitudeGeorgia());
+    }
+
+    @Test
+    public void nearby_dropsCenterWhenOnlyOneCoordinateIsKnown() throws Exception {
+        byte[] bytes = BirdCacheCodec.encodeNearby(Arrays.asList(), 33.7, null);
+        BirdCacheCodec.NearbySnapshot snapshot = BirdCacheCodec.decodeNearby(ByteBuffer.wrap(bytes));
+
+        assertNull(snapshot.centerLat);
+        assertNull(snapshot.centerLng);
+        assertTrue(snapshot.birds.isEmpty());
+    }
+
+    @Test
+    public void jsonObject_roundTripsEveryValueType() throws Exception {
+        JSONObject nested = new JSONObject().put("region", "US-GA").put("count", 3);
+        JSONObject object = new JSONObject()
+                .put("name", "Blue Jay")
+                .put("small", 42)
+                .put("big", 9_000_000_000L)
+                .put("ratio", 0.25)
+                .put("endangered", false)
+                .put("huntable", true)
+                .put("missing", JSONObject.NULL)
+                .put("nested", nested)
+                .put("tags", new JSONArray().put("corvid").put(7).put(new JSONObject().put("k", "v")));
+
+        JSONObject decoded = BirdCacheCodec.decodeJsonObject(ByteBuffer.wrap(BirdCacheCodec.encodeJsonObject(object)));
+
+        assertEquals("Blue Jay", decoded.getString("name"));
+        // Small longs decode as Integer, like JSONObject parsing would give.
+        assertEquals(42, decoded.get("small"));
+        assertEquals(9_000_000_000L, decoded.get("big"));
+        assertEquals(0.25, decoded.getDouble("ratio"), 0.0);
+        assertFalse(decoded.getBoolean("endangered"));
+        assertTrue(decoded.getBoolean("huntable"));
+        assertTrue(decoded.isNull("missing"));
+        assertEquals("US-GA", decoded.getJSONObject("nested").getString("region"));
+        assertEquals(3, decoded.getJSONObject("nested").getInt("count"));
+        JSONArray tags = decoded.getJSONArray("tags");
+        assertEquals(3, tags.length());
+        assertEquals("corvid", tags.getString(0));
+        assertEquals(7, tags.getInt(1));
+        assertEquals("v", tags.getJSONObject(2).getString("k"));
+    }
+
+    @Test
+    public void jsonList_roundTripsInOrder() throws Exception {
+        List<JSONObject> objects = Arrays.asList(
+                new JSONObject().put("id", "noca"),
+                new JSONObject().put("id", "blja"));
+
+        List<JSONObject> decoded = BirdCacheCodec.decodeJsonList(ByteBuffer.wrap(BirdCacheCodec.encodeJsonList(objects)));
+
+        assertEquals(2, decoded.size());
+        assertEquals("noca", decoded.get(0).getString("id"));
+        assertEquals("blja", decoded.get(1).getString("id"));
+    }
+
+    @Test
+    public void longMap_roundTrips() throws Exception {
+        Map<String, Long> accessTimes = new HashMap<>();
+        accessTimes.put("noca", 1_700_000_000_000L);
+        accessTimes.put("blja", 0L);
+
+        Map<String, Long> decoded = BirdCacheCodec.decodeLongMap(ByteBuffer.wrap(BirdCacheCodec.encodeLongMap(accessTimes)));
+
+        assertEquals(accessTimes, decoded);
+    }
+}
@@ -0,0 +1,163 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * BirdCacheStoreTest: Records survive reopening the file, damaged records are dropped, and
+ * compaction keeps only the live records.
+ */
+public class BirdCacheStoreTest {
+
+    // Header is magic + version; each record is 23 fixed bytes + key + payload.
+    private static final int HEADER_BYTES = 8;
+    private static final int RECORD_FIXED_BYTES = 23;
+
+    private File dir;
+    private File file;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = File.createTempFile("birdcache", "");
+        assertTrue(dir.delete() && dir.mkdir());
+        file = new File(dir, "cache.bin");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File child : files) child.delete();
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void putGetRemove_surviveReopen() {
+        BirdCacheStore store = new BirdCacheStore(file);
+        store.put("nearby", 10L, bytes("old"));
+        store.put("nearby", 20L, bytes("new"));
+        store.put("dex", 30L, bytes("dex"));
+        store.remove("dex");
+        store.remove("missing");
+
+        assertEquals("new", text(store.get("nearby")));
+        assertNull(store.get("dex"));
+
+        BirdCacheStore reopened = new BirdCacheStore(file);
+        assertEquals("new", text(reopened.get("nearby")));
+        assertEquals(20L, reopened.getTimestamp("nearby"));
+        assertEquals(3, reopened.getPayloadLength("nearby"));
+        assertFalse(reopened.contains("dex"));
+        assertEquals(0L, reopened.getTimestamp("dex"));
+        assertEquals(Arrays.asList("nearby"), reopened.keysWithPrefix("near"));
+    }
+
+    @Test
+    public void truncatedLastRecord_isDiscarded() throws Exception {
+        BirdCacheStore store = new BirdCacheStore(file);
+        store.put("a", 1L, bytes("first"));
+        store.put("b", 2L, bytes("second"));
+        long intactEnd = HEADER_BYTES + RECORD_FIXED_BYTES + 1 + 5;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 3);
+        }
+
+        BirdCacheStore reopened = new BirdCacheStore(file);
+        assertEquals("first", text(reopened.get("a")));
+        assertFalse(reopened.contains("b"));
+        assertEquals(intactEnd, file.length());
+
+        // New records go right after the last intact one.
+        reopened.put("c", 3L, bytes("third"));
+        BirdCacheStore again = new BirdCacheStore(file);
+        assertEquals("first", text(again.get("a")));
+        assertEquals("third", text(again.get("c")));
+    }
+
+    @Test
+    public void recordWithBadCrc_isNotServed() throws Exception {
+        BirdCacheStore store = new BirdCacheStore(file);
+        store.put("a", 1L, bytes("first"));
+        store.put("b", 2L, bytes("second"));
+        store.put("c", 3L, bytes("third"));
+        long secondPayload = HEADER_BYTES + (RECORD_FIXED_BYTES + 1 + 5) + RECORD_FIXED_BYTES + 1;
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(secondPayload);
+            raf.write('S');
+        }
+
+        BirdCacheStore reopened = new BirdCacheStore(file);
+        assertEquals("first", text(reopened.get("a")));
+        assertFalse(reopened.contains("b"));
+        // The log is cut at the first damaged record, so later ones go with it.
+        assertFalse(reopened.contains("c"));
+    }
+
+    @Test
+    public void compaction_keepsLiveRecords() {
+        BirdCacheStore store = new BirdCacheStore(file);
+        store.put("keep", 1L, bytes("small"));
+        store.put("gone", 2L, bytes("removed"));
+        store.remove("gone");
+        byte[] last = null;
+        for (int i = 0; i < 5; i++) {
+            last = new byte[100 * 1024];
+            Arrays.fill(last, (byte) i);
+            store.put("big", 10L + i, last);
+        }
+
+        // Five 100 KB versions of "big" would be ~500 KB without compaction.
+        assertTrue(file.length() < 150 * 1024);
+        assertArrayEquals(last, copy(store.get("big")));
+        assertEquals("small", text(store.get("keep")));
+        assertFalse(store.contains("gone"));
+
+        BirdCacheStore reopened = new BirdCacheStore(file);
+        assertArrayEquals(last, copy(reopened.get("big")));
+        assertEquals(14L, reopened.getTimestamp("big"));
+        assertEquals("small", text(reopened.get("keep")));
+        assertFalse(reopened.contains("gone"));
+    }
+
+    @Test
+    public void unknownFile_startsEmpty() throws Exception {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.write(bytes("not a cache file"));
+        }
+
+        BirdCacheStore store = new BirdCacheStore(file);
+        assertTrue(store.keysWithPrefix("").isEmpty());
+        store.put("a", 1L, bytes("first"));
+        assertEquals("first", text(new BirdCacheStore(file).get("a")));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        byte[] out = new byte[buffer.remaining()];
+        buffer.duplicate().get(out);
+        return out;
+    }
+
+    private static String text(ByteBuffer buffer) {
+        return new String(copy(buffer), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,135 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * BirdImageMetadataResolverTest: How batched image lookups are chunked and how capped chunks are
+ * followed up.
+ */
+public class BirdImageMetadataResolverTest {
+
+    private static final int ID = 0;
+    private static final int SPECIES_CODE = 1;
+    private static final int COMMON_NAME = 2;
+    private static final int SCIENTIFIC_NAME = 3;
+
+    @Test
+    public void valueChunks_dedupesAndSplitsAtQueryLimit() {
+        List<BirdImageMetadataResolver.Lookup> lookups = new ArrayList<>();
+        for (int i = 0; i < 65; i++) {
+            lookups.add(lookup("bird" + i, "Bird " + i, null));
+        }
+        lookups.add(lookup("bird0", "Bird 0 again", null));
+
+        List<List<String>> chunks = BirdImageMetadataResolver.valueChunks(lookups, "speciesCode");
+
+        assertEquals(3, chunks.size());
+        assertEquals(BirdImageMetadataResolver.MAX_VALUES_PER_QUERY, chunks.get(0).size());
+        assertEquals(BirdImageMetadataResolver.MAX_VALUES_PER_QUERY, chunks.get(1).size());
+        assertEquals(5, chunks.get(2).size());
+        assertEquals("bird0", chunks.get(0).get(0));
+        assertEquals("bird64", chunks.get(2).get(4));
+    }
+
+    @Test
+    public void valueChunks_skipsBlankValuesAndIdsWithSlashes() {
+        List<BirdImageMetadataResolver.Lookup> lookups = Arrays.asList(
+                lookup("a/b", "Slashed", null),
+                lookup("  ", "Blank", null),
+                lookup(null, null, "Cyanocitta cristata"));
+
+        assertTrue(BirdImageMetadataResolver.valueChunks(lookups, BirdImageMetadataResolver.FIELD_DOCUMENT_ID).isEmpty());
+        assertEquals(Collections.singletonList(Collections.singletonList("a/b")),
+                BirdImageMetadataResolver.valueChunks(lookups, "speciesCode"));
+        assertEquals(Collections.singletonList(Collections.singletonList("Cyanocitta cristata")),
+                BirdImageMetadataResolver.valueChunks(lookups, "scientificName"));
+    }
+
+    @Test
+    public void valuesToRequery_onlyTruncatedValuesAboveTheBestHit() {
+        BirdImageMetadataResolver.Lookup cardinal = lookup("noca", "Northern Cardinal", "Cardinalis cardinalis");
+        BirdImageMetadataResolver.Lookup jay = lookup("blja", "Blue Jay", "Cyanocitta cristata");
+        List<Map<String, String>> hits = emptyHits();
+        List<Set<String>> truncated = emptyTruncated();
+
+        // The cardinal matched by common name; its truncated scientific name ranks below that.
+        hits.get(COMMON_NAME).put("Northern Cardinal", "cardinal.jpg");
+        truncated.get(SPECIES_CODE).add("noca");
+        truncated.get(SCIENTIFIC_NAME).add("Cardinalis cardinalis");
+        // The jay matched nothing, and only its species code chunk was capped.
+        truncated.get(SPECIES_CODE).add("blja");
+
+        List<Set<String>> requery = BirdImageMetadataResolver.valuesToRequery(Arrays.asList(cardinal, jay), hits, truncated);
+
+        assertTrue(requery.get(ID).isEmpty());
+        assertEquals(new HashSet<>(Arrays.asList("noca", "blja")), requery.get(SPECIES_CODE));
+        assertTrue(requery.get(COMMON_NAME).isEmpty());
+        assertTrue(requery.get(SCIENTIFIC_NAME).isEmpty());
+    }
+
+    @Test
+    public void valuesToRequery_asksForEachValueOnce() {
+        List<Set<String>> truncated = emptyTruncated();
+        truncated.get(COMMON_NAME).add("Blue Jay");
+
+        List<Set<String>> requery = BirdImageMetadataResolver.valuesToRequery(
+                Arrays.asList(lookup("blja", "Blue Jay", null), lookup(null, "Blue Jay", "Cyanocitta cristata")),
+                emptyHits(), truncated);
+
+        assertEquals(Collections.singleton("Blue Jay"), requery.get(COMMON_NAME));
+    }
+
+    @Test
+    public void valuesToRequery_nothingWhenNoChunkWasCapped() {
+        List<Set<String>> requery = BirdImageMetadataResolver.valuesToRequery(
+                Collections.singletonList(lookup("noca", "Northern Cardinal", null)), emptyHits(), emptyTruncated());
+
+        for (Set<String> values : requery) assertTrue(values.isEmpty());
+    }
+
+    @Test
+    public void bestHit_followsFieldPriority() {
+        BirdImageMetadataResolver.Lookup cardinal = lookup("noca", "Northern Cardinal", "Cardinalis cardinalis");
+        List<Map<String, String>> hits = emptyHits();
+        assertNull(BirdImageMetadataResolver.bestHit(cardinal, hits));
+
+        hits.get(SCIENTIFIC_NAME).put("Cardinalis cardinalis", "scientific.jpg");
+        assertEquals("scientific.jpg", BirdImageMetadataResolver.bestHit(cardinal, hits));
+
+        hits.get(SPECIES_CODE).put("noca", "code.jpg");
+        assertEquals("code.jpg", BirdImageMetadataResolver.bestHit(cardinal, hits));
+
+        hits.get(ID).put("noca", "doc.jpg");
+        assertEquals("doc.jpg", BirdImageMetadataResolver.bestHit(cardinal, hits));
+    }
+
+    private static BirdImageMetadataResolver.Lookup lookup(String birdId, String commonName, String scientificName) {
+        return new BirdImageMetadataResolver.Lookup(birdId + "|" + commonName + "|" + scientificName,
+                birdId, commonName, scientificName);
+    }
+
+    private static List<Map<String, String>> emptyHits() {
+        List<Map<String, String>> hits = new ArrayList<>();
+        for (int f = 0; f < BirdImageMetadataResolver.FIELDS.length; f++) hits.add(new HashMap<>());
+        return hits;
+    }
+
+    private static List<Set<String>> emptyTruncated() {
+        List<Set<String>> truncated = new ArrayList<>();
+        for (int f = 0; f < BirdImageMetadataResolver.FIELDS.length; f++) truncated.add(new HashSet<>());
+        return truncated;
+    }
+}
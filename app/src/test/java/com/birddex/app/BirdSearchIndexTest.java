@@ -0,0 +1,85 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * BirdSearchIndexTest: Matching and ranking of the bird name search index.
+ */
+public class BirdSearchIndexTest {
+
+    private BirdSearchIndex<String> index;
+
+    @Before
+    public void setUp() {
+        index = new BirdSearchIndex<>();
+        index.put("noca", "Northern Cardinal", "Northern Cardinal", "Cardinalis cardinalis");
+        index.put("piwo", "Pileated Woodpecker", "Pileated Woodpecker", "Dryocopus pileatus");
+        index.put("rbwo", "Red-bellied Woodpecker", "Red-bellied Woodpecker", "Melanerpes carolinus");
+        index.put("dowo", "Downy Woodpecker", "Downy Woodpecker", "Dryobates pubescens");
+        index.put("blja", "Blue Jay", "Blue Jay", "Cyanocitta cristata");
+        index.put("baww", "Black-and-white Warbler", "Black-and-white Warbler", "Mniotilta varia");
+    }
+
+    @Test
+    public void blankQuery_returnsEverythingInInsertionOrder() {
+        assertEquals(Arrays.asList("Northern Cardinal", "Pileated Woodpecker", "Red-bellied Woodpecker",
+                "Downy Woodpecker", "Blue Jay", "Black-and-white Warbler"), index.search("  "));
+    }
+
+    @Test
+    public void ranksExactThenPrefixThenWordPrefixThenSubstring() {
+        index.put("card", "Cardinal", "Cardinal", null);
+        index.put("cardx", "Cardinalfish", "Cardinalfish", null);
+
+        List<String> results = index.search("cardinal");
+
+        assertEquals("Cardinal", results.get(0));
+        assertEquals("Cardinalfish", results.get(1));
+        assertEquals("Northern Cardinal", results.get(2));
+    }
+
+    @Test
+    public void midWordSubstring_matchesLikeContains() {
+        assertEquals(Arrays.asList("Northern Cardinal"), index.search("rdi"));
+        assertEquals(3, index.search("ood").size());
+        assertContainsAll(index.search("ood"), "Pileated Woodpecker", "Red-bellied Woodpecker", "Downy Woodpecker");
+        assertContainsAll(index.search("pec"), "Pileated Woodpecker", "Red-bellied Woodpecker", "Downy Woodpecker");
+        assertContainsAll(index.search("oodpec"), "Pileated Woodpecker", "Red-bellied Woodpecker", "Downy Woodpecker");
+        assertContainsAll(index.search("rn card"), "Northern Cardinal");
+    }
+
+    @Test
+    public void typo_stillFindsSpecies() {
+        assertEquals("Northern Cardinal", index.search("cardnal").get(0));
+        assertContainsAll(index.search("woodpeker"), "Pileated Woodpecker", "Red-bellied Woodpecker", "Downy Woodpecker");
+    }
+
+    @Test
+    public void normalizesPunctuationAndAccents() {
+        assertEquals("Black-and-white Warbler", index.search("black and white").get(0));
+        assertEquals("Blue Jay", index.search("BLUÉ").get(0));
+    }
+
+    @Test
+    public void removeAndRetainKeys_dropEntriesFromResults() {
+        index.remove("piwo");
+        assertEquals(2, index.search("woodpecker").size());
+
+        index.retainKeys(Arrays.asList("noca", "blja"));
+        assertEquals(2, index.size());
+        assertTrue(index.search("woodpecker").isEmpty());
+    }
+
+    private static void assertContainsAll(List<String> results, String... expected) {
+        for (String name : expected) {
+            assertTrue(name + " missing from " + results, results.contains(name));
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * BurstFrameAnalyzerTest: The fused analyzeFrame pass scores a frame exactly like the separate
+ * per-metric passes CaptureGuardHelper ran before it. Those original formulas are kept below as
+ * the reference.
+ */
+public class BurstFrameAnalyzerTest {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test
+    public void noise_matchesTheOriginalFormulas() {
+        Random random = new Random(42);
+        int width = 37;
+        int height = 29;
+        int[] argb = new int[width * height];
+        for (int i = 0; i < argb.length; i++) argb[i] = 0xFF000000 | random.nextInt(0x1000000);
+
+        assertMatchesReference(argb, width, height);
+    }
+
+    @Test
+    public void checkerboard_matchesTheOriginalFormulas() {
+        int width = 16;
+        int height = 16;
+        int[] argb = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) argb[y * width + x] = ((x + y) & 1) == 0 ? 0xFF101010 : 0xFFF0F0F0;
+        }
+
+        BurstFrameAnalyzer.BurstMetrics metrics = assertMatchesReference(argb, width, height);
+        assertEquals(1.0, metrics.aliasing[0], EPSILON);
+    }
+
+    @Test
+    public void rgbSubpixelColumns_matchTheOriginalFormulas() {
+        int width = 24;
+        int height = 18;
+        int[] columns = {0xFFFF2020, 0xFF20FF20, 0xFF2020FF};
+        int[] argb = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) argb[y * width + x] = columns[x % 3];
+        }
+
+        BurstFrameAnalyzer.BurstMetrics metrics = assertMatchesReference(argb, width, height);
+        assertTrue(metrics.screenArtifact[0] > 0.0);
+    }
+
+    @Test
+    public void brightCenterInDarkFrame_matchesTheOriginalFormulas() {
+        int width = 40;
+        int height = 32;
+        int[] argb = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean center = x >= 6 && x < width - 6 && y >= 6 && y < height - 6;
+                argb[y * width + x] = center ? 0xFFFAFAFA : 0xFF0A0A0A;
+            }
+        }
+
+        BurstFrameAnalyzer.BurstMetrics metrics = assertMatchesReference(argb, width, height);
+        assertTrue(metrics.border[0] > 0.0);
+        assertTrue(metrics.glare[0] > 0.0);
+    }
+
+    @Test
+    public void smallestAndFlatFrames_matchTheOriginalFormulas() {
+        int[] tiny = {
+                0xFF000000, 0xFFFFFFFF, 0xFF000000, 0xFFFFFFFF,
+                0xFF808080, 0xFF000000, 0xFFFFFFFF, 0xFF000000,
+                0xFFFFFFFF, 0xFF404040, 0xFF000000, 0xFFC0C0C0,
+                0xFF000000, 0xFFFFFFFF, 0xFF202020, 0xFFFFFFFF};
+        assertMatchesReference(tiny, 4, 4);
+
+        int[] flat = new int[12 * 10];
+        Arrays.fill(flat, 0xFF7F7F7F);
+        BurstFrameAnalyzer.BurstMetrics metrics = assertMatchesReference(flat, 12, 10);
+        assertEquals(0.0, metrics.sharpness[0], EPSILON);
+    }
+
+    @Test
+    public void frameSimilarity_matchesTheOriginalFormula() {
+        byte[] first = {0, 10, (byte) 200, (byte) 255};
+        byte[] second = {5, 10, (byte) 100, 0};
+
+        assertEquals(referenceFrameSimilarity(new int[]{0, 10, 200, 255}, new int[]{5, 10, 100, 0}),
+                BurstFrameAnalyzer.computeFrameSimilarity(first, second, 4), EPSILON);
+        assertEquals(1.0, BurstFrameAnalyzer.computeFrameSimilarity(first, first, 4), EPSILON);
+    }
+
+    private static BurstFrameAnalyzer.BurstMetrics assertMatchesReference(int[] argb, int width, int height) {
+        BurstFrameAnalyzer.BurstMetrics metrics = new BurstFrameAnalyzer.BurstMetrics(1);
+        byte[] luma = new byte[width * height];
+        BurstFrameAnalyzer.analyzeFrame(argb, luma, width, height, metrics, 0);
+
+        int[] gray = referenceGrayscale(argb);
+        for (int i = 0; i < gray.length; i++) assertEquals(gray[i], luma[i] & 0xFF);
+
+        assertTrue(metrics.decoded[0]);
+        assertEquals(referenceSharpness(gray, width, height), metrics.sharpness[0], EPSILON);
+        assertEquals(referenceAliasing(gray, width, height), metrics.aliasing[0], EPSILON);
+        assertEquals(referenceScreenArtifact(argb, gray, width, height), metrics.screenArtifact[0], EPSILON);
+        assertEquals(referenceBorder(gray, width, height), metrics.border[0], EPSILON);
+        assertEquals(referenceGlare(gray), metrics.glare[0], EPSILON);
+        return metrics;
+    }
+
+    // ---------------------------------------------------------------------
+    // Original CaptureGuardHelper formulas
+    // ---------------------------------------------------------------------
+
+    private static int[] referenceGrayscale(int[] pixels) {
+        int[] gray = new int[pixels.length];
+        for (int i = 0; i < pixels.length; i++) {
+            int color = pixels[i];
+            int r = (color >> 16) & 0xFF;
+            int g = (color >> 8) & 0xFF;
+            int b = color & 0xFF;
+            gray[i] = (int) ((0.299 * r) + (0.587 * g) + (0.114 * b));
+        }
+        return gray;
+    }
+
+    private static double referenceFrameSimilarity(int[] first, int[] second) {
+        int len = Math.min(first.length, second.length);
+        if (len == 0) return 0.0;
+        long diffSum = 0L;
+        for (int i = 0; i < len; i++) {
+            diffSum += Math.abs(first[i] - second[i]);
+        }
+        double meanDiff = (double) diffSum / len;
+        return CaptureGuardHelper.clamp(1.0 - (meanDiff / 255.0));
+    }
+
+    private static double referenceSharpness(int[] gray, int width, int height) {
+        if (width < 3 || height < 3) return 0.0;
+        double sum = 0.0;
+        double sumSq = 0.0;
+        int count = 0;
+
+        for (int y = 1; y < height - 1; y++) {
+            int row = y * width;
+            for (int x = 1; x < width - 1; x++) {
+                int idx = row + x;
+                double lap = (4.0 * gray[idx])
+                        - gray[idx - 1]
+                        - gray[idx + 1]
+                        - gray[idx - width]
+                        - gray[idx + width];
+                sum += lap;
+                sumSq += lap * lap;
+                count++;
+            }
+        }
+
+        if (count == 0) return 0.0;
+        double mean = sum / count;
+        return Math.max(0.0, (sumSq / count) - (mean * mean));
+    }
+
+    private static double referenceAliasing(int[] gray, int width, int height) {
+        if (width < 4 || height < 4) return 0.0;
+        long alternations = 0L;
+        long opportunities = 0L;
+
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            for (int x = 1; x < width - 1; x++) {
+                int d1 = gray[row + x] - gray[row + x - 1];
+                int d2 = gray[row + x + 1] - gray[row + x];
+                if (Math.abs(d1) >= 8 && Math.abs(d2) >= 8) {
+                    opportunities++;
+                    if ((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) {
+                        alternations++;
+                    }
+                }
+            }
+        }
+
+        for (int y = 1; y < height - 1; y++) {
+            for (int x = 0; x < width; x++) {
+                int d1 = gray[(y * width) + x] - gray[((y - 1) * width) + x];
+                int d2 = gray[((y + 1) * width) + x] - gray[(y * width) + x];
+                if (Math.abs(d1) >= 8 && Math.abs(d2) >= 8) {
+                    opportunities++;
+                    if ((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) {
+                        alternations++;
+                    }
+                }
+            }
+        }
+
+        if (opportunities == 0L) return 0.0;
+        return CaptureGuardHelper.clamp((double) alternations / opportunities);
+    }
+
+    private static double referenceScreenArtifact(int[] pixels, int[] gray, int width, int height) {
+        if (width < 4 || height < 4) return 0.0;
+        double colorFringing = referenceColorFringing(pixels, gray, width, height);
+        double pixelGrid = referencePixelGrid(gray, width, height);
+        return CaptureGuardHelper.clamp((0.65 * colorFringing) + (0.35 * pixelGrid));
+    }
+
+    private static double referenceColorFringing(int[] pixels, int[] gray, int width, int height) {
+        long hits = 0L;
+        long opportunities = 0L;
+
+        for (int y = 1; y < height - 1; y++) {
+            int row = y * width;
+            for (int x = 1; x < width - 1; x++) {
+                int idx = row + x;
+
+                if (referenceFringingEdge(pixels[idx - 1], pixels[idx + 1], Math.abs(gray[idx + 1] - gray[idx - 1]))) {
+                    hits++;
+                }
+                if (Math.abs(gray[idx + 1] - gray[idx - 1]) >= 24) {
+                    opportunities++;
+                }
+
+                if (referenceFringingEdge(pixels[idx - width], pixels[idx + width], Math.abs(gray[idx + width] - gray[idx - width]))) {
+                    hits++;
+                }
+                if (Math.abs(gray[idx + width] - gray[idx - width]) >= 24) {
+                    opportunities++;
+                }
+            }
+        }
+
+        if (opportunities == 0L) return 0.0;
+        return CaptureGuardHelper.clamp((double) hits / opportunities);
+    }
+
+    private static boolean referenceFringingEdge(int firstColor, int secondColor, int luminanceDiff) {
+        if (luminanceDiff < 24) return false;
+
+        int dr = Math.abs(((secondColor >> 16) & 0xFF) - ((firstColor >> 16) & 0xFF));
+        int dg = Math.abs(((secondColor >> 8) & 0xFF) - ((firstColor >> 8) & 0xFF));
+        int db = Math.abs((secondColor & 0xFF) - (firstColor & 0xFF));
+
+        int maxDelta = Math.max(dr, Math.max(dg, db));
+        int minDelta = Math.min(dr, Math.min(dg, db));
+        int midDelta = dr + dg + db - maxDelta - minDelta;
+
+        return maxDelta >= 30 && (maxDelta - minDelta) >= 18 && (maxDelta - midDelta) >= 10;
+    }
+
+    private static double referencePixelGrid(int[] gray, int width, int height) {
+        long hits = 0L;
+        long opportunities = 0L;
+
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            for (int x = 0; x < width - 2; x++) {
+                int a = gray[row + x];
+                int b = gray[row + x + 1];
+                int c = gray[row + x + 2];
+                int ab = Math.abs(a - b);
+                int bc = Math.abs(b - c);
+                int ac = Math.abs(a - c);
+                int edge = Math.max(ab, bc);
+                if (edge >= 12) {
+                    opportunities++;
+                    if (ac + 6 < ((ab + bc) / 2.0)) {
+                        hits++;
+                    }
+                }
+            }
+        }
+
+        for (int y = 0; y < height - 2; y++) {
+            for (int x = 0; x < width; x++) {
+                int a = gray[(y * width) + x];
+                int b = gray[((y + 1) * width) + x];
+                int c = gray[((y + 2) * width) + x];
+                int ab = Math.abs(a - b);
+                int bc = Math.abs(b - c);
+                int ac = Math.abs(a - c);
+                int edge = Math.max(ab, bc);
+                if (edge >= 12) {
+                    opportunities++;
+                    if (ac + 6 < ((ab + bc) / 2.0)) {
+                        hits++;
+                    }
+                }
+            }
+        }
+
+        if (opportunities == 0L) return 0.0;
+        return CaptureGuardHelper.clamp((double) hits / opportunities);
+    }
+
+    private static double referenceBorder(int[] gray, int width, int height) {
+        int band = Math.max(6, Math.min(width, height) / 16);
+        if (band * 2 >= width || band * 2 >= height) return 0.0;
+
+        double outerSum = 0.0;
+        double innerSum = 0.0;
+        int outerCount = 0;
+        int innerCount = 0;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                boolean outer = x < band || y < band || x >= width - band || y >= height - band;
+                boolean innerBand = !outer && (x < band * 2 || y < band * 2 || x >= width - (band * 2) || y >= height - (band * 2));
+                int value = gray[(y * width) + x];
+                if (outer) {
+                    outerSum += value;
+                    outerCount++;
+                } else if (innerBand) {
+                    innerSum += value;
+                    innerCount++;
+                }
+            }
+        }
+
+        if (outerCount == 0 || innerCount == 0) return 0.0;
+        double outerMean = outerSum / outerCount;
+        double innerMean = innerSum / innerCount;
+        return CaptureGuardHelper.clamp((innerMean - outerMean - 18.0) / 70.0);
+    }
+
+    private static double referenceGlare(int[] gray) {
+        if (gray.length == 0) return 0.0;
+        int clipped = 0;
+        for (int value : gray) {
+            if (value >= 245) clipped++;
+        }
+        return CaptureGuardHelper.clamp((double) clipped / gray.length);
+    }
+}
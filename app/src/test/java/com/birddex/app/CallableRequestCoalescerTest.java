@@ -0,0 +1,101 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CallableRequestCoalescerTest: Sharing of identical in-flight calls and the per-key backoff.
+ *
+ * The coalescer's registry is static, so every test uses its own keys.
+ */
+public class CallableRequestCoalescerTest {
+
+    private static final AtomicInteger keyCounter = new AtomicInteger();
+
+    private String key;
+    private int starts;
+    private TaskCompletionSource<String> source;
+
+    @Before
+    public void setUp() {
+        key = "test/" + keyCounter.incrementAndGet();
+        starts = 0;
+    }
+
+    @Test
+    public void identicalCalls_shareOneRequest() {
+        Task<String> first = CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+        Task<String> second = CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+
+        assertSame(first, second);
+        assertEquals(1, starts);
+    }
+
+    @Test
+    public void completedRequest_isNotJoinedAgain() {
+        Task<String> first = CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+        source.setResult("ok");
+
+        Task<String> second = CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+
+        assertNotSame(first, second);
+        assertEquals(2, starts);
+    }
+
+    @Test
+    public void failure_backsOffUntilIgnored() {
+        CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+        source.setException(new Exception("offline"));
+
+        Task<String> skipped = CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+        assertTrue(skipped.isComplete());
+        assertFalse(skipped.isSuccessful());
+        assertTrue(skipped.getException() instanceof CallableRequestCoalescer.BackoffException);
+        long retryInMs = ((CallableRequestCoalescer.BackoffException) skipped.getException()).retryInMs;
+        assertTrue(retryInMs > 0L && retryInMs <= CallableRequestCoalescer.BACKOFF_BASE_MS);
+        assertEquals(1, starts);
+
+        // An explicit refresh still reaches the network.
+        CallableRequestCoalescer.callWithBackoff(key, true, this::start);
+        assertEquals(2, starts);
+    }
+
+    @Test
+    public void success_clearsBackoff() {
+        CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+        source.setException(new Exception("offline"));
+        CallableRequestCoalescer.callWithBackoff(key, true, this::start);
+        source.setResult("ok");
+
+        CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+
+        assertEquals(3, starts);
+    }
+
+    @Test
+    public void backoffIsPerKey() {
+        CallableRequestCoalescer.callWithBackoff(key, false, this::start);
+        source.setException(new Exception("offline"));
+
+        CallableRequestCoalescer.callWithBackoff(key + "?other", false, this::start);
+
+        assertEquals(2, starts);
+    }
+
+    private Task<String> start() {
+        starts++;
+        source = new TaskCompletionSource<>();
+        return source.getTask();
+    }
+}
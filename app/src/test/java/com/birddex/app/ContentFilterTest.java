@@ -0,0 +1,109 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+/**
+ * ContentFilterTest: getInappropriateReason answers the same as the per-word regex filter it
+ * replaced. Every expected value below was checked against that original implementation.
+ */
+public class ContentFilterTest {
+
+    private static final String LANGUAGE = "inappropriate language";
+
+    @Test
+    public void emptyAndNullText_isSafe() {
+        assertNull(ContentFilter.getInappropriateReason(null));
+        assertNull(ContentFilter.getInappropriateReason(""));
+        assertNull(ContentFilter.getInappropriateReason("   "));
+    }
+
+    @Test
+    public void ordinaryBirdingText_isSafe() {
+        assertNull(ContentFilter.getInappropriateReason("cardinal at the feeder"));
+        assertNull(ContentFilter.getInappropriateReason("trumpeter swan"));
+        assertNull(ContentFilter.getInappropriateReason("cumulus clouds over the marsh"));
+    }
+
+    @Test
+    public void leetspeakAndRepeats_areNormalized() {
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("sh1t"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("$h!t"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("p0rn"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("fuuuuck"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("FUCK this"));
+        // "pr0n" is not on the list, and "ki11" normalizes to "ki" while "kill" becomes "kil".
+        assertNull(ContentFilter.getInappropriateReason("pr0n"));
+        assertNull(ContentFilter.getInappropriateReason("ki11 yourself"));
+    }
+
+    @Test
+    public void separatorsBetweenLetters_areSkipped() {
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("f u c k"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("f.u.c.k"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("f_u_c_k"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("f\nu\nc\nk"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("n-u-d-e"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("s e n d nudes"));
+    }
+
+    @Test
+    public void wordBoundaries_areRespected() {
+        assertNull(ContentFilter.getInappropriateReason("first class birding"));
+        assertNull(ContentFilter.getInappropriateReason("Scunthorpe"));
+        assertNull(ContentFilter.getInappropriateReason("the therapist said"));
+        assertNull(ContentFilter.getInappropriateReason("cocktail hour"));
+        assertNull(ContentFilter.getInappropriateReason("sussex"));
+        assertNull(ContentFilter.getInappropriateReason("method"));
+        assertNull(ContentFilter.getInappropriateReason("magazine"));
+        assertNull(ContentFilter.getInappropriateReason("banging"));
+        assertNull(ContentFilter.getInappropriateReason("1969"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("big bang"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("69"));
+    }
+
+    @Test
+    public void overlappingKeywords_stillMatch() {
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("motherfucker"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("fucking"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("dumbass"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("adolf hitler"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("sand nigger"));
+    }
+
+    @Test
+    public void multiWordAndPunctuatedKeywords() {
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("kill yourself"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("kill   yourself"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("9-11"));
+        assertNull(ContentFilter.getInappropriateReason("kill-yourself"));
+        assertNull(ContentFilter.getInappropriateReason("killyourself"));
+        assertNull(ContentFilter.getInappropriateReason("9 11"));
+    }
+
+    @Test
+    public void capitalizedKeywords_matchCaseInsensitively() {
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("KYS"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("kys"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("isis"));
+    }
+
+    @Test
+    public void birdNames_areWhitelisted() {
+        assertNull(ContentFilter.getInappropriateReason("Blue tits at the feeder"));
+        assertNull(ContentFilter.getInappropriateReason("a woodcock in the field"));
+        assertNull(ContentFilter.getInappropriateReason("dickcissel"));
+        assertNull(ContentFilter.getInappropriateReason("blue-footed booby"));
+        assertNull(ContentFilter.getInappropriateReason("cock!"));
+        assertEquals(LANGUAGE, ContentFilter.getInappropriateReason("boobs"));
+    }
+
+    @Test
+    public void otherChecks_runBeforeTheWordList() {
+        assertEquals("an email address", ContentFilter.getInappropriateReason("mail me at a@b.com, shit"));
+        assertEquals("external links", ContentFilter.getInappropriateReason("see https://example.com"));
+        assertEquals("excessive character repetition", ContentFilter.getInappropriateReason("aaaaaaaaaaaaaaaaaaaa"));
+    }
+}
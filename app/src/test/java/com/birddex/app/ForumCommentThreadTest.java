@@ -0,0 +1,123 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ForumCommentThreadTest: The flat comment rows and how expanding, collapsing, revealing and
+ * appending pages change them.
+ */
+public class ForumCommentThreadTest {
+
+    private ForumCommentThread thread;
+
+    @Before
+    public void setUp() {
+        thread = new ForumCommentThread();
+        thread.reset(Arrays.asList(
+                comment("a", null),
+                comment("a1", "a"),
+                comment("a2", "a"),
+                comment("a3", "a"),
+                comment("b", null),
+                comment("b1", "b")));
+    }
+
+    @Test
+    public void collapsedThreads_showTheirFirstReply() {
+        assertEquals(Arrays.asList("a", "a1", "b", "b1"), ids(thread.rows()));
+
+        ForumCommentThread.Row top = thread.rows().get(0);
+        assertEquals(ForumCommentThread.Row.TYPE_COMMENT, top.type);
+        assertEquals(3, top.replyCount);
+        assertFalse(top.expanded);
+        assertEquals(ForumCommentThread.Row.TYPE_REPLY, thread.rows().get(1).type);
+    }
+
+    @Test
+    public void toggle_expandsThenCollapses() {
+        assertTrue(thread.toggle("a"));
+        assertEquals(Arrays.asList("a", "a1", "a2", "a3", "b", "b1"), ids(thread.rows()));
+        assertTrue(thread.rows().get(0).expanded);
+
+        assertTrue(thread.toggle("a"));
+        assertEquals(Arrays.asList("a", "a1", "b", "b1"), ids(thread.rows()));
+    }
+
+    @Test
+    public void toggle_ignoresRepliesAndUnknownIds() {
+        assertFalse(thread.toggle("a2"));
+        assertFalse(thread.toggle("missing"));
+        assertFalse(thread.toggle(null));
+        assertEquals(Arrays.asList("a", "a1", "b", "b1"), ids(thread.rows()));
+    }
+
+    @Test
+    public void reveal_expandsTheThreadOfAHiddenReply() {
+        assertTrue(thread.reveal("a3"));
+        assertTrue(thread.isExpanded("a"));
+        assertTrue(ids(thread.rows()).contains("a3"));
+    }
+
+    @Test
+    public void reveal_leavesVisibleCommentsAlone() {
+        assertTrue(thread.reveal("b"));
+        assertTrue(thread.reveal("a1"));
+        assertFalse(thread.isExpanded("a"));
+        assertFalse(thread.reveal("missing"));
+    }
+
+    @Test
+    public void reveal_failsForAReplyWhoseThreadIsNotLoaded() {
+        thread.append(Arrays.asList(comment("x1", "x")));
+        assertFalse(thread.reveal("x1"));
+    }
+
+    @Test
+    public void append_addsNewRepliesAndThreadsAndSkipsRepeats() {
+        thread.toggle("b");
+        List<ForumComment> added = thread.append(Arrays.asList(
+                comment("b1", "b"),
+                comment("b2", "b"),
+                comment("c", null)));
+
+        assertEquals(Arrays.asList("b2", "c"), idsOf(added));
+        assertEquals(Arrays.asList("a", "a1", "b", "b1", "b2", "c"), ids(thread.rows()));
+        assertEquals(2, thread.rows().get(2).replyCount);
+    }
+
+    @Test
+    public void reset_keepsExpandedThreads() {
+        thread.toggle("a");
+        thread.reset(Arrays.asList(comment("a", null), comment("a1", "a"), comment("a2", "a")));
+
+        assertEquals(Arrays.asList("a", "a1", "a2"), ids(thread.rows()));
+    }
+
+    private static ForumComment comment(String id, String parentId) {
+        ForumComment comment = new ForumComment();
+        comment.setId(id);
+        comment.setParentCommentId(parentId);
+        return comment;
+    }
+
+    private static List<String> ids(List<ForumCommentThread.Row> rows) {
+        List<String> ids = new ArrayList<>();
+        for (ForumCommentThread.Row row : rows) ids.add(row.comment.getId());
+        return ids;
+    }
+
+    private static List<String> idsOf(List<ForumComment> comments) {
+        List<String> ids = new ArrayList<>();
+        for (ForumComment comment : comments) ids.add(comment.getId());
+        return ids;
+    }
+}
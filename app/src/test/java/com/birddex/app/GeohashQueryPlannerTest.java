@@ -0,0 +1,119 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GeohashQueryPlannerTest: Geohash encoding and the range queries planned for a map viewport.
+ */
+public class GeohashQueryPlannerTest {
+
+    // -84.375 is a cell edge at precision 6 (8704 cells of 360/2^15 degrees from -180).
+    private static final double CELL_EDGE_LNG = -84.375;
+
+    @Test
+    public void encode_matchesStandardGeohash() {
+        assertEquals("u4pruydqqvj", GeohashQueryPlanner.encode(57.64911, 10.40744, 11));
+        // Same value encodeGeohash() in functions/modules/_shared.js stamps on a sighting.
+        assertEquals("djgzzxy", GeohashQueryPlanner.encode(33.7490, -84.3880, 7));
+        assertNull(GeohashQueryPlanner.encode(Double.NaN, 0, 5));
+    }
+
+    @Test
+    public void viewportInsideOneCell_givesOneRangeAtMaxPrecision() {
+        double lat = 33.7490;
+        double lng = -84.3850;
+        List<GeohashQueryPlanner.GeohashRange> ranges =
+                GeohashQueryPlanner.planRanges(lat - 0.0001, lng - 0.0001, lat + 0.0001, lng + 0.0001);
+
+        String cell = GeohashQueryPlanner.encode(lat, lng, 6);
+        assertEquals(1, ranges.size());
+        assertEquals(cell, ranges.get(0).start);
+        assertEquals(cell + "~", ranges.get(0).end);
+        assertCovered(ranges, GeohashQueryPlanner.encode(lat, lng, GeohashQueryPlanner.SIGHTING_PRECISION));
+    }
+
+    @Test
+    public void viewportCrossingACellEdge_coversBothCells() {
+        double lat = 33.7490;
+        String west = GeohashQueryPlanner.encode(lat, CELL_EDGE_LNG - 0.00005, 6);
+        String east = GeohashQueryPlanner.encode(lat, CELL_EDGE_LNG + 0.00005, 6);
+        assertNotEquals(west, east);
+
+        List<GeohashQueryPlanner.GeohashRange> ranges =
+                GeohashQueryPlanner.planRanges(lat - 0.0001, CELL_EDGE_LNG - 0.0001, lat + 0.0001, CELL_EDGE_LNG + 0.0001);
+
+        assertEquals(6, ranges.get(0).start.length());
+        assertEquals(sortedPair(west, east),
+                GeohashQueryPlanner.listCells(lat - 0.0001, CELL_EDGE_LNG - 0.0001, lat + 0.0001, CELL_EDGE_LNG + 0.0001, 6));
+        assertCovered(ranges, GeohashQueryPlanner.encode(lat, CELL_EDGE_LNG - 0.00005, 7));
+        assertCovered(ranges, GeohashQueryPlanner.encode(lat, CELL_EDGE_LNG + 0.00005, 7));
+    }
+
+    @Test
+    public void largeViewport_usesTheFinestPrecisionUnderTheCellLimit() {
+        // Roughly the state of Georgia.
+        double south = 30.36, west = -85.61, north = 35.00, east = -80.84;
+        List<GeohashQueryPlanner.GeohashRange> ranges = GeohashQueryPlanner.planRanges(south, west, north, east);
+
+        int precision = ranges.get(0).start.length();
+        assertTrue(precision < 6);
+        assertTrue(GeohashQueryPlanner.listCells(south, west, north, east, precision).size() <= 16);
+        assertTrue(GeohashQueryPlanner.listCells(south, west, north, east, precision + 1).size() > 16);
+        for (GeohashQueryPlanner.GeohashRange range : ranges) {
+            assertEquals(precision, range.start.length());
+        }
+        assertCovered(ranges, GeohashQueryPlanner.encode(33.7490, -84.3880, 7));
+        assertCovered(ranges, GeohashQueryPlanner.encode(31.5, -81.3, 7));
+    }
+
+    @Test
+    public void rangeCount_isCappedAndRangesDoNotOverlap() {
+        double[][] viewports = {
+                {30.36, -85.61, 35.00, -80.84},
+                {33.60, -84.60, 33.90, -84.20},
+                {33.7485, -84.3890, 33.7495, -84.3870},
+                {-90, -180, 90, 180},
+        };
+        for (double[] box : viewports) {
+            List<GeohashQueryPlanner.GeohashRange> ranges = GeohashQueryPlanner.planRanges(box[0], box[1], box[2], box[3]);
+            assertTrue(!ranges.isEmpty() && ranges.size() <= 16);
+            for (int i = 1; i < ranges.size(); i++) {
+                assertTrue(ranges.get(i - 1).end.compareTo(ranges.get(i).start) < 0);
+            }
+        }
+    }
+
+    @Test
+    public void wholeWorld_isOneRange() {
+        List<GeohashQueryPlanner.GeohashRange> ranges = GeohashQueryPlanner.planRanges(-90, -180, 90, 180);
+
+        assertEquals(1, ranges.size());
+        assertEquals("0", ranges.get(0).start);
+        assertEquals("z~", ranges.get(0).end);
+    }
+
+    @Test
+    public void nanViewport_hasNoRanges() {
+        assertTrue(GeohashQueryPlanner.planRanges(Double.NaN, -84, 34, -83).isEmpty());
+        assertTrue(GeohashQueryPlanner.listCells(33, -84, 34, -83, 0).isEmpty());
+    }
+
+    private static List<String> sortedPair(String a, String b) {
+        return a.compareTo(b) < 0 ? Arrays.asList(a, b) : Arrays.asList(b, a);
+    }
+
+    private static void assertCovered(List<GeohashQueryPlanner.GeohashRange> ranges, String geohash) {
+        for (GeohashQueryPlanner.GeohashRange range : ranges) {
+            if (geohash.compareTo(range.start) >= 0 && geohash.compareTo(range.end) <= 0) return;
+        }
+        throw new AssertionError(geohash + " not covered by " + ranges);
+    }
+}
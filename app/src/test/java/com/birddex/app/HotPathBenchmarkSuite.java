@@ -0,0 +1,226 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * HotPathBenchmarkSuite: Host-JVM micro-benchmarks for the CPU-bound code paths we optimise.
+ *
+ * Skipped during normal unit test runs. Run with:
+ *   ./gradlew :app:testDebugUnitTest --tests "com.birddex.app.HotPathBenchmarkSuite" -Pbirddex.runBenchmarks=true
+ * Add -Pbirddex.updateBenchmarkBaseline=true to overwrite app/benchmarks/baseline.properties
+ * with the current numbers (do this on the machine you compare on, before an optimisation).
+ * The report is written to app/build/reports/benchmarks/hot-paths.txt.
+ */
+public class HotPathBenchmarkSuite {
+
+    private static final int FRAME_SIZE = BurstFrameAnalyzer.FRAME_SIZE;
+    private static final int HEATMAP_SIGHTING_COUNT = 20_000;
+    // NearbyHeatmapActivity.SIGHTING_RECENCY_MS
+    private static final long HEATMAP_RECENCY_MS = 72L * 60 * 60 * 1000;
+    private static final double DEFAULT_REGRESSION_THRESHOLD = 0.15;
+
+    @Test
+    public void runHotPathBenchmarks() throws Exception {
+        Assume.assumeTrue("Pass -Pbirddex.runBenchmarks=true to run micro-benchmarks.",
+                Boolean.getBoolean("birddex.runBenchmarks"));
+
+        MicroBenchmarkRunner runner = new MicroBenchmarkRunner(5, 10, 200);
+
+        registerContentFilterBenchmarks(runner);
+        registerCaptureGuardBenchmarks(runner);
+        registerHeatmapBucketingBenchmarks(runner);
+
+        File baselineFile = new File(System.getProperty("birddex.benchmarkBaseline", "benchmarks/baseline.properties"));
+        File reportFile = new File(System.getProperty("birddex.benchmarkReport", "build/reports/benchmarks/hot-paths.txt"));
+        double threshold = Double.parseDouble(System.getProperty("birddex.benchmarkThreshold",
+                String.valueOf(DEFAULT_REGRESSION_THRESHOLD)));
+
+        Map<String, Double> baseline = MicroBenchmarkRunner.loadBaseline(baselineFile);
+        List<String> regressions = runner.writeReport(baseline, threshold, reportFile);
+
+        if (Boolean.getBoolean("birddex.updateBenchmarkBaseline")) {
+            runner.writeBaseline(baselineFile);
+            return;
+        }
+        if (!regressions.isEmpty()) {
+            fail("Benchmarks slower than baseline by more than " + Math.round(threshold * 100) + "%: " + regressions);
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // ContentFilter
+    // ---------------------------------------------------------------------
+
+    private void registerContentFilterBenchmarks(MicroBenchmarkRunner runner) throws Exception {
+        List<String> corpus = loadCorpus("/benchmarks/forum_corpus.txt");
+        assertTrue("Benchmark corpus is empty", !corpus.isEmpty());
+
+        StringBuilder longComment = new StringBuilder();
+        for (String line : corpus) longComment.append(line).append(' ');
+        String longText = longComment.toString();
+
+        int[] cursor = new int[1];
+        runner.run("contentFilter.getInappropriateReason.corpusLine", () -> {
+            String line = corpus.get(cursor[0]++ % corpus.size());
+            String reason = ContentFilter.getInappropriateReason(line);
+            return reason != null ? reason.length() : 0;
+        });
+
+        runner.run("contentFilter.getInappropriateReason.longComment", () -> {
+            String reason = ContentFilter.getInappropriateReason(longText);
+            return reason != null ? reason.length() : 0;
+        });
+
+        // Mirrors PostDetailActivity re-checking the whole draft on every keystroke.
+        runner.run("contentFilter.getInappropriateReason.typingPrefixes", () -> {
+            String line = corpus.get(cursor[0]++ % corpus.size());
+            long acc = 0L;
+            for (int end = 8; end <= line.length(); end += 8) {
+                String reason = ContentFilter.getInappropriateReason(line.substring(0, end));
+                acc += reason != null ? 1 : 0;
+            }
+            return acc;
+        });
+    }
+
+    private List<String> loadCorpus(String resource) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (InputStream in = getClass().getResourceAsStream(resource)) {
+            if (in == null) return lines;
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.startsWith("#")) continue;
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    // ---------------------------------------------------------------------
+    // CaptureGuardHelper burst analysis (BurstFrameAnalyzer, no Bitmap involved)
+    // ---------------------------------------------------------------------
+
+    private void registerCaptureGuardBenchmarks(MicroBenchmarkRunner runner) {
+        int[] photo = toArgb(buildPhotoLikeFrame(new Random(7)));
+        int[] nextPhoto = toArgb(buildPhotoLikeFrame(new Random(8)));
+        int[] screen = toArgb(buildScreenLikeFrame(new Random(9)));
+
+        BurstFrameAnalyzer.BurstMetrics metrics = new BurstFrameAnalyzer.BurstMetrics(1);
+        byte[] luma = new byte[FRAME_SIZE * FRAME_SIZE];
+        byte[] nextLuma = new byte[FRAME_SIZE * FRAME_SIZE];
+        BurstFrameAnalyzer.analyzeFrame(nextPhoto, nextLuma, FRAME_SIZE, FRAME_SIZE, metrics, 0);
+
+        runner.run("captureGuard.analyzeFrame.photo", () -> {
+            BurstFrameAnalyzer.analyzeFrame(photo, luma, FRAME_SIZE, FRAME_SIZE, metrics, 0);
+            return (long) metrics.sharpness[0];
+        });
+        runner.run("captureGuard.analyzeFrame.screen", () -> {
+            BurstFrameAnalyzer.analyzeFrame(screen, luma, FRAME_SIZE, FRAME_SIZE, metrics, 0);
+            return (long) (1000 * metrics.screenArtifact[0]);
+        });
+        runner.run("captureGuard.computeFrameSimilarity.photoPair", () ->
+                (long) (1000 * BurstFrameAnalyzer.computeFrameSimilarity(luma, nextLuma, luma.length)));
+    }
+
+    private static int[] toArgb(int[] gray) {
+        int[] argb = new int[gray.length];
+        for (int i = 0; i < gray.length; i++) {
+            int value = gray[i];
+            // Nudge red/blue apart a little so the color-fringing check has real work to do.
+            int r = Math.min(255, value + (i % 3 == 0 ? 36 : 0));
+            int b = Math.max(0, value - (i % 3 == 1 ? 36 : 0));
+            argb[i] = 0xFF000000 | (r << 16) | (value << 8) | b;
+        }
+        return argb;
+    }
+
+    /**
+     * Smooth gradients, a few hard-edged shapes and sensor-like noise (grayscale).
+     */
+    private static int[] buildPhotoLikeFrame(Random random) {
+        int[] gray = new int[FRAME_SIZE * FRAME_SIZE];
+        int cx = 80 + random.nextInt(96);
+        int cy = 80 + random.nextInt(96);
+        for (int y = 0; y < FRAME_SIZE; y++) {
+            for (int x = 0; x < FRAME_SIZE; x++) {
+                double background = 60 + 90.0 * y / FRAME_SIZE + 30.0 * Math.sin(x / 23.0);
+                int dx = x - cx;
+                int dy = y - cy;
+                boolean subject = (dx * dx) / 2500.0 + (dy * dy) / 900.0 < 1.0;
+                double value = subject ? 40 + (x % 17) : background;
+                value += random.nextGaussian() * 6.0;
+                gray[y * FRAME_SIZE + x] = Math.max(0, Math.min(255, (int) value));
+            }
+        }
+        return gray;
+    }
+
+    /**
+     * A photographed screen: fine subpixel grid plus moire banding.
+     */
+    private static int[] buildScreenLikeFrame(Random random) {
+        int[] gray = new int[FRAME_SIZE * FRAME_SIZE];
+        for (int y = 0; y < FRAME_SIZE; y++) {
+            for (int x = 0; x < FRAME_SIZE; x++) {
+                double grid = ((x % 3 == 0) || (y % 3 == 0)) ? -28 : 12;
+                double moire = 25.0 * Math.sin((x + 0.7 * y) / 5.3);
+                double value = 128 + grid + moire + random.nextGaussian() * 3.0;
+                gray[y * FRAME_SIZE + x] = Math.max(0, Math.min(255, (int) value));
+            }
+        }
+        return gray;
+    }
+
+    // ---------------------------------------------------------------------
+    // NearbyHeatmapActivity bucketing loop
+    // ---------------------------------------------------------------------
+
+    private void registerHeatmapBucketingBenchmarks(MicroBenchmarkRunner runner) {
+        Random random = new Random(11);
+        long now = 1_700_000_000_000L;
+        double[] lats = new double[HEATMAP_SIGHTING_COUNT];
+        double[] lngs = new double[HEATMAP_SIGHTING_COUNT];
+        Long[] times = new Long[HEATMAP_SIGHTING_COUNT];
+        for (int i = 0; i < HEATMAP_SIGHTING_COUNT; i++) {
+            // Georgia-ish spread, denser around Atlanta.
+            boolean metro = random.nextInt(3) > 0;
+            lats[i] = metro ? 33.75 + random.nextGaussian() * 0.25 : 30.4 + random.nextDouble() * 4.6;
+            lngs[i] = metro ? -84.39 + random.nextGaussian() * 0.25 : -85.6 + random.nextDouble() * 4.8;
+            times[i] = now - (long) (random.nextDouble() * 96L * 60 * 60 * 1000);
+        }
+
+        runner.run("heatmap.filterAndBucket.20kSightings", () -> {
+            HotspotGrid<int[]> grid = new HotspotGrid<>();
+            for (int i = 0; i < HEATMAP_SIGHTING_COUNT; i++) {
+                // Same checks as NearbyHeatmapActivity.shouldBeFiltered, with a metro Atlanta viewport.
+                if (times[i] != null && now - times[i] > HEATMAP_RECENCY_MS) continue;
+                if (!HotspotGrid.boundsContain(33.2, -85.0, 34.3, -83.8, lats[i], lngs[i])) continue;
+                grid.getOrCreate(HotspotGrid.cellKey(lats[i], lngs[i]), key -> new int[1])[0]++;
+            }
+            return grid.size();
+        });
+
+        runner.run("heatmap.hotspotId.allCells", () -> {
+            long acc = 0L;
+            for (int i = 0; i < 1_000; i++) {
+                acc += HotspotGrid.hotspotIdFor(lats[i], lngs[i]).length();
+            }
+            return acc;
+        });
+    }
+}
@@ -0,0 +1,55 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * HotspotGridTest: Cell keys, hotspot ids and the viewport check used when bucketing sightings.
+ */
+public class HotspotGridTest {
+
+    @Test
+    public void cellKey_roundsToTheNearestCell() {
+        long key = HotspotGrid.cellKey(33.7489, -84.3881);
+
+        assertEquals(key, HotspotGrid.cellKey(33.7401, -84.3899));
+        assertEquals(33.74, HotspotGrid.cellCenterLat(key), 1e-9);
+        assertEquals(-84.38, HotspotGrid.cellCenterLng(key), 1e-9);
+        assertEquals("33.7400,-84.3800", HotspotGrid.hotspotIdFor(33.7489, -84.3881));
+    }
+
+    @Test
+    public void getOrCreate_reusesTheCellValue() {
+        HotspotGrid<int[]> grid = new HotspotGrid<>();
+        long key = HotspotGrid.cellKey(33.75, -84.39);
+
+        int[] first = grid.getOrCreate(key, cellKey -> new int[1]);
+        first[0]++;
+        int[] second = grid.getOrCreate(key, cellKey -> new int[1]);
+
+        assertSame(first, second);
+        assertEquals(1, grid.size());
+        assertNull(grid.get(HotspotGrid.cellKey(34.0, -84.0)));
+    }
+
+    @Test
+    public void boundsContain_matchesLatLngBounds() {
+        // Metro Atlanta viewport.
+        assertTrue(HotspotGrid.boundsContain(33.2, -85.0, 34.3, -83.8, 33.75, -84.39));
+        assertTrue(HotspotGrid.boundsContain(33.2, -85.0, 34.3, -83.8, 33.2, -83.8));
+        assertFalse(HotspotGrid.boundsContain(33.2, -85.0, 34.3, -83.8, 31.0, -84.39));
+        assertFalse(HotspotGrid.boundsContain(33.2, -85.0, 34.3, -83.8, 33.75, -82.0));
+    }
+
+    @Test
+    public void boundsContain_handlesTheAntimeridian() {
+        assertTrue(HotspotGrid.boundsContain(-10, 170, 10, -170, 0, 179));
+        assertTrue(HotspotGrid.boundsContain(-10, 170, 10, -170, 0, -175));
+        assertFalse(HotspotGrid.boundsContain(-10, 170, 10, -170, 0, 0));
+    }
+}
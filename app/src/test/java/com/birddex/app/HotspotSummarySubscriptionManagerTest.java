@@ -0,0 +1,93 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * HotspotSummarySubscriptionManagerTest: Which hotspot summary batches survive a map refresh and
+ * which are opened.
+ */
+public class HotspotSummarySubscriptionManagerTest {
+
+    private static final int MAX = HotspotSummarySubscriptionManager.MAX_IDS_PER_QUERY;
+
+    @Test
+    public void firstRefresh_packsIdsIntoFullBatches() {
+        HotspotSummarySubscriptionManager.BatchPlan plan =
+                HotspotSummarySubscriptionManager.planBatches(Collections.emptyList(), ids("h", 0, 65));
+
+        assertTrue(plan.keptBatchIndexes.isEmpty());
+        assertEquals(3, plan.newBatches.size());
+        assertEquals(ids("h", 0, 65), union(plan.newBatches));
+        for (Set<String> batch : plan.newBatches) assertTrue(batch.size() <= MAX);
+    }
+
+    @Test
+    public void panAwayAndBack_keepsTheBatchWithoutRequerying() {
+        // A -> B: one id of the batch stays on screen, so the batch keeps listening.
+        List<Set<String>> current = Collections.singletonList(ids("h", 0, 10));
+        HotspotSummarySubscriptionManager.BatchPlan away =
+                HotspotSummarySubscriptionManager.planBatches(current, ids("h", 9, 11));
+        assertEquals(Collections.singletonList(0), away.keptBatchIndexes);
+        assertEquals(Collections.singletonList(ids("h", 10, 11)), away.newBatches);
+
+        // B -> A: the ids that went off screen are still covered and must not be queried again,
+        // which is why the manager keeps their cached summaries.
+        List<Set<String>> afterAway = Arrays.asList(ids("h", 0, 10), ids("h", 10, 11));
+        HotspotSummarySubscriptionManager.BatchPlan back =
+                HotspotSummarySubscriptionManager.planBatches(afterAway, ids("h", 0, 10));
+        assertEquals(Collections.singletonList(0), back.keptBatchIndexes);
+        assertTrue(back.newBatches.isEmpty());
+    }
+
+    @Test
+    public void batchesWithNoVisibleIds_areDropped() {
+        List<Set<String>> current = Arrays.asList(ids("a", 0, 5), ids("b", 0, 5));
+
+        HotspotSummarySubscriptionManager.BatchPlan plan =
+                HotspotSummarySubscriptionManager.planBatches(current, ids("b", 0, 3));
+
+        assertEquals(Collections.singletonList(1), plan.keptBatchIndexes);
+        assertTrue(plan.newBatches.isEmpty());
+    }
+
+    @Test
+    public void fragmentedBatches_areRepacked() {
+        // Five batches each still showing one id: 5 queries for 5 ids is more than twice the minimum.
+        List<Set<String>> current = new ArrayList<>();
+        Set<String> next = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            current.add(ids("p" + i + "_", 0, MAX));
+            next.add("p" + i + "_0");
+        }
+
+        HotspotSummarySubscriptionManager.BatchPlan plan =
+                HotspotSummarySubscriptionManager.planBatches(current, next);
+
+        assertTrue(plan.keptBatchIndexes.isEmpty());
+        assertEquals(1, plan.newBatches.size());
+        assertEquals(next, plan.newBatches.get(0));
+    }
+
+    private static Set<String> ids(String prefix, int from, int to) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (int i = from; i < to; i++) ids.add(prefix + i);
+        return ids;
+    }
+
+    private static Set<String> union(List<Set<String>> batches) {
+        Set<String> all = new HashSet<>();
+        for (Set<String> batch : batches) all.addAll(batch);
+        return all;
+    }
+}
@@ -0,0 +1,87 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * KeywordAutomatonTest: Every pattern occurrence is reported once, at the position it ends.
+ */
+public class KeywordAutomatonTest {
+
+    @Test
+    public void overlappingPatterns_areAllReported() {
+        KeywordAutomaton automaton = new KeywordAutomaton(Arrays.asList("he", "she", "his", "hers"));
+
+        // "ushers": "she" and "he" both end at index 3, "hers" at index 5.
+        assertEquals(Arrays.asList("3:she", "3:he", "5:hers"),
+                matches(automaton, Arrays.asList("he", "she", "his", "hers"), "ushers"));
+    }
+
+    @Test
+    public void patternInsideAnother_isReportedToo() {
+        List<String> patterns = Arrays.asList("fucker", "motherfucker", "fuck");
+        KeywordAutomaton automaton = new KeywordAutomaton(patterns);
+
+        assertEquals(Arrays.asList("9:fuck", "11:motherfucker", "11:fucker"),
+                matches(automaton, patterns, "motherfucker"));
+    }
+
+    @Test
+    public void unknownCharacters_resetToTheRoot() {
+        List<String> patterns = Arrays.asList("ab");
+        KeywordAutomaton automaton = new KeywordAutomaton(patterns);
+
+        assertTrue(matches(automaton, patterns, "aéb a-b").isEmpty());
+        assertEquals(Arrays.asList("5:ab"), matches(automaton, patterns, "aéb ab"));
+    }
+
+    @Test
+    public void emptyText_hasNoMatches() {
+        List<String> patterns = Arrays.asList("a");
+        assertTrue(matches(new KeywordAutomaton(patterns), patterns, "").isEmpty());
+    }
+
+    @Test
+    public void lengths_matchThePatterns() {
+        KeywordAutomaton automaton = new KeywordAutomaton(Arrays.asList("kys", "kill yourself"));
+
+        assertEquals(3, automaton.patternLength(0));
+        assertEquals(13, automaton.patternLength(1));
+        assertEquals(13, automaton.maxPatternLength());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyPattern_isRejected() {
+        new KeywordAutomaton(Arrays.asList("ok", ""));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicatePattern_isRejected() {
+        new KeywordAutomaton(Arrays.asList("tit", "tit"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonAsciiPattern_isRejected() {
+        new KeywordAutomaton(Arrays.asList("fûck"));
+    }
+
+    private static List<String> matches(KeywordAutomaton automaton, List<String> patterns, String text) {
+        List<String> found = new ArrayList<>();
+        int state = KeywordAutomaton.ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            state = automaton.step(state, text.charAt(i));
+            for (int out = automaton.firstOutputState(state);
+                 out != KeywordAutomaton.NO_STATE;
+                 out = automaton.nextOutputState(out)) {
+                found.add(i + ":" + patterns.get(automaton.patternAt(out)));
+            }
+        }
+        return found;
+    }
+}
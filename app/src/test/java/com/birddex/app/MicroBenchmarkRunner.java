@@ -0,0 +1,196 @@
+package com.birddex.app;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * MicroBenchmarkRunner: Small JMH-style harness for CPU-bound BirdDex code on the host JVM.
+ *
+ * Each benchmark runs warmup iterations (to let the JIT settle) and then timed measurement
+ * iterations of a fixed time budget; the reported score is the median ns/op across iterations.
+ * Results are compared against a stored baseline file and any benchmark slower than the
+ * regression threshold is flagged in the report.
+ */
+final class MicroBenchmarkRunner {
+
+    /**
+     * One measured operation. Return a value derived from the work so the JIT cannot drop it.
+     */
+    interface Operation {
+        long run();
+    }
+
+    static final class Result {
+        final String name;
+        final double medianNsPerOp;
+        final double minNsPerOp;
+        final double maxNsPerOp;
+        final long totalOps;
+
+        Result(String name, double medianNsPerOp, double minNsPerOp, double maxNsPerOp, long totalOps) {
+            this.name = name;
+            this.medianNsPerOp = medianNsPerOp;
+            this.minNsPerOp = minNsPerOp;
+            this.maxNsPerOp = maxNsPerOp;
+            this.totalOps = totalOps;
+        }
+    }
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationTimeNs;
+    private final List<Result> results = new ArrayList<>();
+
+    // Consumes benchmark outputs (JMH Blackhole equivalent).
+    private volatile long sink;
+
+    MicroBenchmarkRunner(int warmupIterations, int measurementIterations, long iterationTimeMs) {
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationTimeNs = iterationTimeMs * 1_000_000L;
+    }
+
+    Result run(String name, Operation operation) {
+        for (int i = 0; i < warmupIterations; i++) {
+            runIteration(operation);
+        }
+
+        double[] scores = new double[measurementIterations];
+        long totalOps = 0L;
+        for (int i = 0; i < measurementIterations; i++) {
+            long[] iteration = runIteration(operation);
+            scores[i] = (double) iteration[0] / iteration[1];
+            totalOps += iteration[1];
+        }
+        Arrays.sort(scores);
+
+        Result result = new Result(name, scores[scores.length / 2], scores[0], scores[scores.length - 1], totalOps);
+        results.add(result);
+        return result;
+    }
+
+    List<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * @return {elapsedNs, ops}
+     */
+    private long[] runIteration(Operation operation) {
+        long ops = 0L;
+        long acc = 0L;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            // Batch calls between clock reads so nanoTime() does not dominate tiny operations.
+            for (int i = 0; i < 16; i++) {
+                acc += operation.run();
+            }
+            ops += 16;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < iterationTimeNs);
+        sink += acc;
+        return new long[]{elapsed, ops};
+    }
+
+    // ---------------------------------------------------------------------
+    // Baselines + report
+    // ---------------------------------------------------------------------
+
+    static Map<String, Double> loadBaseline(File file) throws IOException {
+        Map<String, Double> baseline = new TreeMap<>();
+        if (file == null || !file.isFile()) return baseline;
+
+        Properties properties = new Properties();
+        try (InputStream in = new FileInputStream(file)) {
+            properties.load(in);
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                baseline.put(key, Double.parseDouble(properties.getProperty(key).trim()));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return baseline;
+    }
+
+    void writeBaseline(File file) throws IOException {
+        // Sorted keys keep baseline diffs readable.
+        Map<String, Double> sorted = new TreeMap<>();
+        for (Result result : results) {
+            sorted.put(result.name, result.medianNsPerOp);
+        }
+        File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent);
+        }
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.println("# BirdDex JVM micro-benchmark baseline (median ns/op).");
+            writer.println("# Regenerate with -Pbirddex.updateBenchmarkBaseline=true on the machine you compare on.");
+            for (Map.Entry<String, Double> entry : sorted.entrySet()) {
+                writer.println(entry.getKey() + "=" + String.format(Locale.US, "%.1f", entry.getValue()));
+            }
+        }
+    }
+
+    /**
+     * Writes a text report and returns the names of benchmarks that regressed past the threshold.
+     */
+    List<String> writeReport(Map<String, Double> baseline, double regressionThreshold, File reportFile) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.US, "%-52s %14s %14s %10s  %s%n",
+                "benchmark", "median ns/op", "baseline", "delta", "status"));
+
+        for (Result result : results) {
+            Double base = baseline.get(result.name);
+            String baseText = base != null ? String.format(Locale.US, "%.1f", base) : "-";
+            String deltaText = "-";
+            String status = "NEW";
+            if (base != null && base > 0) {
+                double delta = (result.medianNsPerOp - base) / base;
+                deltaText = String.format(Locale.US, "%+.1f%%", delta * 100.0);
+                if (delta > regressionThreshold) {
+                    status = "REGRESSION";
+                    regressions.add(result.name);
+                } else if (delta < -regressionThreshold) {
+                    status = "FASTER";
+                } else {
+                    status = "OK";
+                }
+            }
+            report.append(String.format(Locale.US, "%-52s %14.1f %14s %10s  %s%n",
+                    result.name, result.medianNsPerOp, baseText, deltaText, status));
+        }
+        report.append(String.format(Locale.US, "%nRegression threshold: +%.0f%% over baseline median.%n",
+                regressionThreshold * 100.0));
+
+        System.out.print(report);
+
+        if (reportFile != null) {
+            File parent = reportFile.getParentFile();
+            if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Could not create " + parent);
+            }
+            try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(
+                    new FileOutputStream(reportFile), StandardCharsets.UTF_8))) {
+                writer.print(report);
+            }
+        }
+        return regressions;
+    }
+}
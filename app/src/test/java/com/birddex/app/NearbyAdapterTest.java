@@ -0,0 +1,57 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * NearbyAdapterTest: Which sightings become rows in the nearby list.
+ */
+public class NearbyAdapterTest {
+
+    @Test
+    public void oneSpeciesAtTwoLocations_givesTwoRows() {
+        Bird atPark = sighting("noca", 33.78, -84.37, 1_700_000_000_000L);
+        Bird atLake = sighting("noca", 33.90, -84.20, 1_699_990_000_000L);
+
+        List<Bird> rows = NearbyAdapter.distinctRows(Arrays.asList(atPark, atLake));
+
+        assertEquals(2, rows.size());
+        assertNotEquals(NearbyAdapter.rowKey(atPark), NearbyAdapter.rowKey(atLake));
+    }
+
+    @Test
+    public void oneSpeciesAtOnePlaceAtTwoTimes_givesTwoRows() {
+        List<Bird> rows = NearbyAdapter.distinctRows(Arrays.asList(
+                sighting("noca", 33.78, -84.37, 1_700_000_000_000L),
+                sighting("noca", 33.78, -84.37, 1_699_000_000_000L)));
+
+        assertEquals(2, rows.size());
+    }
+
+    @Test
+    public void exactRepeatOfASighting_isShownOnce() {
+        Bird first = sighting("blja", 33.78, -84.37, 1_700_000_000_000L);
+        Bird repeat = sighting("blja", 33.78, -84.37, 1_700_000_000_000L);
+
+        List<Bird> rows = NearbyAdapter.distinctRows(Arrays.asList(first, repeat, null));
+
+        assertEquals(1, rows.size());
+        assertSame(first, rows.get(0));
+    }
+
+    @Test
+    public void nullList_givesNoRows() {
+        assertTrue(NearbyAdapter.distinctRows(null).isEmpty());
+    }
+
+    private static Bird sighting(String id, double lat, double lng, long time) {
+        return new Bird(id, "Bird " + id, null, null, null, false, false, null, time, lat, lng);
+    }
+}
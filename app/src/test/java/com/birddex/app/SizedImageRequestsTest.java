@@ -0,0 +1,76 @@
+package com.birddex.app;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SizedImageRequestsTest: Which rendition (or the original) a view of a given size downloads.
+ */
+public class SizedImageRequestsTest {
+
+    private static final String ORIGINAL = "https://example.com/original.jpg";
+
+    @Test
+    public void exactSize_isUsed() {
+        assertEquals("384.webp", SizedImageRequests.selectUrl(allRenditions(), ORIGINAL, 384));
+        assertEquals("128.webp", SizedImageRequests.selectUrl(allRenditions(), ORIGINAL, 128));
+    }
+
+    @Test
+    public void smallestCoveringSize_isUsed() {
+        assertEquals("128.webp", SizedImageRequests.selectUrl(allRenditions(), ORIGINAL, 40));
+        assertEquals("384.webp", SizedImageRequests.selectUrl(allRenditions(), ORIGINAL, 129));
+        assertEquals("1080.webp", SizedImageRequests.selectUrl(allRenditions(), ORIGINAL, 720));
+    }
+
+    @Test
+    public void targetWiderThanEveryRendition_fallsBackTo1080() {
+        assertEquals("1080.webp", SizedImageRequests.selectUrl(allRenditions(), ORIGINAL, 1600));
+    }
+
+    @Test
+    public void targetWiderThanSmallRenditions_usesTheOriginal() {
+        Map<String, String> renditions = new HashMap<>();
+        renditions.put("128", "128.webp");
+        renditions.put("384", "384.webp");
+
+        assertEquals(ORIGINAL, SizedImageRequests.selectUrl(renditions, ORIGINAL, 720));
+    }
+
+    @Test
+    public void noRenditions_usesTheOriginal() {
+        assertEquals(ORIGINAL, SizedImageRequests.selectUrl(null, ORIGINAL, 128));
+        assertEquals(ORIGINAL, SizedImageRequests.selectUrl(Collections.emptyMap(), ORIGINAL, 128));
+        assertNull(SizedImageRequests.selectUrl(null, null, 128));
+    }
+
+    @Test
+    public void badKeysAndUrls_areIgnored() {
+        Map<String, String> renditions = new HashMap<>();
+        renditions.put("thumb", "thumb.webp");
+        renditions.put("-384", "negative.webp");
+        renditions.put("0", "zero.webp");
+        renditions.put("128", "");
+        renditions.put("384", null);
+        renditions.put("1080", "1080.webp");
+
+        assertEquals("1080.webp", SizedImageRequests.selectUrl(renditions, ORIGINAL, 100));
+
+        renditions.remove("1080");
+        assertEquals(ORIGINAL, SizedImageRequests.selectUrl(renditions, ORIGINAL, 100));
+    }
+
+    private static Map<String, String> allRenditions() {
+        Map<String, String> renditions = new HashMap<>();
+        renditions.put("128", "128.webp");
+        renditions.put("384", "384.webp");
+        renditions.put("1080", "1080.webp");
+        return renditions;
+    }
+}
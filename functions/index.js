@@ -7,4 +7,5 @@ module.exports = {
   ...require("./modules/forum"),
   ...require("./modules/moderation"),
   ...require("./modules/social"),
+  ...require("./modules/images"),
 };
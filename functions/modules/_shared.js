@@ -13,7 +13,8 @@ const auth = functions.auth;
 // 2. Standard v2 imports
 const { onCall, HttpsError } = require("firebase-functions/v2/https");
 const { onSchedule } = require("firebase-functions/v2/scheduler");
-const { onDocumentCreated, onDocumentDeleted, onDocumentUpdated } = require("firebase-functions/v2/firestore");
+const { onDocumentCreated, onDocumentDeleted, onDocumentUpdated, onDocumentWritten } = require("firebase-functions/v2/firestore");
+const { onObjectFinalized, onObjectDeleted } = require("firebase-functions/v2/storage");
 const { defineSecret } = require("firebase-functions/params");
 
 // 3. Admin and external libraries (DECLARED ONLY ONCE)
@@ -899,7 +900,7 @@ function buildRoundedLocationId(latitude, longitude) {
 }
 
 // ======================================================
-// HELPER: Hotspot Bucket ID (Matches Android App)
+// HELPER: Hotspot Bucket ID (Matches Android HotspotGrid.hotspotId)
 // ======================================================
 function calculateHotspotBucketId(lat, lng) {
     const BUCKET_SIZE = 0.02;
@@ -908,6 +909,57 @@ function calculateHotspotBucketId(lat, lng) {
     return `${blat},${blng}`;
 }
 
+// ======================================================
+// HELPER: Sighting Geohash (Matches Android GeohashQueryPlanner)
+// ======================================================
+// Every sighting doc carries a "geohash" string so the heatmap can query only the
+// cells covering the visible map instead of a full latitude strip of the state.
+const GEOHASH_BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+const SIGHTING_GEOHASH_PRECISION = 7; // ~150m x 150m cells
+
+function encodeGeohash(lat, lng, precision = SIGHTING_GEOHASH_PRECISION) {
+    const latNum = Number(lat);
+    const lngNum = Number(lng);
+    if (!Number.isFinite(latNum) || !Number.isFinite(lngNum)) return null;
+
+    let minLat = -90, maxLat = 90;
+    let minLng = -180, maxLng = 180;
+    let hash = "";
+    let bit = 0;
+    let ch = 0;
+    let evenBit = true;
+
+    while (hash.length < precision) {
+        if (evenBit) {
+            const mid = (minLng + maxLng) / 2;
+            if (lngNum >= mid) {
+                ch = (ch << 1) | 1;
+                minLng = mid;
+            } else {
+                ch = ch << 1;
+                maxLng = mid;
+            }
+        } else {
+            const mid = (minLat + maxLat) / 2;
+            if (latNum >= mid) {
+                ch = (ch << 1) | 1;
+                minLat = mid;
+            } else {
+                ch = ch << 1;
+                maxLat = mid;
+            }
+        }
+        evenBit = !evenBit;
+
+        if (++bit === 5) {
+            hash += GEOHASH_BASE32.charAt(ch);
+            bit = 0;
+            ch = 0;
+        }
+    }
+    return hash;
+}
+
 async function getOrCreateLocation(latitude, longitude, localityName, db, extra = {}) {
     const roundedLat = roundCoordinateForStorage(latitude);
     const roundedLng = roundCoordinateForStorage(longitude);
@@ -1154,6 +1206,13 @@ async function recomputeHotspotSummary(hotspotId) {
     };
 
     await hotspotSummaryRef.set(summaryPayload, { merge: true });
+
+    const sightingCount = Object.values(birds).reduce((sum, b) => sum + (b.userBirdCount || 0), 0);
+    try {
+        await updateHotspotHeatmapTiles(hotspotId, state, sightingCount);
+    } catch (error) {
+        logger.error(`recomputeHotspotSummary: heatmap tile update failed for ${hotspotId}.`, error);
+    }
     return summaryPayload;
 }
 
@@ -1173,6 +1232,200 @@ async function recomputeHotspotVoteSummaryForHotspot(hotspotId) {
     return recomputeHotspotSummary(hotspotId);
 }
 
+// ======================================================
+// HELPER: Heatmap Tile Pyramid (Matches Android AggregatedHeatmapTileLoader)
+// ======================================================
+// Zoomed-out map views read pre-aggregated points from heatmapTiles/{z}_{x}_{y}
+// instead of every raw sighting. Each tile doc keeps one map per layer, and each
+// layer map holds up to BINS x BINS points keyed "binX_binY":
+//   { w: sighting weight, n: hotspot/sighting count, sLat: sum(w * lat), sLng: sum(w * lng) }
+// The weighted sums let user hotspots be added/removed with FieldValue.increment,
+// and the client derives the point position as sLat / w, sLng / w.
+const HEATMAP_TILES_COLLECTION = "heatmapTiles";
+const HEATMAP_TILE_SOURCES_COLLECTION = "heatmapTileSources";
+const HEATMAP_TILE_CONFIG = {
+    MIN_ZOOM: 4,
+    MAX_ZOOM: 9,              // the app switches to raw sightings from zoom 10
+    BINS: 32,                 // bins per tile edge (8px cells on a 256px tile)
+    RECENCY_MS: 72 * 60 * 60 * 1000, // same window the map uses for raw sightings
+};
+const HEATMAP_LAYER_EBIRD = "ebird";
+const HEATMAP_LAYER_USER_UNVERIFIED = "userUnverified";
+const HEATMAP_LAYER_USER_MIXED = "userMixed";
+const HEATMAP_LAYER_USER_VERIFIED = "userVerified";
+
+function heatmapLayerForHotspotState(state) {
+    if (state === "verified") return HEATMAP_LAYER_USER_VERIFIED;
+    if (state === "mixed") return HEATMAP_LAYER_USER_MIXED;
+    return HEATMAP_LAYER_USER_UNVERIFIED; // "unverified" and "flagged"
+}
+
+function parseHotspotBucketId(hotspotId) {
+    if (typeof hotspotId !== "string") return null;
+    const parts = hotspotId.split(",");
+    if (parts.length !== 2) return null;
+    const lat = Number(parts[0]);
+    const lng = Number(parts[1]);
+    if (!Number.isFinite(lat) || !Number.isFinite(lng)) return null;
+    return { lat, lng };
+}
+
+/**
+ * Helper: Web Mercator tile + bin that a coordinate falls into at zoom z.
+ */
+function heatmapTileBinFor(lat, lng, z) {
+    const clampedLat = Math.max(-85.05112878, Math.min(85.05112878, lat));
+    const scale = 2 ** z;
+    const latRad = clampedLat * Math.PI / 180;
+    const fx = ((lng + 180) / 360) * scale;
+    const fy = ((1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2) * scale;
+    const x = Math.min(scale - 1, Math.max(0, Math.floor(fx)));
+    const y = Math.min(scale - 1, Math.max(0, Math.floor(fy)));
+    const bins = HEATMAP_TILE_CONFIG.BINS;
+    const binX = Math.min(bins - 1, Math.max(0, Math.floor((fx - x) * bins)));
+    const binY = Math.min(bins - 1, Math.max(0, Math.floor((fy - y) * bins)));
+    return { tileId: `${z}_${x}_${y}`, z, x, y, binKey: `${binX}_${binY}` };
+}
+
+/**
+ * Helper: Adds one weighted point to every zoom level of an in-memory tile map
+ * (tileId -> { z, x, y, layers: { layer: { binKey: { w, n, sLat, sLng } } } }).
+ */
+function accumulateHeatmapPoint(tiles, layer, lat, lng, weight, count) {
+    for (let z = HEATMAP_TILE_CONFIG.MIN_ZOOM; z <= HEATMAP_TILE_CONFIG.MAX_ZOOM; z++) {
+        const { tileId, x, y, binKey } = heatmapTileBinFor(lat, lng, z);
+        if (!tiles.has(tileId)) tiles.set(tileId, { z, x, y, layers: {} });
+        const tile = tiles.get(tileId);
+        if (!tile.layers[layer]) tile.layers[layer] = {};
+        const bin = tile.layers[layer][binKey] || (tile.layers[layer][binKey] = { w: 0, n: 0, sLat: 0, sLng: 0 });
+        bin.w += weight;
+        bin.n += count;
+        bin.sLat += weight * lat;
+        bin.sLng += weight * lng;
+    }
+}
+
+/**
+ * Helper: Moves one user hotspot's contribution inside the tile pyramid. The last
+ * contribution is kept in heatmapTileSources/user_{hotspotId}, so the tiles only
+ * receive increments (old layer minus, new layer plus) inside one transaction.
+ */
+async function updateHotspotHeatmapTiles(hotspotId, state, sightingCount) {
+    const center = parseHotspotBucketId(hotspotId);
+    if (!center) return null;
+
+    const count = Math.max(0, Number(sightingCount) || 0);
+    const layer = count > 0 ? heatmapLayerForHotspotState(state) : null;
+    const sourceRef = db.collection(HEATMAP_TILE_SOURCES_COLLECTION).doc(`user_${hotspotId}`);
+
+    return db.runTransaction(async (t) => {
+        const sourceDoc = await t.get(sourceRef);
+        const previousLayer = sourceDoc.exists ? (sourceDoc.get("layer") || null) : null;
+        const previousCount = sourceDoc.exists ? (sourceDoc.get("sightingCount") || 0) : 0;
+        if (previousLayer === layer && previousCount === count) return false;
+
+        const deltas = new Map();
+        if (previousLayer && previousCount > 0) {
+            accumulateHeatmapPoint(deltas, previousLayer, center.lat, center.lng, -previousCount, -1);
+        }
+        if (layer) {
+            accumulateHeatmapPoint(deltas, layer, center.lat, center.lng, count, 1);
+        }
+
+        for (const [tileId, tile] of deltas.entries()) {
+            const layers = {};
+            for (const [layerKey, bins] of Object.entries(tile.layers)) {
+                layers[layerKey] = {};
+                for (const [binKey, bin] of Object.entries(bins)) {
+                    if (bin.w === 0 && bin.n === 0) continue;
+                    layers[layerKey][binKey] = {
+                        w: FieldValue.increment(bin.w),
+                        n: FieldValue.increment(bin.n),
+                        sLat: FieldValue.increment(bin.sLat),
+                        sLng: FieldValue.increment(bin.sLng),
+                    };
+                }
+            }
+            t.set(db.collection(HEATMAP_TILES_COLLECTION).doc(tileId), {
+                z: tile.z,
+                x: tile.x,
+                y: tile.y,
+                layers,
+                updatedAt: FieldValue.serverTimestamp(),
+            }, { merge: true });
+        }
+
+        if (layer) {
+            t.set(sourceRef, {
+                hotspotId,
+                layer,
+                sightingCount: count,
+                updatedAt: FieldValue.serverTimestamp(),
+            });
+        } else {
+            t.delete(sourceRef);
+        }
+        return true;
+    });
+}
+
+/**
+ * Helper: Rebuilds the eBird layer of the tile pyramid from the live eBirdApiSightings
+ * collection. eBird data only changes in bulk (fetch + archive jobs), so the layer is
+ * replaced wholesale; tiles that had eBird points last time but not now are emptied.
+ */
+async function rebuildEBirdHeatmapTiles() {
+    const cutoffMs = Date.now() - HEATMAP_TILE_CONFIG.RECENCY_MS;
+    const snap = await db.collection("eBirdApiSightings").get();
+    const tiles = new Map();
+    let pointCount = 0;
+
+    for (const doc of snap.docs) {
+        const lat = Number(doc.get("location.latitude"));
+        const lng = Number(doc.get("location.longitude"));
+        if (!Number.isFinite(lat) || !Number.isFinite(lng)) continue;
+
+        const observed = doc.get("observationDate");
+        const observedMs = observed?.toDate ? observed.toDate().getTime() : (observed ? new Date(observed).getTime() : NaN);
+        if (Number.isFinite(observedMs) && observedMs < cutoffMs) continue;
+
+        accumulateHeatmapPoint(tiles, HEATMAP_LAYER_EBIRD, lat, lng, 1, 1);
+        pointCount++;
+    }
+
+    const registryRef = db.collection(HEATMAP_TILE_SOURCES_COLLECTION).doc("ebird_layer");
+    const registryDoc = await registryRef.get();
+    const previousTileIds = registryDoc.exists ? (registryDoc.get("tileIds") || []) : [];
+
+    const operations = [];
+    for (const [tileId, tile] of tiles.entries()) {
+        operations.push((batch) => batch.set(db.collection(HEATMAP_TILES_COLLECTION).doc(tileId), {
+            z: tile.z,
+            x: tile.x,
+            y: tile.y,
+            layers: { [HEATMAP_LAYER_EBIRD]: tile.layers[HEATMAP_LAYER_EBIRD] || {} },
+            updatedAt: FieldValue.serverTimestamp(),
+        }, { mergeFields: ["z", "x", "y", `layers.${HEATMAP_LAYER_EBIRD}`, "updatedAt"] }));
+    }
+    for (const tileId of previousTileIds) {
+        if (tiles.has(tileId)) continue;
+        operations.push((batch) => batch.set(db.collection(HEATMAP_TILES_COLLECTION).doc(tileId), {
+            layers: { [HEATMAP_LAYER_EBIRD]: {} },
+            updatedAt: FieldValue.serverTimestamp(),
+        }, { mergeFields: [`layers.${HEATMAP_LAYER_EBIRD}`, "updatedAt"] }));
+    }
+
+    await commitBatchOperations(operations);
+    await registryRef.set({
+        tileIds: [...tiles.keys()],
+        pointCount,
+        rebuiltAt: FieldValue.serverTimestamp(),
+    });
+
+    logger.info(`rebuildEBirdHeatmapTiles: ${pointCount} sightings across ${tiles.size} tiles.`);
+    return { pointCount, tileCount: tiles.size };
+}
+
 // ======================================================
 // HELPER: Delay
 // ======================================================
@@ -1510,6 +1763,60 @@ function createModerationAppealRef(userId, moderationEventId) {
     return db.collection("moderationAppeals").doc(`${userId}_${moderationEventId}`);
 }
 
+// ======================================================
+// IMAGE RENDITIONS
+// Uploaded collection, forum and profile images get fixed-size WebP copies under
+// "renditions/" (see modules/images.js). One record per original, keyed by a hash
+// of its storage path, maps width -> download URL:
+//   imageRenditions/{sha1(path)} = { path, renditions: { "128": url, "384": url, "1080": url } }
+// The owning document carries the same map so clients can pick the smallest copy
+// that covers the view they draw into.
+// ======================================================
+const IMAGE_RENDITIONS_COLLECTION = "imageRenditions";
+const IMAGE_RENDITION_CONFIG = {
+    WIDTHS: [128, 384, 1080],  // longest edge, never upscaled
+    PATH_PREFIX: "renditions/",
+    WEBP_QUALITY: 78,
+    CACHE_CONTROL: "public, max-age=31536000, immutable",
+    SOURCE_PREFIXES: ["userCollectionImages/", "forum_post_images/", "profile_pictures/"],
+};
+
+/**
+ * Helper: Extracts the storage object path from a Firebase Storage download URL, or null for
+ * anything else (external URLs, blanks).
+ */
+function storagePathFromDownloadUrl(url) {
+    if (typeof url !== "string" || !url.includes("firebasestorage.googleapis.com")) return null;
+    const match = url.match(/\/o\/([^?]+)/);
+    if (!match) return null;
+    try {
+        return decodeURIComponent(match[1]);
+    } catch (e) {
+        return null;
+    }
+}
+
+function buildStorageDownloadUrl(bucketName, path, token) {
+    return `https://firebasestorage.googleapis.com/v0/b/${bucketName}/o/${encodeURIComponent(path)}?alt=media&token=${token}`;
+}
+
+function getImageRenditionsRef(path) {
+    const key = crypto.createHash("sha1").update(path).digest("hex");
+    return db.collection(IMAGE_RENDITIONS_COLLECTION).doc(key);
+}
+
+/**
+ * Helper: Returns the width -> URL map recorded for the image behind a download URL, or null if
+ * there is none yet (not generated, external image, ...).
+ */
+async function getImageRenditionsForUrl(url) {
+    const path = storagePathFromDownloadUrl(url);
+    if (!path) return null;
+    const snap = await getImageRenditionsRef(path).get();
+    const renditions = snap.exists ? (snap.data() || {}).renditions : null;
+    return renditions && typeof renditions === "object" && Object.keys(renditions).length > 0 ? renditions : null;
+}
+
 module.exports = {
   Timestamp,
   FieldValue,
@@ -1518,6 +1825,9 @@ module.exports = {
   onDocumentUpdated,
   onDocumentDeleted,
   onDocumentCreated,
+  onDocumentWritten,
+  onObjectFinalized,
+  onObjectDeleted,
   onSchedule,
   onCall,
   HttpsError,
@@ -1552,6 +1862,8 @@ module.exports = {
   roundCoordinateForStorage,
   buildRoundedLocationId,
   calculateHotspotBucketId,
+  encodeGeohash,
+  SIGHTING_GEOHASH_PRECISION,
   getOrCreateLocation,
   commitBatchOperations,
   normalizeHotspotBirdKeySegment,
@@ -1565,6 +1877,17 @@ module.exports = {
   recomputeHotspotBirdSummary,
   recomputeHotspotSummary,
   recomputeHotspotVoteSummaryForHotspot,
+  HEATMAP_TILES_COLLECTION,
+  HEATMAP_TILE_CONFIG,
+  IMAGE_RENDITIONS_COLLECTION,
+  IMAGE_RENDITION_CONFIG,
+  storagePathFromDownloadUrl,
+  buildStorageDownloadUrl,
+  getImageRenditionsRef,
+  getImageRenditionsForUrl,
+  heatmapLayerForHotspotState,
+  updateHotspotHeatmapTiles,
+  rebuildEBirdHeatmapTiles,
   delay,
   callOpenAIWithRetry,
   generateAndSaveBirdFacts,
@@ -29,6 +29,7 @@ const {
   roundCoordinateForStorage,
   buildRoundedLocationId,
   calculateHotspotBucketId,
+  encodeGeohash,
   getOrCreateLocation,
   commitBatchOperations,
   normalizeHotspotBirdKeySegment,
@@ -92,6 +93,36 @@ const {
 // ======================================================
 // HELPER: Hybrid bird identification pipeline helpers
 // ======================================================
+const IDENTIFICATION_IMAGE_MAX_BYTES = 8 * 1024 * 1024;
+
+/**
+ * Helper: Reads the identification JPEG the client uploaded to Storage and returns it as Base64.
+ * The model API and OpenAI both need inline image data, so the encoding happens here once
+ * instead of on the device.
+ */
+async function loadIdentificationImageBase64(userId, imagePath) {
+    const expectedPrefix = `identificationImages/${userId}/`;
+    if (typeof imagePath !== "string" || !imagePath.startsWith(expectedPrefix) || imagePath.includes("..")) {
+        throw new HttpsError("permission-denied", "Invalid identification image path.");
+    }
+
+    const file = storage.bucket().file(imagePath);
+    let metadata;
+    try {
+        [metadata] = await file.getMetadata();
+    } catch (err) {
+        throw new HttpsError("not-found", "Identification image not found.");
+    }
+
+    const size = Number(metadata?.size || 0);
+    if (!size || size > IDENTIFICATION_IMAGE_MAX_BYTES) {
+        throw new HttpsError("invalid-argument", "Identification image is empty or too large.");
+    }
+
+    const [buffer] = await file.download();
+    return buffer.toString("base64");
+}
+
 function parseBirdIdentificationText(identificationText) {
     const safeText = identificationText || "";
     return {
@@ -1801,6 +1832,7 @@ async function upsertUserBirdSightingWithDailyCooldown({
             timestamp: new Date(sightingTimestampMs),
             latitude: roundedLatitude,
             longitude: roundedLongitude,
+            geohash: encodeGeohash(roundedLatitude, roundedLongitude),
             state: state || "",
             locality: locality || "",
             country: country || "US",
@@ -1859,6 +1891,7 @@ exports.identifyBird = secureOnCall({ secrets: [OPENAI_API_KEY, BIRDDEX_MODEL_AP
     const userRef = db.collection("users").doc(userId);
     const {
         image,
+        imagePath,
         imageUrl,
         latitude,
         longitude,
@@ -1872,8 +1905,11 @@ exports.identifyBird = secureOnCall({ secrets: [OPENAI_API_KEY, BIRDDEX_MODEL_AP
     const idempotencyKey = requestId || `IDEN_${admin.firestore.Timestamp.now().toMillis()}`;
     const eventLogRef = db.collection("processedAIEvents").doc(idempotencyKey);
 
-    if (!image || typeof image !== "string") {
-        throw new HttpsError("invalid-argument", "Image Base64 data is required.");
+    // Current clients upload the JPEG and send its Storage path; older builds still send Base64.
+    const hasInlineImage = typeof image === "string" && image.length > 0;
+    const hasImagePath = typeof imagePath === "string" && imagePath.length > 0;
+    if (!hasInlineImage && !hasImagePath) {
+        throw new HttpsError("invalid-argument", "An image path or Base64 image data is required.");
     }
     const safeLat = typeof latitude === "number" && Number.isFinite(latitude) ? latitude : null;
     const safeLng = typeof longitude === "number" && Number.isFinite(longitude) ? longitude : null;
@@ -1903,13 +1939,17 @@ exports.identifyBird = secureOnCall({ secrets: [OPENAI_API_KEY, BIRDDEX_MODEL_AP
             });
         });
 
+        const imageBase64 = hasInlineImage
+            ? image
+            : await loadIdentificationImageBase64(userId, imagePath);
+
         // Always reserve/consume quota at the start of every identification attempt
         await reserveOpenAiQuota(userRef, eventLogRef, userId);
 
         const locationId = await getOrCreateLocation(safeLat, safeLng, localityName, db, { userId });
         const userLocationContext = await getLocationContext(locationId);
         const modelApiResult = await callBirdModelApi({
-                    imageBase64: image,
+                    imageBase64: imageBase64,
                     latitude: safeLat,
                     longitude: safeLng,
                     observedAt: typeof observedAt === "string" ? observedAt : null,
@@ -1991,7 +2031,7 @@ exports.identifyBird = secureOnCall({ secrets: [OPENAI_API_KEY, BIRDDEX_MODEL_AP
                 : (!top1Bird ? "top1_not_in_supported_birds" : "low_confidence");
             openAiMode = "full_fallback";
 
-            openAiRawResponse = await callOpenAiBirdFullFallback(image);
+            openAiRawResponse = await callOpenAiBirdFullFallback(imageBase64);
 
             /*
             if (openAiRawResponse.includes("GORE")) {
@@ -400,6 +400,8 @@ exports.updateUserProfile = secureOnCall(async (request) => {
 
             if (hasBio) profileUpdate.bio = sanitizedBio;
             if (hasProfilePictureUrl) profileUpdate.profilePictureUrl = sanitizedProfilePictureUrl || "";
+            // The old picture's thumbnails go now; syncUserProfilePictureRenditions attaches the new ones.
+            if (profilePictureChanged) profileUpdate.profilePictureRenditions = admin.firestore.FieldValue.delete();
             if (hasEmail) profileUpdate.email = sanitizedEmail || request.auth.token.email || existingUserData.email || "";
 
             if (pfpChangeRef && pfpChangeDoc && (pfpChangeDoc.data() || {}).status !== "committed") {
@@ -29,6 +29,7 @@ const {
   roundCoordinateForStorage,
   buildRoundedLocationId,
   calculateHotspotBucketId,
+  encodeGeohash,
   getOrCreateLocation,
   commitBatchOperations,
   normalizeHotspotBirdKeySegment,
@@ -42,6 +43,8 @@ const {
   recomputeHotspotBirdSummary,
   recomputeHotspotSummary,
   recomputeHotspotVoteSummaryForHotspot,
+  updateHotspotHeatmapTiles,
+  rebuildEBirdHeatmapTiles,
   delay,
   callOpenAIWithRetry,
   generateAndSaveBirdFacts,
@@ -311,17 +314,46 @@ async function _fetchAndStoreEBirdDataCore() {
         const ebirdSightings = response.data;
         if (!ebirdSightings || ebirdSightings.length === 0) {
             logger.info("No new eBird sightings found.");
+            await _markEbirdRefreshed(REGION_CODE);
             return { status: "success", message: "No new eBird sightings found." };
         }
 
         logger.info(`Found ${ebirdSightings.length} sightings from eBird API.`);
-        const batch = db.batch();
-        let sightingsAdded = 0;
 
+        // The notable feed returns the whole recent window on every call. Clients delta-sync on
+        // updatedAt, so only new sightings and ones whose content changed are written.
+        const incoming = new Map();
         for (const sighting of ebirdSightings) {
             const docId = sighting.subId;
             if (!docId) continue;
-            batch.set(db.collection("eBirdApiSightings").doc(docId), {
+            const content = {
+                speciesCode: sighting.speciesCode,
+                commonName: sighting.comName,
+                scientificName: sighting.sciName,
+                obsDt: sighting.obsDt,
+                latitude: sighting.lat,
+                longitude: sighting.lng,
+                localityName: sighting.locName,
+                howMany: sighting.howMany || 1,
+                isReviewed: sighting.obsReviewed,
+            };
+            incoming.set(docId, { sighting, contentHash: _ebirdSightingContentHash(content) });
+        }
+
+        const refs = [...incoming.keys()].map((docId) => db.collection("eBirdApiSightings").doc(docId));
+        const storedHashes = new Map();
+        for (let i = 0; i < refs.length; i += EBIRD_READ_CHUNK_SIZE) {
+            const docs = await db.getAll(...refs.slice(i, i + EBIRD_READ_CHUNK_SIZE));
+            for (const doc of docs) {
+                if (doc.exists) storedHashes.set(doc.id, doc.get("contentHash"));
+            }
+        }
+
+        const operations = [];
+        for (const ref of refs) {
+            const { sighting, contentHash } = incoming.get(ref.id);
+            if (storedHashes.get(ref.id) === contentHash) continue;
+            operations.push((batch) => batch.set(ref, {
                 speciesCode: sighting.speciesCode,
                 commonName: sighting.comName,
                 scientificName: sighting.sciName,
@@ -331,14 +363,24 @@ async function _fetchAndStoreEBirdDataCore() {
                     longitude: sighting.lng,
                     localityName: sighting.locName,
                 },
+                geohash: encodeGeohash(sighting.lat, sighting.lng),
                 howMany: sighting.howMany || 1,
                 isReviewed: sighting.obsReviewed,
-            });
-            sightingsAdded++;
+                contentHash,
+                updatedAt: admin.firestore.FieldValue.serverTimestamp(),
+            }));
         }
 
-        if (sightingsAdded > 0) await batch.commit();
-        logger.info(`Successfully stored ${sightingsAdded} eBird sightings.`);
+        const sightingsAdded = operations.length;
+        await commitBatchOperations(operations);
+        logger.info(`Stored ${sightingsAdded} new or changed eBird sightings (${refs.length - sightingsAdded} unchanged).`);
+
+        try {
+            await rebuildEBirdHeatmapTiles();
+        } catch (tileError) {
+            logger.error("eBird heatmap tile rebuild failed:", tileError);
+        }
+        await _markEbirdRefreshed(REGION_CODE);
         return { status: "success", message: `Successfully added or updated ${sightingsAdded} eBird sightings.` };
     } catch (error) {
         logger.error("Error fetching eBird data:", error);
@@ -346,6 +388,60 @@ async function _fetchAndStoreEBirdDataCore() {
     }
 }
 
+// Firestore getAll reads per call when comparing fetched eBird sightings with the stored ones.
+const EBIRD_READ_CHUNK_SIZE = 300;
+
+/**
+ * Stable hash of the fields an eBird sighting doc is built from, so a refresh can tell whether
+ * a stored sighting changed. Key order is fixed by the caller's object literal.
+ */
+function _ebirdSightingContentHash(content) {
+    return crypto.createHash("sha1").update(JSON.stringify(content)).digest("hex");
+}
+
+// Refresh bookkeeping shared by the scheduled job and the app trigger. The app reads
+// lastRefreshedAtMs from the trigger response to decide when to ask again.
+const EBIRD_REFRESH_STATE_REF = db.collection("eBirdApiSightingsSync").doc("refreshState");
+const EBIRD_TRIGGER_MIN_INTERVAL_MS = 30 * 60 * 1000;
+// An upstream fetch plus tile rebuild finishes well inside the callable's 60s timeout.
+const EBIRD_TRIGGER_LEASE_MS = 90 * 1000;
+
+async function _markEbirdRefreshed(regionCode) {
+    try {
+        await EBIRD_REFRESH_STATE_REF.set({
+            regionCode,
+            lastRefreshedAt: admin.firestore.FieldValue.serverTimestamp(),
+            leaseUntil: admin.firestore.FieldValue.delete(),
+        }, { merge: true });
+    } catch (error) {
+        logger.warn("Failed to record eBird refresh time:", error);
+    }
+}
+
+/**
+ * Claims the right to run an on-demand fetch. Returns null when the claim succeeds, or the
+ * reason to skip: the data is fresh enough, or another invocation already holds the lease.
+ */
+async function _claimEbirdTriggerLease(nowMs) {
+    return db.runTransaction(async (t) => {
+        const doc = await t.get(EBIRD_REFRESH_STATE_REF);
+        const data = doc.exists ? doc.data() : {};
+        const lastRefreshedAtMs = data.lastRefreshedAt?.toMillis?.() || 0;
+        const leaseUntilMs = data.leaseUntil?.toMillis?.() || 0;
+
+        if (nowMs - lastRefreshedAtMs < EBIRD_TRIGGER_MIN_INTERVAL_MS) {
+            return { reason: "fresh", lastRefreshedAtMs };
+        }
+        if (leaseUntilMs > nowMs) {
+            return { reason: "in_progress", lastRefreshedAtMs };
+        }
+        t.set(EBIRD_REFRESH_STATE_REF, {
+            leaseUntil: admin.firestore.Timestamp.fromMillis(nowMs + EBIRD_TRIGGER_LEASE_MS),
+        }, { merge: true });
+        return null;
+    });
+}
+
 // ======================================================
 // fetchAndStoreEBirdData (scheduled)
 // ======================================================
@@ -380,10 +476,21 @@ exports.fetchAndStoreEBirdData = onSchedule({
  */
 exports.triggerEbirdDataFetch = secureOnCall({ secrets: [EBIRD_API_KEY], timeoutSeconds: 60 }, async (request) => {
     logger.info("Callable eBird data fetch triggered.");
+    const nowMs = Date.now();
+    const skip = await _claimEbirdTriggerLease(nowMs);
+    if (skip) {
+        logger.info(`Skipping callable eBird fetch (${skip.reason}).`);
+        return { status: "skipped", reason: skip.reason, lastRefreshedAtMs: skip.lastRefreshedAtMs };
+    }
+
     try {
-        return await _fetchAndStoreEBirdDataCore();
+        const result = await _fetchAndStoreEBirdDataCore();
+        return { ...result, lastRefreshedAtMs: Date.now() };
     } catch (error) {
         logger.error("Callable eBird fetch failed:", error);
+        // Let the next caller retry instead of waiting out the lease.
+        await EBIRD_REFRESH_STATE_REF.set({ leaseUntil: admin.firestore.FieldValue.delete() }, { merge: true })
+            .catch((e) => logger.warn("Failed to release eBird trigger lease:", e));
         throw error;
     }
 });
@@ -419,6 +526,86 @@ exports.backfillEbirdSightingsOnce = secureOnCall({ secrets: [EBIRD_API_KEY], ti
     };
 });
 
+// ======================================================
+// backfillSightingGeohashesOnce (callable, one-time manual migration)
+// ======================================================
+/**
+ * Export: One-time/manual migration that stamps the "geohash" field onto sighting docs
+ * written before the heatmap switched to viewport-scoped geohash range queries. Docs
+ * without the field are invisible to those queries until this runs. Docs missing
+ * "updatedAt" also get one so the app's delta sync (changed since watermark) sees them.
+ */
+exports.backfillSightingGeohashesOnce = secureOnCall({ timeoutSeconds: 300 }, async (request) => {
+    if (!request.auth) throw new HttpsError("unauthenticated", "Authentication required.");
+
+    logger.info("Callable sighting geohash backfill triggered.", {
+        uid: request.auth.uid,
+    });
+
+    const targets = [
+        { collection: "userBirdSightings", latPath: "latitude", lngPath: "longitude" },
+        { collection: "eBirdApiSightings", latPath: "location.latitude", lngPath: "location.longitude" },
+    ];
+    const updatedCounts = {};
+
+    for (const target of targets) {
+        const snap = await db.collection(target.collection).get();
+        const operations = [];
+
+        for (const doc of snap.docs) {
+            const geohash = encodeGeohash(doc.get(target.latPath), doc.get(target.lngPath));
+            const update = {};
+            if (geohash && doc.get("geohash") !== geohash) update.geohash = geohash;
+            if (!doc.get("updatedAt")) update.updatedAt = admin.firestore.FieldValue.serverTimestamp();
+            if (Object.keys(update).length === 0) continue;
+            operations.push((batch) => batch.update(doc.ref, update));
+        }
+
+        await commitBatchOperations(operations);
+        updatedCounts[target.collection] = operations.length;
+        logger.info(`backfillSightingGeohashesOnce: updated ${operations.length} ${target.collection} docs.`);
+    }
+
+    return {
+        success: true,
+        updatedCounts,
+    };
+});
+
+// ======================================================
+// backfillHeatmapTilesOnce (callable, one-time manual migration)
+// ======================================================
+/**
+ * Export: One-time/manual bootstrap for the heatmapTiles pyramid used by zoomed-out map
+ * views. User hotspots only reach the tiles when their summary is recomputed, so this
+ * replays every existing hotspotVoteSummaries doc and then rebuilds the eBird layer.
+ */
+exports.backfillHeatmapTilesOnce = secureOnCall({ timeoutSeconds: 540 }, async (request) => {
+    if (!request.auth) throw new HttpsError("unauthenticated", "Authentication required.");
+
+    logger.info("Callable heatmap tile backfill triggered.", {
+        uid: request.auth.uid,
+    });
+
+    const summariesSnap = await db.collection("hotspotVoteSummaries").get();
+    let hotspotCount = 0;
+    for (const doc of summariesSnap.docs) {
+        const birds = doc.get("birds") || {};
+        const sightingCount = Object.values(birds).reduce((sum, b) => sum + (b?.userBirdCount || 0), 0);
+        await updateHotspotHeatmapTiles(doc.id, doc.get("state"), sightingCount);
+        hotspotCount++;
+    }
+
+    const ebird = await rebuildEBirdHeatmapTiles();
+    logger.info(`backfillHeatmapTilesOnce: replayed ${hotspotCount} hotspots.`);
+
+    return {
+        success: true,
+        hotspotCount,
+        ebird,
+    };
+});
+
 // ======================================================
 // cleanupUnverifiedUsers (scheduled, every 24h)
 // ======================================================
@@ -778,6 +965,12 @@ async function _archiveStaleEBirdSightingsCore() {
             logger.info(`_archiveStaleEBirdSightingsCore: archived ${archivedCount}/${staleDocs.length}.`);
         }
 
+        try {
+            await rebuildEBirdHeatmapTiles();
+        } catch (tileError) {
+            logger.error("_archiveStaleEBirdSightingsCore: heatmap tile rebuild failed.", tileError);
+        }
+
         const summary = `Archived ${archivedCount} stale eBird sightings.`;
         logger.info(`_archiveStaleEBirdSightingsCore: done. ${summary}`);
         return { status: "success", message: summary };
@@ -1036,11 +1229,13 @@ exports.recordBirdSighting = secureOnCall(async (request) => {
                 timestamp: new Date(sightingTimestamp),
                 latitude: roundedLatitude,
                 longitude: roundedLongitude,
+                geohash: encodeGeohash(roundedLatitude, roundedLongitude),
                 state: state || "",
                 locality: locality || "",
                 country: country || "US",
                 quantity: quantity || "1",
                 suspicious: !!suspicious,
+                updatedAt: admin.firestore.FieldValue.serverTimestamp(),
             });
 
             return { recorded: true, hotspotId, locationId: hotspotId, birdKey };
@@ -1205,6 +1400,8 @@ async function _archiveStaleHotspotsCore() {
             batch.delete(db.collection("hotspotVotes").doc(hotspotId));
 
             await batch.commit();
+            await updateHotspotHeatmapTiles(hotspotId, null, 0)
+                .catch(e => logger.error(`_archiveStaleHotspotsCore: heatmap tile cleanup failed for ${hotspotId}.`, e));
             archivedCount++;
         }
 
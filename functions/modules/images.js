@@ -0,0 +1,198 @@
+const {
+  db,
+  storage,
+  crypto,
+  logger,
+  FieldValue,
+  onObjectFinalized,
+  onObjectDeleted,
+  onDocumentWritten,
+  IMAGE_RENDITION_CONFIG,
+  buildStorageDownloadUrl,
+  getImageRenditionsRef,
+  getImageRenditionsForUrl,
+} = require('./_shared');
+
+// Documents that point at an uploaded image, by upload folder. `query` returns the collection
+// whose `urlField` may hold the original's download URL; `renditionsField` receives the map.
+const RENDITION_OWNERS = {
+    "userCollectionImages/": {
+        query: (ownerId) => db.collection("users").doc(ownerId).collection("collectionSlot"),
+        urlField: "imageUrl",
+        renditionsField: "imageRenditions",
+    },
+    "forum_post_images/": {
+        query: () => db.collection("forumThreads"),
+        urlField: "birdImageUrl",
+        renditionsField: "birdImageRenditions",
+    },
+    "profile_pictures/": {
+        query: () => db.collection("users"),
+        urlField: "profilePictureUrl",
+        renditionsField: "profilePictureRenditions",
+    },
+};
+
+function findSourcePrefix(path) {
+    return IMAGE_RENDITION_CONFIG.SOURCE_PREFIXES.find((prefix) => path.startsWith(prefix)) || null;
+}
+
+function renditionPath(path, width) {
+    const withoutExtension = path.replace(/\.[^/.]+$/, "");
+    return `${IMAGE_RENDITION_CONFIG.PATH_PREFIX}${withoutExtension}_${width}.webp`;
+}
+
+/**
+ * Helper: Writes the renditions map onto every document that currently shows the original.
+ * Matching is a range query on the download URL without its token, which only needs the
+ * automatic single-field index.
+ */
+async function attachRenditionsToOwners(bucketName, path, renditions) {
+    const prefix = findSourcePrefix(path);
+    const owner = prefix ? RENDITION_OWNERS[prefix] : null;
+    if (!owner) return 0;
+
+    const ownerId = path.slice(prefix.length).split("/")[0];
+    if (!ownerId) return 0;
+
+    const urlPrefix = `https://firebasestorage.googleapis.com/v0/b/${bucketName}/o/${encodeURIComponent(path)}?`;
+    const snap = await owner.query(ownerId)
+        .where(owner.urlField, ">=", urlPrefix)
+        .where(owner.urlField, "<", `${urlPrefix}\uf8ff`)
+        .get();
+
+    await Promise.all(snap.docs.map((doc) => doc.ref.update({ [owner.renditionsField]: renditions })));
+    return snap.size;
+}
+
+// ======================================================
+// generateImageRenditions
+// Runs when an image lands in one of the upload folders. Produces longest-edge
+// 128/384/1080 WebP copies (never upscaled), records them, and attaches them to
+// any document already pointing at the original. Documents written later pick the
+// record up through the owner-side sync triggers below.
+// ======================================================
+/**
+ * Export: Storage trigger that generates WebP thumbnail renditions for uploaded images.
+ */
+exports.generateImageRenditions = onObjectFinalized({ memory: "1GiB", timeoutSeconds: 120 }, async (event) => {
+    const object = event.data;
+    const path = object.name || "";
+    const contentType = object.contentType || "";
+
+    if (!path || path.startsWith(IMAGE_RENDITION_CONFIG.PATH_PREFIX)) return null;
+    if (!contentType.startsWith("image/")) return null;
+    if (!findSourcePrefix(path)) return null;
+
+    const bucket = storage.bucket(object.bucket);
+    const sharp = require("sharp");
+
+    try {
+        const [original] = await bucket.file(path).download();
+        // One token for all renditions of this original; it only grants read access to them.
+        const token = crypto.randomUUID();
+        const renditions = {};
+
+        for (const width of IMAGE_RENDITION_CONFIG.WIDTHS) {
+            const webp = await sharp(original)
+                .rotate() // apply EXIF orientation before resizing
+                .resize({ width, height: width, fit: "inside", withoutEnlargement: true })
+                .webp({ quality: IMAGE_RENDITION_CONFIG.WEBP_QUALITY })
+                .toBuffer();
+
+            const targetPath = renditionPath(path, width);
+            await bucket.file(targetPath).save(webp, {
+                resumable: false,
+                metadata: {
+                    contentType: "image/webp",
+                    cacheControl: IMAGE_RENDITION_CONFIG.CACHE_CONTROL,
+                    metadata: {
+                        firebaseStorageDownloadTokens: token,
+                        sourcePath: path,
+                    },
+                },
+            });
+            renditions[String(width)] = buildStorageDownloadUrl(bucket.name, targetPath, token);
+        }
+
+        await getImageRenditionsRef(path).set({
+            path,
+            renditions,
+            createdAt: FieldValue.serverTimestamp(),
+        });
+
+        const attached = await attachRenditionsToOwners(bucket.name, path, renditions);
+        logger.info(`generateImageRenditions: ${path} -> ${Object.keys(renditions).join("/")} (attached to ${attached} docs)`);
+    } catch (error) {
+        logger.error(`generateImageRenditions: failed for ${path}`, error);
+    }
+    return null;
+});
+
+// ======================================================
+// deleteImageRenditions
+// Every cleanup path (slot deletion, account deletion, PFP rollback, ...) deletes
+// the original; this removes its renditions and record along with it.
+// ======================================================
+/**
+ * Export: Storage trigger that removes an original image's renditions when it is deleted.
+ */
+exports.deleteImageRenditions = onObjectDeleted(async (event) => {
+    const path = event.data.name || "";
+    if (!path || path.startsWith(IMAGE_RENDITION_CONFIG.PATH_PREFIX) || !findSourcePrefix(path)) return null;
+
+    const bucket = storage.bucket(event.data.bucket);
+    await Promise.all(IMAGE_RENDITION_CONFIG.WIDTHS.map((width) =>
+        bucket.file(renditionPath(path, width)).delete().catch(() => null)));
+    await getImageRenditionsRef(path).delete().catch(() => null);
+    return null;
+});
+
+// ======================================================
+// Owner-side sync triggers
+// Slots, forum posts and profiles are written by other code (client save
+// transactions, createForumPost, updateUserProfile, PFP rollback, ...), so the
+// owner side of the link is kept here: whenever the image URL changes, copy the
+// recorded renditions for the new image, or drop stale ones. Because this runs
+// after the write, a record created at the same moment is still picked up: either
+// it exists when this reads it, or generateImageRenditions' owner query (which
+// runs after the record is written) already sees the new URL.
+// ======================================================
+/**
+ * Helper: Copies the renditions recorded for `urlField`'s image into `renditionsField` when the
+ * URL changed in this write.
+ */
+async function syncRenditionsForWrite(event, urlField, renditionsField) {
+    const afterSnap = event.data.after;
+    if (!afterSnap.exists) return null;
+
+    const before = event.data.before.exists ? (event.data.before.data() || {}) : {};
+    const after = afterSnap.data() || {};
+    if (before[urlField] === after[urlField] && event.data.before.exists) return null;
+
+    const renditions = await getImageRenditionsForUrl(after[urlField]);
+    if (renditions) {
+        await afterSnap.ref.update({ [renditionsField]: renditions });
+    } else if (after[renditionsField]) {
+        await afterSnap.ref.update({ [renditionsField]: FieldValue.delete() });
+    }
+    return null;
+}
+
+/**
+ * Export: Firestore trigger that keeps a collection slot's imageRenditions in step with imageUrl.
+ */
+exports.syncCollectionSlotImageRenditions = onDocumentWritten("users/{userId}/collectionSlot/{slotId}", (event) =>
+    syncRenditionsForWrite(event, "imageUrl", "imageRenditions"));
+
+/**
+ * Export: Firestore trigger that keeps a forum post's birdImageRenditions in step with birdImageUrl.
+ */
+exports.syncForumPostImageRenditions = onDocumentWritten("forumThreads/{threadId}", (event) =>
+    syncRenditionsForWrite(event, "birdImageUrl", "birdImageRenditions"));
+
+/**
+ * Export: Firestore trigger that keeps a user's profilePictureRenditions in step with profilePictureUrl.
+ */
+exports.syncUserProfilePictureRenditions = onDocumentWritten("users/{userId}", (event) =>
+    syncRenditionsForWrite(event, "profilePictureUrl", "profilePictureRenditions"));